@@ -0,0 +1,98 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.benchmark;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.GameBatch;
+import com.nickbenn.onehundred.strategy.Strategy;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares playing a number of optimal-vs-optimal games to completion as a {@link GameBatch}
+ * against playing the same number of individual {@link Game} instances.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBatchBenchmark {
+
+  private static final long SEED = 20221005L;
+
+  @Param({"1024", "65536"})
+  private int games;
+
+  @Param({"100", "10000"})
+  private int upperBound;
+
+  @Param({"10"})
+  private int maxMove;
+
+  @Param({"ADDITION", "SUBTRACTION"})
+  private Operation operation;
+
+  private Strategy strategy;
+  private GameBatch batch;
+  private int[] moves;
+
+  /**
+   * Creates the strategy, the batch, and the array of moves.
+   */
+  @Setup
+  public void setUp() {
+    strategy = Strategy.newInstance("optimal", new SplittableRandom(SEED));
+    batch = new GameBatch(operation, upperBound, maxMove, games, Game.State.PLAYER_ONE_MOVE);
+    moves = new int[games];
+  }
+
+  /**
+   * Plays all games in the batch to completion.
+   *
+   * @return Number of moves rejected.
+   */
+  @Benchmark
+  public int playBatch() {
+    batch.reset(Game.State.PLAYER_ONE_MOVE);
+    int rejected = 0;
+    while (batch.getActive() > 0) {
+      strategy.getNextMoves(batch, moves);
+      rejected += batch.playAll(moves);
+    }
+    return rejected;
+  }
+
+  /**
+   * Plays the same number of individual games to completion.
+   *
+   * @return Number of games won by player 1.
+   */
+  @Benchmark
+  public int playIndividually() {
+    int wins = 0;
+    for (int i = 0; i < games; i++) {
+      Game game = new Game(operation, upperBound, maxMove, Game.State.PLAYER_ONE_MOVE);
+      while (!game.getState().isTerminal()) {
+        game.tryPlay(strategy.getNextMove(game));
+      }
+      wins += (game.getState() == Game.State.PLAYER_ONE_WIN) ? 1 : 0;
+    }
+    return wins;
+  }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.benchmark;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.event.GameListener;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Game#play(int)}, including the validation performed by the {@link Game.State} of
+ * the game, for complete games of legal moves and for rejected (illegal) moves; the latter is also
+ * measured via the non-throwing {@link Game#tryPlay(int)}. The cost of exploring positions ahead
+ * of the current one is measured with a fixed-depth search, using {@link Game#fork()} with
+ * {@link Game#undo()}, and with {@link Game#snapshot()} and {@link Game#restore(long)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+public class GameBenchmark {
+
+  private static final long SEED = 20221005L;
+  private static final int SEARCH_DEPTH = 3;
+  private static final GameListener LISTENER = new GameListener() {};
+
+  @Param({"100", "10000"})
+  private int upperBound;
+
+  @Param({"10", "50"})
+  private int maxMove;
+
+  @Param({"ADDITION", "SUBTRACTION"})
+  private Operation operation;
+
+  private int[] moves;
+
+  /**
+   * Generates a fixed sequence of legal moves that completes a game with the current parameters.
+   */
+  @Setup
+  public void setUp() {
+    Random rng = new Random(SEED);
+    int[] buffer = new int[upperBound];
+    int length = 0;
+    for (int remaining = upperBound; remaining > 0; ) {
+      int move = Math.min(remaining, rng.nextInt(maxMove) + 1);
+      buffer[length++] = move;
+      remaining -= move;
+    }
+    moves = Arrays.copyOf(buffer, length);
+  }
+
+  /**
+   * Creates a game and plays it to completion with the pre-generated moves.
+   *
+   * @return Final state of the game.
+   */
+  @Benchmark
+  public Game.State playGame() {
+    Game game = new Game(operation, upperBound, maxMove, Game.State.PLAYER_ONE_MOVE);
+    for (int move : moves) {
+      game.play(move);
+    }
+    return game.getState();
+  }
+
+  /**
+   * Creates a game with a (no-op) {@link GameListener}, and plays it to completion with the
+   * pre-generated moves; compared with {@link #playGame()}, this measures the cost of notifying a
+   * listener.
+   *
+   * @return Final state of the game.
+   */
+  @Benchmark
+  public Game.State playGameWithListener() {
+    Game game = new Game(operation, upperBound, maxMove, Game.State.PLAYER_ONE_MOVE);
+    game.addListener(LISTENER);
+    for (int move : moves) {
+      game.play(move);
+    }
+    return game.getState();
+  }
+
+  /**
+   * Visits every position up to {@value #SEARCH_DEPTH} moves ahead of the start of a game, in a
+   * single fork of the game, returning to each position with {@link Game#undo()}.
+   *
+   * @return Number of positions visited.
+   */
+  @Benchmark
+  public long searchWithUndo() {
+    Game game = new Game(operation, upperBound, maxMove, Game.State.PLAYER_ONE_MOVE);
+    return searchWithUndo(game.fork(), SEARCH_DEPTH);
+  }
+
+  /**
+   * Visits every position up to {@value #SEARCH_DEPTH} moves ahead of the start of a game,
+   * returning to each position with {@link Game#restore(long)}.
+   *
+   * @return Number of positions visited.
+   */
+  @Benchmark
+  public long searchWithSnapshot() {
+    Game game = new Game(operation, upperBound, maxMove, Game.State.PLAYER_ONE_MOVE);
+    return searchWithSnapshot(game, SEARCH_DEPTH);
+  }
+
+  /**
+   * Attempts a move exceeding the maximum, which is rejected by the game.
+   *
+   * @return Exception thrown by the rejected move.
+   */
+  @Benchmark
+  public Object illegalMove() {
+    Game game = new Game(operation, upperBound, maxMove, Game.State.PLAYER_ONE_MOVE);
+    try {
+      game.play(maxMove + 1);
+      return game;
+    } catch (IllegalArgumentException e) {
+      return e;
+    }
+  }
+
+  /**
+   * Attempts a move exceeding the maximum via the non-throwing {@link Game#tryPlay(int)}.
+   *
+   * @return Result code of the rejected move.
+   */
+  @Benchmark
+  public int illegalTryPlay() {
+    Game game = new Game(operation, upperBound, maxMove, Game.State.PLAYER_ONE_MOVE);
+    return game.tryPlay(maxMove + 1);
+  }
+
+  private static long searchWithUndo(Game game, int depth) {
+    long visited = 1;
+    if (depth > 0) {
+      for (int move = 1; move <= game.getMaxMove(); move++) {
+        if (game.tryPlay(move) == Game.MOVE_ACCEPTED) {
+          visited += searchWithUndo(game, depth - 1);
+          game.undo();
+        }
+      }
+    }
+    return visited;
+  }
+
+  private static long searchWithSnapshot(Game game, int depth) {
+    long visited = 1;
+    if (depth > 0) {
+      long snapshot = game.snapshot();
+      for (int move = 1; move <= game.getMaxMove(); move++) {
+        if (game.tryPlay(move) == Game.MOVE_ACCEPTED) {
+          visited += searchWithSnapshot(game, depth - 1);
+          game.restore(snapshot);
+        }
+      }
+    }
+    return visited;
+  }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.benchmark;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.LongGame;
+import com.nickbenn.onehundred.model.MoveSet;
+import com.nickbenn.onehundred.strategy.OptimalStrategy;
+import com.nickbenn.onehundred.strategy.Strategy;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cost of the {@code int} ({@link Game}) and {@code long} ({@link LongGame}) paths
+ * through {@link OptimalStrategy}, both for a complete game played with identical configurations,
+ * and for a single move selection. The {@code largeBound} benchmark selects a move in a
+ * {@link LongGame} whose bound is far outside the range of {@code int}, and should cost no more
+ * than {@code longNextMove}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+public class LongGameBenchmark {
+
+  private static final long SEED = 20221005L;
+  private static final long LARGE_BOUND = 1_000_000_000_000_000L;
+
+  @Param({"100", "10000"})
+  private int upperBound;
+
+  @Param({"10"})
+  private int maxMove;
+
+  @Param({"ADDITION", "SUBTRACTION"})
+  private Operation operation;
+
+  private MoveSet moves;
+  private Strategy strategy;
+  private Game intGame;
+  private LongGame longGame;
+  private LongGame largeGame;
+
+  /**
+   * Creates the strategy, along with {@code int} and {@code long} games (with the same
+   * configuration), and a {@code long} game with a very large bound.
+   */
+  @Setup
+  public void setUp() {
+    moves = MoveSet.contiguous(maxMove);
+    strategy = new OptimalStrategy(new SplittableRandom(SEED));
+    intGame = new Game(operation, upperBound, maxMove, Game.State.PLAYER_ONE_MOVE);
+    longGame = new LongGame(operation, upperBound, moves, Game.State.PLAYER_ONE_MOVE);
+    largeGame = new LongGame(operation, LARGE_BOUND, moves, Game.State.PLAYER_ONE_MOVE);
+  }
+
+  /**
+   * Plays a complete {@link Game}, with both players using the optimal strategy.
+   *
+   * @return Final state of the game.
+   */
+  @Benchmark
+  public Game.State intGame() {
+    Game game = new Game(operation, upperBound, maxMove, Game.State.PLAYER_ONE_MOVE);
+    while (!game.getState().isTerminal()) {
+      game.tryPlay(strategy.getNextMove(game));
+    }
+    return game.getState();
+  }
+
+  /**
+   * Plays a complete {@link LongGame}, with both players using the optimal strategy.
+   *
+   * @return Final state of the game.
+   */
+  @Benchmark
+  public Game.State longGame() {
+    LongGame game = new LongGame(operation, upperBound, moves, Game.State.PLAYER_ONE_MOVE);
+    while (!game.getState().isTerminal()) {
+      game.tryPlay(strategy.getNextMove(game));
+    }
+    return game.getState();
+  }
+
+  /**
+   * Selects a move in the initial position of a {@link Game}.
+   *
+   * @return Move selected by the strategy.
+   */
+  @Benchmark
+  public int intNextMove() {
+    return strategy.getNextMove(intGame);
+  }
+
+  /**
+   * Selects a move in the initial position of a {@link LongGame} with the same configuration.
+   *
+   * @return Move selected by the strategy.
+   */
+  @Benchmark
+  public int longNextMove() {
+    return strategy.getNextMove(longGame);
+  }
+
+  /**
+   * Selects a move in the initial position of a {@link LongGame} with a very large bound.
+   *
+   * @return Move selected by the strategy.
+   */
+  @Benchmark
+  public int largeBound() {
+    return strategy.getNextMove(largeGame);
+  }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.benchmark;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.strategy.MctsStrategy;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the search throughput of {@link MctsStrategy}, with varying numbers of search threads.
+ * Each invocation performs one complete search, with a short budget; the {@code nodes} secondary
+ * result reports the number of tree nodes created per second, which is the figure to compare when
+ * tuning the search.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MctsBenchmark {
+
+  private static final long SEED = 20221005L;
+  private static final long BUDGET_MILLIS = 10;
+
+  @Param({"1", "2", "4"})
+  private int threads;
+
+  @Param({"100", "1000"})
+  private int upperBound;
+
+  @Param({"10"})
+  private int maxMove;
+
+  private MctsStrategy strategy;
+  private Game game;
+
+  /**
+   * Creates the strategy under test, and a game in which roughly one third of the distance to the
+   * target has been covered.
+   */
+  @Setup
+  public void setUp() {
+    strategy = new MctsStrategy(new SplittableRandom(SEED));
+    strategy.setBudgetMillis(BUDGET_MILLIS);
+    strategy.setThreads(threads);
+    game = new Game(Operation.SUBTRACTION, upperBound, maxMove, Game.State.PLAYER_ONE_MOVE);
+    for (int remaining = upperBound / 3; remaining > 0; remaining -= maxMove) {
+      game.play(Math.min(remaining, maxMove));
+    }
+  }
+
+  /**
+   * Searches from the prepared game position, adding the number of tree nodes created to
+   * {@code counters}.
+   *
+   * @param counters Accumulator for the nodes created in each iteration.
+   * @return Move selected by the search.
+   */
+  @Benchmark
+  public int search(NodeCounters counters) {
+    long before = strategy.getNodes();
+    int move = strategy.getNextMove(game);
+    counters.nodes += strategy.getNodes() - before;
+    return move;
+  }
+
+  /**
+   * Accumulates the number of tree nodes created in each iteration, so that JMH reports it as a
+   * rate alongside the primary result.
+   */
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  @State(Scope.Thread)
+  public static class NodeCounters {
+
+    /** Number of tree nodes created in the current iteration. */
+    public long nodes;
+
+  }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.benchmark;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.view.GamePresentation;
+import com.nickbenn.onehundred.view.TextGamePresentation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the formatting methods of {@link TextGamePresentation}, both in the forms returning a
+ * new {@link String}, and in the forms appending to a reused {@link StringBuilder} (which should
+ * allocate nothing, as reported by the {@code gc} profiler).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PresentationBenchmark {
+
+  private static final String PLAYER_ONE = "Player";
+  private static final String PLAYER_TWO = "Computer";
+
+  @Param({"100", "10000"})
+  private int upperBound;
+
+  @Param({"10", "50"})
+  private int maxMove;
+
+  @Param({"ADDITION", "SUBTRACTION"})
+  private Operation operation;
+
+  private GamePresentation<String> presentation;
+  private Game game;
+  private StringBuilder buffer;
+
+  /**
+   * Creates the presentation under test, and a game in which one move has been made.
+   */
+  @Setup
+  public void setUp() {
+    presentation = new TextGamePresentation(operation);
+    game = new Game(operation, upperBound, maxMove, Game.State.PLAYER_ONE_MOVE);
+    game.play(maxMove);
+    buffer = new StringBuilder();
+  }
+
+  @Benchmark
+  public String stateRepresentation() {
+    return presentation.stateRepresentation(game, PLAYER_ONE, PLAYER_TWO);
+  }
+
+  @Benchmark
+  public String nextMoveNotice() {
+    return presentation.nextMoveNotice(PLAYER_ONE);
+  }
+
+  @Benchmark
+  public String movePresentation() {
+    return presentation.movePresentation(maxMove, PLAYER_TWO);
+  }
+
+  @Benchmark
+  public String movePrompt() {
+    return presentation.movePrompt(game);
+  }
+
+  @Benchmark
+  public String illegalMoveNotification() {
+    return presentation.illegalMoveNotification(game);
+  }
+
+  @Benchmark
+  public StringBuilder stateRepresentationBuffer() {
+    buffer.setLength(0);
+    presentation.stateRepresentation(buffer, game, PLAYER_ONE, PLAYER_TWO);
+    return buffer;
+  }
+
+  @Benchmark
+  public StringBuilder movePresentationBuffer() {
+    buffer.setLength(0);
+    presentation.movePresentation(buffer, maxMove, PLAYER_TWO);
+    return buffer;
+  }
+
+  @Benchmark
+  public StringBuilder movePromptBuffer() {
+    buffer.setLength(0);
+    presentation.movePrompt(buffer, game);
+    return buffer;
+  }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.benchmark;
+
+import com.nickbenn.onehundred.controller.CommandLineOptions;
+import com.nickbenn.onehundred.controller.VirtualThreads;
+import com.nickbenn.onehundred.metrics.LogHistogram;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load-test client for the {@code SERVE} and {@code SERVE_NIO} modes of the application (see
+ * {@link com.nickbenn.onehundred.controller.ServerSession} and
+ * {@link com.nickbenn.onehundred.controller.SelectorServerSession}). The specified number of simulated
+ * players connect to the server (on the loopback interface); once all are connected, each plays
+ * the specified number of games, answering every move prompt with a random legal move, and then
+ * declines to play again. When all players have finished, the number of games and moves, the
+ * elapsed time, and the distribution of response times (from sending a move or answer to receiving
+ * the next prompt) are printed.
+ * <p>Usage: {@code ServerLoadTest [port [players [games]]]}; the defaults are
+ * {@link CommandLineOptions#DEFAULT_PORT}, {@value #DEFAULT_PLAYERS}, and
+ * {@value #DEFAULT_GAMES}. The simulated players run in virtual threads, where supported (see
+ * {@link VirtualThreads}); to simulate many thousands of players, the limit on open files (e.g.
+ * {@code ulimit -n}) of both client and server processes must exceed the number of players.</p>
+ */
+public class ServerLoadTest {
+
+  /** Number of simulated players, if not otherwise specified. */
+  public static final int DEFAULT_PLAYERS = 1000;
+  /** Number of games played by each simulated player, if not otherwise specified. */
+  public static final int DEFAULT_GAMES = 10;
+
+  private static final String SESSION_BUNDLE_NAME = "session";
+  private static final String PLAY_AGAIN_KEY = "play_again";
+  private static final String THREAD_NAME_PREFIX = "player-";
+  private static final String SUMMARY_FORMAT = "%,d players (%,d failed) played %,d games "
+      + "(%,d moves) in %.3f seconds: %,.0f moves per second.%n"
+      + "Response time (microseconds): mean %.1f, median %.1f, p99 %.1f, max %.1f.%n";
+  private static final byte[] AFFIRMATIVE = "y\n".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] NEGATIVE = "n\n".getBytes(StandardCharsets.US_ASCII);
+  private static final int INPUT_BUFFER_SIZE = 512;
+  private static final int LINE_CAPACITY = 256;
+
+  private final InetAddress address;
+  private final int port;
+  private final int games;
+  private final String playAgainPrompt;
+  private final LogHistogram responseNanos = new LogHistogram();
+  private final AtomicLong moves = new AtomicLong();
+  private final AtomicLong completedGames = new AtomicLong();
+  private final AtomicLong failures = new AtomicLong();
+
+  private ServerLoadTest(int port, int games) {
+    address = InetAddress.getLoopbackAddress();
+    this.port = port;
+    this.games = games;
+    playAgainPrompt = ResourceBundle.getBundle(SESSION_BUNDLE_NAME).getString(PLAY_AGAIN_KEY);
+  }
+
+  /**
+   * Runs the load test, with the options specified in {@code args}.
+   *
+   * @param args Port, number of players, and number of games per player (all optional).
+   * @throws InterruptedException If the main thread is interrupted while waiting for the players.
+   */
+  public static void main(String[] args) throws InterruptedException {
+    int port = (args.length > 0) ? Integer.parseInt(args[0]) : CommandLineOptions.DEFAULT_PORT;
+    int players = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_PLAYERS;
+    int games = (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULT_GAMES;
+    new ServerLoadTest(port, games).run(players);
+  }
+
+  private void run(int players) throws InterruptedException {
+    ThreadFactory factory = VirtualThreads.newFactory(THREAD_NAME_PREFIX);
+    CountDownLatch connected = new CountDownLatch(players);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>(players);
+    SplittableRandom master = new SplittableRandom();
+    for (int i = 0; i < players; i++) {
+      SplittableRandom rng = master.split();
+      Thread thread = factory.newThread(() -> play(rng, connected, start));
+      threads.add(thread);
+      thread.start();
+    }
+    connected.await();
+    long startTime = System.nanoTime();
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    double elapsed = (System.nanoTime() - startTime) / 1e9;
+    System.out.printf(SUMMARY_FORMAT, players, failures.get(), completedGames.get(), moves.get(),
+        elapsed, moves.get() / elapsed, responseNanos.getMean() / 1e3,
+        responseNanos.getQuantile(0.5) / 1e3, responseNanos.getQuantile(0.99) / 1e3,
+        responseNanos.getMax() / 1e3);
+  }
+
+  private void play(SplittableRandom rng, CountDownLatch connected, CountDownLatch start) {
+    Socket socket = null;
+    try {
+      try {
+        socket = new Socket(address, port);
+        socket.setTcpNoDelay(true);
+      } finally {
+        connected.countDown();
+      }
+      start.await();
+      play(socket.getInputStream(), socket.getOutputStream(), rng);
+    } catch (IOException e) {
+      failures.incrementAndGet();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      if (socket != null) {
+        try {
+          socket.close();
+        } catch (IOException e) {
+          // Nothing more to be done with this socket.
+        }
+      }
+    }
+  }
+
+  private void play(InputStream rawInput, OutputStream output, SplittableRandom rng)
+      throws IOException {
+    InputStream input = new BufferedInputStream(rawInput, INPUT_BUFFER_SIZE);
+    StringBuilder line = new StringBuilder(LINE_CAPACITY);
+    byte[] move = new byte[16];
+    int played = 0;
+    long sent = System.nanoTime();
+    int previous = 0;
+    int c;
+    while ((c = input.read()) != -1) {
+      if (c == '\n') {
+        line.setLength(0);
+      } else {
+        line.append((char) c);
+      }
+      if (c != ' ' || previous != '?') {
+        previous = c;
+        continue;
+      }
+      previous = c;
+      long now = System.nanoTime();
+      responseNanos.record(now - sent);
+      if (playAgainPrompt.contentEquals(line)) {
+        completedGames.incrementAndGet();
+        boolean again = ++played < games;
+        output.write(again ? AFFIRMATIVE : NEGATIVE);
+        if (!again) {
+          output.flush();
+          return;
+        }
+      } else {
+        int length = encode(1 + rng.nextInt(maxPromptedMove(line)), move);
+        output.write(move, 0, length);
+        moves.incrementAndGet();
+      }
+      output.flush();
+      line.setLength(0);
+      sent = System.nanoTime();
+    }
+    throw new IOException("Connection closed by server.");
+  }
+
+  private static int maxPromptedMove(CharSequence prompt) {
+    int end = prompt.length();
+    while (end > 0 && !Character.isDigit(prompt.charAt(end - 1))) {
+      end--;
+    }
+    int value = 0;
+    int scale = 1;
+    for (int i = end - 1; i >= 0 && Character.isDigit(prompt.charAt(i)); i--) {
+      value += scale * (prompt.charAt(i) - '0');
+      scale *= 10;
+    }
+    return Math.max(value, 1);
+  }
+
+  private static int encode(int value, byte[] buffer) {
+    String text = Integer.toString(value);
+    int length = text.length();
+    for (int i = 0; i < length; i++) {
+      buffer[i] = (byte) text.charAt(i);
+    }
+    buffer[length] = '\n';
+    return length + 1;
+  }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.benchmark;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.strategy.Strategy;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Strategy#getNextMove(Game)} for each registered strategy, from a game position
+ * part-way to the target, as well as the cost of
+ * {@link Strategy#newInstance(String, RandomGenerator)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StrategyBenchmark {
+
+  private static final long SEED = 20221005L;
+
+  @Param({"optimal", "random"})
+  private String strategyKey;
+
+  @Param({"100", "10000"})
+  private int upperBound;
+
+  @Param({"10", "50"})
+  private int maxMove;
+
+  @Param({"ADDITION", "SUBTRACTION"})
+  private Operation operation;
+
+  private RandomGenerator rng;
+  private Strategy strategy;
+  private Game game;
+
+  /**
+   * Creates the strategy under test, and a game in which roughly one third of the distance to the
+   * target has been covered.
+   */
+  @Setup
+  public void setUp() {
+    rng = new SplittableRandom(SEED);
+    strategy = Strategy.newInstance(strategyKey, rng);
+    game = new Game(operation, upperBound, maxMove, Game.State.PLAYER_ONE_MOVE);
+    for (int remaining = upperBound / 3; remaining > 0; remaining -= maxMove) {
+      game.play(Math.min(remaining, maxMove));
+    }
+  }
+
+  /**
+   * Computes the next move from the prepared game position.
+   *
+   * @return Move selected by the strategy.
+   */
+  @Benchmark
+  public int getNextMove() {
+    return strategy.getNextMove(game);
+  }
+
+  /**
+   * Creates a new instance of the strategy under test.
+   *
+   * @return New strategy instance.
+   */
+  @Benchmark
+  public Strategy newInstance() {
+    return Strategy.newInstance(strategyKey, rng);
+  }
+
+}
@@ -0,0 +1,12 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+
+/**
+ * JMH benchmarks for the performance-sensitive paths of the game: move validation and application,
+ * computer strategies (including their instantiation), and text presentation. These benchmarks are
+ * compiled and run by the {@code jmh} Gradle task, and are not part of the application itself.
+ * This package also includes a load-test client for the {@code SERVE} mode of the application,
+ * run by the {@code loadTest} Gradle task.
+ */
+package com.nickbenn.onehundred.benchmark;
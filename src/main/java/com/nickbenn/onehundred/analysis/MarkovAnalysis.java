@@ -0,0 +1,152 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.analysis;
+
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.model.MoveSet;
+import com.nickbenn.onehundred.model.Rules;
+import com.nickbenn.onehundred.strategy.Strategy;
+import java.util.Arrays;
+
+/**
+ * Computes, exactly, the probability that player 1 wins, and the expected number of moves
+ * remaining, from every position of a game between two strategies. Since every move reduces the
+ * remaining quantity, a game is an absorbing Markov chain whose transitions (obtained from
+ * {@link Strategy#getMoveDistribution(Rules, int, double[])}) lead only to positions with smaller
+ * remaining quantities; a single pass upward from zero therefore solves the chain, in
+ * O({@code upperBound} &times; {@code maxMove}) time.
+ * <p>Since an illegal move is rejected, and the same strategy is asked for another move, the
+ * probability that a strategy assigns to illegal moves is redistributed, in proportion, among its
+ * legal moves.</p>
+ */
+public final class MarkovAnalysis {
+
+  private static final String NO_LEGAL_MOVES_FORMAT =
+      "%1$s assigns no probability to any legal move with %2$d remaining.";
+
+  private final Rules rules;
+  private final String playerOneName;
+  private final String playerTwoName;
+  private final double[] playerOneToMoveWins;
+  private final double[] playerTwoToMoveWins;
+  private final double[] playerOneToMoveLength;
+  private final double[] playerTwoToMoveLength;
+
+  private MarkovAnalysis(Rules rules, Strategy playerOne, Strategy playerTwo) {
+    this.rules = rules;
+    playerOneName = playerOne.getClass().getSimpleName();
+    playerTwoName = playerTwo.getClass().getSimpleName();
+    int bound = rules.getUpperBound();
+    MoveSet moves = rules.getMoves();
+    playerOneToMoveWins = new double[bound + 1];
+    playerTwoToMoveWins = new double[bound + 1];
+    playerOneToMoveLength = new double[bound + 1];
+    playerTwoToMoveLength = new double[bound + 1];
+    // With nothing remaining, the player "to move" has just lost: player 2 won if player 1 is to
+    // move, and vice versa. No further moves are made.
+    playerOneToMoveWins[0] = 0;
+    playerTwoToMoveWins[0] = 1;
+    double[] oneDistribution = new double[moves.getMax() + 1];
+    double[] twoDistribution = new double[moves.getMax() + 1];
+    for (int remaining = 1; remaining <= bound; remaining++) {
+      legalDistribution(playerOne, playerOneName, remaining, oneDistribution);
+      legalDistribution(playerTwo, playerTwoName, remaining, twoDistribution);
+      double oneWins = 0;
+      double twoWins = 0;
+      double oneLength = 1;
+      double twoLength = 1;
+      for (int i = 0, limit = moves.countAtMost(remaining); i < limit; i++) {
+        int move = moves.get(i);
+        int next = remaining - move;
+        oneWins += oneDistribution[move] * playerTwoToMoveWins[next];
+        oneLength += oneDistribution[move] * playerTwoToMoveLength[next];
+        twoWins += twoDistribution[move] * playerOneToMoveWins[next];
+        twoLength += twoDistribution[move] * playerOneToMoveLength[next];
+      }
+      playerOneToMoveWins[remaining] = oneWins;
+      playerTwoToMoveWins[remaining] = twoWins;
+      playerOneToMoveLength[remaining] = oneLength;
+      playerTwoToMoveLength[remaining] = twoLength;
+    }
+  }
+
+  /**
+   * Analyzes games played under the specified {@link Rules}, between the specified strategies.
+   *
+   * @param rules     Configuration of the game.
+   * @param playerOne Strategy used by player 1.
+   * @param playerTwo Strategy used by player 2.
+   * @return (See above.)
+   * @throws UnsupportedOperationException If either strategy does not expose its move
+   *                                       distribution.
+   * @throws IllegalStateException         If either strategy assigns no probability to any legal
+   *                                       move in some position.
+   */
+  public static MarkovAnalysis analyze(Rules rules, Strategy playerOne, Strategy playerTwo)
+      throws UnsupportedOperationException, IllegalStateException {
+    return new MarkovAnalysis(rules, playerOne, playerTwo);
+  }
+
+  /**
+   * Returns the probability that player 1 wins, from the position with {@code remaining} left to
+   * reach the target, with the player indicated by {@code toMove} to move next.
+   *
+   * @param toMove    {@link State#PLAYER_ONE_MOVE} or {@link State#PLAYER_TWO_MOVE}.
+   * @param remaining Distance from the current count to the target, from 0 to the upper bound.
+   * @return (See above.)
+   */
+  public double getPlayerOneWinProbability(State toMove, int remaining) {
+    return (toMove == State.PLAYER_ONE_MOVE)
+        ? playerOneToMoveWins[remaining]
+        : playerTwoToMoveWins[remaining];
+  }
+
+  /**
+   * Returns the expected number of moves (not counting rejected moves) remaining in the game, from
+   * the position with {@code remaining} left to reach the target, with the player indicated by
+   * {@code toMove} to move next.
+   *
+   * @param toMove    {@link State#PLAYER_ONE_MOVE} or {@link State#PLAYER_TWO_MOVE}.
+   * @param remaining Distance from the current count to the target, from 0 to the upper bound.
+   * @return (See above.)
+   */
+  public double getExpectedLength(State toMove, int remaining) {
+    return (toMove == State.PLAYER_ONE_MOVE)
+        ? playerOneToMoveLength[remaining]
+        : playerTwoToMoveLength[remaining];
+  }
+
+  /**
+   * Returns the {@link Rules} of the analyzed games.
+   *
+   * @return (See above.)
+   */
+  public Rules getRules() {
+    return rules;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s vs. %s, %s", playerOneName, playerTwoName, rules);
+  }
+
+  private void legalDistribution(
+      Strategy strategy, String name, int remaining, double[] distribution) {
+    Arrays.fill(distribution, 0);
+    strategy.getMoveDistribution(rules, remaining, distribution);
+    MoveSet moves = rules.getMoves();
+    double total = 0;
+    int limit = moves.countAtMost(remaining);
+    for (int i = 0; i < limit; i++) {
+      total += distribution[moves.get(i)];
+    }
+    if (!(total > 0)) {
+      throw new IllegalStateException(String.format(NO_LEGAL_MOVES_FORMAT, name, remaining));
+    }
+    for (int i = 0; i < limit; i++) {
+      distribution[moves.get(i)] /= total;
+    }
+  }
+
+}
@@ -0,0 +1,10 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+
+/**
+ * Classes for the exact analysis of games between computer strategies, treating each game as a
+ * finite Markov chain over the remaining quantity, rather than estimating outcomes from sampled
+ * games.
+ */
+package com.nickbenn.onehundred.analysis;
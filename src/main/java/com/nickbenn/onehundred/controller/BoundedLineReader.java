@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * {@link BufferedReader} over a byte stream of single-byte (ASCII or ISO-8859-1) characters, which
+ * uses a small fixed buffer, and rejects lines longer than a specified maximum, so that the memory
+ * used per instance is bounded regardless of the input. This is used by {@link ServerSession} to
+ * read the responses of each connected client, where input of a few characters per line is
+ * expected.
+ * <p>The methods of this class read directly from the underlying stream, without the locking
+ * performed by {@link BufferedReader} (so that a virtual thread blocked in {@link #readLine()} does
+ * not pin its carrier thread); an instance must not be used concurrently by multiple threads.</p>
+ */
+final class BoundedLineReader extends BufferedReader {
+
+  private static final String LINE_TOO_LONG_FORMAT = "Line exceeds %d characters.";
+  private static final int EOF = -1;
+
+  private final InputStream input;
+  private final byte[] buffer;
+  private final int maxLength;
+  private final StringBuilder line;
+
+  private int position;
+  private int limit;
+
+  /**
+   * Initializes this instance to read from the specified stream.
+   *
+   * @param input      Source of characters.
+   * @param bufferSize Number of bytes read from {@code input} at a time.
+   * @param maxLength  Maximum number of characters (excluding the terminator) in a line.
+   */
+  BoundedLineReader(InputStream input, int bufferSize, int maxLength) {
+    super(Reader.nullReader(), 1);
+    this.input = input;
+    buffer = new byte[bufferSize];
+    this.maxLength = maxLength;
+    line = new StringBuilder(maxLength + 1);
+  }
+
+  /**
+   * Reads and returns a line of text, terminated by a line feed, a carriage return followed by a
+   * line feed, or the end of the stream.
+   *
+   * @return Line read (excluding the terminator), or {@code null} if the end of the stream has
+   * already been reached.
+   * @throws IOException If the line exceeds the maximum length, or if thrown when reading the
+   *                     underlying stream.
+   */
+  @Override
+  public String readLine() throws IOException {
+    line.setLength(0);
+    int c;
+    while ((c = read()) != EOF) {
+      if (c == '\n') {
+        return trimReturn();
+      }
+      if (line.length() > maxLength) {
+        throw new IOException(String.format(LINE_TOO_LONG_FORMAT, maxLength));
+      }
+      line.append((char) c);
+    }
+    return (line.length() > 0) ? trimReturn() : null;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (position == limit) {
+      position = 0;
+      limit = Math.max(input.read(buffer), 0);
+      if (limit == 0) {
+        return EOF;
+      }
+    }
+    return buffer[position++] & 0xff;
+  }
+
+  @Override
+  public int read(char[] chars, int offset, int length) throws IOException {
+    int count = 0;
+    int c;
+    while (count < length && (count == 0 || position < limit) && (c = read()) != EOF) {
+      chars[offset + count++] = (char) c;
+    }
+    return (count > 0 || length == 0) ? count : EOF;
+  }
+
+  @Override
+  public boolean ready() throws IOException {
+    return position < limit || input.available() > 0;
+  }
+
+  @Override
+  public void close() throws IOException {
+    input.close();
+  }
+
+  private String trimReturn() throws IOException {
+    int length = line.length();
+    if (length > 0 && line.charAt(length - 1) == '\r') {
+      line.setLength(--length);
+    }
+    if (length > maxLength) {
+      throw new IOException(String.format(LINE_TOO_LONG_FORMAT, maxLength));
+    }
+    return line.toString();
+  }
+
+}
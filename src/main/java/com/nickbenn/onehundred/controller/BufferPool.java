@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.controller;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Pool of direct {@link ByteBuffer} instances of a single size, so that buffers used only briefly
+ * (e.g. for a single read or write on a socket channel) are not repeatedly allocated, and so that
+ * the number of buffers held does not grow with the number of (mostly idle) connections. At most a
+ * specified number of released buffers are retained for reuse; any beyond that are left to the
+ * garbage collector.
+ * <p>Instances of this class are not thread-safe; in {@link SelectorServerSession}, each selector
+ * thread has its own pool.</p>
+ */
+final class BufferPool {
+
+  private final int bufferSize;
+  private final int maxRetained;
+  private final ArrayDeque<ByteBuffer> buffers;
+
+  /**
+   * Initializes this pool, with no buffers initially retained.
+   *
+   * @param bufferSize  Capacity (in bytes) of each buffer.
+   * @param maxRetained Maximum number of released buffers retained for reuse.
+   */
+  BufferPool(int bufferSize, int maxRetained) {
+    this.bufferSize = bufferSize;
+    this.maxRetained = maxRetained;
+    buffers = new ArrayDeque<>(maxRetained);
+  }
+
+  /**
+   * Returns a cleared buffer from the pool, or a newly allocated buffer if the pool is empty.
+   *
+   * @return (See above.)
+   */
+  ByteBuffer acquire() {
+    ByteBuffer buffer = buffers.pollLast();
+    return (buffer != null) ? buffer.clear() : ByteBuffer.allocateDirect(bufferSize);
+  }
+
+  /**
+   * Returns the specified buffer (previously acquired from this pool) to the pool.
+   *
+   * @param buffer Buffer no longer in use.
+   */
+  void release(ByteBuffer buffer) {
+    if (buffers.size() < maxRetained && buffer.isDirect() && buffer.capacity() == bufferSize) {
+      buffers.addLast(buffer);
+    }
+  }
+
+  /**
+   * Returns the capacity (in bytes) of each buffer in this pool.
+   *
+   * @return (See above.)
+   */
+  int getBufferSize() {
+    return bufferSize;
+  }
+
+}
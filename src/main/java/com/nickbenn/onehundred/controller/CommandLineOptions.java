@@ -3,10 +3,19 @@
  */
 package com.nickbenn.onehundred.controller;
 
+import com.nickbenn.onehundred.learning.LearnedStrategy;
+import com.nickbenn.onehundred.learning.Trainer;
+import com.nickbenn.onehundred.strategy.RandomStreams;
 import com.nickbenn.onehundred.strategy.Strategy;
 import com.nickbenn.onehundred.strategy.Strategy.StrategyInitializationException;
+import com.nickbenn.onehundred.strategy.StrategyRegistry;
+import com.nickbenn.onehundred.tournament.Tournament;
 import com.nickbenn.onehundred.model.Game;
 import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.MoveSet;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.ResourceBundle;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
@@ -24,28 +33,75 @@ import org.apache.commons.cli.ParseException;
  */
 public class CommandLineOptions {
 
+  /**
+   * File name denoting the standard input stream, rather than a file, in {@link Mode#BATCH} mode;
+   * this is also the default file in that mode.
+   */
+  public static final String STANDARD_INPUT = "-";
+  /** TCP port on which connections are accepted in {@link Mode#SERVE} mode, by default. */
+  public static final int DEFAULT_PORT = 10100;
+
   private static final String OPTIONS_BUNDLE_NAME = "options";
 
   private static final String BOUND_SHORT_OPTION = "b";
   private static final String BOUND_LONG_OPTION = "bound";
   private static final String MAX_MOVE_SHORT_OPTION = "m";
   private static final String MAX_MOVE_LONG_OPTION = "max";
+  private static final String MOVES_SHORT_OPTION = "S";
+  private static final String MOVES_LONG_OPTION = "moves";
   private static final String OPERATION_SHORT_OPTION = "o";
   private static final String OPERATION_LONG_OPTION = "operation";
   private static final String STRATEGY_SHORT_OPTION = "s";
   private static final String STRATEGY_LONG_OPTION = "strategy";
+  private static final String MODE_SHORT_OPTION = "M";
+  private static final String MODE_LONG_OPTION = "mode";
+  private static final String OPPONENT_SHORT_OPTION = "p";
+  private static final String OPPONENT_LONG_OPTION = "opponent";
+  private static final String PLAYERS_SHORT_OPTION = "P";
+  private static final String PLAYERS_LONG_OPTION = "players";
+  private static final String GAMES_SHORT_OPTION = "g";
+  private static final String GAMES_LONG_OPTION = "games";
+  private static final String THREADS_SHORT_OPTION = "t";
+  private static final String THREADS_LONG_OPTION = "threads";
+  private static final String SEED_SHORT_OPTION = "r";
+  private static final String SEED_LONG_OPTION = "seed";
+  private static final String FILE_SHORT_OPTION = "f";
+  private static final String FILE_LONG_OPTION = "file";
+  private static final String PORT_SHORT_OPTION = "l";
+  private static final String PORT_LONG_OPTION = "port";
+  private static final String JOURNAL_SHORT_OPTION = "j";
+  private static final String JOURNAL_LONG_OPTION = "journal";
+  private static final String QUIET_SHORT_OPTION = "q";
+  private static final String QUIET_LONG_OPTION = "quiet";
   private static final String HELP_SHORT_OPTION = "?";
+  private static final String UNKNOWN_STRATEGY_FORMAT =
+      "Strategy \"%s\" not found; available strategies are %s.";
   private static final String HELP_LONG_OPTION = "help";
+  private static final String JOURNAL_REQUIRED_FORMAT =
+      "A journal directory (--%1$s) must be specified in %2$s mode.";
+  private static final String BOUND_OUT_OF_RANGE_FORMAT =
+      "Upper bound (%1$d) exceeds %2$d; larger bounds are supported only in %3$s mode.";
 
   private final Options options;
   private final String syntax;
   private final String header;
   private final String footer;
 
-  private int bound;
+  private long bound;
   private int maxMove;
+  private MoveSet moves;
   private Operation operation;
-  private Strategy strategy;
+  private String strategyKey;
+  private Mode mode;
+  private String opponentKey;
+  private List<String> playerKeys;
+  private long games;
+  private int threads;
+  private RandomStreams streams;
+  private Path file;
+  private int port;
+  private Path journal;
+  private boolean quiet;
   private boolean helpRequested;
 
   /**
@@ -57,8 +113,19 @@ public class CommandLineOptions {
     options = new Options();
     options.addOption(buildBoundOption(bundle));
     options.addOption(buildMaxMoveOption(bundle));
+    options.addOption(buildMovesOption(bundle));
     options.addOption(buildOperationOption(bundle));
     options.addOption(buildStrategyOption(bundle));
+    options.addOption(buildModeOption(bundle));
+    options.addOption(buildOpponentOption(bundle));
+    options.addOption(buildPlayersOption(bundle));
+    options.addOption(buildGamesOption(bundle));
+    options.addOption(buildThreadsOption(bundle));
+    options.addOption(buildSeedOption(bundle));
+    options.addOption(buildFileOption(bundle));
+    options.addOption(buildPortOption(bundle));
+    options.addOption(buildJournalOption(bundle));
+    options.addOption(buildQuietOption(bundle));
     options.addOption(buildHelpOption(bundle));
     syntax = bundle.getString(Keys.SYNTAX);
     header = bundle.getString(Keys.HEADER);
@@ -74,8 +141,8 @@ public class CommandLineOptions {
    * @param args Command-line arguments.
    * @throws ParseException                  If the command-line arguments are not recognized as
    *                                         specifying the options defined here.
-   * @throws StrategyInitializationException If the specified (or default) {@link Strategy} cannot
-   *                                         be instantiated.
+   * @throws StrategyInitializationException If the specified (or default) {@link Strategy} key is
+   *                                         not found in {@link StrategyRegistry}.
    * @throws IllegalArgumentException        If any of the option values cannot be parsed from the
    *                                         {@link String} representation used in the command line
    *                                         to the appropriate type.
@@ -84,19 +151,67 @@ public class CommandLineOptions {
       throws ParseException, StrategyInitializationException, IllegalArgumentException {
     CommandLine commandLine = new DefaultParser().parse(options, args);
     bound = commandLine.hasOption(BOUND_SHORT_OPTION)
-        ? Integer.parseInt(commandLine.getOptionValue(BOUND_SHORT_OPTION))
+        ? Long.parseLong(commandLine.getOptionValue(BOUND_SHORT_OPTION))
         : Game.DEFAULT_UPPER_BOUND;
     maxMove = commandLine.hasOption(MAX_MOVE_SHORT_OPTION)
         ? Integer.parseInt(commandLine.getOptionValue(MAX_MOVE_SHORT_OPTION))
         : Game.DEFAULT_MAX_MOVE;
+    moves = commandLine.hasOption(MOVES_SHORT_OPTION)
+        ? MoveSet.parse(commandLine.getOptionValue(MOVES_SHORT_OPTION))
+        : MoveSet.contiguous(maxMove);
+    if (commandLine.hasOption(MOVES_SHORT_OPTION)) {
+      maxMove = moves.getMax();
+    }
     operation = commandLine.hasOption(OPERATION_SHORT_OPTION)
         ? Operation.valueOf(commandLine.getOptionValue(OPERATION_SHORT_OPTION).toUpperCase())
         : Game.DEFAULT_OPERATION;
-    strategy = Strategy.newInstance(
-        commandLine.hasOption(STRATEGY_SHORT_OPTION)
-            ? commandLine.getOptionValue(STRATEGY_SHORT_OPTION).toLowerCase()
-            : ConsoleSolitaireReferee.DEFAULT_STRATEGY_KEY
-    );
+    strategyKey = validateStrategyKey(commandLine.hasOption(STRATEGY_SHORT_OPTION)
+        ? commandLine.getOptionValue(STRATEGY_SHORT_OPTION).toLowerCase()
+        : ConsoleSolitaireReferee.DEFAULT_STRATEGY_KEY);
+    mode = commandLine.hasOption(MODE_SHORT_OPTION)
+        ? Mode.valueOf(commandLine.getOptionValue(MODE_SHORT_OPTION).toUpperCase())
+        : Mode.DEFAULT;
+    opponentKey = validateStrategyKey(commandLine.hasOption(OPPONENT_SHORT_OPTION)
+        ? commandLine.getOptionValue(OPPONENT_SHORT_OPTION).toLowerCase()
+        : ConsoleSolitaireReferee.DEFAULT_STRATEGY_KEY);
+    playerKeys = new ArrayList<>();
+    if (commandLine.hasOption(PLAYERS_SHORT_OPTION)) {
+      for (String key : commandLine.getOptionValue(PLAYERS_SHORT_OPTION).split(",")) {
+        playerKeys.add(validateStrategyKey(key.strip().toLowerCase()));
+      }
+    } else {
+      playerKeys.addAll(Tournament.Builder.DEFAULT_KEYS);
+    }
+    playerKeys = List.copyOf(playerKeys);
+    games = commandLine.hasOption(GAMES_SHORT_OPTION)
+        ? Long.parseLong(commandLine.getOptionValue(GAMES_SHORT_OPTION))
+        : (mode == Mode.TOURNAMENT)
+            ? Tournament.Builder.DEFAULT_GAMES
+            : (mode == Mode.TRAIN)
+                ? Trainer.Builder.DEFAULT_EPISODES
+                : SelfPlaySimulation.Builder.DEFAULT_GAMES;
+    threads = commandLine.hasOption(THREADS_SHORT_OPTION)
+        ? Integer.parseInt(commandLine.getOptionValue(THREADS_SHORT_OPTION))
+        : Runtime.getRuntime().availableProcessors();
+    streams = commandLine.hasOption(SEED_SHORT_OPTION)
+        ? new RandomStreams(Long.parseLong(commandLine.getOptionValue(SEED_SHORT_OPTION)))
+        : new RandomStreams();
+    file = commandLine.hasOption(FILE_SHORT_OPTION)
+        ? Path.of(commandLine.getOptionValue(FILE_SHORT_OPTION))
+        : (mode == Mode.BATCH)
+            ? Path.of(STANDARD_INPUT)
+            : LearnedStrategy.getDefaultFile();
+    port = commandLine.hasOption(PORT_SHORT_OPTION)
+        ? Integer.parseInt(commandLine.getOptionValue(PORT_SHORT_OPTION))
+        : DEFAULT_PORT;
+    journal = commandLine.hasOption(JOURNAL_SHORT_OPTION)
+        ? Path.of(commandLine.getOptionValue(JOURNAL_SHORT_OPTION))
+        : null;
+    if (mode == Mode.REPORT && journal == null) {
+      throw new IllegalArgumentException(String.format(JOURNAL_REQUIRED_FORMAT, JOURNAL_LONG_OPTION,
+          Mode.REPORT));
+    }
+    quiet = commandLine.hasOption(QUIET_SHORT_OPTION);
     helpRequested = commandLine.hasOption(HELP_SHORT_OPTION);
   }
 
@@ -114,8 +229,24 @@ public class CommandLineOptions {
    * method, or from the default value specified in {@link Game#DEFAULT_UPPER_BOUND}.
    *
    * @return (See above.)
+   * @throws IllegalArgumentException If the value exceeds {@link Integer#MAX_VALUE}; in that case,
+   *                                  {@link #getLongBound()} must be used instead.
+   */
+  public int getBound() throws IllegalArgumentException {
+    if (bound > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+          String.format(BOUND_OUT_OF_RANGE_FORMAT, bound, Integer.MAX_VALUE, Mode.SIMULATE));
+    }
+    return (int) bound;
+  }
+
+  /**
+   * Returns the target value (for the addition game) or the starting value (for the subtraction
+   * game), without restriction to the range of {@code int}.
+   *
+   * @return (See above.)
    */
-  public int getBound() {
+  public long getLongBound() {
     return bound;
   }
 
@@ -131,6 +262,18 @@ public class CommandLineOptions {
     return maxMove;
   }
 
+  /**
+   * Returns the {@link MoveSet} of quantities that may be added or subtracted in each move. This
+   * value is taken either from the {@code args} passed to the {@link #parse(String[])} method, or
+   * is the contiguous set from 1 to {@link #getMaxMove()}. When a move set is specified, it takes
+   * precedence over the maximum move, and {@link #getMaxMove()} returns its largest member.
+   *
+   * @return (See above.)
+   */
+  public MoveSet getMoves() {
+    return moves;
+  }
+
   /**
    * Returns the game operation or direction (that is, addition or subtraction) as an instance of
    * the {@link Operation} {@code enum}. This value is taken either from the {@code args} passed to
@@ -143,6 +286,19 @@ public class CommandLineOptions {
     return operation;
   }
 
+  /**
+   * Creates and returns a new instance of the playing {@link Strategy} used by the computer, as
+   * identified by {@link #getStrategyKey()}. The key is validated by {@link #parse(String[])}, but
+   * no instance is created until this method is invoked. Each instance created uses a new source of
+   * randomness, split from the streams derived from {@link #getSeed()}.
+   *
+   * @return (See above.)
+   * @throws StrategyInitializationException If the {@link Strategy} cannot be instantiated.
+   */
+  public Strategy getStrategy() throws StrategyInitializationException {
+    return Strategy.newInstance(strategyKey, streams.split());
+  }
+
   /**
    * Returns a key identifying the playing {@link Strategy} used by the computer. This value is
    * taken either from the {@code args} passed to the {@link #parse(String[])} method, or from the
@@ -150,8 +306,133 @@ public class CommandLineOptions {
    *
    * @return (See above.)
    */
-  public Strategy getStrategy() {
-    return strategy;
+  public String getStrategyKey() {
+    return strategyKey;
+  }
+
+  /**
+   * Returns the {@link Mode} in which the application will run. This value is taken either from the
+   * {@code args} passed to the {@link #parse(String[])} method, or from {@link Mode#DEFAULT}.
+   *
+   * @return (See above.)
+   */
+  public Mode getMode() {
+    return mode;
+  }
+
+  /**
+   * Returns the key (in {@code strategies.properties}) identifying the {@link Strategy} used for
+   * player 1 in modes where both players are played by the computer. This value is taken either
+   * from the {@code args} passed to the {@link #parse(String[])} method, or from the default value
+   * specified in {@link ConsoleSolitaireReferee#DEFAULT_STRATEGY_KEY}.
+   *
+   * @return (See above.)
+   */
+  public String getOpponentKey() {
+    return opponentKey;
+  }
+
+  /**
+   * Returns the keys (in {@code strategies.properties}) identifying the strategies that take part
+   * in {@link Mode#TOURNAMENT} mode. This value is taken either from the {@code args} passed to
+   * the {@link #parse(String[])} method, or defaults to {@link Tournament.Builder#DEFAULT_KEYS}.
+   *
+   * @return Unmodifiable {@link List} of strategy keys.
+   */
+  public List<String> getPlayerKeys() {
+    return playerKeys;
+  }
+
+  /**
+   * Returns the number of games to play in modes where both players are played by the computer.
+   * This value is taken either from the {@code args} passed to the {@link #parse(String[])}
+   * method, or from the default value specified in {@link SelfPlaySimulation.Builder#DEFAULT_GAMES}
+   * (or, in {@link Mode#TOURNAMENT} mode, {@link Tournament.Builder#DEFAULT_GAMES}, where the value
+   * is the number of games played by each ordered pair of strategies from each starting player;
+   * in {@link Mode#TRAIN} mode, {@link Trainer.Builder#DEFAULT_EPISODES}, where the value is the
+   * number of training episodes).
+   *
+   * @return (See above.)
+   */
+  public long getGames() {
+    return games;
+  }
+
+  /**
+   * Returns the number of worker threads to use in modes that play games in parallel. This value is
+   * taken either from the {@code args} passed to the {@link #parse(String[])} method, or defaults
+   * to the number of available processors. In {@link Mode#SERVE_NIO} mode, this is the number of
+   * selector threads; in {@link Mode#REPORT} mode, the number of journal segments read
+   * concurrently.
+   *
+   * @return (See above.)
+   */
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * Returns the seed from which all sources of randomness used by computer strategies are derived.
+   * This value is taken either from the {@code args} passed to the {@link #parse(String[])} method,
+   * or is selected at random; in either case, specifying the same seed (along with the other
+   * options) in a subsequent run will reproduce the results of this run.
+   *
+   * @return (See above.)
+   */
+  public long getSeed() {
+    return streams.getSeed();
+  }
+
+  /**
+   * Returns the location of the learned table file, which is written in {@link Mode#TRAIN} mode,
+   * and played from by {@link LearnedStrategy} in the modes where the computer plays games. This value is taken either from the {@code args}
+   * passed to the {@link #parse(String[])} method, or from
+   * {@link LearnedStrategy#getDefaultFile()} (or, in {@link Mode#BATCH} mode, from
+   * {@link #STANDARD_INPUT}). In {@link Mode#PROFILE} and {@link Mode#BATCH} modes, this is instead
+   * the file read as input.
+   *
+   * @return (See above.)
+   */
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * Returns the TCP port (on the loopback interface) on which connections are accepted in
+   * {@link Mode#SERVE}, {@link Mode#SERVE_NIO}, and {@link Mode#HTTP} modes. This value is taken
+   * either from the {@code args} passed to the {@link #parse(String[])} method, or from
+   * {@link #DEFAULT_PORT}; a value of 0 selects any free port.
+   *
+   * @return (See above.)
+   */
+  public int getPort() {
+    return port;
+  }
+
+  /**
+   * Returns the directory of the journal to which all games played (in any mode) are recorded, or
+   * {@code null} if no journal is written. This value is taken from the {@code args} passed to the
+   * {@link #parse(String[])} method. In {@link Mode#REPORT} mode, this is instead the journal
+   * read, and must be specified.
+   *
+   * @return (See above.)
+   */
+  public Path getJournal() {
+    return journal;
+  }
+
+  /**
+   * Indicates that the {@code --quiet} or {@code -q} option was passed to
+   * {@link #parse(String[])} in {@code args}. In {@link Mode#PLAY} mode, this suppresses the
+   * presentation of the game state during each game (see
+   * {@link ConsoleSolitaireReferee.Builder#setQuiet(boolean)}); in {@link Mode#BATCH} mode, it
+   * suppresses the summary following the per-game results; in {@link Mode#SERVE} and
+   * {@link Mode#SERVE_NIO} modes, it applies to the games played by every client.
+   *
+   * @return (See above.)
+   */
+  public boolean isQuiet() {
+    return quiet;
   }
 
   /**
@@ -165,6 +446,14 @@ public class CommandLineOptions {
     return helpRequested;
   }
 
+  private static String validateStrategyKey(String key) throws StrategyInitializationException {
+    if (!StrategyRegistry.getInstance().contains(key)) {
+      throw new StrategyInitializationException(String.format(UNKNOWN_STRATEGY_FORMAT, key,
+          String.join(", ", StrategyRegistry.getInstance().getKeys())));
+    }
+    return key;
+  }
+
   private static Option buildBoundOption(ResourceBundle bundle) {
     return Option
         .builder()
@@ -173,7 +462,7 @@ public class CommandLineOptions {
         .required(false)
         .hasArg()
         .optionalArg(false)
-        .type(Integer.class)
+        .type(Long.class)
         .argName(bundle.getString(Keys.BOUND_ARG_NAME))
         .desc(String.format(
             bundle.getString(Keys.BOUND_DESCRIPTION_FORMAT), Game.DEFAULT_UPPER_BOUND))
@@ -195,6 +484,20 @@ public class CommandLineOptions {
         .build();
   }
 
+  private static Option buildMovesOption(ResourceBundle bundle) {
+    return Option
+        .builder()
+        .option(MOVES_SHORT_OPTION)
+        .longOpt(MOVES_LONG_OPTION)
+        .required(false)
+        .hasArg()
+        .optionalArg(false)
+        .type(String.class)
+        .argName(bundle.getString(Keys.MOVES_ARG_NAME))
+        .desc(bundle.getString(Keys.MOVES_DESCRIPTION))
+        .build();
+  }
+
   private static Option buildOperationOption(ResourceBundle bundle) {
     return Option
         .builder()
@@ -221,10 +524,153 @@ public class CommandLineOptions {
         .type(String.class)
         .argName(bundle.getString(Keys.STRATEGY_ARG_NAME))
         .desc(String.format(bundle.getString(Keys.STRATEGY_DESCRIPTION_FORMAT),
+            ConsoleSolitaireReferee.DEFAULT_STRATEGY_KEY.toUpperCase(),
+            String.join(", ", StrategyRegistry.getInstance().getKeys()).toUpperCase()))
+        .build();
+  }
+
+  private static Option buildModeOption(ResourceBundle bundle) {
+    return Option
+        .builder()
+        .option(MODE_SHORT_OPTION)
+        .longOpt(MODE_LONG_OPTION)
+        .required(false)
+        .hasArg()
+        .optionalArg(false)
+        .type(Mode.class)
+        .argName(bundle.getString(Keys.MODE_ARG_NAME))
+        .desc(String.format(bundle.getString(Keys.MODE_DESCRIPTION_FORMAT), Mode.DEFAULT))
+        .build();
+  }
+
+  private static Option buildOpponentOption(ResourceBundle bundle) {
+    return Option
+        .builder()
+        .option(OPPONENT_SHORT_OPTION)
+        .longOpt(OPPONENT_LONG_OPTION)
+        .required(false)
+        .hasArg()
+        .optionalArg(false)
+        .type(String.class)
+        .argName(bundle.getString(Keys.OPPONENT_ARG_NAME))
+        .desc(String.format(bundle.getString(Keys.OPPONENT_DESCRIPTION_FORMAT),
             ConsoleSolitaireReferee.DEFAULT_STRATEGY_KEY.toUpperCase()))
         .build();
   }
 
+  private static Option buildPlayersOption(ResourceBundle bundle) {
+    return Option
+        .builder()
+        .option(PLAYERS_SHORT_OPTION)
+        .longOpt(PLAYERS_LONG_OPTION)
+        .required(false)
+        .hasArg()
+        .optionalArg(false)
+        .type(String.class)
+        .argName(bundle.getString(Keys.PLAYERS_ARG_NAME))
+        .desc(String.format(bundle.getString(Keys.PLAYERS_DESCRIPTION_FORMAT),
+            String.join(",", Tournament.Builder.DEFAULT_KEYS)))
+        .build();
+  }
+
+  private static Option buildGamesOption(ResourceBundle bundle) {
+    return Option
+        .builder()
+        .option(GAMES_SHORT_OPTION)
+        .longOpt(GAMES_LONG_OPTION)
+        .required(false)
+        .hasArg()
+        .optionalArg(false)
+        .type(Long.class)
+        .argName(bundle.getString(Keys.GAMES_ARG_NAME))
+        .desc(String.format(bundle.getString(Keys.GAMES_DESCRIPTION_FORMAT),
+            SelfPlaySimulation.Builder.DEFAULT_GAMES, Tournament.Builder.DEFAULT_GAMES,
+            Trainer.Builder.DEFAULT_EPISODES))
+        .build();
+  }
+
+  private static Option buildThreadsOption(ResourceBundle bundle) {
+    return Option
+        .builder()
+        .option(THREADS_SHORT_OPTION)
+        .longOpt(THREADS_LONG_OPTION)
+        .required(false)
+        .hasArg()
+        .optionalArg(false)
+        .type(Integer.class)
+        .argName(bundle.getString(Keys.THREADS_ARG_NAME))
+        .desc(bundle.getString(Keys.THREADS_DESCRIPTION))
+        .build();
+  }
+
+  private static Option buildSeedOption(ResourceBundle bundle) {
+    return Option
+        .builder()
+        .option(SEED_SHORT_OPTION)
+        .longOpt(SEED_LONG_OPTION)
+        .required(false)
+        .hasArg()
+        .optionalArg(false)
+        .type(Long.class)
+        .argName(bundle.getString(Keys.SEED_ARG_NAME))
+        .desc(bundle.getString(Keys.SEED_DESCRIPTION))
+        .build();
+  }
+
+  private static Option buildFileOption(ResourceBundle bundle) {
+    return Option
+        .builder()
+        .option(FILE_SHORT_OPTION)
+        .longOpt(FILE_LONG_OPTION)
+        .required(false)
+        .hasArg()
+        .optionalArg(false)
+        .type(String.class)
+        .argName(bundle.getString(Keys.FILE_ARG_NAME))
+        .desc(String.format(bundle.getString(Keys.FILE_DESCRIPTION_FORMAT),
+            LearnedStrategy.getDefaultFile()))
+        .build();
+  }
+
+  private static Option buildPortOption(ResourceBundle bundle) {
+    return Option
+        .builder()
+        .option(PORT_SHORT_OPTION)
+        .longOpt(PORT_LONG_OPTION)
+        .required(false)
+        .hasArg()
+        .optionalArg(false)
+        .type(Integer.class)
+        .argName(bundle.getString(Keys.PORT_ARG_NAME))
+        .desc(String.format(bundle.getString(Keys.PORT_DESCRIPTION_FORMAT), DEFAULT_PORT))
+        .build();
+  }
+
+  private static Option buildJournalOption(ResourceBundle bundle) {
+    return Option
+        .builder()
+        .option(JOURNAL_SHORT_OPTION)
+        .longOpt(JOURNAL_LONG_OPTION)
+        .required(false)
+        .hasArg()
+        .optionalArg(false)
+        .type(String.class)
+        .argName(bundle.getString(Keys.JOURNAL_ARG_NAME))
+        .desc(bundle.getString(Keys.JOURNAL_DESCRIPTION))
+        .build();
+  }
+
+  private static Option buildQuietOption(ResourceBundle bundle) {
+    return Option
+        .builder()
+        .option(QUIET_SHORT_OPTION)
+        .longOpt(QUIET_LONG_OPTION)
+        .required(false)
+        .hasArg(false)
+        .desc(bundle.getString(Keys.QUIET_DESCRIPTION))
+        .build();
+  }
+
   private static Option buildHelpOption(ResourceBundle bundle) {
     return Option
         .builder()
@@ -236,4 +682,38 @@ public class CommandLineOptions {
         .build();
   }
 
+  /**
+   * Enumerates the modes in which the application may be run, as selected with the {@code --mode}
+   * (or {@code -M}) option.
+   */
+  public enum Mode {
+
+    /** Interactive play of successive games between the user and the computer. */
+    PLAY,
+    /** Headless simulation of many games between two computer strategies. */
+    SIMULATE,
+    /** Round-robin tournament among registered computer strategies. */
+    TOURNAMENT,
+    /** Exact computation of the outcome probabilities of games between two computer strategies. */
+    ANALYZE,
+    /** Training of the policy played by the learned computer strategy. */
+    TRAIN,
+    /** Summary of the move latency of each strategy, from a JDK Flight Recorder recording. */
+    PROFILE,
+    /** Non-interactive play of games against the computer, with the user's moves from a file. */
+    BATCH,
+    /** Service of games against the computer to clients connected to a local TCP port. */
+    SERVE,
+    /** Service of games, as in {@link #SERVE}, with connections multiplexed by selector threads. */
+    SERVE_NIO,
+    /** Service of games against the computer through an HTTP API, with JSON responses. */
+    HTTP,
+    /** Summary of the outcomes, lengths, and moves of the games recorded in a journal. */
+    REPORT;
+
+    /** Mode used if none is specified on the command line. */
+    public static final Mode DEFAULT = PLAY;
+
+  }
+
 }
@@ -3,24 +3,66 @@
  */
 package com.nickbenn.onehundred.controller;
 
+import com.nickbenn.onehundred.analysis.MarkovAnalysis;
+import com.nickbenn.onehundred.learning.LearnedStrategy;
+import com.nickbenn.onehundred.learning.QTable;
+import com.nickbenn.onehundred.journal.Journal;
+import com.nickbenn.onehundred.journal.JournalAnalyzer;
+import com.nickbenn.onehundred.learning.Trainer;
+import com.nickbenn.onehundred.metrics.LogHistogram;
+import com.nickbenn.onehundred.metrics.MoveLatencyAnalyzer;
+import com.nickbenn.onehundred.strategy.Strategy;
 import com.nickbenn.onehundred.strategy.Strategy.StrategyInitializationException;
 import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.Operation;
 import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.model.Rules;
+import com.nickbenn.onehundred.tournament.Tournament;
 import com.nickbenn.onehundred.view.GamePresentation;
+import com.nickbenn.onehundred.view.Template;
 import com.nickbenn.onehundred.view.TextGamePresentation;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.ResourceBundle;
+import java.util.Set;
 import org.apache.commons.cli.ParseException;
 
 /**
- *
+ * Runs the console-mode application in the {@link CommandLineOptions.Mode} selected on the command
+ * line: interactive play of successive games between the user and the computer, headless
+ * simulation of many games between two computer strategies (see {@link SelfPlaySimulation}), a
+ * round-robin tournament among computer strategies (see {@link Tournament}), exact analysis of
+ * games between two computer strategies (see {@link MarkovAnalysis}), training of the policy
+ * played by {@link LearnedStrategy} (see {@link Trainer}), or summary of the move latency of each
+ * strategy recorded in a JDK Flight Recorder recording (see {@link MoveLatencyAnalyzer}), or
+ * non-interactive play of games against the computer, with the user's moves read from a file or
+ * the standard input (see {@link ScriptedReferee}), or summary of the games recorded in a journal
+ * (see {@link JournalAnalyzer}). In {@link CommandLineOptions.Mode#SERVE} mode, the session is
+ * instead handled by {@link ServerSession}; in {@link CommandLineOptions.Mode#SERVE_NIO} mode, by
+ * {@link SelectorServerSession}; and in {@link CommandLineOptions.Mode#HTTP} mode, by
+ * {@link HttpSession}. In every mode other than {@link CommandLineOptions.Mode#REPORT}, if a
+ * journal directory is specified, a {@link Journal} is opened and installed as the default for the
+ * duration of the session, so that every game played is recorded in it. In the modes where the
+ * computer plays games, the file specified on the command line is used as the policy file of
+ * {@link LearnedStrategy}; in the other modes, that file has a different role, and the policy file
+ * is left unchanged.
  */
 public class ConsoleSession extends Session {
 
   private static final String BUNDLE_NAME = "session";
+  private static final int BATCH_BUFFER_CAPACITY = 1 << 16;
+  private static final Set<CommandLineOptions.Mode> POLICY_FILE_MODES = EnumSet.of(
+      CommandLineOptions.Mode.PLAY, CommandLineOptions.Mode.SIMULATE,
+      CommandLineOptions.Mode.TOURNAMENT, CommandLineOptions.Mode.ANALYZE,
+      CommandLineOptions.Mode.SERVE, CommandLineOptions.Mode.SERVE_NIO,
+      CommandLineOptions.Mode.HTTP);
 
   private final CommandLineOptions options;
   private final BufferedReader input;
@@ -45,16 +87,89 @@ public class ConsoleSession extends Session {
   public void run() {
     try {
       options.parse(getArgs());
+      if (POLICY_FILE_MODES.contains(options.getMode())) {
+        LearnedStrategy.setDefaultFile(options.getFile());
+      }
       if (options.isHelpRequested()) {
         options.showHelp();
       } else {
-        play();
+        Journal journal = (options.getMode() != CommandLineOptions.Mode.REPORT)
+            ? openJournal()
+            : null;
+        Thread closer = (journal != null) ? new Thread(journal::close) : null;
+        if (closer != null) {
+          Runtime.getRuntime().addShutdownHook(closer);
+        }
+        try {
+          dispatch();
+        } finally {
+          if (closer != null) {
+            Runtime.getRuntime().removeShutdownHook(closer);
+            journal.close();
+          }
+        }
       }
     } catch (StrategyInitializationException | ParseException | IllegalArgumentException e) {
       output.println(e.getMessage());
       options.showHelp();
     } catch (IOException e) {
       throw new RuntimeException(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private Journal openJournal() throws IOException {
+    Path directory = options.getJournal();
+    if (directory == null) {
+      return null;
+    }
+    Journal journal = new Journal.Builder(directory).build();
+    if (journal.getRecoveredBytes() > 0) {
+      System.err.printf(bundle.getString(Keys.JOURNAL_RECOVERED_FORMAT),
+          journal.getRecoveredBytes(), directory);
+    }
+    Journal.setDefault(journal);
+    return journal;
+  }
+
+  private void dispatch()
+      throws StrategyInitializationException, IOException, InterruptedException {
+    switch (options.getMode()) {
+      case SIMULATE:
+        simulate();
+        break;
+      case TOURNAMENT:
+        tournament();
+        break;
+      case ANALYZE:
+        analyze();
+        break;
+      case TRAIN:
+        train();
+        break;
+      case PROFILE:
+        profile();
+        break;
+      case BATCH:
+        batch();
+        break;
+      case SERVE:
+        new ServerSession(getArgs()).run();
+        break;
+      case SERVE_NIO:
+        new SelectorServerSession(getArgs()).run();
+        break;
+      case HTTP:
+        new HttpSession(getArgs()).run();
+        break;
+      case REPORT:
+        report();
+        break;
+      case PLAY:
+      default:
+        play();
+        break;
     }
   }
 
@@ -74,19 +189,263 @@ public class ConsoleSession extends Session {
   private void playOnce(Game.State state, GamePresentation<String> presentation)
       throws StrategyInitializationException {
     new ConsoleSolitaireReferee.Builder(presentation, bundle)
+        .setInput(input)
+        .setOutput(output)
         .setInitialState(state)
         .setTarget(options.getBound())
         .setMaxMove(options.getMaxMove())
+        .setMoves(options.getMoves())
         .setOperation(options.getOperation())
         .setStrategy(options.getStrategy())
+        .setQuiet(options.isQuiet())
+        .setPlayerNames(ConsoleSolitaireReferee.USER_PLAYER_NAME, options.getStrategyKey())
+        .setSeed(options.getSeed())
         .build()
         .play();
   }
 
+  private void simulate() throws StrategyInitializationException, InterruptedException {
+    long start = System.nanoTime();
+    SelfPlaySimulation.Result result =
+        new SelfPlaySimulation.Builder(options.getOpponentKey(), options.getStrategyKey())
+            .setOperation(options.getOperation())
+            .setTarget(options.getLongBound())
+            .setMaxMove(options.getMaxMove())
+            .setMoves(options.getMoves())
+            .setGames(options.getGames())
+            .setParallelism(options.getThreads())
+            .setSeed(options.getSeed())
+            .build()
+            .run();
+    double elapsed = (System.nanoTime() - start) / 1e9;
+    output.printf(bundle.getString(Keys.SIMULATION_SUMMARY_FORMAT),
+        result.getGames(), options.getOpponentKey(), options.getStrategyKey(), elapsed,
+        result.getWins(State.PLAYER_ONE_MOVE, State.PLAYER_ONE_WIN),
+        result.getWins(State.PLAYER_ONE_MOVE, State.PLAYER_TWO_WIN),
+        result.getWins(State.PLAYER_TWO_MOVE, State.PLAYER_ONE_WIN),
+        result.getWins(State.PLAYER_TWO_MOVE, State.PLAYER_TWO_WIN),
+        result.getIllegalMoves(), options.getSeed());
+  }
+
+  private void tournament() throws StrategyInitializationException, InterruptedException {
+    long start = System.nanoTime();
+    Tournament.Result result = new Tournament.Builder(options.getPlayerKeys())
+        .addRules(new Rules(options.getOperation(), options.getBound(), options.getMoves()))
+        .setGames(options.getGames())
+        .setParallelism(options.getThreads())
+        .setSeed(options.getSeed())
+        .build()
+        .run();
+    double elapsed = (System.nanoTime() - start) / 1e9;
+    List<String> keys = result.getKeys();
+    String labelFormat = bundle.getString(Keys.TOURNAMENT_LABEL_FORMAT);
+    String columnFormat = bundle.getString(Keys.TOURNAMENT_COLUMN_FORMAT);
+    String cellFormat = bundle.getString(Keys.TOURNAMENT_CELL_FORMAT);
+    String emptyCell = bundle.getString(Keys.TOURNAMENT_EMPTY_CELL);
+    output.printf(bundle.getString(Keys.TOURNAMENT_SUMMARY_FORMAT), result.getGames(),
+        keys.size(), result.getSeed(), elapsed, result.getIllegalMoves());
+    output.printf(labelFormat, "");
+    for (String key : keys) {
+      output.printf(columnFormat, key);
+    }
+    for (int row = 0; row < keys.size(); row++) {
+      output.println();
+      output.printf(labelFormat, keys.get(row));
+      for (int column = 0; column < keys.size(); column++) {
+        double rate = result.getWinRate(row, column);
+        if (Double.isNaN(rate)) {
+          output.printf(columnFormat, emptyCell);
+        } else {
+          output.printf(cellFormat, rate);
+        }
+      }
+    }
+    output.printf(bundle.getString(Keys.TOURNAMENT_RATING_HEADER));
+    for (int i = 0; i < keys.size(); i++) {
+      output.printf(bundle.getString(Keys.TOURNAMENT_RATING_FORMAT), keys.get(i),
+          result.getRating(i));
+    }
+    output.println();
+  }
+
+  private void train() throws StrategyInitializationException, IOException, InterruptedException {
+    long start = System.nanoTime();
+    Rules rules = new Rules(options.getOperation(), options.getBound(), options.getMoves());
+    Trainer.Builder builder = new Trainer.Builder(rules)
+        .setEpisodes(options.getGames())
+        .setParallelism(options.getThreads())
+        .setSeed(options.getSeed())
+        .setCheckpointFile(options.getFile());
+    if (Files.exists(options.getFile())) {
+      QTable table = QTable.read(options.getFile());
+      if (table.getMoves().equals(rules.getMoves()) && table.getBound() == rules.getUpperBound()) {
+        builder.setTable(table);
+      }
+    }
+    Trainer.Result result = builder.build().run();
+    double elapsed = (System.nanoTime() - start) / 1e9;
+    output.printf(bundle.getString(Keys.TRAINING_SUMMARY_FORMAT), result.getEpisodes(), rules,
+        result.getSeed(), elapsed, result.getCheckpoints(), options.getFile(),
+        100 * result.getOptimalFraction());
+    List<String> opponents = result.getOpponents();
+    for (int i = 0; i < opponents.size(); i++) {
+      output.printf(bundle.getString(Keys.TRAINING_OPPONENT_FORMAT), opponents.get(i),
+          result.getWinRate(i));
+    }
+    output.println();
+  }
+
+  private void analyze() throws StrategyInitializationException, IllegalArgumentException {
+    Rules rules = new Rules(options.getOperation(), options.getBound(), options.getMoves());
+    MarkovAnalysis analysis;
+    try {
+      analysis = MarkovAnalysis.analyze(rules,
+          Strategy.newInstance(options.getOpponentKey()),
+          Strategy.newInstance(options.getStrategyKey()));
+    } catch (UnsupportedOperationException e) {
+      throw new IllegalArgumentException(String.format(
+          bundle.getString(Keys.ANALYSIS_UNSUPPORTED_FORMAT), options.getOpponentKey(),
+          options.getStrategyKey(), e.getMessage()), e);
+    }
+    int bound = rules.getUpperBound();
+    output.printf(bundle.getString(Keys.ANALYSIS_SUMMARY_FORMAT),
+        options.getOpponentKey(), options.getStrategyKey(), rules,
+        analysis.getPlayerOneWinProbability(State.PLAYER_ONE_MOVE, bound),
+        analysis.getExpectedLength(State.PLAYER_ONE_MOVE, bound),
+        analysis.getPlayerOneWinProbability(State.PLAYER_TWO_MOVE, bound),
+        analysis.getExpectedLength(State.PLAYER_TWO_MOVE, bound));
+    String rowFormat = bundle.getString(Keys.ANALYSIS_ROW_FORMAT);
+    for (int remaining = bound; remaining > 0; remaining--) {
+      int count = (rules.getOperation() == Operation.ADDITION) ? bound - remaining : remaining;
+      output.printf(rowFormat, count,
+          analysis.getPlayerOneWinProbability(State.PLAYER_ONE_MOVE, remaining),
+          analysis.getExpectedLength(State.PLAYER_ONE_MOVE, remaining),
+          analysis.getPlayerOneWinProbability(State.PLAYER_TWO_MOVE, remaining),
+          analysis.getExpectedLength(State.PLAYER_TWO_MOVE, remaining));
+    }
+  }
+
+  private void profile() throws IOException {
+    MoveLatencyAnalyzer analyzer = MoveLatencyAnalyzer.analyze(options.getFile());
+    output.printf(bundle.getString(Keys.PROFILE_SUMMARY_FORMAT), analyzer.getRecording(),
+        analyzer.getGames());
+    String rowFormat = bundle.getString(Keys.PROFILE_ROW_FORMAT);
+    for (MoveLatencyAnalyzer.Summary summary : analyzer.getSummaries()) {
+      LogHistogram latency = summary.getLatency();
+      output.printf(rowFormat, summary.getStrategy(), summary.getMoves(),
+          summary.getIllegalMoves(), latency.getMean() / 1e3, latency.getQuantile(0.5) / 1e3,
+          latency.getQuantile(0.99) / 1e3, latency.getMax() / 1e3);
+    }
+    output.println();
+  }
+
+  private void report() throws IOException, InterruptedException {
+    long start = System.nanoTime();
+    JournalAnalyzer analyzer = JournalAnalyzer.analyze(options.getJournal(), options.getThreads());
+    double elapsed = (System.nanoTime() - start) / 1e9;
+    JournalAnalyzer.Category total = analyzer.getTotal();
+    output.printf(bundle.getString(Keys.REPORT_SUMMARY_FORMAT), analyzer.getRecords(),
+        analyzer.getSegments(), analyzer.getBytes() / (double) (1 << 20), analyzer.getDirectory(),
+        elapsed, analyzer.getTruncatedSegments(), total.getStarted(), total.getGames());
+    output.printf(bundle.getString(Keys.REPORT_CATEGORY_HEADER));
+    String categoryFormat = bundle.getString(Keys.REPORT_CATEGORY_FORMAT);
+    for (JournalAnalyzer.Category category : analyzer.getCategories()) {
+      output.printf(categoryFormat, category.getPlayerOneName(), category.getPlayerTwoName(),
+          category.getGames(), category.getPlayerOneWinRate(), category.getMeanLength(),
+          category.getLengthQuantile(0.5), category.getLengthQuantile(0.9),
+          category.getMaxLength(), category.getOperation(), category.getUpperBound(),
+          category.getMoves());
+    }
+    output.printf(bundle.getString(Keys.REPORT_PLAYER_HEADER));
+    String playerFormat = bundle.getString(Keys.REPORT_PLAYER_FORMAT);
+    for (JournalAnalyzer.PlayerSummary player : analyzer.getPlayers()) {
+      output.printf(playerFormat, player.getName(), player.getGames(), player.getWinRate(),
+          player.getMoves(), player.getIllegalMoves(), player.getWinningPositions(),
+          player.getOptimalRate());
+    }
+    output.printf(bundle.getString(Keys.REPORT_LENGTH_HEADER));
+    String lengthFormat = bundle.getString(Keys.REPORT_LENGTH_FORMAT);
+    for (int bucket = 0; bucket <= LogHistogram.bucketOf(total.getMaxLength()); bucket++) {
+      long min = (bucket > 0) ? LogHistogram.upperBound(bucket - 1) + 1 : 0;
+      long max = LogHistogram.upperBound(bucket);
+      long games = total.getGames(min, max);
+      if (games > 0) {
+        output.printf(lengthFormat, min, max, games, (double) games / total.getGames());
+      }
+    }
+    output.println();
+  }
+
+  private void batch() throws StrategyInitializationException, IOException {
+    Path file = options.getFile();
+    if (file.toString().equals(CommandLineOptions.STANDARD_INPUT)) {
+      batch(System.in);
+    } else {
+      try (InputStream input = Files.newInputStream(file)) {
+        batch(input);
+      }
+    }
+  }
+
+  private void batch(InputStream input) throws StrategyInitializationException, IOException {
+    long start = System.nanoTime();
+    MoveTokenizer script = new MoveTokenizer(input);
+    Strategy strategy = options.getStrategy();
+    Template resultTemplate = Template.compile(bundle.getString(Keys.BATCH_RESULT_FORMAT));
+    String playerName = bundle.getString(Keys.PLAYER_NAME);
+    String computerName = bundle.getString(Keys.COMPUTER_NAME);
+    String incomplete = bundle.getString(Keys.BATCH_INCOMPLETE);
+    int bound = options.getBound();
+    StringBuilder buffer = new StringBuilder(BATCH_BUFFER_CAPACITY);
+    State initialState = State.PLAYER_ONE_MOVE;
+    int games = 0;
+    int incompleteGames = 0;
+    long moves = 0;
+    long illegalMoves = 0;
+    while (script.nextGame()) {
+      ScriptedReferee referee = new ScriptedReferee.Builder(script, strategy)
+          .setInitialState(initialState)
+          .setTarget(bound)
+          .setMaxMove(options.getMaxMove())
+          .setMoves(options.getMoves())
+          .setOperation(options.getOperation())
+          .setSeed(options.getSeed())
+          .build();
+      referee.play();
+      State result = referee.getResult();
+      String winner;
+      if (result == State.PLAYER_ONE_WIN) {
+        winner = playerName;
+      } else if (result == State.PLAYER_TWO_WIN) {
+        winner = computerName;
+      } else {
+        winner = incomplete;
+        incompleteGames++;
+      }
+      resultTemplate.render(buffer, ++games, referee.getMoves(), referee.getIllegalMoves(), winner);
+      moves += referee.getMoves();
+      illegalMoves += referee.getIllegalMoves();
+      if (buffer.length() >= BATCH_BUFFER_CAPACITY / 2) {
+        output.append(buffer);
+        buffer.setLength(0);
+      }
+      initialState = (initialState == State.PLAYER_ONE_MOVE)
+          ? State.PLAYER_TWO_MOVE
+          : State.PLAYER_ONE_MOVE;
+    }
+    output.append(buffer);
+    if (!options.isQuiet()) {
+      double elapsed = (System.nanoTime() - start) / 1e9;
+      output.printf(bundle.getString(Keys.BATCH_SUMMARY_FORMAT), games, strategy.getKey(), elapsed,
+          moves, illegalMoves, incompleteGames);
+    }
+    output.flush();
+  }
+
   private boolean keepPlaying(String prompt, String negativeResponse) throws IOException {
     output.print(prompt);
-    String response = input.readLine().trim().toLowerCase();
-    return (!response.startsWith(negativeResponse));
+    String response = input.readLine();
+    return (response != null && !response.trim().toLowerCase().startsWith(negativeResponse));
   }
 
 }
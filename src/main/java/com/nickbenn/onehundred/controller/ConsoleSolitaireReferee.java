@@ -8,9 +8,11 @@ import com.nickbenn.onehundred.strategy.Strategy.StrategyInitializationException
 import com.nickbenn.onehundred.model.Game;
 import com.nickbenn.onehundred.view.GamePresentation;
 import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
 import java.util.Objects;
 import java.util.ResourceBundle;
 
@@ -21,6 +23,13 @@ import java.util.ResourceBundle;
  * and user input is read from the console (or some other {@link java.io.InputStream}); all of this
  * is orchestrated in a simple invocation of {@link #play()}. The actions of the computer opponent
  * are provided by an instance of {@link Strategy}.
+ * <p>All presentation output is rendered (via the {@link Appendable} overloads of the
+ * {@link GamePresentation} methods) into a buffer, which is written to the configured output
+ * stream, and the stream flushed, only when user input is awaited and when the game ends. In quiet
+ * mode (see {@link Builder#setQuiet(boolean)}), the game state and next-move notices are not
+ * presented during the game; only the moves, prompts, errors, and final state are presented.</p>
+ * <p>If the input ends (or cannot be read) before the game is completed, {@link #play()} throws
+ * {@link UncheckedIOException}.</p>
  */
 public final class ConsoleSolitaireReferee extends Referee {
 
@@ -29,12 +38,21 @@ public final class ConsoleSolitaireReferee extends Referee {
    * default.
    */
   public static final String DEFAULT_STRATEGY_KEY = "optimal";
+  /**
+   * Name under which metrics are recorded for the user (see
+   * {@link Referee.Builder#setPlayerNames(String, String)}).
+   */
+  public static final String USER_PLAYER_NAME = "user";
+
+  private static final int BUFFER_CAPACITY = 1024;
 
   private final Strategy strategy;
   private final BufferedReader input;
   private final PrintStream output;
   private final String playerName;
   private final String computerName;
+  private final boolean quiet;
+  private final StringBuilder buffer = new StringBuilder(BUFFER_CAPACITY);
 
   private ConsoleSolitaireReferee(Builder builder) {
     super(builder);
@@ -44,17 +62,36 @@ public final class ConsoleSolitaireReferee extends Referee {
     ResourceBundle bundle = builder.bundle;
     playerName = bundle.getString(Keys.PLAYER_NAME);
     computerName = bundle.getString(Keys.COMPUTER_NAME);
+    quiet = builder.quiet;
+  }
+
+  /**
+   * Plays a single game through completion, as specified in {@link Referee#play()}, and then
+   * writes any buffered output.
+   */
+  @Override
+  public void play() {
+    try {
+      super.play();
+    } finally {
+      flush();
+    }
   }
 
   @Override
   protected void presentState() {
-    output.print(getPresentation().stateRepresentation(getGame(), playerName, computerName));
+    Game game = getGame();
+    if (!quiet || game.getState().isTerminal()) {
+      getPresentation().stateRepresentation(buffer, game, playerName, computerName);
+    }
   }
 
   @Override
   protected void presentNextMove() {
-    output.print(getPresentation().nextMoveNotice(
-        (getGame().getState() == Game.State.PLAYER_ONE_MOVE) ? playerName : computerName));
+    if (!quiet) {
+      getPresentation().nextMoveNotice(buffer,
+          (getGame().getState() == Game.State.PLAYER_ONE_MOVE) ? playerName : computerName);
+    }
   }
 
   @Override
@@ -64,25 +101,37 @@ public final class ConsoleSolitaireReferee extends Referee {
       return (game.getState() == Game.State.PLAYER_ONE_MOVE) ? getUserMove()
           : strategy.getNextMove(game);
     } catch (IOException e) {
-      throw new RuntimeException(e);
+      throw new UncheckedIOException(e);
     }
   }
 
   @Override
   protected void presentCompletedMove(Game.State state, int move) {
-    System.out.print(getPresentation().movePresentation(move,
-        (state == Game.State.PLAYER_ONE_MOVE ? playerName : computerName)));
+    getPresentation().movePresentation(buffer, move,
+        (state == Game.State.PLAYER_ONE_MOVE ? playerName : computerName));
   }
 
   @Override
   protected void presentError(Object presentation) {
-    System.out.print(presentation);
+    buffer.append(presentation);
   }
 
   private int getUserMove() throws IOException {
-    output.print(getPresentation().movePrompt(getGame()));
-    String input = this.input.readLine().trim();
-    return Integer.parseInt(input);
+    getPresentation().movePrompt(buffer, getGame());
+    flush();
+    String input = this.input.readLine();
+    if (input == null) {
+      throw new EOFException();
+    }
+    return Integer.parseInt(input.trim());
+  }
+
+  private void flush() {
+    if (buffer.length() > 0) {
+      output.append(buffer);
+      buffer.setLength(0);
+    }
+    output.flush();
   }
 
   /**
@@ -104,6 +153,7 @@ public final class ConsoleSolitaireReferee extends Referee {
     private BufferedReader input;
     private PrintStream output;
     private Strategy strategy;
+    private boolean quiet;
 
     /**
      * Initialize this instance with the required parameter values. As is typical in implementations
@@ -161,6 +211,19 @@ public final class ConsoleSolitaireReferee extends Referee {
       return self();
     }
 
+    /**
+     * Sets the quiet mode flag. In quiet mode, the game state and the next player to move are not
+     * presented during the game (only after it ends); the moves, prompts, and error messages are
+     * still presented. If not set, quiet mode is off.
+     *
+     * @param quiet (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setQuiet(boolean quiet) {
+      this.quiet = quiet;
+      return self();
+    }
+
     @Override
     protected Builder self() {
       return this;
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.controller;
+
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent in-memory store of games (or of any per-game state, such as an {@link HttpReferee}),
+ * each identified by a randomly generated, URL-safe identifier. Every access to a game through
+ * {@link #get(String)} renews it; games not accessed for longer than the idle timeout are removed
+ * by {@link #evictIdle(long)}, which is expected to be invoked periodically. The number of games
+ * held at any time is limited; {@link #add(Object)} fails when that limit is reached.
+ * <p>All methods of this class may be invoked concurrently; no locking is performed on the values
+ * stored, which must be synchronized by the caller where necessary.</p>
+ *
+ * @param <T> Type of value stored for each game.
+ */
+public final class GameStore<T> {
+
+  private static final int ID_BYTES = 12;
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final int maxGames;
+  private final long timeoutNanos;
+  private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final SecureRandom rng = new SecureRandom();
+
+  /**
+   * Initializes this store, with the specified limits.
+   *
+   * @param maxGames      Maximum number of games held at any time.
+   * @param timeoutMillis Time (in milliseconds) after which a game not accessed is evicted.
+   */
+  public GameStore(int maxGames, long timeoutMillis) {
+    this.maxGames = maxGames;
+    timeoutNanos = 1_000_000L * timeoutMillis;
+  }
+
+  /**
+   * Adds {@code value} to this store, and returns the identifier generated for it.
+   *
+   * @param value Per-game state.
+   * @return Identifier of the added game, or {@code null} if the maximum number of games is already
+   * held.
+   */
+  public String add(T value) {
+    if (size.incrementAndGet() > maxGames) {
+      size.decrementAndGet();
+      return null;
+    }
+    Entry<T> entry = new Entry<>(value, System.nanoTime());
+    String id;
+    do {
+      id = newId();
+    } while (entries.putIfAbsent(id, entry) != null);
+    return id;
+  }
+
+  /**
+   * Returns the value stored for the specified game, renewing it, or {@code null} if there is no
+   * such game (e.g. because it was evicted or removed).
+   *
+   * @param id Game identifier.
+   * @return (See above.)
+   */
+  public T get(String id) {
+    Entry<T> entry = entries.get(id);
+    if (entry == null) {
+      return null;
+    }
+    entry.lastAccess = System.nanoTime();
+    return entry.value;
+  }
+
+  /**
+   * Removes the specified game from this store.
+   *
+   * @param id Game identifier.
+   * @return {@code true} if the game was present; {@code false} otherwise.
+   */
+  public boolean remove(String id) {
+    if (entries.remove(id) != null) {
+      size.decrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Removes all games not accessed within the idle timeout, as of the specified time.
+   *
+   * @param now Current value of {@link System#nanoTime()}.
+   * @return Number of games removed.
+   */
+  public int evictIdle(long now) {
+    int evicted = 0;
+    for (Map.Entry<String, Entry<T>> mapping : entries.entrySet()) {
+      if (now - mapping.getValue().lastAccess > timeoutNanos
+          && entries.remove(mapping.getKey(), mapping.getValue())) {
+        size.decrementAndGet();
+        evicted++;
+      }
+    }
+    return evicted;
+  }
+
+  /**
+   * Returns the number of games currently held.
+   *
+   * @return (See above.)
+   */
+  public int size() {
+    return size.get();
+  }
+
+  /**
+   * Returns the maximum number of games held at any time.
+   *
+   * @return (See above.)
+   */
+  public int getMaxGames() {
+    return maxGames;
+  }
+
+  private String newId() {
+    byte[] bytes = new byte[ID_BYTES];
+    rng.nextBytes(bytes);
+    char[] chars = new char[2 * ID_BYTES];
+    for (int i = 0; i < ID_BYTES; i++) {
+      chars[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+      chars[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xf];
+    }
+    return new String(chars);
+  }
+
+  private static final class Entry<T> {
+
+    private final T value;
+
+    private volatile long lastAccess;
+
+    private Entry(T value, long lastAccess) {
+      this.value = value;
+      this.lastAccess = lastAccess;
+    }
+
+  }
+
+}
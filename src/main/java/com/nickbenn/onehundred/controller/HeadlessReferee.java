@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.controller;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.strategy.Strategy;
+import java.util.Objects;
+
+/**
+ * Manages a single computer-vs-computer game, with the moves of each player provided by an instance
+ * of {@link Strategy}. No presentation of any kind is performed; this class is intended for use in
+ * bulk simulation (see {@link SelfPlaySimulation}), where the outcome of each game&mdash;available
+ * via {@link #getResult()} after {@link #play()} returns&mdash;is of interest, but the moves are
+ * not.
+ */
+public final class HeadlessReferee extends Referee {
+
+  private final Strategy playerOneStrategy;
+  private final Strategy playerTwoStrategy;
+
+  private int illegalMoves;
+
+  private HeadlessReferee(Builder builder) {
+    super(builder);
+    playerOneStrategy = builder.playerOneStrategy;
+    playerTwoStrategy = builder.playerTwoStrategy;
+  }
+
+  /**
+   * Plays a single game through completion, without presenting the game state or moves. Any illegal
+   * move returned by a {@link Strategy} is counted (see {@link #getIllegalMoves()}), and the same
+   * {@link Strategy} is then asked for another move.
+   */
+  @Override
+  public void play() {
+    while (!getGame().getState().isTerminal()) {
+      if (!applyMove(requestMove())) {
+        illegalMoves++;
+      }
+    }
+  }
+
+  /**
+   * Returns the current {@link State} of the game; after {@link #play()} has returned, this will be
+   * either {@link State#PLAYER_ONE_WIN} or {@link State#PLAYER_TWO_WIN}.
+   *
+   * @return (See above.)
+   */
+  public State getResult() {
+    return getGame().getState();
+  }
+
+  /**
+   * Returns the number of illegal moves attempted (and rejected) in the course of {@link #play()}.
+   *
+   * @return (See above.)
+   */
+  public int getIllegalMoves() {
+    return illegalMoves;
+  }
+
+  @Override
+  protected void presentState() {
+    // Nothing is presented in a headless game.
+  }
+
+  @Override
+  protected void presentNextMove() {
+    // Nothing is presented in a headless game.
+  }
+
+  @Override
+  protected int getMove() {
+    Game game = getGame();
+    return (game.getState() == State.PLAYER_ONE_MOVE)
+        ? playerOneStrategy.getNextMove(game)
+        : playerTwoStrategy.getNextMove(game);
+  }
+
+  @Override
+  protected void presentCompletedMove(State state, int move) {
+    // Nothing is presented in a headless game.
+  }
+
+  @Override
+  protected void presentError(Object presentation) {
+    // Nothing is presented in a headless game.
+  }
+
+  /**
+   * Concrete implementation of the Builder pattern used for constructing instances of
+   * {@link HeadlessReferee}.
+   */
+  @SuppressWarnings({"unused"})
+  public static class Builder extends Referee.Builder<Builder> {
+
+    private static final String NULL_STRATEGY_MESSAGE =
+        "strategy must be a non-null reference to an instance of a Strategy implementation.";
+
+    private final Strategy playerOneStrategy;
+    private final Strategy playerTwoStrategy;
+
+    /**
+     * Initializes this instance with the strategies used to select the moves of each player. The
+     * same {@link Strategy} instance may be used for both players. Unless otherwise specified
+     * with {@link #setPlayerNames(String, String)}, metrics are recorded under the keys of the
+     * strategies (see {@link Strategy#getKey()}).
+     *
+     * @param playerOneStrategy {@link Strategy} selecting moves for player 1.
+     * @param playerTwoStrategy {@link Strategy} selecting moves for player 2.
+     */
+    public Builder(Strategy playerOneStrategy, Strategy playerTwoStrategy) {
+      this.playerOneStrategy = Objects.requireNonNull(playerOneStrategy, NULL_STRATEGY_MESSAGE);
+      this.playerTwoStrategy = Objects.requireNonNull(playerTwoStrategy, NULL_STRATEGY_MESSAGE);
+      setPlayerNames(playerOneStrategy.getKey(), playerTwoStrategy.getKey());
+    }
+
+    @Override
+    protected Builder self() {
+      return this;
+    }
+
+    @Override
+    public HeadlessReferee build() {
+      return new HeadlessReferee(this);
+    }
+
+  }
+
+}
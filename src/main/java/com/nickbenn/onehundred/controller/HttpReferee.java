@@ -0,0 +1,211 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.controller;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.strategy.Strategy;
+import com.nickbenn.onehundred.strategy.Strategy.StrategyInitializationException;
+import com.nickbenn.onehundred.view.GamePresentation;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Manages a single solitaire (user against computer) game on behalf of {@link HttpSession}. As in
+ * {@link SolitaireStateMachine}, the game is driven by pushing moves into the state machine of
+ * {@link Referee}: each of the user's moves is supplied by the caller (see {@link #accept(int)}),
+ * and the computer's response is made automatically before that method returns. Rather than
+ * presenting text, this referee records the moves made in the most recent invocation of
+ * {@link #start()} or {@link #accept(int)}, so that they can be included, along with the resulting
+ * state, in a response to the client. Since there is no source of user moves for
+ * {@link #play()}, it throws {@link IllegalStateException} when the user is first to move.
+ * <p>Instances of this class are not thread-safe; {@link HttpSession} synchronizes on each
+ * instance while using it.</p>
+ */
+public final class HttpReferee extends Referee {
+
+  private static final String NOT_STARTED_MESSAGE = "Game has not been started.";
+  private static final String NO_PENDING_MOVE_MESSAGE =
+      "User moves must be supplied with accept(int).";
+  private static final int INITIAL_MOVES_CAPACITY = 4;
+
+  private final Strategy strategy;
+  private final String strategyKey;
+
+  private int[] lastMoves = new int[INITIAL_MOVES_CAPACITY];
+  private int lastMoveCount;
+  private int pendingMove;
+  private boolean pending;
+
+  private HttpReferee(Builder builder) {
+    super(builder);
+    strategy = builder.strategy;
+    strategyKey = builder.strategyKey;
+  }
+
+  /**
+   * Starts the game, making the computer's first move if the computer moves first.
+   *
+   * @throws IllegalStateException If the game has already been started.
+   */
+  @Override
+  public void start() throws IllegalStateException {
+    lastMoveCount = 0;
+    super.start();
+  }
+
+  /**
+   * Applies the specified move as the user's next move, if it is legal, followed by the computer's
+   * response (if the game is not finished by the user's move). If the move is not legal (including
+   * when the game is already finished), the state of the game is unchanged, and no moves are
+   * recorded.
+   *
+   * @param move Quantity to be added (or subtracted).
+   * @return {@code true} if the move was applied; {@code false} otherwise.
+   * @throws IllegalStateException If the game has not been started.
+   */
+  @Override
+  public boolean accept(int move) throws IllegalStateException {
+    if (!isStarted()) {
+      throw new IllegalStateException(NOT_STARTED_MESSAGE);
+    }
+    lastMoveCount = 0;
+    if (getState() != State.PLAYER_ONE_MOVE) {
+      return false;
+    }
+    pendingMove = move;
+    pending = true;
+    try {
+      return super.accept(requestMove());
+    } finally {
+      pending = false;
+    }
+  }
+
+  /**
+   * Returns the moves (by either player) applied in the most recent invocation of
+   * {@link #start()} or {@link #accept(int)}, in the order made.
+   *
+   * @return (See above.)
+   */
+  public int[] getLastMoves() {
+    return Arrays.copyOf(lastMoves, lastMoveCount);
+  }
+
+  /**
+   * Returns the current {@link State} of the game.
+   *
+   * @return (See above.)
+   */
+  public State getState() {
+    return getGame().getState();
+  }
+
+  /**
+   * Returns the key of the computer player's {@link Strategy}.
+   *
+   * @return (See above.)
+   */
+  public String getStrategyKey() {
+    return strategyKey;
+  }
+
+  @Override
+  protected void presentState() {
+    // Nothing is presented; the state is read by HttpSession.
+  }
+
+  @Override
+  protected void presentNextMove() {
+    // Nothing is presented; the state is read by HttpSession.
+  }
+
+  @Override
+  protected boolean isAutomatic(State state) {
+    return state == State.PLAYER_TWO_MOVE;
+  }
+
+  @Override
+  protected int getMove() throws IllegalStateException {
+    Game game = getGame();
+    if (game.getState() != State.PLAYER_ONE_MOVE) {
+      return strategy.getNextMove(game);
+    }
+    if (!pending) {
+      throw new IllegalStateException(NO_PENDING_MOVE_MESSAGE);
+    }
+    pending = false;
+    return pendingMove;
+  }
+
+  @Override
+  protected void presentCompletedMove(State state, int move) {
+    if (lastMoveCount == lastMoves.length) {
+      lastMoves = Arrays.copyOf(lastMoves, 2 * lastMoves.length);
+    }
+    lastMoves[lastMoveCount++] = move;
+  }
+
+  @Override
+  protected void presentError(Object presentation) {
+    // Illegal moves by the user are reported by accept(int).
+  }
+
+  /**
+   * Concrete implementation of the Builder pattern used for constructing instances of
+   * {@link HttpReferee}.
+   */
+  @SuppressWarnings({"unused"})
+  public static class Builder extends Referee.Builder<Builder> {
+
+    private static final String NULL_STRATEGY_MESSAGE =
+        "strategy must be a non-null reference to an instance of a Strategy implementation.";
+
+    private Strategy strategy;
+    private String strategyKey = ConsoleSolitaireReferee.DEFAULT_STRATEGY_KEY;
+
+    /**
+     * Initializes this instance with the {@link GamePresentation} used to construct the
+     * notification returned to the client when the user's move is not legal.
+     *
+     * @param presentation Instance of {@link GamePresentation GamePresentation&lt;T&gt;}
+     *                     implementation.
+     */
+    public Builder(GamePresentation<?> presentation) {
+      super(presentation);
+    }
+
+    /**
+     * Sets the {@link Strategy} instance that will be used by the {@link HttpReferee} to select
+     * the computer player's moves, along with the key identifying it. If not set, an instance of
+     * the class identified by {@link ConsoleSolitaireReferee#DEFAULT_STRATEGY_KEY} will be created
+     * and used.
+     *
+     * @param strategy    (See above.)
+     * @param strategyKey Key of {@code strategy} in {@code strategy.properties}.
+     * @return This {@link Builder} instance.
+     */
+    public Builder setStrategy(Strategy strategy, String strategyKey) {
+      this.strategy = Objects.requireNonNull(strategy, NULL_STRATEGY_MESSAGE);
+      this.strategyKey = strategyKey;
+      return self();
+    }
+
+    @Override
+    protected Builder self() {
+      return this;
+    }
+
+    @Override
+    public HttpReferee build() throws StrategyInitializationException {
+      if (strategy == null) {
+        strategy = Strategy.newInstance(ConsoleSolitaireReferee.DEFAULT_STRATEGY_KEY);
+        strategyKey = ConsoleSolitaireReferee.DEFAULT_STRATEGY_KEY;
+      }
+      return new HttpReferee(this);
+    }
+
+  }
+
+}
@@ -0,0 +1,500 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.controller;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.strategy.Strategy.StrategyInitializationException;
+import com.nickbenn.onehundred.view.JsonGameEncoder;
+import com.nickbenn.onehundred.view.JsonWriter;
+import com.nickbenn.onehundred.view.TextGamePresentation;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.cli.ParseException;
+
+/**
+ * Serves solitaire (user against computer) games through an HTTP API with JSON responses, on a TCP
+ * port on the loopback interface, using the HTTP server included in the JDK. Each request is
+ * handled in its own thread (a virtual thread, where supported; see {@link VirtualThreads}). Games
+ * are held in a {@link GameStore}, from which games idle for longer than the timeout are evicted.
+ * The API consists of the following resources:
+ * <ul>
+ *   <li>{@code POST /games}: creates a game, and responds with status 201 and the new game's
+ *   representation. The rules are specified by the parameters {@code bound}, {@code max},
+ *   {@code moves}, {@code operation}, {@code strategy}, and {@code seed}, with the same meaning
+ *   (and defaults) as the command-line options of the same names (see
+ *   {@link CommandLineOptions}), except that the default computer strategy is that specified on
+ *   the command line. The parameter {@code first} may be {@code user} (the default) or
+ *   {@code computer}; in the latter case, the computer's first move is made before the response
+ *   is sent.</li>
+ *   <li>{@code GET /games/{id}}: responds with the game's representation.</li>
+ *   <li>{@code POST /games/{id}/moves}: plays the user's move specified by the {@code move}
+ *   parameter, followed by the computer's response, and responds with the game's representation.
+ *   An illegal move is rejected with status 422, and a move in a finished game with status
+ *   409.</li>
+ *   <li>{@code DELETE /games/{id}}: removes the game, responding with status 204.</li>
+ * </ul>
+ * <p>Parameters may be supplied in the query string, or in a form-encoded
+ * ({@code application/x-www-form-urlencoded}) request body. The representation of a game is a JSON
+ * object with the members written by {@link JsonGameEncoder}, preceded by {@code id} and
+ * {@code strategy} (the computer's strategy key), and followed by {@code lastMoves} (the moves made
+ * by both players in the most recent request that created the game or played a move). The user is
+ * always player 1. Errors are reported with an {@code error} member; in responses to rejected
+ * moves, this is included in the game's representation.</p>
+ * <p>The maximum number of games held is specified by the {@value #GAMES_PROPERTY} system property
+ * (default {@value #DEFAULT_GAMES}); games are not created while that number is held. The idle
+ * timeout, in seconds, is specified by the {@value #TIMEOUT_PROPERTY} system property (default
+ * {@value #DEFAULT_TIMEOUT}). Since the computer's strategy may precompute a table covering every
+ * position, the {@code bound} of a new game may not exceed the value of the {@value #BOUND_PROPERTY}
+ * system property (default {@value #DEFAULT_BOUND}), nor may its move set include more moves than
+ * the value of the {@value #MOVES_PROPERTY} system property (default {@value #DEFAULT_MOVES});
+ * requests exceeding these limits are rejected with status 400. The port is specified with the
+ * {@code --port} option (see {@link CommandLineOptions#getPort()}).</p>
+ */
+public class HttpSession extends Session {
+
+  /** System property specifying the maximum number of games held at any time. */
+  public static final String GAMES_PROPERTY = "onehundred.http.games";
+  /** Maximum number of games held at any time, if not otherwise specified. */
+  public static final int DEFAULT_GAMES = 100_000;
+  /** System property specifying the time (in seconds) after which an idle game is evicted. */
+  public static final String TIMEOUT_PROPERTY = "onehundred.http.timeout";
+  /** Time (in seconds) after which an idle game is evicted, if not otherwise specified. */
+  public static final int DEFAULT_TIMEOUT = 600;
+  /** System property specifying the largest upper bound of a game. */
+  public static final String BOUND_PROPERTY = "onehundred.http.bound";
+  /** Largest upper bound of a game, if not otherwise specified. */
+  public static final int DEFAULT_BOUND = 10_000;
+  /** System property specifying the largest number of moves in the move set of a game. */
+  public static final String MOVES_PROPERTY = "onehundred.http.moves";
+  /** Largest number of moves in the move set of a game, if not otherwise specified. */
+  public static final int DEFAULT_MOVES = 100;
+
+  private static final String BUNDLE_NAME = "session";
+  private static final String THREAD_NAME_PREFIX = "http-";
+  private static final String EVICTION_THREAD_NAME = "http-eviction";
+  private static final String GAMES_PATH = "/games";
+  private static final String MOVES_SEGMENT = "moves";
+  private static final String FIRST_PARAMETER = "first";
+  private static final String MOVE_PARAMETER = "move";
+  private static final String STRATEGY_PARAMETER = "strategy";
+  private static final String USER_FIRST = "user";
+  private static final String COMPUTER_FIRST = "computer";
+  private static final Set<String> RULES_PARAMETERS =
+      Set.of("bound", "max", "moves", "operation", STRATEGY_PARAMETER, "seed");
+  private static final String GET = "GET";
+  private static final String POST = "POST";
+  private static final String DELETE = "DELETE";
+  private static final String CONTENT_TYPE = "application/json; charset=utf-8";
+  private static final int BACKLOG = 4096;
+  private static final int MAX_BODY_LENGTH = 1024;
+  private static final int RESPONSE_CAPACITY = 512;
+  private static final int MIN_SWEEP_SECONDS = 1;
+  private static final int SWEEPS_PER_TIMEOUT = 10;
+
+  private static final int OK = 200;
+  private static final int CREATED = 201;
+  private static final int NO_CONTENT = 204;
+  private static final int BAD_REQUEST = 400;
+  private static final int NOT_FOUND = 404;
+  private static final int METHOD_NOT_ALLOWED = 405;
+  private static final int CONFLICT = 409;
+  private static final int PAYLOAD_TOO_LARGE = 413;
+  private static final int UNPROCESSABLE = 422;
+  private static final int UNAVAILABLE = 503;
+
+  private static final String NOT_FOUND_MESSAGE = "No such resource.";
+  private static final String GAME_NOT_FOUND_FORMAT = "Game \"%s\" not found.";
+  private static final String METHOD_NOT_ALLOWED_FORMAT = "Method %s not allowed; use %s.";
+  private static final String UNKNOWN_PARAMETER_FORMAT = "Unknown parameter \"%s\".";
+  private static final String INVALID_FIRST_FORMAT =
+      "Parameter \"first\" must be \"user\" or \"computer\", not \"%s\".";
+  private static final String INVALID_MOVE_FORMAT =
+      "Parameter \"move\" must be an integer, not \"%s\".";
+  private static final String MISSING_MOVE_MESSAGE = "Parameter \"move\" is required.";
+  private static final String BODY_TOO_LARGE_FORMAT = "Request body exceeds %d bytes.";
+  private static final String GAME_FINISHED_MESSAGE = "Game is finished.";
+  private static final String STORE_FULL_FORMAT = "No more than %,d games may be held.";
+  private static final String BOUND_TOO_LARGE_FORMAT = "Bound (%,d) must not exceed %,d.";
+  private static final String TOO_MANY_MOVES_FORMAT =
+      "Move set %s has %,d moves; no more than %,d are allowed.";
+
+  private final CommandLineOptions options;
+  private final PrintStream output;
+  private final ResourceBundle bundle;
+  private final GameStore<HttpReferee> store;
+  private final long timeoutMillis;
+  private final int maxBound;
+  private final int maxMoves;
+  private final Map<Operation, TextGamePresentation> presentations = new EnumMap<>(Operation.class);
+  private final CountDownLatch stopped = new CountDownLatch(1);
+
+  private volatile HttpServer server;
+
+  /**
+   * Initializes this instance with the provided {@code args}. Status messages are written to the
+   * standard output device.
+   *
+   * @param args Command-line arguments.
+   */
+  public HttpSession(String[] args) {
+    super(args);
+    options = new CommandLineOptions();
+    output = System.out;
+    bundle = ResourceBundle.getBundle(BUNDLE_NAME);
+    timeoutMillis = 1000L * Integer.getInteger(TIMEOUT_PROPERTY, DEFAULT_TIMEOUT);
+    maxBound = Integer.getInteger(BOUND_PROPERTY, DEFAULT_BOUND);
+    maxMoves = Integer.getInteger(MOVES_PROPERTY, DEFAULT_MOVES);
+    store = new GameStore<>(Integer.getInteger(GAMES_PROPERTY, DEFAULT_GAMES), timeoutMillis);
+    for (Operation operation : Operation.values()) {
+      presentations.put(operation, new TextGamePresentation(operation));
+    }
+  }
+
+  /**
+   * Parses the command-line options, starts the HTTP server, and then serves requests until
+   * {@link #stop()} is invoked, or the process is terminated.
+   */
+  @Override
+  public void run() {
+    try {
+      options.parse(getArgs());
+      options.getStrategy();
+      serve();
+    } catch (StrategyInitializationException | ParseException | IllegalArgumentException e) {
+      output.println(e.getMessage());
+      options.showHelp();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Stops the HTTP server (if started), allowing {@link #run()} to return.
+   */
+  public void stop() {
+    HttpServer server = this.server;
+    if (server != null) {
+      server.stop(0);
+    }
+    stopped.countDown();
+  }
+
+  /**
+   * Returns the {@link GameStore} holding the games created through this session.
+   *
+   * @return (See above.)
+   */
+  public GameStore<HttpReferee> getStore() {
+    return store;
+  }
+
+  private void serve() throws IOException, InterruptedException {
+    ThreadFactory factory = VirtualThreads.newFactory(THREAD_NAME_PREFIX);
+    HttpServer server = HttpServer.create(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), options.getPort()), BACKLOG);
+    server.createContext(GAMES_PATH, this::handle);
+    server.setExecutor((task) -> factory.newThread(task).start());
+    ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor((task) -> {
+      Thread thread = new Thread(task, EVICTION_THREAD_NAME);
+      thread.setDaemon(true);
+      return thread;
+    });
+    long sweepSeconds = Math.max(MIN_SWEEP_SECONDS, timeoutMillis / 1000 / SWEEPS_PER_TIMEOUT);
+    evictor.scheduleWithFixedDelay(() -> store.evictIdle(System.nanoTime()),
+        sweepSeconds, sweepSeconds, TimeUnit.SECONDS);
+    this.server = server;
+    server.start();
+    try {
+      output.printf(bundle.getString(Keys.HTTP_STARTED_FORMAT), server.getAddress().getPort(),
+          options.getStrategyKey(), store.getMaxGames(), VirtualThreads.isAvailable()
+              ? bundle.getString(Keys.SERVER_VIRTUAL_THREADS)
+              : bundle.getString(Keys.SERVER_PLATFORM_THREADS));
+      output.flush();
+      stopped.await();
+    } finally {
+      evictor.shutdownNow();
+      server.stop(0);
+    }
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      String path = exchange.getRequestURI().getRawPath().substring(GAMES_PATH.length());
+      String[] segments = path.isEmpty() || path.equals("/")
+          ? new String[0]
+          : path.substring(1).split("/", -1);
+      String method = exchange.getRequestMethod();
+      if (!path.isEmpty() && !path.startsWith("/")) {
+        error(exchange, NOT_FOUND, NOT_FOUND_MESSAGE);
+      } else if (segments.length == 0) {
+        if (POST.equals(method)) {
+          create(exchange);
+        } else {
+          notAllowed(exchange, POST);
+        }
+      } else if (segments.length == 1) {
+        if (GET.equals(method)) {
+          show(exchange, segments[0]);
+        } else if (DELETE.equals(method)) {
+          delete(exchange, segments[0]);
+        } else {
+          notAllowed(exchange, GET + ", " + DELETE);
+        }
+      } else if (segments.length == 2 && MOVES_SEGMENT.equals(segments[1])) {
+        if (POST.equals(method)) {
+          move(exchange, segments[0]);
+        } else {
+          notAllowed(exchange, POST);
+        }
+      } else {
+        error(exchange, NOT_FOUND, NOT_FOUND_MESSAGE);
+      }
+    }
+  }
+
+  private void create(HttpExchange exchange) throws IOException {
+    Map<String, String> parameters = parameters(exchange);
+    if (parameters == null) {
+      return;
+    }
+    String first = parameters.getOrDefault(FIRST_PARAMETER, USER_FIRST);
+    parameters.remove(FIRST_PARAMETER);
+    State initialState;
+    if (USER_FIRST.equals(first)) {
+      initialState = State.PLAYER_ONE_MOVE;
+    } else if (COMPUTER_FIRST.equals(first)) {
+      initialState = State.PLAYER_TWO_MOVE;
+    } else {
+      error(exchange, BAD_REQUEST, String.format(INVALID_FIRST_FORMAT, first));
+      return;
+    }
+    List<String> args = new ArrayList<>();
+    for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+      if (!RULES_PARAMETERS.contains(parameter.getKey())) {
+        error(exchange, BAD_REQUEST, String.format(UNKNOWN_PARAMETER_FORMAT, parameter.getKey()));
+        return;
+      }
+      args.add("--" + parameter.getKey());
+      args.add(parameter.getValue());
+    }
+    if (!parameters.containsKey(STRATEGY_PARAMETER)) {
+      args.add("--" + STRATEGY_PARAMETER);
+      args.add(options.getStrategyKey());
+    }
+    if (store.size() >= store.getMaxGames()) {
+      error(exchange, UNAVAILABLE, String.format(STORE_FULL_FORMAT, store.getMaxGames()));
+      return;
+    }
+    HttpReferee referee;
+    try {
+      CommandLineOptions rules = new CommandLineOptions();
+      rules.parse(args.toArray(new String[0]));
+      if (rules.getLongBound() > maxBound) {
+        throw new IllegalArgumentException(
+            String.format(BOUND_TOO_LARGE_FORMAT, rules.getLongBound(), maxBound));
+      }
+      if (rules.getMoves().size() > maxMoves) {
+        throw new IllegalArgumentException(String.format(
+            TOO_MANY_MOVES_FORMAT, rules.getMoves(), rules.getMoves().size(), maxMoves));
+      }
+      referee = new HttpReferee.Builder(presentations.get(rules.getOperation()))
+          .setInitialState(initialState)
+          .setTarget(rules.getBound())
+          .setMaxMove(rules.getMaxMove())
+          .setMoves(rules.getMoves())
+          .setOperation(rules.getOperation())
+          .setStrategy(rules.getStrategy(), rules.getStrategyKey())
+          .setPlayerNames(ConsoleSolitaireReferee.USER_PLAYER_NAME, rules.getStrategyKey())
+          .setSeed(rules.getSeed())
+          .build();
+    } catch (ParseException | IllegalArgumentException | StrategyInitializationException e) {
+      error(exchange, BAD_REQUEST, e.getMessage());
+      return;
+    }
+    String id = store.add(referee);
+    if (id == null) {
+      error(exchange, UNAVAILABLE, String.format(STORE_FULL_FORMAT, store.getMaxGames()));
+      return;
+    }
+    StringBuilder body = new StringBuilder(RESPONSE_CAPACITY);
+    synchronized (referee) {
+      referee.start();
+      game(body, id, referee, null);
+    }
+    exchange.getResponseHeaders().set("Location", GAMES_PATH + "/" + id);
+    respond(exchange, CREATED, body);
+  }
+
+  private void show(HttpExchange exchange, String id) throws IOException {
+    HttpReferee referee = find(exchange, id);
+    if (referee != null) {
+      StringBuilder body = new StringBuilder(RESPONSE_CAPACITY);
+      synchronized (referee) {
+        game(body, id, referee, null);
+      }
+      respond(exchange, OK, body);
+    }
+  }
+
+  private void delete(HttpExchange exchange, String id) throws IOException {
+    if (store.remove(id)) {
+      respond(exchange, NO_CONTENT, null);
+    } else {
+      error(exchange, NOT_FOUND, String.format(GAME_NOT_FOUND_FORMAT, id));
+    }
+  }
+
+  private void move(HttpExchange exchange, String id) throws IOException {
+    HttpReferee referee = find(exchange, id);
+    if (referee == null) {
+      return;
+    }
+    Map<String, String> parameters = parameters(exchange);
+    if (parameters == null) {
+      return;
+    }
+    String value = parameters.get(MOVE_PARAMETER);
+    if (value == null) {
+      error(exchange, BAD_REQUEST, MISSING_MOVE_MESSAGE);
+      return;
+    }
+    int move;
+    try {
+      move = Integer.parseInt(value.strip());
+    } catch (NumberFormatException e) {
+      error(exchange, BAD_REQUEST, String.format(INVALID_MOVE_FORMAT, value));
+      return;
+    }
+    StringBuilder body = new StringBuilder(RESPONSE_CAPACITY);
+    int status;
+    synchronized (referee) {
+      Game game = referee.getGame();
+      if (game.getState().isTerminal()) {
+        status = CONFLICT;
+        game(body, id, referee, GAME_FINISHED_MESSAGE);
+      } else if (referee.accept(move)) {
+        status = OK;
+        game(body, id, referee, null);
+      } else {
+        status = UNPROCESSABLE;
+        game(body, id, referee,
+            presentations.get(game.getOperation()).illegalMoveNotification(game).strip());
+      }
+    }
+    respond(exchange, status, body);
+  }
+
+  private HttpReferee find(HttpExchange exchange, String id) throws IOException {
+    HttpReferee referee = store.get(id);
+    if (referee == null) {
+      error(exchange, NOT_FOUND, String.format(GAME_NOT_FOUND_FORMAT, id));
+    }
+    return referee;
+  }
+
+  private Map<String, String> parameters(HttpExchange exchange) throws IOException {
+    Map<String, String> parameters = new LinkedHashMap<>();
+    decode(exchange.getRequestURI().getRawQuery(), parameters);
+    try (InputStream input = exchange.getRequestBody()) {
+      byte[] body = input.readNBytes(MAX_BODY_LENGTH + 1);
+      if (body.length > MAX_BODY_LENGTH) {
+        error(exchange, PAYLOAD_TOO_LARGE, String.format(BODY_TOO_LARGE_FORMAT, MAX_BODY_LENGTH));
+        return null;
+      }
+      decode(new String(body, StandardCharsets.UTF_8), parameters);
+    }
+    return parameters;
+  }
+
+  private static void decode(String encoded, Map<String, String> parameters) {
+    if (encoded == null || encoded.isBlank()) {
+      return;
+    }
+    for (String pair : encoded.strip().split("&")) {
+      if (!pair.isEmpty()) {
+        int split = pair.indexOf('=');
+        String name = (split < 0) ? pair : pair.substring(0, split);
+        String value = (split < 0) ? "" : pair.substring(split + 1);
+        parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+            URLDecoder.decode(value, StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  private static StringBuilder game(StringBuilder body, String id, HttpReferee referee,
+      String error) {
+    JsonWriter writer = new JsonWriter(body)
+        .beginObject()
+        .name("id").value(id)
+        .name("strategy").value(referee.getStrategyKey());
+    JsonGameEncoder.writeMembers(writer, referee.getGame());
+    writer.name("lastMoves").beginArray();
+    for (int move : referee.getLastMoves()) {
+      writer.value(move);
+    }
+    writer.endArray();
+    if (error != null) {
+      writer.name("error").value(error);
+    }
+    writer.endObject();
+    return body;
+  }
+
+  private static void notAllowed(HttpExchange exchange, String allowed) throws IOException {
+    exchange.getResponseHeaders().set("Allow", allowed);
+    error(exchange, METHOD_NOT_ALLOWED,
+        String.format(METHOD_NOT_ALLOWED_FORMAT, exchange.getRequestMethod(), allowed));
+  }
+
+  private static void error(HttpExchange exchange, int status, String message)
+      throws IOException {
+    StringBuilder body = new StringBuilder(RESPONSE_CAPACITY);
+    new JsonWriter(body)
+        .beginObject()
+        .name("error").value(message)
+        .endObject();
+    respond(exchange, status, body);
+  }
+
+  private static void respond(HttpExchange exchange, int status, CharSequence body)
+      throws IOException {
+    exchange.getResponseHeaders().set("Cache-Control", "no-store");
+    if (body == null) {
+      exchange.sendResponseHeaders(status, -1);
+      return;
+    }
+    byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream output = exchange.getResponseBody()) {
+      output.write(bytes);
+    }
+  }
+
+}
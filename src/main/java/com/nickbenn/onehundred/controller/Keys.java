@@ -16,10 +16,62 @@ abstract class Keys {
   static final String BOUND_DESCRIPTION_FORMAT = "bound_description_format";
   static final String MAX_MOVE_ARG_NAME = "max_move_arg_name";
   static final String MAX_MOVE_DESCRIPTION_FORMAT = "max_move_description_format";
+  static final String MOVES_ARG_NAME = "moves_arg_name";
+  static final String MOVES_DESCRIPTION = "moves_description";
   static final String OPERATION_ARG_NAME = "operation_arg_name";
   static final String OPERATION_DESCRIPTION_FORMAT = "operation_description_format";
   static final String STRATEGY_ARG_NAME = "strategy_arg_name";
   static final String STRATEGY_DESCRIPTION_FORMAT = "strategy_description_format";
+  static final String MODE_ARG_NAME = "mode_arg_name";
+  static final String MODE_DESCRIPTION_FORMAT = "mode_description_format";
+  static final String OPPONENT_ARG_NAME = "opponent_arg_name";
+  static final String OPPONENT_DESCRIPTION_FORMAT = "opponent_description_format";
+  static final String PLAYERS_ARG_NAME = "players_arg_name";
+  static final String PLAYERS_DESCRIPTION_FORMAT = "players_description_format";
+  static final String GAMES_ARG_NAME = "games_arg_name";
+  static final String GAMES_DESCRIPTION_FORMAT = "games_description_format";
+  static final String THREADS_ARG_NAME = "threads_arg_name";
+  static final String THREADS_DESCRIPTION = "threads_description";
+  static final String SEED_ARG_NAME = "seed_arg_name";
+  static final String SEED_DESCRIPTION = "seed_description";
+  static final String FILE_ARG_NAME = "file_arg_name";
+  static final String FILE_DESCRIPTION_FORMAT = "file_description_format";
+  static final String SIMULATION_SUMMARY_FORMAT = "simulation_summary_format";
+  static final String ANALYSIS_SUMMARY_FORMAT = "analysis_summary_format";
+  static final String ANALYSIS_ROW_FORMAT = "analysis_row_format";
+  static final String ANALYSIS_UNSUPPORTED_FORMAT = "analysis_unsupported_format";
+  static final String TOURNAMENT_SUMMARY_FORMAT = "tournament_summary_format";
+  static final String TOURNAMENT_LABEL_FORMAT = "tournament_label_format";
+  static final String TOURNAMENT_COLUMN_FORMAT = "tournament_column_format";
+  static final String TOURNAMENT_CELL_FORMAT = "tournament_cell_format";
+  static final String TOURNAMENT_EMPTY_CELL = "tournament_empty_cell";
+  static final String TOURNAMENT_RATING_HEADER = "tournament_rating_header";
+  static final String TOURNAMENT_RATING_FORMAT = "tournament_rating_format";
+  static final String TRAINING_SUMMARY_FORMAT = "training_summary_format";
+  static final String TRAINING_OPPONENT_FORMAT = "training_opponent_format";
+  static final String PROFILE_SUMMARY_FORMAT = "profile_summary_format";
+  static final String PROFILE_ROW_FORMAT = "profile_row_format";
+  static final String BATCH_RESULT_FORMAT = "batch_result_format";
+  static final String BATCH_INCOMPLETE = "batch_incomplete";
+  static final String BATCH_SUMMARY_FORMAT = "batch_summary_format";
+  static final String SERVER_STARTED_FORMAT = "server_started_format";
+  static final String SERVER_VIRTUAL_THREADS = "server_virtual_threads";
+  static final String SERVER_PLATFORM_THREADS = "server_platform_threads";
+  static final String SERVER_SELECTOR_THREADS_FORMAT = "server_selector_threads_format";
+  static final String HTTP_STARTED_FORMAT = "http_started_format";
+  static final String JOURNAL_RECOVERED_FORMAT = "journal_recovered_format";
+  static final String REPORT_SUMMARY_FORMAT = "report_summary_format";
+  static final String REPORT_CATEGORY_HEADER = "report_category_header";
+  static final String REPORT_CATEGORY_FORMAT = "report_category_format";
+  static final String REPORT_PLAYER_HEADER = "report_player_header";
+  static final String REPORT_PLAYER_FORMAT = "report_player_format";
+  static final String REPORT_LENGTH_HEADER = "report_length_header";
+  static final String REPORT_LENGTH_FORMAT = "report_length_format";
+  static final String PORT_ARG_NAME = "port_arg_name";
+  static final String PORT_DESCRIPTION_FORMAT = "port_description_format";
+  static final String JOURNAL_ARG_NAME = "journal_arg_name";
+  static final String JOURNAL_DESCRIPTION = "journal_description";
+  static final String QUIET_DESCRIPTION = "quiet_description";
   static final String HELP_DESCRIPTION = "help_description";
   static final String SYNTAX = "syntax";
   static final String HEADER = "header";
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streaming tokenizer for scripted move input, as read in {@link CommandLineOptions.Mode#BATCH}
+ * mode. Each line of input holds the moves of one player in a single game, as decimal integers
+ * (optionally signed) separated by spaces, tabs, commas, or semicolons; a {@code #} starts a
+ * comment that extends to the end of the line. Lines that contain no tokens are skipped by
+ * {@link #nextGame()}.
+ * <p>The input is read in blocks into a {@code byte[]} buffer, and each token is parsed in place,
+ * so that no objects are allocated per token or per line. Only ASCII input is supported: a token
+ * that includes any character other than a leading sign and decimal digits (or one whose value
+ * exceeds the range of {@code int}) is reported as {@link #INVALID}.</p>
+ * <p>This class does not close the underlying {@link InputStream}.</p>
+ */
+public final class MoveTokenizer {
+
+  /** Result of {@link #next()} when a move has been read; its value is {@link #getValue()}. */
+  public static final int MOVE = 0;
+  /** Result of {@link #next()} when the token read is not a valid integer. */
+  public static final int INVALID = 1;
+  /** Result of {@link #next()} when the end of the current line has been reached. */
+  public static final int END_OF_LINE = 2;
+  /** Result of {@link #next()} when the end of the input has been reached. */
+  public static final int END_OF_INPUT = 3;
+  /** Size of the input buffer, if not otherwise specified. */
+  public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+  private static final String INVALID_BUFFER_SIZE_FORMAT = "Buffer size (%d) must be positive.";
+  private static final int EOF = -1;
+
+  private final InputStream input;
+  private final byte[] buffer;
+
+  private int position;
+  private int limit;
+  private int value;
+
+  /**
+   * Initializes this instance to read from the specified {@link InputStream}, with a buffer of
+   * {@link #DEFAULT_BUFFER_SIZE} bytes.
+   *
+   * @param input Source of move tokens.
+   */
+  public MoveTokenizer(InputStream input) {
+    this(input, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Initializes this instance to read from the specified {@link InputStream}, with a buffer of the
+   * specified size.
+   *
+   * @param input      Source of move tokens.
+   * @param bufferSize Number of bytes read from {@code input} at a time.
+   * @throws IllegalArgumentException If {@code bufferSize} is not positive.
+   */
+  public MoveTokenizer(InputStream input, int bufferSize) throws IllegalArgumentException {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException(String.format(INVALID_BUFFER_SIZE_FORMAT, bufferSize));
+    }
+    this.input = input;
+    buffer = new byte[bufferSize];
+  }
+
+  /**
+   * Skips any lines containing no tokens, and returns a flag indicating whether a line containing
+   * at least one token remains; if so, the tokens of that line are returned by subsequent
+   * invocations of {@link #next()}.
+   *
+   * @return {@code true} if a line containing tokens remains; {@code false} otherwise.
+   * @throws IOException If thrown when reading the underlying {@link InputStream}.
+   */
+  public boolean nextGame() throws IOException {
+    int c;
+    while ((c = peek()) != EOF) {
+      if (c == '#') {
+        skipComment();
+      } else if (isSeparator(c) || c == '\n') {
+        position++;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Reads the next token from the current line, returning {@link #MOVE} (in which case the value
+   * is available from {@link #getValue()}), {@link #INVALID}, {@link #END_OF_LINE} (in which case
+   * the line terminator is consumed), or {@link #END_OF_INPUT}.
+   *
+   * @return (See above.)
+   * @throws IOException If thrown when reading the underlying {@link InputStream}.
+   */
+  public int next() throws IOException {
+    int c;
+    while (true) {
+      c = peek();
+      if (c == EOF) {
+        return END_OF_INPUT;
+      } else if (c == '\n') {
+        position++;
+        return END_OF_LINE;
+      } else if (c == '#') {
+        skipComment();
+      } else if (isSeparator(c)) {
+        position++;
+      } else {
+        break;
+      }
+    }
+    boolean negative = (c == '-');
+    if (negative || c == '+') {
+      position++;
+    }
+    long magnitude = 0;
+    boolean valid = false;
+    while ((c = peek()) != EOF && !isSeparator(c) && c != '\n' && c != '#') {
+      position++;
+      if (c >= '0' && c <= '9' && magnitude <= Integer.MAX_VALUE) {
+        magnitude = 10 * magnitude + (c - '0');
+        valid = true;
+      } else {
+        magnitude = Long.MAX_VALUE;
+      }
+    }
+    if (!valid || magnitude > Integer.MAX_VALUE) {
+      return INVALID;
+    }
+    value = (int) (negative ? -magnitude : magnitude);
+    return MOVE;
+  }
+
+  /**
+   * Discards the remaining tokens of the current line, along with its terminator.
+   *
+   * @throws IOException If thrown when reading the underlying {@link InputStream}.
+   */
+  public void skipLine() throws IOException {
+    int c;
+    while ((c = peek()) != EOF) {
+      position++;
+      if (c == '\n') {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Returns the value of the move most recently read by {@link #next()}.
+   *
+   * @return (See above.)
+   */
+  public int getValue() {
+    return value;
+  }
+
+  private int peek() throws IOException {
+    if (position == limit) {
+      position = 0;
+      limit = Math.max(input.read(buffer), 0);
+      if (limit == 0) {
+        return EOF;
+      }
+    }
+    return buffer[position] & 0xff;
+  }
+
+  private void skipComment() throws IOException {
+    int c;
+    while ((c = peek()) != EOF && c != '\n') {
+      position++;
+    }
+  }
+
+  private static boolean isSeparator(int c) {
+    return c == ' ' || c == ',' || c == ';' || c == '\t' || c == '\r';
+  }
+
+}
@@ -3,12 +3,25 @@
  */
 package com.nickbenn.onehundred.controller;
 
+import com.nickbenn.onehundred.journal.GameJournal;
+import com.nickbenn.onehundred.journal.Journal;
+import com.nickbenn.onehundred.metrics.GameEndEvent;
+import com.nickbenn.onehundred.metrics.GameStartEvent;
+import com.nickbenn.onehundred.metrics.MetricsRegistry;
+import com.nickbenn.onehundred.metrics.MoveEvent;
+import com.nickbenn.onehundred.metrics.PlayerMetrics;
 import com.nickbenn.onehundred.model.Game;
 import com.nickbenn.onehundred.model.Game.Operation;
 import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.model.MoveSet;
+import com.nickbenn.onehundred.model.Rules;
+import com.nickbenn.onehundred.model.event.GameListener;
 import com.nickbenn.onehundred.view.GamePresentation;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.OptionalLong;
 
 /**
  * Encapsulates the enforcement of the rules of the game, along with updates to the game state. In
@@ -16,12 +29,54 @@ import java.util.Objects;
  * subclass must coordinate any necessary user interaction functionality, leveraging a
  * {@link GamePresentation GamePresentation&lt;T&gt;} instance, provided via the
  * {@link Builder#Builder(GamePresentation)} instantiation.
+ * <p>Independently of the presentation, any number of {@link GameListener} instances may observe
+ * the moves and outcome of the game (e.g. for metrics, journaling, or spectators), without
+ * subclassing; these are registered with the {@link Game} managed by this referee, via
+ * {@link Builder#addListener(GameListener)} or {@link #addListener(GameListener)}.</p>
+ * <p>If metrics are enabled (see {@link MetricsRegistry}), the time taken to obtain each move, the
+ * legal and illegal moves, and the outcome of the game are recorded for each player, under the
+ * names specified with {@link Builder#setPlayerNames(String, String)}, along with the length and
+ * duration (from the creation of this referee) of the game. Similarly, if the corresponding JDK
+ * Flight Recorder events are enabled in a recording, a {@link GameStartEvent} is emitted when this
+ * referee is created, a {@link MoveEvent} for each move, and a {@link GameEndEvent} when the game
+ * is won.</p>
+ * <p>The progress of the game is managed by a single state machine, which may be driven in either
+ * of two ways. In the pull-based form, {@link #play()} obtains every move (via {@link #getMove()})
+ * and blocks until the game is finished. In the push-based form, a subclass exposes
+ * {@link #start()} and {@link #accept(int)} (or methods that delegate to them) to a caller that
+ * supplies some of the moves as they arrive (e.g. the user's moves, read from a network
+ * connection); the moves of any player for which {@link #isAutomatic(State)} returns {@code true}
+ * (e.g. the computer) are then obtained by the referee itself, as soon as that player is to
+ * move.</p>
+ * <p>If a {@link Journal} is specified (see {@link Builder#setJournal(Journal)}; by default, the
+ * journal installed with {@link Journal#setDefault(Journal)}, if any), the rules, starting state,
+ * player names, and seed (see {@link Builder#setSeed(long)}) of the game are recorded in it when
+ * this referee is created, followed by each move (legal or not) and the outcome of the game.</p>
  */
 public abstract class Referee {
 
+  /** Name under which metrics are recorded for player 1, if not otherwise specified. */
+  public static final String DEFAULT_PLAYER_ONE_NAME = "player-1";
+  /** Name under which metrics are recorded for player 2, if not otherwise specified. */
+  public static final String DEFAULT_PLAYER_TWO_NAME = "player-2";
+
+  private static final String ALREADY_STARTED_MESSAGE = "Game has already been started.";
+  private static final String NOT_IN_PROGRESS_MESSAGE = "Game is not in progress.";
+
   private final GamePresentation<?> presentation;
 
   private final Game game;
+  private final String playerOneName;
+  private final String playerTwoName;
+  private final PlayerMetrics playerOneMetrics;
+  private final PlayerMetrics playerTwoMetrics;
+  private final long gameStart;
+  private final GameJournal journal;
+
+  private long moveStart;
+  private MoveEvent moveEvent;
+  private GameEndEvent gameEndEvent;
+  private boolean started;
 
   /**
    * Initializes this instance&mdash;specifically, instantiating {@link Game} and incorporating the
@@ -32,32 +87,66 @@ public abstract class Referee {
    */
   protected Referee(Builder<?> builder) {
     presentation = builder.presentation;
-    game = new Game(builder.operation, builder.target, builder.maxMove, builder.initialState);
+    MoveSet moves = (builder.moves != null) ? builder.moves : MoveSet.contiguous(builder.maxMove);
+    game = new Game(new Rules(builder.operation, builder.target, moves), builder.initialState);
+    for (GameListener listener : builder.listeners) {
+      game.addListener(listener);
+    }
+    playerOneName = builder.playerOneName;
+    playerTwoName = builder.playerTwoName;
+    MetricsRegistry registry = MetricsRegistry.getInstance();
+    playerOneMetrics = registry.getPlayer(playerOneName);
+    playerTwoMetrics = registry.getPlayer(playerTwoName);
+    gameStart = MetricsRegistry.isEnabled() ? System.nanoTime() : 0;
+    GameStartEvent.emit(game, playerOneName, playerTwoName);
+    journal = (builder.journal != null)
+        ? builder.journal.startGame(game.getRules(), builder.initialState, playerOneName,
+            playerTwoName, builder.seed)
+        : null;
+    gameEndEvent = GameEndEvent.start();
   }
 
   /**
    * Orchestrates the changes of state and user interaction through completion of a single
    * {@link Game}, using an instance of {@link GamePresentation GamePresentation&lt;T&gt;} provided
-   * via {@link Builder#Builder(GamePresentation)}. In many cases, there will be no need to override
-   * this method.
+   * via {@link Builder#Builder(GamePresentation)}. This is the pull-based driver of the state
+   * machine: after {@link #start()}, each move not made automatically (see
+   * {@link #isAutomatic(State)}) is obtained via {@link #requestMove()}, and passed to
+   * {@link #accept(int)}; if {@link #getMove()} throws {@link IllegalArgumentException} (e.g. for
+   * unparseable input), the error is presented, and the move requested again. In many cases,
+   * there will be no need to override this method.
    */
   public void play() {
-    Game.State state;
-    while (!(state = game.getState()).isTerminal()) {
-      presentState();
-      presentNextMove();
-      while (true) {
-        try {
-          int move = getMove();
-          applyMove(move);
-          presentCompletedMove(state, move);
-          break;
-        } catch (IllegalArgumentException e) {
-          presentError(presentation.illegalMoveNotification(game));
-        }
+    start();
+    while (!game.getState().isTerminal()) {
+      int move;
+      try {
+        move = requestMove();
+      } catch (IllegalArgumentException e) {
+        presentError(presentation.illegalMoveNotification(game));
+        continue;
       }
+      accept(move);
     }
-    presentState();
+  }
+
+  /**
+   * Registers the specified listener, to be notified of subsequent events in the game managed by
+   * this referee (see {@link Game#addListener(GameListener)}).
+   *
+   * @param listener Listener to be notified.
+   */
+  public void addListener(GameListener listener) {
+    game.addListener(listener);
+  }
+
+  /**
+   * Removes (one registration of) the specified listener, if it is registered.
+   *
+   * @param listener Listener to be removed.
+   */
+  public void removeListener(GameListener listener) {
+    game.removeListener(listener);
   }
 
   /**
@@ -69,6 +158,79 @@ public abstract class Referee {
     return game;
   }
 
+  /**
+   * Starts the game, presenting the initial state and the next player to move, followed by any
+   * automatic moves (see {@link #isAutomatic(State)}) made before a move must be supplied to
+   * {@link #accept(int)}. A subclass driven by its caller (rather than by {@link #play()}) should
+   * invoke this method, or expose it, to start the game.
+   *
+   * @throws IllegalStateException If the game has already been started.
+   */
+  protected void start() throws IllegalStateException {
+    if (started) {
+      throw new IllegalStateException(ALREADY_STARTED_MESSAGE);
+    }
+    started = true;
+    presentState();
+    if (!game.getState().isTerminal()) {
+      presentNextMove();
+      advance();
+    }
+  }
+
+  /**
+   * Applies the specified move for the player to move, if it is legal, presenting the completed
+   * move, the resulting state, and the next player to move, followed by any automatic moves (see
+   * {@link #isAutomatic(State)}) made before the next move must be supplied. If the move is not
+   * legal, the error is presented, and the state of the game is unchanged. To record the time
+   * taken to select it, {@code move} should have been obtained via {@link #requestMove()}.
+   *
+   * @param move Number added to (or subtracted from) the total.
+   * @return {@code true} if the move was legal and has been applied; {@code false} otherwise.
+   * @throws IllegalStateException If the game has not been started, or is already finished.
+   */
+  protected boolean accept(int move) throws IllegalStateException {
+    State state = game.getState();
+    if (!started || state.isTerminal()) {
+      throw new IllegalStateException(NOT_IN_PROGRESS_MESSAGE);
+    }
+    if (!applyMove(move)) {
+      presentError(presentation.illegalMoveNotification(game));
+      return false;
+    }
+    presentCompletedMove(state, move);
+    presentState();
+    if (!game.getState().isTerminal()) {
+      presentNextMove();
+      advance();
+    }
+    return true;
+  }
+
+  /**
+   * Returns a flag indicating whether the game has been started, via {@link #start()} (or
+   * {@link #play()}).
+   *
+   * @return (See above.)
+   */
+  protected boolean isStarted() {
+    return started;
+  }
+
+  /**
+   * Returns a flag indicating whether the move of the player to move in the specified
+   * {@link State} is obtained by this referee (via {@link #requestMove()}) as soon as that player
+   * is to move, rather than supplied to {@link #accept(int)} by the driver of the game. By default,
+   * no moves are automatic, and {@link #play()} obtains every move; a subclass driven by its caller
+   * should return {@code true} for the states in which the computer is to move.
+   *
+   * @param state Non-terminal state of the game.
+   * @return (See above.)
+   */
+  protected boolean isAutomatic(State state) {
+    return false;
+  }
+
   /**
    * Presents the current state of the game, incorporating content provided by the encapsulated
    * {@link GamePresentation GamePresentation&lt;T&gt;}. A concrete subclass must implement this
@@ -97,15 +259,59 @@ public abstract class Referee {
    */
   protected abstract int getMove();
 
+  /**
+   * Obtains the move from the current player via {@link #getMove()}, noting the time at which it
+   * was requested (if metrics or {@link MoveEvent} are enabled), so that {@link #applyMove(int)}
+   * can record the time taken to select it. A subclass that overrides {@link #play()}, or that
+   * supplies moves to {@link #accept(int)}, should obtain moves with this method, rather than
+   * invoking {@link #getMove()} directly.
+   *
+   * @return (See above.)
+   */
+  protected final int requestMove() {
+    if (MetricsRegistry.isEnabled()) {
+      moveStart = System.nanoTime();
+    }
+    moveEvent = MoveEvent.start();
+    return getMove();
+  }
+
   /**
    * Updates the state of the current {@link Game} instance, according to the specified
-   * {@code move}. Under most conditions, this method need not be overridden; if it is, it should be
-   * invoked by the overriding method.
+   * {@code move}, if that move is legal. Illegal moves are reported via the return value, rather
+   * than by throwing an exception (see {@link Game#tryPlay(int)}). Under most conditions, this
+   * method need not be overridden; if it is, it should be invoked by the overriding method.
    *
    * @param move Number added to (or subtracted from) the total.
+   * @return {@code true} if the move was legal and has been applied; {@code false} otherwise.
    */
-  protected void applyMove(int move) {
-    game.play(move);
+  protected boolean applyMove(int move) {
+    boolean playerOne = game.getState() == State.PLAYER_ONE_MOVE;
+    int countBefore = game.getCurrentCount();
+    boolean accepted = game.tryPlay(move) == Game.MOVE_ACCEPTED;
+    State result = game.getState();
+    if (journal != null) {
+      journal.move(playerOne, move, accepted);
+      if (accepted && result.isTerminal()) {
+        journal.end(result);
+      }
+    }
+    if (MetricsRegistry.isEnabled()) {
+      recordMetrics(playerOne, accepted, result);
+    }
+    MoveEvent moveEvent = this.moveEvent;
+    if (moveEvent != null) {
+      this.moveEvent = null;
+      moveEvent.complete(playerOne ? 1 : 2, playerOne ? playerOneName : playerTwoName, move,
+          countBefore, game.getCurrentCount(), accepted);
+    }
+    GameEndEvent gameEndEvent = this.gameEndEvent;
+    if (gameEndEvent != null && accepted && result.isTerminal()) {
+      this.gameEndEvent = null;
+      gameEndEvent.complete(result, game.getMoveCount(),
+          (result == State.PLAYER_ONE_WIN) ? playerOneName : playerTwoName);
+    }
+    return accepted;
   }
 
   /**
@@ -142,6 +348,38 @@ public abstract class Referee {
     return presentation;
   }
 
+  private void advance() {
+    State state;
+    while (!(state = game.getState()).isTerminal() && isAutomatic(state)) {
+      int move = requestMove();
+      if (applyMove(move)) {
+        presentCompletedMove(state, move);
+        presentState();
+        if (!game.getState().isTerminal()) {
+          presentNextMove();
+        }
+      } else {
+        presentError(presentation.illegalMoveNotification(game));
+      }
+    }
+  }
+
+  private void recordMetrics(boolean playerOne, boolean accepted, State result) {
+    long now = System.nanoTime();
+    PlayerMetrics metrics = playerOne ? playerOneMetrics : playerTwoMetrics;
+    if (!accepted) {
+      metrics.recordIllegalMove(now - moveStart);
+    } else {
+      metrics.recordMove(now - moveStart);
+      if (result.isTerminal()) {
+        boolean playerOneWon = result == State.PLAYER_ONE_WIN;
+        playerOneMetrics.recordGame(true, playerOneWon);
+        playerTwoMetrics.recordGame(false, !playerOneWon);
+        MetricsRegistry.getInstance().recordGame(result, game.getMoveCount(), now - gameStart);
+      }
+    }
+  }
+
   /**
    * Implements (partially) the Builder pattern for constructing instances of {@link Referee}.
    * A concrete subclass of {@link Referee} should also contain (as {@code static} nested classes) a
@@ -159,7 +397,13 @@ public abstract class Referee {
     private Operation operation = Game.DEFAULT_OPERATION;
     private int target = Game.DEFAULT_UPPER_BOUND;
     private int maxMove = Game.DEFAULT_MAX_MOVE;
+    private MoveSet moves;
     private State initialState = State.PLAYER_ONE_MOVE;
+    private String playerOneName = DEFAULT_PLAYER_ONE_NAME;
+    private String playerTwoName = DEFAULT_PLAYER_TWO_NAME;
+    private final List<GameListener> listeners = new ArrayList<>();
+    private Journal journal = Journal.getDefault();
+    private OptionalLong seed = OptionalLong.empty();
 
     /**
      * Initializes this instance with the specified {@link GamePresentation}, which will be provided
@@ -172,6 +416,16 @@ public abstract class Referee {
       this.presentation = Objects.requireNonNull(presentation, NULL_PRESENTATION_MESSAGE);
     }
 
+    /**
+     * Initializes this instance without a {@link GamePresentation}. This constructor is intended
+     * only for subclasses building a {@link Referee} that presents nothing to a user (e.g. one used
+     * for computer-vs-computer simulation); such a {@link Referee} must override {@link #play()},
+     * since {@link Referee#getPresentation()} will return {@code null}.
+     */
+    protected Builder() {
+      presentation = null;
+    }
+
     /**
      * Specifies the {@link Operation} to be used for the {@link Game} managed by {@link Referee}
      * created by this builder. If this method is not invoked, the default is
@@ -221,6 +475,72 @@ public abstract class Referee {
       return self();
     }
 
+    /**
+     * Specifies an arbitrary {@link MoveSet} of quantities that may be added or subtracted in each
+     * move. If set (to a non-{@code null} value), this takes precedence over
+     * {@link #setMaxMove(int)}; otherwise, the moves from 1 to the maximum move are allowed.
+     *
+     * @param moves (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public B setMoves(MoveSet moves) {
+      this.moves = moves;
+      return self();
+    }
+
+    /**
+     * Adds a listener to be registered with the {@link Game} managed by the {@link Referee}
+     * created by this builder, before any move is played.
+     *
+     * @param listener Listener to be notified of events in the game.
+     * @return This {@link Builder} instance.
+     */
+    public B addListener(GameListener listener) {
+      listeners.add(Objects.requireNonNull(listener));
+      return self();
+    }
+
+    /**
+     * Specifies the names (typically, the strategy keys) under which metrics are recorded for each
+     * player, if metrics are enabled (see {@link MetricsRegistry}). If this method is not invoked,
+     * the defaults are {@link #DEFAULT_PLAYER_ONE_NAME} and {@link #DEFAULT_PLAYER_TWO_NAME}.
+     *
+     * @param playerOneName Name of player 1.
+     * @param playerTwoName Name of player 2.
+     * @return This {@link Builder} instance.
+     */
+    public B setPlayerNames(String playerOneName, String playerTwoName) {
+      this.playerOneName = Objects.requireNonNull(playerOneName);
+      this.playerTwoName = Objects.requireNonNull(playerTwoName);
+      return self();
+    }
+
+    /**
+     * Specifies the {@link Journal} in which the game is recorded, or {@code null} if the game is
+     * not to be recorded. If this method is not invoked, the game is recorded in the journal (if
+     * any) returned by {@link Journal#getDefault()} when this builder was created.
+     *
+     * @param journal (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public B setJournal(Journal journal) {
+      this.journal = journal;
+      return self();
+    }
+
+    /**
+     * Specifies the seed from which the sources of randomness used by the players' strategies were
+     * derived, so that it can be recorded (with the rules of the game) in the {@link Journal}, if
+     * any. If this method is not invoked, no seed is recorded.
+     *
+     * @param seed (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public B setSeed(long seed) {
+      this.seed = OptionalLong.of(seed);
+      return self();
+    }
+
     /**
      * Creates and returns a fully initialized {@link Referee} instance.
      *
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.controller;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.strategy.Strategy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+/**
+ * Manages a single game between a scripted player (player 1), whose moves are read from a line of
+ * a {@link MoveTokenizer}, and the computer (player 2), whose moves are provided by an instance of
+ * {@link Strategy}. As in {@link HeadlessReferee}, nothing is presented; this class is intended for
+ * replaying recorded sessions (or regression scripts) in {@link CommandLineOptions.Mode#BATCH}
+ * mode, where only the outcome of each game&mdash;available via {@link #getResult()} after
+ * {@link #play()} returns&mdash;is of interest.
+ * <p>An invalid token or an illegal move in the script is counted (see
+ * {@link #getIllegalMoves()}), and the next token is used as the scripted player's move. If the
+ * line ends before the game does, the game is left incomplete; if the game ends before the line
+ * does, the remaining tokens on the line are discarded.</p>
+ */
+public final class ScriptedReferee extends Referee {
+
+  private final MoveTokenizer script;
+  private final Strategy strategy;
+
+  private int illegalMoves;
+
+  private ScriptedReferee(Builder builder) {
+    super(builder);
+    script = builder.script;
+    strategy = builder.strategy;
+  }
+
+  /**
+   * Plays a single game, using moves read from the current line of the script for player 1, until
+   * the game is completed or the line ends.
+   *
+   * @throws UncheckedIOException If an {@link IOException} is thrown when reading the script.
+   */
+  @Override
+  public void play() throws UncheckedIOException {
+    try {
+      Game game = getGame();
+      State state;
+      while (!(state = game.getState()).isTerminal()) {
+        if (state == State.PLAYER_ONE_MOVE) {
+          int token = script.next();
+          if (token == MoveTokenizer.END_OF_LINE || token == MoveTokenizer.END_OF_INPUT) {
+            return;
+          }
+          if (token == MoveTokenizer.INVALID) {
+            illegalMoves++;
+            continue;
+          }
+        }
+        if (!applyMove(requestMove())) {
+          illegalMoves++;
+        }
+      }
+      script.skipLine();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Returns the current {@link State} of the game; after {@link #play()} has returned, this will be
+   * {@link State#PLAYER_ONE_WIN} or {@link State#PLAYER_TWO_WIN} if the game was completed, or
+   * {@link State#PLAYER_ONE_MOVE} if the script ended first.
+   *
+   * @return (See above.)
+   */
+  public State getResult() {
+    return getGame().getState();
+  }
+
+  /**
+   * Returns the number of moves accepted in the course of {@link #play()}.
+   *
+   * @return (See above.)
+   */
+  public int getMoves() {
+    return getGame().getMoveCount();
+  }
+
+  /**
+   * Returns the number of invalid tokens and illegal moves (by either player) rejected in the
+   * course of {@link #play()}.
+   *
+   * @return (See above.)
+   */
+  public int getIllegalMoves() {
+    return illegalMoves;
+  }
+
+  @Override
+  protected void presentState() {
+    // Nothing is presented in a scripted game.
+  }
+
+  @Override
+  protected void presentNextMove() {
+    // Nothing is presented in a scripted game.
+  }
+
+  @Override
+  protected int getMove() {
+    Game game = getGame();
+    return (game.getState() == State.PLAYER_ONE_MOVE)
+        ? script.getValue()
+        : strategy.getNextMove(game);
+  }
+
+  @Override
+  protected void presentCompletedMove(State state, int move) {
+    // Nothing is presented in a scripted game.
+  }
+
+  @Override
+  protected void presentError(Object presentation) {
+    // Nothing is presented in a scripted game.
+  }
+
+  /**
+   * Concrete implementation of the Builder pattern used for constructing instances of
+   * {@link ScriptedReferee}.
+   */
+  @SuppressWarnings({"unused"})
+  public static class Builder extends Referee.Builder<Builder> {
+
+    private static final String NULL_SCRIPT_MESSAGE =
+        "script must be a non-null reference to an instance of MoveTokenizer.";
+    private static final String NULL_STRATEGY_MESSAGE =
+        "strategy must be a non-null reference to an instance of a Strategy implementation.";
+
+    private final MoveTokenizer script;
+    private final Strategy strategy;
+
+    /**
+     * Initializes this instance with the source of the scripted player's moves, and the strategy
+     * used to select the computer's moves. Unless otherwise specified with
+     * {@link #setPlayerNames(String, String)}, metrics are recorded under
+     * {@link ConsoleSolitaireReferee#USER_PLAYER_NAME} for the scripted player, and under the key
+     * of the strategy (see {@link Strategy#getKey()}) for the computer.
+     *
+     * @param script   {@link MoveTokenizer} positioned at the start of a line of moves (see
+     *                 {@link MoveTokenizer#nextGame()}).
+     * @param strategy {@link Strategy} selecting moves for player 2.
+     */
+    public Builder(MoveTokenizer script, Strategy strategy) {
+      this.script = Objects.requireNonNull(script, NULL_SCRIPT_MESSAGE);
+      this.strategy = Objects.requireNonNull(strategy, NULL_STRATEGY_MESSAGE);
+      setPlayerNames(ConsoleSolitaireReferee.USER_PLAYER_NAME, strategy.getKey());
+    }
+
+    @Override
+    protected Builder self() {
+      return this;
+    }
+
+    @Override
+    public ScriptedReferee build() {
+      return new ScriptedReferee(this);
+    }
+
+  }
+
+}
@@ -0,0 +1,423 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.controller;
+
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.strategy.Strategy;
+import com.nickbenn.onehundred.strategy.Strategy.StrategyInitializationException;
+import com.nickbenn.onehundred.view.GamePresentation;
+import com.nickbenn.onehundred.view.TextGamePresentation;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.cli.ParseException;
+
+/**
+ * Serves solitaire (user against computer) games to clients connected to a TCP port on the
+ * loopback interface, as {@link ServerSession} does, but with an event-loop transport: connections
+ * are accepted by the thread invoking {@link #run()}, and then multiplexed over a small number of
+ * selector threads (as specified by {@link CommandLineOptions#getThreads()}), each of which
+ * advances the game of every connection assigned to it&mdash;a {@link SolitaireStateMachine}
+ * &mdash;as each complete line of input arrives.
+ * <p>No buffers are held by an idle connection: each read, and each write, uses a direct buffer
+ * taken from (and returned to) a pool owned by the selector thread. Only when a client does not
+ * accept its output as fast as it is produced is a buffer retained by the connection; in that case,
+ * no further input is read from the client until the output has been written. Lines longer than a
+ * few characters cause the connection to be closed. The maximum number of concurrent connections,
+ * and the idle timeout, are specified by the same system properties as for {@link ServerSession}.
+ * </p>
+ * <p>Since the computer's moves are selected on the selector threads, this transport is suited
+ * only to strategies that select moves quickly; in particular, the {@code mcts} strategy (which
+ * searches for a fixed time on every move) would stall every connection on a selector thread while
+ * searching. Each selector thread uses a single instance of the computer strategy for all of its
+ * connections.</p>
+ */
+public class SelectorServerSession extends Session {
+
+  private static final String BUNDLE_NAME = "session";
+  private static final String THREAD_NAME_PREFIX = "selector-";
+  private static final int BACKLOG = 4096;
+  private static final int BUFFER_SIZE = 4096;
+  private static final int RETAINED_BUFFERS = 64;
+  private static final int MAX_LINE_LENGTH = 32;
+  private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+  private final CommandLineOptions options;
+  private final PrintStream output;
+  private final ResourceBundle bundle;
+  private final int maxConnections;
+  private final long timeoutMillis;
+  private final AtomicInteger open = new AtomicInteger();
+  private final AtomicLong connections = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong games = new AtomicLong();
+
+  private GamePresentation<String> presentation;
+  private String playAgainPrompt;
+  private String negativeResponse;
+
+  /**
+   * Initializes this instance with the provided {@code args}. Status messages are written to the
+   * standard output device.
+   *
+   * @param args Command-line arguments.
+   */
+  public SelectorServerSession(String[] args) {
+    super(args);
+    options = new CommandLineOptions();
+    output = System.out;
+    bundle = ResourceBundle.getBundle(BUNDLE_NAME);
+    maxConnections =
+        Integer.getInteger(ServerSession.CONNECTIONS_PROPERTY, ServerSession.DEFAULT_CONNECTIONS);
+    timeoutMillis =
+        1000L * Integer.getInteger(ServerSession.TIMEOUT_PROPERTY, ServerSession.DEFAULT_TIMEOUT);
+  }
+
+  /**
+   * Parses the command-line options, starts the selector threads, and then accepts connections
+   * until the process is terminated.
+   */
+  @Override
+  public void run() {
+    try {
+      options.parse(getArgs());
+      serve();
+    } catch (StrategyInitializationException | ParseException | IllegalArgumentException e) {
+      output.println(e.getMessage());
+      options.showHelp();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Returns the number of connections accepted and served (or being served).
+   *
+   * @return (See above.)
+   */
+  public long getConnections() {
+    return connections.get();
+  }
+
+  /**
+   * Returns the number of connections closed without being served, because the maximum number of
+   * concurrent connections was reached.
+   *
+   * @return (See above.)
+   */
+  public long getRejected() {
+    return rejected.get();
+  }
+
+  /**
+   * Returns the number of games started in all connections.
+   *
+   * @return (See above.)
+   */
+  public long getGames() {
+    return games.get();
+  }
+
+  private void serve() throws StrategyInitializationException, IOException {
+    presentation = new TextGamePresentation(options.getOperation());
+    playAgainPrompt = bundle.getString(Keys.PLAY_AGAIN);
+    negativeResponse = bundle.getString(Keys.NEGATIVE_RESPONSE);
+    EventLoop[] loops = new EventLoop[Math.max(options.getThreads(), 1)];
+    for (int i = 0; i < loops.length; i++) {
+      loops[i] = new EventLoop(options.getStrategy());
+      Thread thread = new Thread(loops[i], THREAD_NAME_PREFIX + i);
+      thread.setDaemon(true);
+      thread.start();
+    }
+    try (ServerSocketChannel server = ServerSocketChannel.open()) {
+      server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), options.getPort()),
+          BACKLOG);
+      output.printf(bundle.getString(Keys.SERVER_STARTED_FORMAT),
+          ((InetSocketAddress) server.getLocalAddress()).getPort(), options.getStrategyKey(),
+          maxConnections,
+          String.format(bundle.getString(Keys.SERVER_SELECTOR_THREADS_FORMAT), loops.length));
+      output.flush();
+      for (int next = 0; server.isOpen(); next = (next + 1) % loops.length) {
+        SocketChannel channel = server.accept();
+        if (open.incrementAndGet() > maxConnections) {
+          open.decrementAndGet();
+          rejected.incrementAndGet();
+          channel.close();
+        } else {
+          connections.incrementAndGet();
+          loops[next].register(channel);
+        }
+      }
+    }
+  }
+
+  private final class EventLoop implements Runnable {
+
+    private final Selector selector;
+    private final Queue<SocketChannel> registrations = new ConcurrentLinkedQueue<>();
+    private final BufferPool pool = new BufferPool(BUFFER_SIZE, RETAINED_BUFFERS);
+    private final StringBuilder text = new StringBuilder(BUFFER_SIZE);
+    private final StringBuilder line = new StringBuilder(MAX_LINE_LENGTH);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final Strategy strategy;
+
+    private long lastSweep;
+
+    private EventLoop(Strategy strategy) throws IOException {
+      this.strategy = strategy;
+      selector = Selector.open();
+    }
+
+    private void register(SocketChannel channel) {
+      registrations.add(channel);
+      selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (selector.isOpen()) {
+          selector.select(SWEEP_INTERVAL_MILLIS);
+          long now = System.currentTimeMillis();
+          SocketChannel channel;
+          while ((channel = registrations.poll()) != null) {
+            open(channel, now);
+          }
+          Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+          while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            handle(key, now);
+          }
+          if (now - lastSweep >= SWEEP_INTERVAL_MILLIS) {
+            sweep(now);
+            lastSweep = now;
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private void open(SocketChannel channel, long now) {
+      Connection connection = new Connection(channel, now);
+      try {
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        startGame(connection);
+        flush(connection);
+      } catch (IOException | RuntimeException e) {
+        fail(connection, e);
+      }
+    }
+
+    private void handle(SelectionKey key, long now) {
+      Connection connection = (Connection) key.attachment();
+      try {
+        if (!key.isValid()) {
+          close(connection);
+        } else if (key.isWritable()) {
+          connection.lastActivity = now;
+          writePending(connection);
+        } else if (key.isReadable()) {
+          connection.lastActivity = now;
+          read(connection);
+        }
+      } catch (IOException | RuntimeException e) {
+        fail(connection, e);
+      }
+    }
+
+    private void read(Connection connection) throws IOException {
+      ByteBuffer buffer = pool.acquire();
+      try {
+        int count = connection.channel.read(buffer);
+        if (count < 0) {
+          close(connection);
+          return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining() && !connection.closing) {
+          byte b = buffer.get();
+          if (b == '\n') {
+            handleLine(connection);
+          } else if (connection.lineLength == MAX_LINE_LENGTH) {
+            close(connection);
+            return;
+          } else {
+            connection.partialLine[connection.lineLength++] = b;
+          }
+        }
+      } finally {
+        pool.release(buffer);
+      }
+      flush(connection);
+    }
+
+    private void handleLine(Connection connection) {
+      line.setLength(0);
+      for (int i = 0; i < connection.lineLength; i++) {
+        line.append((char) (connection.partialLine[i] & 0xff));
+      }
+      connection.lineLength = 0;
+      if (connection.game == null) {
+        String response = line.toString().trim().toLowerCase();
+        if (response.startsWith(negativeResponse)) {
+          connection.closing = true;
+        } else {
+          startGame(connection);
+        }
+      } else if (connection.game.accept(line, text)) {
+        connection.game = null;
+        text.append(playAgainPrompt);
+      }
+    }
+
+    private void startGame(Connection connection) {
+      try {
+        connection.game = new SolitaireStateMachine.Builder(presentation, bundle)
+            .setInitialState(connection.initialState)
+            .setTarget(options.getBound())
+            .setMaxMove(options.getMaxMove())
+            .setMoves(options.getMoves())
+            .setOperation(options.getOperation())
+            .setStrategy(strategy)
+            .setQuiet(options.isQuiet())
+            .setPlayerNames(ConsoleSolitaireReferee.USER_PLAYER_NAME, options.getStrategyKey())
+            .setSeed(options.getSeed())
+            .build();
+      } catch (StrategyInitializationException e) {
+        throw new IllegalStateException(e);
+      }
+      games.incrementAndGet();
+      connection.initialState = (connection.initialState == State.PLAYER_ONE_MOVE)
+          ? State.PLAYER_TWO_MOVE
+          : State.PLAYER_ONE_MOVE;
+      connection.game.start(text);
+    }
+
+    private void flush(Connection connection) throws IOException {
+      if (text.length() == 0) {
+        if (connection.closing) {
+          close(connection);
+        }
+        return;
+      }
+      ByteBuffer buffer = pool.acquire();
+      encoder.reset();
+      CoderResult result = encoder.encode(CharBuffer.wrap(text), buffer, true);
+      if (result.isOverflow()) {
+        pool.release(buffer);
+        buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+      } else {
+        encoder.flush(buffer);
+        buffer.flip();
+      }
+      text.setLength(0);
+      connection.channel.write(buffer);
+      if (buffer.hasRemaining()) {
+        connection.pendingOutput = buffer;
+        connection.key.interestOps(SelectionKey.OP_WRITE);
+      } else {
+        pool.release(buffer);
+        if (connection.closing) {
+          close(connection);
+        }
+      }
+    }
+
+    private void writePending(Connection connection) throws IOException {
+      ByteBuffer buffer = connection.pendingOutput;
+      connection.channel.write(buffer);
+      if (!buffer.hasRemaining()) {
+        connection.pendingOutput = null;
+        pool.release(buffer);
+        if (connection.closing) {
+          close(connection);
+        } else {
+          connection.key.interestOps(SelectionKey.OP_READ);
+        }
+      }
+    }
+
+    private void sweep(long now) {
+      for (SelectionKey key : selector.keys()) {
+        Connection connection = (Connection) key.attachment();
+        if (connection != null && now - connection.lastActivity > timeoutMillis) {
+          close(connection);
+        }
+      }
+    }
+
+    private void fail(Connection connection, Exception e) {
+      close(connection);
+      if (e instanceof RuntimeException) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+      }
+    }
+
+    private void close(Connection connection) {
+      if (connection.closed) {
+        return;
+      }
+      connection.closed = true;
+      if (connection.key != null) {
+        connection.key.cancel();
+      }
+      try {
+        connection.channel.close();
+      } catch (IOException e) {
+        // Nothing more to be done with this channel.
+      }
+      if (connection.pendingOutput != null) {
+        pool.release(connection.pendingOutput);
+        connection.pendingOutput = null;
+      }
+      open.decrementAndGet();
+    }
+
+  }
+
+  private static final class Connection {
+
+    private final SocketChannel channel;
+    private final byte[] partialLine = new byte[MAX_LINE_LENGTH];
+
+    private SelectionKey key;
+    private SolitaireStateMachine game;
+    private State initialState = State.PLAYER_ONE_MOVE;
+    private int lineLength;
+    private ByteBuffer pendingOutput;
+    private long lastActivity;
+    private boolean closing;
+    private boolean closed;
+
+    private Connection(SocketChannel channel, long now) {
+      this.channel = channel;
+      lastActivity = now;
+    }
+
+  }
+
+}
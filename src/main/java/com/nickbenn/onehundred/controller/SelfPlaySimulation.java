@@ -0,0 +1,374 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.controller;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.model.LongGame;
+import com.nickbenn.onehundred.model.MoveSet;
+import com.nickbenn.onehundred.model.Rules;
+import com.nickbenn.onehundred.strategy.RandomStreams;
+import com.nickbenn.onehundred.strategy.Strategy;
+import com.nickbenn.onehundred.strategy.Strategy.StrategyInitializationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays a (potentially very large) number of computer-vs-computer games, using
+ * {@link HeadlessReferee}, and aggregates the outcomes by starting player. The games are divided
+ * evenly among a fixed number of worker threads; each worker creates its own {@link Strategy}
+ * instances (from the keys specified in {@link Builder#Builder(String, String)}), so no strategy
+ * state is shared between threads. The sources of randomness of those instances are split from a
+ * {@link RandomStreams} with the simulation seed before the workers are started, so a simulation
+ * is reproducible from its seed and parallelism. Within each worker, the starting player alternates
+ * from one game to the next, beginning with {@link State#PLAYER_ONE_MOVE}.
+ * <p>If the target exceeds {@link Integer#MAX_VALUE}, each game is played as a {@link LongGame},
+ * driven directly by the strategies' {@link Strategy#getNextMove(LongGame)} method (since
+ * {@link HeadlessReferee} is limited to {@code int} bounds).</p>
+ */
+public class SelfPlaySimulation {
+
+  private final String playerOneStrategyKey;
+  private final String playerTwoStrategyKey;
+  private final Operation operation;
+  private final long target;
+  private final int maxMove;
+  private final MoveSet moves;
+  private final long games;
+  private final int parallelism;
+  private final long seed;
+
+  private SelfPlaySimulation(Builder builder) {
+    playerOneStrategyKey = builder.playerOneStrategyKey;
+    playerTwoStrategyKey = builder.playerTwoStrategyKey;
+    operation = builder.operation;
+    target = builder.target;
+    maxMove = builder.maxMove;
+    moves = builder.moves;
+    games = builder.games;
+    parallelism = builder.parallelism;
+    seed = builder.seed;
+  }
+
+  /**
+   * Plays all of the games specified when building this instance, blocking until all are complete.
+   *
+   * @return Aggregated outcomes of all games played.
+   * @throws StrategyInitializationException If either of the specified strategies cannot be
+   *                                         instantiated.
+   * @throws InterruptedException            If the current thread is interrupted while waiting for
+   *                                         the worker threads to complete.
+   */
+  public Result run() throws StrategyInitializationException, InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    try {
+      List<Callable<Result>> tasks = new ArrayList<>(parallelism);
+      RandomStreams streams = new RandomStreams(seed);
+      long share = games / parallelism;
+      long extra = games % parallelism;
+      for (int i = 0; i < parallelism; i++) {
+        long count = share + ((i < extra) ? 1 : 0);
+        RandomGenerator playerOneRng = streams.split();
+        RandomGenerator playerTwoRng = streams.split();
+        tasks.add(() -> playBatch(count, playerOneRng, playerTwoRng));
+      }
+      Result total = new Result();
+      for (Future<Result> future : executor.invokeAll(tasks)) {
+        total.add(future.get());
+      }
+      return total;
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof StrategyInitializationException) {
+        throw (StrategyInitializationException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Returns the seed from which the sources of randomness of all strategies are derived.
+   *
+   * @return (See above.)
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  private Result playBatch(long count, RandomGenerator playerOneRng,
+      RandomGenerator playerTwoRng) throws StrategyInitializationException {
+    Strategy playerOneStrategy = Strategy.newInstance(playerOneStrategyKey, playerOneRng);
+    Strategy playerTwoStrategy = Strategy.newInstance(playerTwoStrategyKey, playerTwoRng);
+    if (target > Integer.MAX_VALUE) {
+      return playLongBatch(count, playerOneStrategy, playerTwoStrategy);
+    }
+    Result result = new Result();
+    State initialState = State.PLAYER_ONE_MOVE;
+    for (long i = 0; i < count; i++) {
+      HeadlessReferee referee = new HeadlessReferee.Builder(playerOneStrategy, playerTwoStrategy)
+          .setOperation(operation)
+          .setTarget((int) target)
+          .setMaxMove(maxMove)
+          .setMoves(moves)
+          .setInitialState(initialState)
+          .setSeed(seed)
+          .build();
+      referee.play();
+      result.record(initialState, referee.getResult(), referee.getIllegalMoves());
+      initialState = (initialState == State.PLAYER_ONE_MOVE)
+          ? State.PLAYER_TWO_MOVE
+          : State.PLAYER_ONE_MOVE;
+    }
+    return result;
+  }
+
+  private Result playLongBatch(long count, Strategy playerOneStrategy,
+      Strategy playerTwoStrategy) {
+    MoveSet moves = (this.moves != null) ? this.moves : MoveSet.contiguous(maxMove);
+    Result result = new Result();
+    State initialState = State.PLAYER_ONE_MOVE;
+    for (long i = 0; i < count; i++) {
+      LongGame game = new LongGame(operation, target, moves, initialState);
+      int illegalMoves = 0;
+      for (State state = initialState; !state.isTerminal(); state = game.getState()) {
+        Strategy strategy =
+            (state == State.PLAYER_ONE_MOVE) ? playerOneStrategy : playerTwoStrategy;
+        if (game.tryPlay(strategy.getNextMove(game)) != Game.MOVE_ACCEPTED) {
+          illegalMoves++;
+        }
+      }
+      result.record(initialState, game.getState(), illegalMoves);
+      initialState = (initialState == State.PLAYER_ONE_MOVE)
+          ? State.PLAYER_TWO_MOVE
+          : State.PLAYER_ONE_MOVE;
+    }
+    return result;
+  }
+
+  /**
+   * Accumulates the outcomes of simulated games, by starting player and winner.
+   */
+  public static final class Result {
+
+    private final long[][] wins = new long[2][2];
+
+    private long illegalMoves;
+
+    Result() {
+    }
+
+    /**
+     * Returns the total number of games played.
+     *
+     * @return (See above.)
+     */
+    public long getGames() {
+      return wins[0][0] + wins[0][1] + wins[1][0] + wins[1][1];
+    }
+
+    /**
+     * Returns the number of games started in {@code initialState} and ending in {@code result}.
+     *
+     * @param initialState {@link State#PLAYER_ONE_MOVE} or {@link State#PLAYER_TWO_MOVE}.
+     * @param result       {@link State#PLAYER_ONE_WIN} or {@link State#PLAYER_TWO_WIN}.
+     * @return (See above.)
+     */
+    public long getWins(State initialState, State result) {
+      return wins[initialState.ordinal()][result.ordinal() - State.PLAYER_ONE_WIN.ordinal()];
+    }
+
+    /**
+     * Returns the total number of illegal moves attempted (and rejected) in all games.
+     *
+     * @return (See above.)
+     */
+    public long getIllegalMoves() {
+      return illegalMoves;
+    }
+
+    void record(State initialState, State result, int illegalMoves) {
+      wins[initialState.ordinal()][result.ordinal() - State.PLAYER_ONE_WIN.ordinal()]++;
+      this.illegalMoves += illegalMoves;
+    }
+
+    void add(Result other) {
+      for (int i = 0; i < wins.length; i++) {
+        for (int j = 0; j < wins[i].length; j++) {
+          wins[i][j] += other.wins[i][j];
+        }
+      }
+      illegalMoves += other.illegalMoves;
+    }
+
+  }
+
+  /**
+   * Implements the Builder pattern for constructing instances of {@link SelfPlaySimulation}.
+   */
+  @SuppressWarnings({"unused"})
+  public static class Builder {
+
+    /** Number of games played if not otherwise specified. */
+    public static final long DEFAULT_GAMES = 1_000_000;
+
+    private static final String NULL_STRATEGY_KEY_MESSAGE =
+        "Strategy keys must be non-null.";
+    private static final String INVALID_GAMES_FORMAT =
+        "Number of games (%d) must be positive.";
+    private static final String INVALID_PARALLELISM_FORMAT =
+        "Parallelism (%d) must be positive.";
+
+    private final String playerOneStrategyKey;
+    private final String playerTwoStrategyKey;
+    private Operation operation = Game.DEFAULT_OPERATION;
+    private long target = Game.DEFAULT_UPPER_BOUND;
+    private int maxMove = Game.DEFAULT_MAX_MOVE;
+    private MoveSet moves;
+    private long games = DEFAULT_GAMES;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private long seed = new SplittableRandom().nextLong();
+
+    /**
+     * Initializes this instance with the keys (in {@code strategies.properties}) of the strategies
+     * used for each player.
+     *
+     * @param playerOneStrategyKey Key identifying {@link Strategy} for player 1.
+     * @param playerTwoStrategyKey Key identifying {@link Strategy} for player 2.
+     */
+    public Builder(String playerOneStrategyKey, String playerTwoStrategyKey) {
+      this.playerOneStrategyKey =
+          Objects.requireNonNull(playerOneStrategyKey, NULL_STRATEGY_KEY_MESSAGE);
+      this.playerTwoStrategyKey =
+          Objects.requireNonNull(playerTwoStrategyKey, NULL_STRATEGY_KEY_MESSAGE);
+    }
+
+    /**
+     * Specifies the {@link Operation} used in all games. If not set,
+     * {@link Game#DEFAULT_OPERATION} will be used.
+     *
+     * @param operation (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setOperation(Operation operation) {
+      this.operation = Objects.requireNonNull(operation);
+      return this;
+    }
+
+    /**
+     * Specifies the target value (for an addition game) or the initial value (for a subtraction
+     * game). If not set, {@link Game#DEFAULT_UPPER_BOUND} will be used. Values exceeding
+     * {@link Integer#MAX_VALUE} are supported, with games played as {@link LongGame} instances.
+     *
+     * @param target (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setTarget(long target) {
+      this.target = target;
+      return this;
+    }
+
+    /**
+     * Specifies the maximum quantity that may be added or subtracted in each move. If not set,
+     * {@link Game#DEFAULT_MAX_MOVE} will be used.
+     *
+     * @param maxMove (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setMaxMove(int maxMove) {
+      this.maxMove = maxMove;
+      return this;
+    }
+
+    /**
+     * Specifies an arbitrary {@link MoveSet} of legal moves, taking precedence over
+     * {@link #setMaxMove(int)} if non-{@code null}.
+     *
+     * @param moves (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setMoves(MoveSet moves) {
+      this.moves = moves;
+      return this;
+    }
+
+    /**
+     * Specifies the total number of games to play. If not set, {@link #DEFAULT_GAMES} will be
+     * used.
+     *
+     * @param games (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setGames(long games) {
+      if (games <= 0) {
+        throw new IllegalArgumentException(String.format(INVALID_GAMES_FORMAT, games));
+      }
+      this.games = games;
+      return this;
+    }
+
+    /**
+     * Specifies the number of worker threads. If not set, the number of available processors will
+     * be used.
+     *
+     * @param parallelism (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setParallelism(int parallelism) {
+      if (parallelism <= 0) {
+        throw new IllegalArgumentException(
+            String.format(INVALID_PARALLELISM_FORMAT, parallelism));
+      }
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Specifies the seed from which the sources of randomness of all strategies are derived. If
+     * not set, a seed is selected at random (and reported by {@link SelfPlaySimulation#getSeed()}).
+     *
+     * @param seed (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setSeed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    /**
+     * Creates and returns a fully initialized {@link SelfPlaySimulation} instance. The game
+     * configuration is validated here, so that an invalid configuration is reported before any
+     * worker threads are started.
+     *
+     * @return (See above.)
+     */
+    public SelfPlaySimulation build() {
+      MoveSet moves = (this.moves != null) ? this.moves : MoveSet.contiguous(maxMove);
+      if (target > Integer.MAX_VALUE) {
+        new LongGame(operation, target, moves, State.PLAYER_ONE_MOVE);
+      } else {
+        new Rules(operation, (int) target, moves);
+      }
+      return new SelfPlaySimulation(this);
+    }
+
+  }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.controller;
+
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.strategy.Strategy.StrategyInitializationException;
+import com.nickbenn.onehundred.view.GamePresentation;
+import com.nickbenn.onehundred.view.TextGamePresentation;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ResourceBundle;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.cli.ParseException;
+
+/**
+ * Serves solitaire (user against computer) games to any number of clients connected to a TCP port
+ * on the loopback interface, in place of the console. Each connection is handled by its own thread
+ * (a virtual thread, where supported; see {@link VirtualThreads}), which plays successive games
+ * with a {@link ConsoleSolitaireReferee} reading from and writing to the socket streams&mdash;with
+ * the same text, presented by {@link TextGamePresentation}, as in the console&mdash;until the
+ * client declines to play again, disconnects, or is idle for longer than the timeout.
+ * <p>The memory used per connection is bounded: responses are read through a small fixed buffer,
+ * and lines longer than a few characters cause the connection to be closed; output is written
+ * through a buffer of fixed size. The number of concurrent connections is limited by the
+ * {@value #CONNECTIONS_PROPERTY} system property (default {@value #DEFAULT_CONNECTIONS}); further
+ * connections are closed as soon as they are accepted. The idle timeout, in seconds, is specified
+ * by the {@value #TIMEOUT_PROPERTY} system property (default {@value #DEFAULT_TIMEOUT}).</p>
+ * <p>The game options (including the computer strategy, and the quiet flag) are taken from the
+ * command line, as in {@link ConsoleSession}; the port is specified with the {@code --port} option
+ * (see {@link CommandLineOptions#getPort()}).</p>
+ */
+public class ServerSession extends Session {
+
+  /** System property specifying the maximum number of concurrent connections. */
+  public static final String CONNECTIONS_PROPERTY = "onehundred.server.connections";
+  /** Maximum number of concurrent connections, if not otherwise specified. */
+  public static final int DEFAULT_CONNECTIONS = 20_000;
+  /** System property specifying the time (in seconds) an idle connection is kept open. */
+  public static final String TIMEOUT_PROPERTY = "onehundred.server.timeout";
+  /** Time (in seconds) an idle connection is kept open, if not otherwise specified. */
+  public static final int DEFAULT_TIMEOUT = 300;
+
+  private static final String BUNDLE_NAME = "session";
+  private static final String THREAD_NAME_PREFIX = "session-";
+  private static final int BACKLOG = 4096;
+  private static final int INPUT_BUFFER_SIZE = 64;
+  private static final int MAX_LINE_LENGTH = 32;
+  private static final int OUTPUT_BUFFER_SIZE = 1024;
+
+  private final CommandLineOptions options;
+  private final PrintStream output;
+  private final ResourceBundle bundle;
+  private final int maxConnections;
+  private final int timeoutMillis;
+  private final AtomicLong connections = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong games = new AtomicLong();
+
+  /**
+   * Initializes this instance with the provided {@code args}. Status messages are written to the
+   * standard output device.
+   *
+   * @param args Command-line arguments.
+   */
+  public ServerSession(String[] args) {
+    super(args);
+    options = new CommandLineOptions();
+    output = System.out;
+    bundle = ResourceBundle.getBundle(BUNDLE_NAME);
+    maxConnections = Integer.getInteger(CONNECTIONS_PROPERTY, DEFAULT_CONNECTIONS);
+    timeoutMillis = 1000 * Integer.getInteger(TIMEOUT_PROPERTY, DEFAULT_TIMEOUT);
+  }
+
+  /**
+   * Parses the command-line options, and then accepts and serves connections until the process is
+   * terminated.
+   */
+  @Override
+  public void run() {
+    try {
+      options.parse(getArgs());
+      serve();
+    } catch (StrategyInitializationException | ParseException | IllegalArgumentException e) {
+      output.println(e.getMessage());
+      options.showHelp();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Returns the number of connections accepted and served (or being served).
+   *
+   * @return (See above.)
+   */
+  public long getConnections() {
+    return connections.get();
+  }
+
+  /**
+   * Returns the number of connections closed without being served, because the maximum number of
+   * concurrent connections was reached.
+   *
+   * @return (See above.)
+   */
+  public long getRejected() {
+    return rejected.get();
+  }
+
+  /**
+   * Returns the number of games started in all connections.
+   *
+   * @return (See above.)
+   */
+  public long getGames() {
+    return games.get();
+  }
+
+  private void serve() throws StrategyInitializationException, IOException {
+    options.getStrategy();
+    GamePresentation<String> presentation = new TextGamePresentation(options.getOperation());
+    ThreadFactory factory = VirtualThreads.newFactory(THREAD_NAME_PREFIX);
+    Semaphore permits = new Semaphore(maxConnections);
+    try (
+        ServerSocket server =
+            new ServerSocket(options.getPort(), BACKLOG, InetAddress.getLoopbackAddress())
+    ) {
+      output.printf(bundle.getString(Keys.SERVER_STARTED_FORMAT), server.getLocalPort(),
+          options.getStrategyKey(), maxConnections, VirtualThreads.isAvailable()
+              ? bundle.getString(Keys.SERVER_VIRTUAL_THREADS)
+              : bundle.getString(Keys.SERVER_PLATFORM_THREADS));
+      output.flush();
+      while (!server.isClosed()) {
+        Socket socket = server.accept();
+        if (!permits.tryAcquire()) {
+          rejected.incrementAndGet();
+          socket.close();
+          continue;
+        }
+        connections.incrementAndGet();
+        factory.newThread(() -> {
+          try {
+            serve(socket, presentation);
+          } finally {
+            permits.release();
+          }
+        }).start();
+      }
+    }
+  }
+
+  private void serve(Socket socket, GamePresentation<String> presentation) {
+    try (socket) {
+      socket.setSoTimeout(timeoutMillis);
+      socket.setTcpNoDelay(true);
+      BufferedReader input =
+          new BoundedLineReader(socket.getInputStream(), INPUT_BUFFER_SIZE, MAX_LINE_LENGTH);
+      PrintStream output = new PrintStream(
+          new BufferedOutputStream(socket.getOutputStream(), OUTPUT_BUFFER_SIZE), false,
+          StandardCharsets.UTF_8);
+      String playAgainPrompt = bundle.getString(Keys.PLAY_AGAIN);
+      String negativeResponse = bundle.getString(Keys.NEGATIVE_RESPONSE);
+      State state = State.PLAYER_ONE_MOVE;
+      while (true) {
+        games.incrementAndGet();
+        new ConsoleSolitaireReferee.Builder(presentation, bundle)
+            .setInput(input)
+            .setOutput(output)
+            .setInitialState(state)
+            .setTarget(options.getBound())
+            .setMaxMove(options.getMaxMove())
+            .setMoves(options.getMoves())
+            .setOperation(options.getOperation())
+            .setStrategy(options.getStrategy())
+            .setQuiet(options.isQuiet())
+            .setPlayerNames(ConsoleSolitaireReferee.USER_PLAYER_NAME, options.getStrategyKey())
+            .setSeed(options.getSeed())
+            .build()
+            .play();
+        state = (state == State.PLAYER_ONE_MOVE)
+            ? State.PLAYER_TWO_MOVE
+            : State.PLAYER_ONE_MOVE;
+        output.print(playAgainPrompt);
+        output.flush();
+        String response = input.readLine();
+        if (response == null || response.trim().toLowerCase().startsWith(negativeResponse)) {
+          break;
+        }
+      }
+    } catch (IOException | UncheckedIOException | StrategyInitializationException e) {
+      // The client disconnected, timed out, or sent an overlong line; the connection is closed.
+    }
+  }
+
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.controller;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.strategy.Strategy;
+import com.nickbenn.onehundred.strategy.Strategy.StrategyInitializationException;
+import com.nickbenn.onehundred.view.GamePresentation;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Objects;
+import java.util.ResourceBundle;
+
+/**
+ * Manages a single solitaire (user against computer) game, as {@link ConsoleSolitaireReferee}
+ * does, but driven by pushing moves into the state machine of {@link Referee}, rather than by the
+ * game loop of {@link Referee#play()}: rather than blocking to read each of the user's moves, this
+ * referee is driven by its caller, which supplies each line of user input as it arrives (see
+ * {@link #accept(CharSequence, Appendable)}), and receives in return the text to be presented to
+ * the user&mdash;the outcome of the user's move, any moves made by the computer in response, and
+ * the next prompt (or the final state of the game). This allows any number of games to be
+ * advanced by a single thread, as in {@link SelectorServerSession}. Since there is no source of
+ * user input (or destination of output) for {@link #play()}, it throws
+ * {@link IllegalStateException} when the user is first to move.
+ * <p>The text presented is the same as that presented by {@link ConsoleSolitaireReferee} (with the
+ * same quiet mode), rendered via the {@link Appendable} overloads of the {@link GamePresentation}
+ * methods. As with any {@link Referee}, listeners, metrics, and JDK Flight Recorder events are
+ * supported.</p>
+ * <p>Instances of this class are not thread-safe; each must be driven by one thread at a time.</p>
+ */
+public final class SolitaireStateMachine extends Referee {
+
+  private static final Appendable DISCARD = Writer.nullWriter();
+  private static final String NOT_IN_PROGRESS_MESSAGE = "Game is not in progress.";
+  private static final String NO_PENDING_MOVE_MESSAGE =
+      "User moves must be supplied with accept(CharSequence, Appendable).";
+
+  private final Strategy strategy;
+  private final String playerName;
+  private final String computerName;
+  private final boolean quiet;
+
+  private Appendable out = DISCARD;
+  private int pendingMove;
+  private boolean pending;
+
+  private SolitaireStateMachine(Builder builder) {
+    super(builder);
+    strategy = builder.strategy;
+    ResourceBundle bundle = builder.bundle;
+    playerName = bundle.getString(Keys.PLAYER_NAME);
+    computerName = bundle.getString(Keys.COMPUTER_NAME);
+    quiet = builder.quiet;
+  }
+
+  /**
+   * Starts the game, appending to {@code out} the initial state, any moves made by the computer
+   * (if it moves first), and the prompt for the user's first move.
+   *
+   * @param out Destination of presented text.
+   * @throws IllegalStateException If the game has already been started.
+   */
+  public void start(Appendable out) throws IllegalStateException {
+    this.out = out;
+    try {
+      start();
+    } finally {
+      this.out = DISCARD;
+    }
+  }
+
+  /**
+   * Handles a line of user input (without the line terminator) as the user's next move, appending
+   * to {@code out} the outcome of that move, followed by any moves made by the computer in
+   * response, and the prompt for the user's next move (or the final state of the game). If the
+   * line is not a legal move, a notification to that effect is appended, followed by the same
+   * prompt.
+   *
+   * @param line User input.
+   * @param out  Destination of presented text.
+   * @return {@code true} if the game is finished; {@code false} otherwise.
+   * @throws IllegalStateException If the game has not been started, or is already finished.
+   */
+  public boolean accept(CharSequence line, Appendable out) throws IllegalStateException {
+    if (!isStarted() || isFinished()) {
+      throw new IllegalStateException(NOT_IN_PROGRESS_MESSAGE);
+    }
+    this.out = out;
+    try {
+      if (parse(line)) {
+        pending = true;
+        accept(requestMove());
+      } else {
+        presentError(getPresentation().illegalMoveNotification(getGame()));
+      }
+    } finally {
+      pending = false;
+      this.out = DISCARD;
+    }
+    return isFinished();
+  }
+
+  /**
+   * Returns a flag indicating whether the game is finished.
+   *
+   * @return (See above.)
+   */
+  public boolean isFinished() {
+    return getGame().getState().isTerminal();
+  }
+
+  /**
+   * Returns the current {@link State} of the game.
+   *
+   * @return (See above.)
+   */
+  public State getState() {
+    return getGame().getState();
+  }
+
+  @Override
+  protected void presentState() {
+    Game game = getGame();
+    if (!quiet || game.getState().isTerminal()) {
+      getPresentation().stateRepresentation(out, game, playerName, computerName);
+    }
+  }
+
+  @Override
+  protected void presentNextMove() {
+    Game game = getGame();
+    boolean userMove = game.getState() == State.PLAYER_ONE_MOVE;
+    if (!quiet) {
+      getPresentation().nextMoveNotice(out, userMove ? playerName : computerName);
+    }
+    if (userMove) {
+      getPresentation().movePrompt(out, game);
+    }
+  }
+
+  @Override
+  protected boolean isAutomatic(State state) {
+    return state == State.PLAYER_TWO_MOVE;
+  }
+
+  @Override
+  protected int getMove() throws IllegalStateException {
+    Game game = getGame();
+    if (game.getState() != State.PLAYER_ONE_MOVE) {
+      return strategy.getNextMove(game);
+    }
+    if (!pending) {
+      throw new IllegalStateException(NO_PENDING_MOVE_MESSAGE);
+    }
+    pending = false;
+    return pendingMove;
+  }
+
+  @Override
+  protected void presentCompletedMove(State state, int move) {
+    getPresentation().movePresentation(out, move,
+        (state == State.PLAYER_ONE_MOVE) ? playerName : computerName);
+  }
+
+  @Override
+  protected void presentError(Object presentation) {
+    try {
+      out.append(String.valueOf(presentation));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    Game game = getGame();
+    if (game.getState() == State.PLAYER_ONE_MOVE) {
+      getPresentation().movePrompt(out, game);
+    }
+  }
+
+  private boolean parse(CharSequence line) {
+    int start = 0;
+    int end = line.length();
+    while (start < end && Character.isWhitespace(line.charAt(start))) {
+      start++;
+    }
+    while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+      end--;
+    }
+    if (start == end || end - start > 9) {
+      return false;
+    }
+    int value = 0;
+    for (int i = start; i < end; i++) {
+      char c = line.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+      value = 10 * value + (c - '0');
+    }
+    pendingMove = value;
+    return true;
+  }
+
+  /**
+   * Concrete implementation of the Builder pattern used for constructing instances of
+   * {@link SolitaireStateMachine}.
+   */
+  @SuppressWarnings({"unused"})
+  public static class Builder extends Referee.Builder<Builder> {
+
+    private static final String NULL_STRATEGY_MESSAGE =
+        "strategy must be a non-null reference to an instance of a Strategy implementation.";
+    private static final String NULL_BUNDLE_MESSAGE =
+        "bundle must be a non-null reference to an instance of ResourceBundle.";
+
+    private final ResourceBundle bundle;
+
+    private Strategy strategy;
+    private boolean quiet;
+
+    /**
+     * Initializes this instance with the required parameter values, as for
+     * {@link ConsoleSolitaireReferee.Builder#Builder(GamePresentation, ResourceBundle)}.
+     *
+     * @param presentation Instance of {@link GamePresentation GamePresentation&lt;T&gt;}
+     *                     implementation that will be responsible for constructing view artifacts
+     *                     presented to the user.
+     * @param bundle       {@link ResourceBundle} providing (potentially localized) {@link String}
+     *                     resources used by the {@link SolitaireStateMachine}.
+     */
+    public Builder(GamePresentation<?> presentation, ResourceBundle bundle) {
+      super(presentation);
+      this.bundle = Objects.requireNonNull(bundle, NULL_BUNDLE_MESSAGE);
+    }
+
+    /**
+     * Sets the {@link Strategy} instance that will be used by the {@link SolitaireStateMachine} to
+     * select the computer player's moves. If not set, an instance of the class identified (in
+     * {@code strategy.properties}) by {@link ConsoleSolitaireReferee#DEFAULT_STRATEGY_KEY} will be
+     * created and used.
+     *
+     * @param strategy (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setStrategy(Strategy strategy) {
+      this.strategy = Objects.requireNonNull(strategy, NULL_STRATEGY_MESSAGE);
+      return self();
+    }
+
+    /**
+     * Sets the quiet mode flag, as for {@link ConsoleSolitaireReferee.Builder#setQuiet(boolean)}.
+     *
+     * @param quiet (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setQuiet(boolean quiet) {
+      this.quiet = quiet;
+      return self();
+    }
+
+    @Override
+    protected Builder self() {
+      return this;
+    }
+
+    @Override
+    public SolitaireStateMachine build() throws StrategyInitializationException {
+      strategy = (strategy != null)
+          ? strategy
+          : Strategy.newInstance(ConsoleSolitaireReferee.DEFAULT_STRATEGY_KEY);
+      return new SolitaireStateMachine(this);
+    }
+
+  }
+
+}
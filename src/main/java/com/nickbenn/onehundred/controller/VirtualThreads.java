@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.controller;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates {@link ThreadFactory} instances for tasks that spend most of their time blocked on I/O
+ * (e.g. one thread per client connection in {@link ServerSession}). When the runtime supports
+ * virtual threads (Java 21 and later), the threads created are virtual; these are located
+ * reflectively, so that this class may be compiled for (and run on) earlier Java versions. On
+ * earlier runtimes, platform daemon threads, with a reduced stack size of
+ * {@value #FALLBACK_STACK_SIZE} bytes, are created instead.
+ */
+public final class VirtualThreads {
+
+  /** Stack size (in bytes) requested for platform threads, when virtual threads are unavailable. */
+  public static final long FALLBACK_STACK_SIZE = 256 * 1024;
+
+  private static final String BUILDER_CLASS_NAME = "java.lang.Thread$Builder";
+  private static final Method OF_VIRTUAL = findOfVirtual();
+  private static final Method NAME;
+  private static final Method FACTORY;
+
+  static {
+    Method name = null;
+    Method factory = null;
+    if (OF_VIRTUAL != null) {
+      try {
+        Class<?> builderClass = Class.forName(BUILDER_CLASS_NAME);
+        name = builderClass.getMethod("name", String.class, long.class);
+        factory = builderClass.getMethod("factory");
+      } catch (ReflectiveOperationException e) {
+        name = null;
+        factory = null;
+      }
+    }
+    NAME = name;
+    FACTORY = factory;
+  }
+
+  private VirtualThreads() {
+    // Prevent instantiation.
+  }
+
+  /**
+   * Returns a flag indicating whether the threads created by factories returned from
+   * {@link #newFactory(String)} are virtual threads.
+   *
+   * @return (See above.)
+   */
+  public static boolean isAvailable() {
+    return FACTORY != null;
+  }
+
+  /**
+   * Creates and returns a {@link ThreadFactory} for virtual threads (if available) or platform
+   * daemon threads (otherwise), named with the specified prefix followed by a sequence number.
+   *
+   * @param prefix Prefix of thread names.
+   * @return (See above.)
+   */
+  public static ThreadFactory newFactory(String prefix) {
+    if (isAvailable()) {
+      try {
+        Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+        return (ThreadFactory) FACTORY.invoke(builder);
+      } catch (IllegalAccessException | InvocationTargetException e) {
+        // Fall through to platform threads.
+      }
+    }
+    AtomicLong counter = new AtomicLong();
+    return (runnable) -> {
+      Thread thread =
+          new Thread(null, runnable, prefix + counter.getAndIncrement(), FALLBACK_STACK_SIZE);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private static Method findOfVirtual() {
+    try {
+      Method ofVirtual = Thread.class.getMethod("ofVirtual");
+      ofVirtual.invoke(null);
+      return ofVirtual;
+    } catch (ReflectiveOperationException e) {
+      // Virtual threads are absent, or (in Java 19 and 20) are a preview feature not enabled.
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.journal;
+
+import com.nickbenn.onehundred.model.Game.State;
+
+/**
+ * Handle through which the moves and outcome of a single game are recorded in a {@link Journal},
+ * as returned by {@link Journal#startGame(com.nickbenn.onehundred.model.Rules, State, String,
+ * String, java.util.OptionalLong)}. The {@link Journal} holds only a weak reference to each handle,
+ * so a game that is abandoned before completion (e.g. when a client disconnects) requires no
+ * further action.
+ * <p>Instances of this class are not thread-safe; each must be used by one thread at a time (as
+ * is the game it records).</p>
+ */
+public final class GameJournal {
+
+  private final Journal journal;
+  private final long id;
+  private final byte[] header;
+  private final int sign;
+
+  long count;
+  boolean playerTwoToMove;
+  int moves;
+  boolean ended;
+
+  GameJournal(Journal journal, long id, byte[] header, int sign, long count,
+      boolean playerTwoToMove) {
+    this.journal = journal;
+    this.id = id;
+    this.header = header;
+    this.sign = sign;
+    this.count = count;
+    this.playerTwoToMove = playerTwoToMove;
+  }
+
+  /**
+   * Records a move.
+   *
+   * @param playerOne {@code true} if the move was made by player 1; {@code false} otherwise.
+   * @param move      Quantity added (or subtracted), or attempted.
+   * @param accepted  {@code true} if the move was legal, and was applied; {@code false} otherwise.
+   * @throws IllegalStateException If the {@link Journal} has been closed.
+   */
+  public void move(boolean playerOne, int move, boolean accepted) throws IllegalStateException {
+    journal.appendMove(this, playerOne, move, accepted);
+  }
+
+  /**
+   * Records the outcome of the game. No further moves should be recorded.
+   *
+   * @param result Terminal {@link State} of the game.
+   * @throws IllegalStateException If the {@link Journal} has been closed.
+   */
+  public void end(State result) throws IllegalStateException {
+    journal.appendEnd(this, result);
+  }
+
+  /**
+   * Returns the ID identifying this game in the journal.
+   *
+   * @return (See above.)
+   */
+  public long getId() {
+    return id;
+  }
+
+  byte[] getHeader() {
+    return header;
+  }
+
+  int getSign() {
+    return sign;
+  }
+
+}
@@ -0,0 +1,640 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.journal;
+
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.model.MoveSet;
+import com.nickbenn.onehundred.model.Rules;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only binary journal of games and moves, written to a directory of segment files in the
+ * format described in {@link JournalFormat}. A game is recorded by obtaining a {@link GameJournal}
+ * from {@link #startGame(Rules, State, String, String, OptionalLong)}, which writes the game
+ * header, and recording each move and the outcome through that handle. In normal use, this is
+ * done by {@link com.nickbenn.onehundred.controller.Referee} for every game it manages, when a
+ * journal has been installed with {@link #setDefault(Journal)}.
+ * <p>Records are appended (by any number of threads) to an in-memory buffer, and written to the
+ * current segment, via a {@link FileChannel}, by a single writer thread. The writer uses group
+ * commit: it waits up to the commit interval after the first record of a batch is appended (or
+ * until the buffer is half full), then writes the whole batch and forces it to the storage device
+ * with a single {@link FileChannel#force(boolean)}. Thus the number of forced writes per second is
+ * bounded by the commit interval, regardless of the number of concurrent games; appending a record
+ * does not wait for it to be written, unless the buffer is full. {@link #flush()} waits until every
+ * record appended so far is durable.</p>
+ * <p>When a record would take the current segment beyond the segment size, a new segment is
+ * started, beginning with a {@link JournalFormat#GAME_CONTINUED} record for every game still in
+ * progress. When a journal is opened, the last existing segment is scanned, and truncated after the
+ * last complete record with a valid checksum (discarding a record torn by a crash); a new segment
+ * is then started.</p>
+ * <p>The segment size (in bytes) and commit interval (in milliseconds) default to the values of
+ * the {@value #SEGMENT_SIZE_PROPERTY} and {@value #COMMIT_INTERVAL_PROPERTY} system properties,
+ * or {@value #DEFAULT_SEGMENT_SIZE} and {@value #DEFAULT_COMMIT_INTERVAL}, respectively.</p>
+ */
+public final class Journal implements AutoCloseable {
+
+  /** System property specifying the size (in bytes) at which segments are rolled over. */
+  public static final String SEGMENT_SIZE_PROPERTY = "onehundred.journal.segment";
+  /** Size (in bytes) at which segments are rolled over, if not otherwise specified. */
+  public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+  /** System property specifying the maximum delay (in milliseconds) before records are forced. */
+  public static final String COMMIT_INTERVAL_PROPERTY = "onehundred.journal.commit";
+  /** Maximum delay (in milliseconds) before records are forced, if not otherwise specified. */
+  public static final int DEFAULT_COMMIT_INTERVAL = 10;
+
+  private static final String WRITER_THREAD_NAME = "journal-writer";
+  private static final int BUFFER_CAPACITY = 1 << 20;
+  private static final String CLOSED_MESSAGE = "Journal has been closed.";
+  private static final String FAILED_MESSAGE = "Journal writer failed.";
+  private static final String NOT_A_SEGMENT_FORMAT = "%s is not a journal segment.";
+  private static final String HEADER_TOO_LONG_MESSAGE = "Game header exceeds maximum length.";
+
+  private static volatile Journal defaultJournal;
+
+  private final Path directory;
+  private final long segmentSize;
+  private final long commitIntervalNanos;
+  private final long recoveredBytes;
+  private final AtomicLong nextGameId;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition work = lock.newCondition();
+  private final Condition space = lock.newCondition();
+  private final Condition committed = lock.newCondition();
+  private final byte[] scratch = new byte[JournalFormat.MAX_PAYLOAD_LENGTH];
+  private final byte[] rollScratch = new byte[JournalFormat.MAX_PAYLOAD_LENGTH];
+  private final CRC32C crc = new CRC32C();
+  private final List<Integer> rollOffsets = new ArrayList<>();
+  private final Set<GameJournal> activeGames = Collections.newSetFromMap(new WeakHashMap<>());
+  private final Thread writer;
+
+  private ByteBuffer active = ByteBuffer.allocateDirect(BUFFER_CAPACITY);
+  private ByteBuffer spare = ByteBuffer.allocateDirect(BUFFER_CAPACITY);
+  private long appended;
+  private long durable;
+  private long batchStart;
+  private long segmentBytes;
+  private long segmentBaseBytes;
+  private boolean flushRequested;
+  private boolean closed;
+  private IOException failure;
+
+  private FileChannel channel;
+  private long segmentIndex;
+
+  private Journal(Builder builder) throws IOException {
+    directory = builder.directory;
+    segmentSize = builder.segmentSize;
+    commitIntervalNanos = TimeUnit.MILLISECONDS.toNanos(builder.commitInterval);
+    Files.createDirectories(directory);
+    List<Path> segments = JournalFormat.listSegments(directory);
+    long recovered = 0;
+    segmentIndex = 0;
+    if (!segments.isEmpty()) {
+      Path last = segments.get(segments.size() - 1);
+      recovered = recover(last);
+      segmentIndex = JournalFormat.segmentIndex(last) + 1;
+    }
+    recoveredBytes = recovered;
+    nextGameId = new AtomicLong(segmentIndex << JournalFormat.GAME_ID_SHIFT);
+    openSegment();
+    segmentBytes = JournalFormat.HEADER_LENGTH;
+    segmentBaseBytes = segmentBytes;
+    writer = new Thread(this::writeBatches, WRITER_THREAD_NAME);
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  /**
+   * Returns the journal installed with {@link #setDefault(Journal)}, to which every game managed by
+   * a {@link com.nickbenn.onehundred.controller.Referee} is recorded, or {@code null} if there is
+   * none.
+   *
+   * @return (See above.)
+   */
+  public static Journal getDefault() {
+    return defaultJournal;
+  }
+
+  /**
+   * Installs (or, if {@code journal} is {@code null}, removes) the process-wide default journal.
+   *
+   * @param journal Journal to which subsequently created games are recorded.
+   */
+  public static void setDefault(Journal journal) {
+    defaultJournal = journal;
+  }
+
+  /**
+   * Scans the specified segment, and truncates it after the last complete record with a valid
+   * checksum. A segment too short to contain the segment header is deleted.
+   *
+   * @param segment Path of a segment file.
+   * @return Number of bytes truncated (or deleted).
+   * @throws IOException If the file cannot be read or written, or does not start with
+   *                     {@link JournalFormat#MAGIC}.
+   */
+  public static long recover(Path segment) throws IOException {
+    long valid;
+    long size;
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      size = channel.size();
+      if (size < JournalFormat.HEADER_LENGTH) {
+        valid = -1;
+      } else {
+        ByteBuffer header = ByteBuffer.allocate(JournalFormat.HEADER_LENGTH);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+          // Keep reading until the header is complete.
+        }
+        if (header.flip().getInt() != JournalFormat.MAGIC) {
+          throw new IOException(String.format(NOT_A_SEGMENT_FORMAT, segment));
+        }
+        valid = JournalFormat.HEADER_LENGTH + scanRecords(channel);
+        if (valid < size) {
+          channel.truncate(valid);
+          channel.force(true);
+        }
+      }
+    }
+    if (valid < 0) {
+      Files.delete(segment);
+      return size;
+    }
+    return size - valid;
+  }
+
+  /**
+   * Writes a header for a new game, and returns the handle through which its moves and outcome
+   * are recorded.
+   *
+   * @param rules         Rules of the game.
+   * @param initialState  {@link State#PLAYER_ONE_MOVE} or {@link State#PLAYER_TWO_MOVE}.
+   * @param playerOneName Name (typically, the strategy key) of player 1.
+   * @param playerTwoName Name (typically, the strategy key) of player 2.
+   * @param seed          Seed from which the players' sources of randomness were derived, if
+   *                      known.
+   * @return (See above.)
+   * @throws IllegalStateException    If this journal has been closed.
+   * @throws IllegalArgumentException If the encoded header would exceed the maximum payload
+   *                                  length.
+   */
+  public GameJournal startGame(Rules rules, State initialState, String playerOneName,
+      String playerTwoName, OptionalLong seed)
+      throws IllegalStateException, IllegalArgumentException {
+    long id = nextGameId.getAndIncrement();
+    byte[] one = playerOneName.getBytes(StandardCharsets.UTF_8);
+    byte[] two = playerTwoName.getBytes(StandardCharsets.UTF_8);
+    MoveSet moves = rules.getMoves();
+    int length = 5 * JournalFormat.MAX_VARLONG_LENGTH + one.length + two.length
+        + (moves.isContiguous() ? 1 : 1 + moves.size()) * JournalFormat.MAX_VARLONG_LENGTH;
+    if (length >= JournalFormat.MAX_PAYLOAD_LENGTH - 4 * JournalFormat.MAX_VARLONG_LENGTH) {
+      throw new IllegalArgumentException(HEADER_TOO_LONG_MESSAGE);
+    }
+    byte[] buffer = new byte[length + JournalFormat.MAX_VARLONG_LENGTH];
+    int flags = ((rules.getOperation() == Operation.SUBTRACTION)
+        ? JournalFormat.FLAG_SUBTRACTION : 0)
+        | ((initialState == State.PLAYER_TWO_MOVE) ? JournalFormat.FLAG_PLAYER_TWO_FIRST : 0)
+        | (moves.isContiguous() ? 0 : JournalFormat.FLAG_EXPLICIT_MOVES)
+        | (seed.isPresent() ? JournalFormat.FLAG_SEED : 0);
+    int position = JournalFormat.putVarLong(buffer, 0, id);
+    position = JournalFormat.putVarLong(buffer, position, System.currentTimeMillis());
+    position = JournalFormat.putVarLong(buffer, position, flags);
+    position = JournalFormat.putVarLong(buffer, position, rules.getUpperBound());
+    if (moves.isContiguous()) {
+      position = JournalFormat.putVarLong(buffer, position, moves.getMax());
+    } else {
+      position = JournalFormat.putVarLong(buffer, position, moves.size());
+      for (int i = 0; i < moves.size(); i++) {
+        position = JournalFormat.putVarLong(buffer, position, moves.get(i));
+      }
+    }
+    position = putString(buffer, position, one);
+    position = putString(buffer, position, two);
+    if (seed.isPresent()) {
+      position = JournalFormat.putVarLong(buffer, position,
+          JournalFormat.zigZag(seed.getAsLong()));
+    }
+    byte[] header = Arrays.copyOf(buffer, position);
+    int sign = rules.getOperation().sign();
+    GameJournal game = new GameJournal(this, id, header, sign,
+        (sign > 0) ? 0 : rules.getUpperBound(), initialState == State.PLAYER_TWO_MOVE);
+    lock.lock();
+    try {
+      beginAppend();
+      scratch[0] = JournalFormat.GAME_START;
+      System.arraycopy(header, 0, scratch, 1, header.length);
+      appendFrame(1 + header.length);
+      activeGames.add(game);
+    } finally {
+      lock.unlock();
+    }
+    return game;
+  }
+
+  /**
+   * Blocks until every record appended before this method was invoked has been written and forced
+   * to the storage device.
+   *
+   * @throws UncheckedIOException If the writer thread has failed.
+   */
+  public void flush() throws UncheckedIOException {
+    lock.lock();
+    try {
+      long target = appended;
+      while (durable < target && failure == null) {
+        flushRequested = true;
+        work.signal();
+        committed.awaitUninterruptibly();
+      }
+      checkFailure();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Flushes all records appended so far, stops the writer thread, and closes the current segment.
+   * Records may not be appended after this method is invoked.
+   *
+   * @throws UncheckedIOException If the writer thread has failed, or the segment cannot be closed.
+   */
+  @Override
+  public void close() throws UncheckedIOException {
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      work.signal();
+    } finally {
+      lock.unlock();
+    }
+    boolean interrupted = false;
+    while (writer.isAlive()) {
+      try {
+        writer.join();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    if (this == defaultJournal) {
+      defaultJournal = null;
+    }
+    lock.lock();
+    try {
+      checkFailure();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the directory in which the segments of this journal are written.
+   *
+   * @return (See above.)
+   */
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Returns the number of bytes truncated from the last existing segment when this journal was
+   * opened (see {@link #recover(Path)}).
+   *
+   * @return (See above.)
+   */
+  public long getRecoveredBytes() {
+    return recoveredBytes;
+  }
+
+  void appendMove(GameJournal game, boolean playerOne, int move, boolean accepted) {
+    lock.lock();
+    try {
+      beginAppend();
+      scratch[0] = JournalFormat.MOVE;
+      int position = JournalFormat.putVarLong(scratch, 1, game.getId());
+      position = JournalFormat.putVarLong(scratch, position,
+          (JournalFormat.zigZag(move) << JournalFormat.MOVE_SHIFT)
+              | (playerOne ? 0 : JournalFormat.MOVE_PLAYER_TWO)
+              | (accepted ? JournalFormat.MOVE_ACCEPTED : 0));
+      appendFrame(position);
+      if (accepted) {
+        game.count += (long) game.getSign() * move;
+        game.playerTwoToMove = playerOne;
+        game.moves++;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  void appendEnd(GameJournal game, State result) {
+    lock.lock();
+    try {
+      beginAppend();
+      scratch[0] = JournalFormat.GAME_END;
+      int position = JournalFormat.putVarLong(scratch, 1, game.getId());
+      position = JournalFormat.putVarLong(scratch, position,
+          (result == State.PLAYER_ONE_WIN) ? 1 : 2);
+      position = JournalFormat.putVarLong(scratch, position, game.moves);
+      appendFrame(position);
+      game.ended = true;
+      activeGames.remove(game);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void beginAppend() {
+    while (true) {
+      if (closed) {
+        throw new IllegalStateException(CLOSED_MESSAGE);
+      }
+      checkFailure();
+      if (active.remaining() >= JournalFormat.MAX_RECORD_LENGTH) {
+        return;
+      }
+      work.signal();
+      space.awaitUninterruptibly();
+    }
+  }
+
+  private void appendFrame(int payloadLength) {
+    int frameLength = JournalFormat.varLongLength(payloadLength) + payloadLength
+        + JournalFormat.CHECKSUM_LENGTH;
+    if (segmentBytes + frameLength > segmentSize && segmentBytes > segmentBaseBytes) {
+      roll();
+    }
+    put(scratch, payloadLength);
+  }
+
+  private void roll() {
+    rollOffsets.add(active.position());
+    segmentBytes = JournalFormat.HEADER_LENGTH;
+    for (GameJournal game : activeGames) {
+      if (game.ended) {
+        continue;
+      }
+      byte[] header = game.getHeader();
+      rollScratch[0] = JournalFormat.GAME_CONTINUED;
+      System.arraycopy(header, 0, rollScratch, 1, header.length);
+      int position = JournalFormat.putVarLong(rollScratch, 1 + header.length, game.count);
+      position = JournalFormat.putVarLong(rollScratch, position, game.playerTwoToMove ? 2 : 1);
+      position = JournalFormat.putVarLong(rollScratch, position, game.moves);
+      if (active.remaining() < position + 2 * JournalFormat.MAX_RECORD_LENGTH) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(2 * active.capacity());
+        grown.put(active.flip());
+        active = grown;
+      }
+      put(rollScratch, position);
+    }
+    segmentBaseBytes = segmentBytes;
+  }
+
+  private void put(byte[] payload, int length) {
+    boolean wasEmpty = active.position() == 0;
+    int start = active.position();
+    JournalFormat.putVarLong(active, length);
+    active.put(payload, 0, length);
+    crc.reset();
+    crc.update(payload, 0, length);
+    active.putInt((int) crc.getValue());
+    int frameLength = active.position() - start;
+    appended += frameLength;
+    segmentBytes += frameLength;
+    if (wasEmpty) {
+      batchStart = System.nanoTime();
+      work.signal();
+    } else if (active.position() >= active.capacity() / 2) {
+      work.signal();
+    }
+  }
+
+  private void checkFailure() {
+    if (failure != null) {
+      throw new UncheckedIOException(FAILED_MESSAGE, failure);
+    }
+  }
+
+  private void writeBatches() {
+    try {
+      while (true) {
+        ByteBuffer batch;
+        int[] rolls;
+        long batchEnd;
+        lock.lock();
+        try {
+          while (!closed && !flushRequested && active.position() == 0) {
+            work.awaitUninterruptibly();
+          }
+          long remaining;
+          while (!closed && !flushRequested && active.position() < active.capacity() / 2
+              && (remaining = batchStart + commitIntervalNanos - System.nanoTime()) > 0) {
+            work.awaitNanos(remaining);
+          }
+          flushRequested = false;
+          if (active.position() == 0) {
+            committed.signalAll();
+            if (closed) {
+              break;
+            }
+            continue;
+          }
+          batch = active;
+          active = (spare.capacity() >= batch.capacity())
+              ? spare
+              : ByteBuffer.allocateDirect(batch.capacity());
+          rolls = rollOffsets.stream().mapToInt(Integer::intValue).toArray();
+          rollOffsets.clear();
+          batchEnd = appended;
+          space.signalAll();
+        } finally {
+          lock.unlock();
+        }
+        write(batch, rolls);
+        lock.lock();
+        try {
+          durable = batchEnd;
+          spare = batch.clear();
+          committed.signalAll();
+        } finally {
+          lock.unlock();
+        }
+      }
+    } catch (IOException e) {
+      lock.lock();
+      try {
+        failure = e;
+        committed.signalAll();
+        space.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        // Already closed, or failed; nothing more can be done with this segment.
+      }
+    }
+  }
+
+  private void write(ByteBuffer batch, int[] rolls) throws IOException {
+    batch.flip();
+    for (int roll : rolls) {
+      writeFully(batch.duplicate().limit(roll));
+      batch.position(roll);
+      channel.force(false);
+      channel.close();
+      segmentIndex++;
+      openSegment();
+    }
+    writeFully(batch);
+    channel.force(false);
+  }
+
+  private void writeFully(ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private void openSegment() throws IOException {
+    channel = FileChannel.open(directory.resolve(JournalFormat.segmentName(segmentIndex)),
+        StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    writeFully(ByteBuffer.allocate(JournalFormat.HEADER_LENGTH)
+        .putInt(JournalFormat.MAGIC)
+        .flip());
+  }
+
+  private static int putString(byte[] buffer, int position, byte[] text) {
+    position = JournalFormat.putVarLong(buffer, position, text.length);
+    System.arraycopy(text, 0, buffer, position, text.length);
+    return position + text.length;
+  }
+
+  private static long scanRecords(FileChannel channel) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(2 * JournalFormat.MAX_RECORD_LENGTH);
+    CRC32C crc = new CRC32C();
+    long valid = 0;
+    long position = JournalFormat.HEADER_LENGTH;
+    boolean eof = false;
+    while (!eof) {
+      int count = channel.read(buffer, position);
+      if (count < 0) {
+        eof = true;
+      } else {
+        position += count;
+      }
+      buffer.flip();
+      while (true) {
+        int start = buffer.position();
+        int length = JournalFormat.frameLength(buffer, crc);
+        if (length == 0) {
+          buffer.position(start);
+          break;
+        }
+        if (length < 0) {
+          return valid;
+        }
+        valid += length;
+      }
+      if (eof) {
+        return valid;
+      }
+      buffer.compact();
+    }
+    return valid;
+  }
+
+  /**
+   * Configures and opens a {@link Journal}.
+   */
+  @SuppressWarnings({"unused"})
+  public static class Builder {
+
+    private final Path directory;
+
+    private long segmentSize =
+        Integer.getInteger(SEGMENT_SIZE_PROPERTY, DEFAULT_SEGMENT_SIZE);
+    private long commitInterval =
+        Integer.getInteger(COMMIT_INTERVAL_PROPERTY, DEFAULT_COMMIT_INTERVAL);
+
+    /**
+     * Initializes this instance with the directory in which segments will be written. The
+     * directory (and any missing parents) is created if necessary.
+     *
+     * @param directory Journal directory.
+     */
+    public Builder(Path directory) {
+      this.directory = directory;
+    }
+
+    /**
+     * Specifies the size (in bytes) beyond which a segment is not extended. If this method is not
+     * invoked, the value of the {@value Journal#SEGMENT_SIZE_PROPERTY} system property (or
+     * {@value Journal#DEFAULT_SEGMENT_SIZE}) is used.
+     *
+     * @param segmentSize (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setSegmentSize(long segmentSize) {
+      this.segmentSize = segmentSize;
+      return this;
+    }
+
+    /**
+     * Specifies the maximum time (in milliseconds) for which records are buffered before being
+     * written and forced. If this method is not invoked, the value of the
+     * {@value Journal#COMMIT_INTERVAL_PROPERTY} system property (or
+     * {@value Journal#DEFAULT_COMMIT_INTERVAL}) is used.
+     *
+     * @param commitInterval (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setCommitInterval(long commitInterval) {
+      this.commitInterval = commitInterval;
+      return this;
+    }
+
+    /**
+     * Recovers the last existing segment (if any), opens a new segment, starts the writer thread,
+     * and returns the {@link Journal}.
+     *
+     * @return (See above.)
+     * @throws IOException If the directory or segments cannot be created, read, or written.
+     */
+    public Journal build() throws IOException {
+      return new Journal(this);
+    }
+
+  }
+
+}
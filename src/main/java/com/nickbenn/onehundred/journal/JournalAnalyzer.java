@@ -0,0 +1,774 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.journal;
+
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.MoveSet;
+import com.nickbenn.onehundred.strategy.OptimalStrategy;
+import com.nickbenn.onehundred.strategy.PeriodicTable;
+import com.nickbenn.onehundred.strategy.WinLossTable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Summarizes the games recorded in a journal directory: the outcomes and lengths of the completed
+ * games for each combination of players and rules (see {@link Category}), and the moves and
+ * outcomes of each player (see {@link PlayerSummary}), including how often the player chose a
+ * winning move when one was available&mdash;that is, a move that {@link OptimalStrategy} would
+ * also have chosen.
+ * <p>Each segment is read with a {@link JournalReader}, and the segments are scanned in parallel;
+ * since every segment starts with a {@link JournalFormat#GAME_CONTINUED} record for each game then
+ * in progress, no state is carried from one segment to the next. Within a segment, records are
+ * decoded directly from the mapped file: the rules and player names are decoded only once for
+ * each distinct game header (identified by its encoded bytes), and only the remaining quantity of
+ * each game in progress is tracked; no {@link com.nickbenn.onehundred.model.Game} instances are
+ * created. Memory use is thus bounded by the number of distinct game headers and games in
+ * progress, regardless of the size of the journal.</p>
+ * <p>The lengths of games are counted exactly up to {@value #MAX_EXACT_LENGTH} moves; longer games
+ * are counted as having that length for the purpose of {@link Category#getLengthQuantile(double)}
+ * and {@link Category#getGames(long, long)}, but not of {@link Category#getMeanLength()} or
+ * {@link Category#getMaxLength()}.</p>
+ */
+public final class JournalAnalyzer {
+
+  /** Largest game length (in moves) counted exactly in the distribution of lengths. */
+  public static final int MAX_EXACT_LENGTH = (1 << 16) - 1;
+
+  private static final String MALFORMED_RECORD_FORMAT =
+      "Malformed record at offset %2$d of %1$s.";
+  private static final int INITIAL_LENGTHS = 64;
+
+  private final Path directory;
+  private final int segments;
+  private final long bytes;
+  private final long records;
+  private final int truncatedSegments;
+  private final List<Category> categories;
+  private final List<PlayerSummary> players;
+  private final Category total;
+
+  private JournalAnalyzer(Path directory, List<Scan> scans, List<Category> categories) {
+    this.directory = directory;
+    segments = scans.size();
+    long bytes = 0;
+    long records = 0;
+    int truncatedSegments = 0;
+    for (Scan scan : scans) {
+      bytes += scan.bytes;
+      records += scan.records;
+      truncatedSegments += scan.truncated ? 1 : 0;
+    }
+    this.bytes = bytes;
+    this.records = records;
+    this.truncatedSegments = truncatedSegments;
+    this.categories = categories;
+    Map<String, PlayerSummary> players = new TreeMap<>();
+    total = new Category();
+    for (Category category : categories) {
+      total.merge(category);
+      for (int seat = 0; seat < 2; seat++) {
+        players
+            .computeIfAbsent(category.names[seat], PlayerSummary::new)
+            .add(category, seat);
+      }
+    }
+    this.players = new ArrayList<>(players.values());
+  }
+
+  /**
+   * Reads all of the segments in the specified journal directory, using up to {@code parallelism}
+   * threads, and returns the resulting summary.
+   *
+   * @param directory   Journal directory.
+   * @param parallelism Maximum number of segments read concurrently.
+   * @return Summary of the games recorded in {@code directory}.
+   * @throws IOException          If the directory or any segment cannot be read, or a segment
+   *                              contains a malformed record.
+   * @throws InterruptedException If the current thread is interrupted while waiting for the
+   *                              segments to be read.
+   */
+  public static JournalAnalyzer analyze(Path directory, int parallelism)
+      throws IOException, InterruptedException {
+    List<Callable<Scan>> tasks = new ArrayList<>();
+    for (Path segment : JournalFormat.listSegments(directory)) {
+      tasks.add(() -> scan(segment));
+    }
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      List<Scan> scans = new ArrayList<>();
+      Map<List<Object>, Category> categories = new HashMap<>();
+      for (Future<Scan> future : pool.invokeAll(tasks)) {
+        Scan scan = future.get();
+        scans.add(scan);
+        for (Category category : scan.categories.values()) {
+          categories.computeIfAbsent(category.key(), (key) -> new Category(category))
+              .merge(category);
+        }
+      }
+      List<Category> sorted = new ArrayList<>(categories.values());
+      sorted.sort(Comparator
+          .comparing(Category::getOperation)
+          .thenComparingLong(Category::getUpperBound)
+          .thenComparing((category) -> category.getMoves().toString())
+          .thenComparing(Category::getPlayerOneName)
+          .thenComparing(Category::getPlayerTwoName));
+      return new JournalAnalyzer(directory, scans, sorted);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException(cause);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Returns the journal directory summarized.
+   *
+   * @return (See above.)
+   */
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Returns the number of segments read.
+   *
+   * @return (See above.)
+   */
+  public int getSegments() {
+    return segments;
+  }
+
+  /**
+   * Returns the total size (in bytes) of the segments read.
+   *
+   * @return (See above.)
+   */
+  public long getBytes() {
+    return bytes;
+  }
+
+  /**
+   * Returns the number of records read.
+   *
+   * @return (See above.)
+   */
+  public long getRecords() {
+    return records;
+  }
+
+  /**
+   * Returns the number of segments ending with an incomplete or corrupt record (see
+   * {@link JournalReader#isTruncated()}).
+   *
+   * @return (See above.)
+   */
+  public int getTruncatedSegments() {
+    return truncatedSegments;
+  }
+
+  /**
+   * Returns the summaries of the games recorded for each combination of rules and players, ordered
+   * by operation, upper bound, move set, and player names.
+   *
+   * @return (See above.)
+   */
+  public List<Category> getCategories() {
+    return Collections.unmodifiableList(categories);
+  }
+
+  /**
+   * Returns the summaries of the moves and outcomes of each player, in order of player name.
+   *
+   * @return (See above.)
+   */
+  public List<PlayerSummary> getPlayers() {
+    return Collections.unmodifiableList(players);
+  }
+
+  /**
+   * Returns the combined summary of all games recorded, regardless of rules and players. The
+   * player names and rules of the returned {@link Category} are not defined.
+   *
+   * @return (See above.)
+   */
+  public Category getTotal() {
+    return total;
+  }
+
+  private static Scan scan(Path segment) throws IOException {
+    JournalReader reader = JournalReader.open(segment);
+    Scan scan = new Scan(reader.getSize());
+    Map<Long, Live> games = new HashMap<>();
+    try {
+      while (reader.next()) {
+        scan.records++;
+        ByteBuffer payload = reader.getPayload();
+        byte type = reader.getType();
+        long id = JournalFormat.getVarLong(payload);
+        if (type == JournalFormat.GAME_START || type == JournalFormat.GAME_CONTINUED) {
+          games.put(id, scan.header(type, payload));
+        } else if (type == JournalFormat.MOVE) {
+          Live game = games.get(id);
+          if (game != null) {
+            game.move(JournalFormat.getVarLong(payload));
+          }
+        } else {
+          Live game = games.remove(id);
+          if (game != null) {
+            int winner = (int) JournalFormat.getVarLong(payload);
+            game.category.end(winner, JournalFormat.getVarLong(payload));
+          }
+        }
+      }
+    } catch (BufferUnderflowException | IllegalArgumentException e) {
+      throw new IOException(
+          String.format(MALFORMED_RECORD_FORMAT, segment, reader.getPosition()), e);
+    }
+    scan.truncated = reader.isTruncated();
+    return scan;
+  }
+
+  private static void skipString(ByteBuffer buffer) {
+    int length = (int) JournalFormat.getVarLong(buffer);
+    buffer.position(buffer.position() + length);
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    byte[] bytes = new byte[(int) JournalFormat.getVarLong(buffer)];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static double ratio(long numerator, long denominator) {
+    return (denominator > 0) ? (double) numerator / denominator : Double.NaN;
+  }
+
+  /**
+   * Outcomes and lengths of the games recorded with one combination of rules and player names,
+   * and the moves of each player in those games.
+   */
+  public static final class Category {
+
+    private final Operation operation;
+    private final long upperBound;
+    private final MoveSet moves;
+    private final String[] names;
+    private final PeriodicTable periodicTable;
+    private final WinLossTable winLossTable;
+    private final long[] playerMoves = new long[2];
+    private final long[] illegalMoves = new long[2];
+    private final long[] winningPositions = new long[2];
+    private final long[] optimalMoves = new long[2];
+
+    private long started;
+    private long games;
+    private long playerOneWins;
+    private long[] lengths = new long[INITIAL_LENGTHS];
+    private long lengthSum;
+    private long maxLength;
+
+    private Category() {
+      operation = null;
+      upperBound = 0;
+      moves = null;
+      names = new String[2];
+      periodicTable = null;
+      winLossTable = null;
+    }
+
+    private Category(Category other) {
+      operation = other.operation;
+      upperBound = other.upperBound;
+      moves = other.moves;
+      names = other.names;
+      periodicTable = other.periodicTable;
+      winLossTable = other.winLossTable;
+    }
+
+    private Category(int flags, ByteBuffer header) {
+      operation = ((flags & JournalFormat.FLAG_SUBTRACTION) != 0)
+          ? Operation.SUBTRACTION
+          : Operation.ADDITION;
+      upperBound = JournalFormat.getVarLong(header);
+      if ((flags & JournalFormat.FLAG_EXPLICIT_MOVES) != 0) {
+        int[] values = new int[(int) JournalFormat.getVarLong(header)];
+        for (int i = 0; i < values.length; i++) {
+          values[i] = (int) JournalFormat.getVarLong(header);
+        }
+        moves = MoveSet.of(values);
+      } else {
+        moves = MoveSet.contiguous((int) JournalFormat.getVarLong(header));
+      }
+      names = new String[] {getString(header), getString(header)};
+      if (moves.isContiguous()) {
+        periodicTable = null;
+        winLossTable = null;
+      } else if (moves.getMax() <= PeriodicTable.MAX_SUPPORTED_MOVE) {
+        periodicTable = PeriodicTable.forMoves(moves);
+        winLossTable = null;
+      } else {
+        periodicTable = null;
+        winLossTable = (upperBound <= WinLossTable.MAX_BOUND)
+            ? WinLossTable.forMoves(moves, (int) upperBound)
+            : null;
+      }
+    }
+
+    /**
+     * Returns the operation of the game.
+     *
+     * @return (See above.)
+     */
+    public Operation getOperation() {
+      return operation;
+    }
+
+    /**
+     * Returns the target value (for the addition game) or the starting value (for the subtraction
+     * game).
+     *
+     * @return (See above.)
+     */
+    public long getUpperBound() {
+      return upperBound;
+    }
+
+    /**
+     * Returns the quantities that may be added or subtracted in each move.
+     *
+     * @return (See above.)
+     */
+    public MoveSet getMoves() {
+      return moves;
+    }
+
+    /**
+     * Returns the name (typically, the strategy key) of player 1.
+     *
+     * @return (See above.)
+     */
+    public String getPlayerOneName() {
+      return names[0];
+    }
+
+    /**
+     * Returns the name (typically, the strategy key) of player 2.
+     *
+     * @return (See above.)
+     */
+    public String getPlayerTwoName() {
+      return names[1];
+    }
+
+    /**
+     * Returns the number of games started (as opposed to continued from a previous segment).
+     *
+     * @return (See above.)
+     */
+    public long getStarted() {
+      return started;
+    }
+
+    /**
+     * Returns the number of games completed.
+     *
+     * @return (See above.)
+     */
+    public long getGames() {
+      return games;
+    }
+
+    /**
+     * Returns the number of completed games won by player 1.
+     *
+     * @return (See above.)
+     */
+    public long getPlayerOneWins() {
+      return playerOneWins;
+    }
+
+    /**
+     * Returns the fraction of completed games won by player 1, or {@link Double#NaN} if no games
+     * were completed.
+     *
+     * @return (See above.)
+     */
+    public double getPlayerOneWinRate() {
+      return ratio(playerOneWins, games);
+    }
+
+    /**
+     * Returns the mean length (in legal moves) of the completed games, or {@link Double#NaN} if no
+     * games were completed.
+     *
+     * @return (See above.)
+     */
+    public double getMeanLength() {
+      return ratio(lengthSum, games);
+    }
+
+    /**
+     * Returns the length (in legal moves) of the longest completed game.
+     *
+     * @return (See above.)
+     */
+    public long getMaxLength() {
+      return maxLength;
+    }
+
+    /**
+     * Returns the smallest length such that at least the fraction {@code quantile} of the completed
+     * games were no longer, or 0 if no games were completed.
+     *
+     * @param quantile Fraction (from 0 to 1, inclusive) of games.
+     * @return (See above.)
+     * @throws IllegalArgumentException If {@code quantile} is not in the range from 0 to 1.
+     */
+    public long getLengthQuantile(double quantile) throws IllegalArgumentException {
+      if (!(quantile >= 0 && quantile <= 1)) {
+        throw new IllegalArgumentException(String.valueOf(quantile));
+      }
+      long rank = Math.max(1, (long) Math.ceil(quantile * games));
+      long cumulative = 0;
+      for (int length = 0; length < lengths.length; length++) {
+        cumulative += lengths[length];
+        if (cumulative >= rank) {
+          return length;
+        }
+      }
+      return 0;
+    }
+
+    /**
+     * Returns the number of completed games with lengths (in legal moves) from {@code minLength} to
+     * {@code maxLength}, inclusive.
+     *
+     * @param minLength Minimum length.
+     * @param maxLength Maximum length.
+     * @return (See above.)
+     */
+    public long getGames(long minLength, long maxLength) {
+      long count = 0;
+      for (long length = Math.max(0, minLength),
+          limit = Math.min(maxLength, lengths.length - 1); length <= limit; length++) {
+        count += lengths[(int) length];
+      }
+      return count;
+    }
+
+    /**
+     * Returns the number of moves (legal or not) made by the specified player.
+     *
+     * @param playerOne {@code true} for player 1; {@code false} for player 2.
+     * @return (See above.)
+     */
+    public long getMoves(boolean playerOne) {
+      return playerMoves[playerOne ? 0 : 1];
+    }
+
+    /**
+     * Returns the number of illegal moves attempted by the specified player.
+     *
+     * @param playerOne {@code true} for player 1; {@code false} for player 2.
+     * @return (See above.)
+     */
+    public long getIllegalMoves(boolean playerOne) {
+      return illegalMoves[playerOne ? 0 : 1];
+    }
+
+    /**
+     * Returns the number of legal moves made by the specified player from a winning position (one
+     * from which some move leaves the opponent in a losing position). Positions are not classified
+     * (and this method returns 0) for games with a move set larger than
+     * {@link PeriodicTable#MAX_SUPPORTED_MOVE} and an upper bound larger than
+     * {@link Integer#MAX_VALUE}.
+     *
+     * @param playerOne {@code true} for player 1; {@code false} for player 2.
+     * @return (See above.)
+     */
+    public long getWinningPositions(boolean playerOne) {
+      return winningPositions[playerOne ? 0 : 1];
+    }
+
+    /**
+     * Returns the number of legal moves made by the specified player from a winning position that
+     * left the opponent in a losing position.
+     *
+     * @param playerOne {@code true} for player 1; {@code false} for player 2.
+     * @return (See above.)
+     */
+    public long getOptimalMoves(boolean playerOne) {
+      return optimalMoves[playerOne ? 0 : 1];
+    }
+
+    private List<Object> key() {
+      return List.of(operation, upperBound, moves, names[0], names[1]);
+    }
+
+    private boolean isClassified() {
+      return moves.isContiguous() || periodicTable != null || winLossTable != null;
+    }
+
+    private boolean isLosing(long remaining) {
+      if (moves.isContiguous()) {
+        return remaining % (moves.getMax() + 1) == 0;
+      }
+      return (periodicTable != null)
+          ? periodicTable.isLosing(remaining)
+          : winLossTable.isLosing((int) remaining);
+    }
+
+    private void end(int winner, long length) {
+      games++;
+      if (winner == 1) {
+        playerOneWins++;
+      }
+      int index = (int) Math.min(length, MAX_EXACT_LENGTH);
+      if (index >= lengths.length) {
+        lengths = Arrays.copyOf(lengths, Math.max(index + 1, 2 * lengths.length));
+      }
+      lengths[index]++;
+      lengthSum += length;
+      maxLength = Math.max(maxLength, length);
+    }
+
+    private void merge(Category other) {
+      started += other.started;
+      games += other.games;
+      playerOneWins += other.playerOneWins;
+      if (other.lengths.length > lengths.length) {
+        lengths = Arrays.copyOf(lengths, other.lengths.length);
+      }
+      for (int i = 0; i < other.lengths.length; i++) {
+        lengths[i] += other.lengths[i];
+      }
+      lengthSum += other.lengthSum;
+      maxLength = Math.max(maxLength, other.maxLength);
+      for (int seat = 0; seat < 2; seat++) {
+        playerMoves[seat] += other.playerMoves[seat];
+        illegalMoves[seat] += other.illegalMoves[seat];
+        winningPositions[seat] += other.winningPositions[seat];
+        optimalMoves[seat] += other.optimalMoves[seat];
+      }
+    }
+
+  }
+
+  /**
+   * Moves and outcomes of a single player (identified by name), over all rules and opponents.
+   */
+  public static final class PlayerSummary {
+
+    private final String name;
+
+    private long games;
+    private long wins;
+    private long moves;
+    private long illegalMoves;
+    private long winningPositions;
+    private long optimalMoves;
+
+    private PlayerSummary(String name) {
+      this.name = name;
+    }
+
+    private void add(Category category, int seat) {
+      games += category.games;
+      wins += (seat == 0) ? category.playerOneWins : category.games - category.playerOneWins;
+      moves += category.playerMoves[seat];
+      illegalMoves += category.illegalMoves[seat];
+      winningPositions += category.winningPositions[seat];
+      optimalMoves += category.optimalMoves[seat];
+    }
+
+    /**
+     * Returns the name (typically, the strategy key) of the player.
+     *
+     * @return (See above.)
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Returns the number of completed games played; a game between two players with the same name
+     * is counted twice.
+     *
+     * @return (See above.)
+     */
+    public long getGames() {
+      return games;
+    }
+
+    /**
+     * Returns the number of completed games won.
+     *
+     * @return (See above.)
+     */
+    public long getWins() {
+      return wins;
+    }
+
+    /**
+     * Returns the fraction of completed games won, or {@link Double#NaN} if no games were
+     * completed.
+     *
+     * @return (See above.)
+     */
+    public double getWinRate() {
+      return ratio(wins, games);
+    }
+
+    /**
+     * Returns the number of moves (legal or not) made.
+     *
+     * @return (See above.)
+     */
+    public long getMoves() {
+      return moves;
+    }
+
+    /**
+     * Returns the number of illegal moves attempted.
+     *
+     * @return (See above.)
+     */
+    public long getIllegalMoves() {
+      return illegalMoves;
+    }
+
+    /**
+     * Returns the number of legal moves made from a winning position (see
+     * {@link Category#getWinningPositions(boolean)}).
+     *
+     * @return (See above.)
+     */
+    public long getWinningPositions() {
+      return winningPositions;
+    }
+
+    /**
+     * Returns the number of legal moves made from a winning position that left the opponent in a
+     * losing position.
+     *
+     * @return (See above.)
+     */
+    public long getOptimalMoves() {
+      return optimalMoves;
+    }
+
+    /**
+     * Returns the fraction of moves made from winning positions that left the opponent in a losing
+     * position (i.e. that agreed with {@link OptimalStrategy}), or {@link Double#NaN} if no moves
+     * were made from winning positions.
+     *
+     * @return (See above.)
+     */
+    public double getOptimalRate() {
+      return ratio(optimalMoves, winningPositions);
+    }
+
+  }
+
+  private static final class Scan {
+
+    private final long bytes;
+    private final Map<ByteBuffer, Category> categories = new HashMap<>();
+
+    private long records;
+    private boolean truncated;
+
+    private Scan(long bytes) {
+      this.bytes = bytes;
+    }
+
+    private Live header(byte type, ByteBuffer payload) {
+      JournalFormat.getVarLong(payload);
+      int start = payload.position();
+      int flags = (int) JournalFormat.getVarLong(payload);
+      long upperBound = JournalFormat.getVarLong(payload);
+      long moves = JournalFormat.getVarLong(payload);
+      if ((flags & JournalFormat.FLAG_EXPLICIT_MOVES) != 0) {
+        for (long i = 0; i < moves; i++) {
+          JournalFormat.getVarLong(payload);
+        }
+      }
+      skipString(payload);
+      skipString(payload);
+      ByteBuffer key = payload.slice(start, payload.position() - start);
+      Category category = categories.get(key);
+      if (category == null) {
+        ByteBuffer header = key.duplicate();
+        JournalFormat.getVarLong(header);
+        category = new Category(flags, header);
+        categories.put(key, category);
+      }
+      if ((flags & JournalFormat.FLAG_SEED) != 0) {
+        JournalFormat.getVarLong(payload);
+      }
+      long remaining = upperBound;
+      if (type == JournalFormat.GAME_START) {
+        category.started++;
+      } else {
+        long count = JournalFormat.getVarLong(payload);
+        remaining = ((flags & JournalFormat.FLAG_SUBTRACTION) != 0) ? count : upperBound - count;
+      }
+      return new Live(category, remaining);
+    }
+
+  }
+
+  private static final class Live {
+
+    private final Category category;
+
+    private long remaining;
+
+    private Live(Category category, long remaining) {
+      this.category = category;
+      this.remaining = remaining;
+    }
+
+    private void move(long encoded) {
+      int seat = ((encoded & JournalFormat.MOVE_PLAYER_TWO) != 0) ? 1 : 0;
+      long move = JournalFormat.unZigZag(encoded >>> JournalFormat.MOVE_SHIFT);
+      category.playerMoves[seat]++;
+      if ((encoded & JournalFormat.MOVE_ACCEPTED) == 0) {
+        category.illegalMoves[seat]++;
+        return;
+      }
+      if (category.isClassified() && !category.isLosing(remaining)) {
+        category.winningPositions[seat]++;
+        if (move <= remaining && category.isLosing(remaining - move)) {
+          category.optimalMoves[seat]++;
+        }
+      }
+      remaining -= move;
+    }
+
+  }
+
+}
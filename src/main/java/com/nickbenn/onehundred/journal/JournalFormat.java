@@ -0,0 +1,286 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Constants and encoding primitives defining the binary format of the journal written by
+ * {@link Journal}.
+ * <p>A journal is a directory of segment files, named with a zero-padded, increasing index and the
+ * {@value #SEGMENT_SUFFIX} suffix (see {@link #segmentName(long)}). Each segment starts with the
+ * 4-byte {@link #MAGIC} number, followed by any number of records. Each record is framed as the
+ * length of its payload (an unsigned varint, at most {@value #MAX_PAYLOAD_LENGTH}), the payload,
+ * and the CRC-32C checksum of the payload (4 bytes, big-endian). The first byte of the payload is
+ * the record type; the remainder consists of unsigned varints (unsigned LEB128, as written by
+ * {@link #putVarLong(byte[], int, long)}) and length-prefixed UTF-8 strings, as follows:</p>
+ * <ul>
+ *   <li>{@link #GAME_START}: game ID; start time (milliseconds since the epoch); flags (a
+ *   combination of {@link #FLAG_SUBTRACTION}, {@link #FLAG_PLAYER_TWO_FIRST},
+ *   {@link #FLAG_EXPLICIT_MOVES}, and {@link #FLAG_SEED}); upper bound; either the maximum move
+ *   or (with {@link #FLAG_EXPLICIT_MOVES}) the number of permitted moves followed by each move;
+ *   player 1 name; player 2 name; and (with {@link #FLAG_SEED}) the zigzag-encoded seed.</li>
+ *   <li>{@link #GAME_CONTINUED}: the same fields as {@link #GAME_START}, followed by the current
+ *   count, the player (1 or 2) to move next, and the number of moves played. This is written at
+ *   the start of a segment for each game in progress when the previous segment was closed, so
+ *   that every segment can be read independently of the others.</li>
+ *   <li>{@link #MOVE}: game ID; and the zigzag-encoded move, shifted left by 2 bits, combined with
+ *   {@link #MOVE_PLAYER_TWO} (if played by player 2) and {@link #MOVE_ACCEPTED} (if legal).</li>
+ *   <li>{@link #GAME_END}: game ID; the winning player (1 or 2); and the number of moves
+ *   played.</li>
+ * </ul>
+ * <p>Game IDs are unique within a journal; each {@link Journal} instance writes a new segment
+ * when opened, and assigns game IDs starting from the index of that segment shifted left by
+ * {@value #GAME_ID_SHIFT} bits.</p>
+ */
+public final class JournalFormat {
+
+  /** Magic number at the start of every segment (the ASCII characters {@code OHJ1}). */
+  public static final int MAGIC = 0x4F484A31;
+  /** Length (in bytes) of the segment header. */
+  public static final int HEADER_LENGTH = 4;
+  /** Maximum length (in bytes) of a record payload. */
+  public static final int MAX_PAYLOAD_LENGTH = 1 << 16;
+  /** Length (in bytes) of the checksum following each payload. */
+  public static final int CHECKSUM_LENGTH = 4;
+  /** Maximum length (in bytes) of a varint-encoded {@code long} value. */
+  public static final int MAX_VARLONG_LENGTH = 10;
+  /** Maximum length (in bytes) of a framed record. */
+  public static final int MAX_RECORD_LENGTH = 3 + MAX_PAYLOAD_LENGTH + CHECKSUM_LENGTH;
+  /** Suffix of segment file names. */
+  public static final String SEGMENT_SUFFIX = ".journal";
+  /** Number of bits by which the index of a segment is shifted to form the first game ID. */
+  public static final int GAME_ID_SHIFT = 40;
+
+  /** Record type of a game header. */
+  public static final byte GAME_START = 1;
+  /** Record type of a game header repeated at the start of a subsequent segment. */
+  public static final byte GAME_CONTINUED = 2;
+  /** Record type of a move (legal or not). */
+  public static final byte MOVE = 3;
+  /** Record type of the outcome of a completed game. */
+  public static final byte GAME_END = 4;
+
+  /** Header flag indicating the subtraction form of the game. */
+  public static final int FLAG_SUBTRACTION = 1;
+  /** Header flag indicating that player 2 moves first. */
+  public static final int FLAG_PLAYER_TWO_FIRST = 2;
+  /** Header flag indicating that the permitted moves are listed explicitly. */
+  public static final int FLAG_EXPLICIT_MOVES = 4;
+  /** Header flag indicating that the seed of the players' randomness is recorded. */
+  public static final int FLAG_SEED = 8;
+
+  /** Bit of an encoded move indicating that the move was legal, and was applied. */
+  public static final int MOVE_ACCEPTED = 1;
+  /** Bit of an encoded move indicating that the move was made by player 2. */
+  public static final int MOVE_PLAYER_TWO = 2;
+  /** Number of bits by which the zigzag-encoded move is shifted in an encoded move. */
+  public static final int MOVE_SHIFT = 2;
+
+  private static final String SEGMENT_NAME_FORMAT = "%016d" + SEGMENT_SUFFIX;
+  private static final String SEGMENT_GLOB = "*" + SEGMENT_SUFFIX;
+  private static final String MALFORMED_VARINT_MESSAGE = "Malformed varint.";
+
+  private JournalFormat() {
+    // Prevent instantiation.
+  }
+
+  /**
+   * Returns the file name of the segment with the specified index.
+   *
+   * @param index Segment index.
+   * @return (See above.)
+   */
+  public static String segmentName(long index) {
+    return String.format(SEGMENT_NAME_FORMAT, index);
+  }
+
+  /**
+   * Returns the index of the segment with the specified path, or -1 if the file name of
+   * {@code segment} is not that of a segment.
+   *
+   * @param segment Path of a file in a journal directory.
+   * @return (See above.)
+   */
+  public static long segmentIndex(Path segment) {
+    String name = segment.getFileName().toString();
+    int end = name.length() - SEGMENT_SUFFIX.length();
+    if (end <= 0 || !name.endsWith(SEGMENT_SUFFIX)) {
+      return -1;
+    }
+    long index = 0;
+    for (int i = 0; i < end; i++) {
+      char c = name.charAt(i);
+      if (c < '0' || c > '9' || index > (Long.MAX_VALUE - 9) / 10) {
+        return -1;
+      }
+      index = 10 * index + (c - '0');
+    }
+    return index;
+  }
+
+  /**
+   * Returns the paths of the segments in the specified journal directory, in increasing order of
+   * index.
+   *
+   * @param directory Journal directory.
+   * @return (See above.)
+   * @throws IOException If the directory cannot be read.
+   */
+  public static List<Path> listSegments(Path directory) throws IOException {
+    List<Path> segments = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_GLOB)) {
+      for (Path path : stream) {
+        if (segmentIndex(path) >= 0 && Files.isRegularFile(path)) {
+          segments.add(path);
+        }
+      }
+    }
+    segments.sort((a, b) -> Long.compare(segmentIndex(a), segmentIndex(b)));
+    return segments;
+  }
+
+  /**
+   * Writes {@code value} as an unsigned varint into {@code buffer}, starting at {@code position}.
+   *
+   * @param buffer   Destination.
+   * @param position Index in {@code buffer} at which to start writing.
+   * @param value    Value to be written (treated as unsigned).
+   * @return Index in {@code buffer} following the last byte written.
+   */
+  public static int putVarLong(byte[] buffer, int position, long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[position++] = (byte) value;
+    return position;
+  }
+
+  /**
+   * Writes {@code value} as an unsigned varint into {@code buffer}, at its current position.
+   *
+   * @param buffer Destination.
+   * @param value  Value to be written (treated as unsigned).
+   */
+  public static void putVarLong(ByteBuffer buffer, long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  /**
+   * Reads an unsigned varint from {@code buffer}, at its current position.
+   *
+   * @param buffer Source.
+   * @return Value read.
+   * @throws IllegalArgumentException If the varint is longer than {@value #MAX_VARLONG_LENGTH}
+   *                                  bytes.
+   * @throws java.nio.BufferUnderflowException If the buffer ends before the varint.
+   */
+  public static long getVarLong(ByteBuffer buffer) throws IllegalArgumentException {
+    long value = 0;
+    for (int shift = 0; shift < 7 * MAX_VARLONG_LENGTH; shift += 7) {
+      byte b = buffer.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException(MALFORMED_VARINT_MESSAGE);
+  }
+
+  /**
+   * Returns the number of bytes occupied by {@code value} as an unsigned varint.
+   *
+   * @param value Value to be encoded (treated as unsigned).
+   * @return (See above.)
+   */
+  public static int varLongLength(long value) {
+    int length = 1;
+    while ((value & ~0x7FL) != 0) {
+      value >>>= 7;
+      length++;
+    }
+    return length;
+  }
+
+  /**
+   * Maps a signed value to an unsigned value, so that values of small magnitude (positive or
+   * negative) have short varint encodings.
+   *
+   * @param value Signed value.
+   * @return Zigzag-encoded value.
+   */
+  public static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  /**
+   * Inverts {@link #zigZag(long)}.
+   *
+   * @param value Zigzag-encoded value.
+   * @return Signed value.
+   */
+  public static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Validates the record framed at the current position of {@code buffer}, and advances past it.
+   *
+   * @param buffer Source, positioned at the start of a frame.
+   * @param crc    Checksum calculator (reset before use).
+   * @return Length of the frame; 0 if {@code buffer} ends before the frame is complete (in which
+   * case the position of {@code buffer} is unspecified); or -1 if the frame is malformed, or its
+   * checksum does not match.
+   */
+  static int frameLength(ByteBuffer buffer, CRC32C crc) {
+    int start = buffer.position();
+    long payloadLength = 0;
+    int shift = 0;
+    while (true) {
+      if (!buffer.hasRemaining()) {
+        return 0;
+      }
+      byte b = buffer.get();
+      payloadLength |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        break;
+      }
+      shift += 7;
+      if (shift > 14) {
+        return -1;
+      }
+    }
+    if (payloadLength == 0 || payloadLength > JournalFormat.MAX_PAYLOAD_LENGTH) {
+      return -1;
+    }
+    if (buffer.remaining() < payloadLength + JournalFormat.CHECKSUM_LENGTH) {
+      return 0;
+    }
+    int payloadStart = buffer.position();
+    byte type = buffer.get(payloadStart);
+    if (type < JournalFormat.GAME_START || type > JournalFormat.GAME_END) {
+      return -1;
+    }
+    crc.reset();
+    crc.update(buffer.duplicate().limit(payloadStart + (int) payloadLength));
+    buffer.position(payloadStart + (int) payloadLength);
+    if (buffer.getInt() != (int) crc.getValue()) {
+      return -1;
+    }
+    return buffer.position() - start;
+  }
+
+}
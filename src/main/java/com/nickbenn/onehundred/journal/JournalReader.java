@@ -0,0 +1,158 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Iterates over the records of a single journal segment, memory-mapped in its entirety. No data is
+ * copied from the mapping: after each successful invocation of {@link #next()}, the payload of the
+ * current record is exposed by {@link #getPayload()} as a read-only view of the mapped file, from
+ * which fields may be decoded with {@link JournalFormat#getVarLong(ByteBuffer)}; the same view is
+ * repositioned for each record, so iteration allocates nothing.
+ * <p>Iteration stops at the end of the segment, or at the first record that is incomplete or fails
+ * its checksum (as at the end of a segment still being written, or one left by a crash and not yet
+ * recovered); {@link #isTruncated()} distinguishes the two cases. Instances of this class are not
+ * thread-safe, but any number of readers may read the same segment concurrently.</p>
+ */
+public final class JournalReader {
+
+  private static final String NOT_A_SEGMENT_FORMAT = "%s is not a journal segment.";
+  private static final String SEGMENT_TOO_LARGE_FORMAT =
+      "%1$s is too large (%2$,d bytes) to be mapped.";
+
+  private final Path segment;
+  private final ByteBuffer buffer;
+  private final ByteBuffer payload;
+  private final CRC32C crc = new CRC32C();
+
+  private int position;
+  private byte type;
+  private boolean truncated;
+
+  private JournalReader(Path segment, ByteBuffer buffer, boolean truncated) {
+    this.segment = segment;
+    this.buffer = buffer;
+    this.truncated = truncated;
+    payload = buffer.asReadOnlyBuffer();
+    position = buffer.position();
+  }
+
+  /**
+   * Maps the specified segment into memory, and returns a reader positioned before its first
+   * record. The mapping remains valid (and the file need not remain open) until the reader is no
+   * longer reachable.
+   *
+   * @param segment Path of a segment file.
+   * @return (See above.)
+   * @throws IOException If the file cannot be read, is larger than 2 GiB, or does not start with
+   *                     {@link JournalFormat#MAGIC}.
+   */
+  public static JournalReader open(Path segment) throws IOException {
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException(String.format(SEGMENT_TOO_LARGE_FORMAT, segment, size));
+      }
+      ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, size);
+      if (size < JournalFormat.HEADER_LENGTH) {
+        return new JournalReader(segment, buffer.position((int) size), size > 0);
+      }
+      if (buffer.getInt() != JournalFormat.MAGIC) {
+        throw new IOException(String.format(NOT_A_SEGMENT_FORMAT, segment));
+      }
+      return new JournalReader(segment, buffer, false);
+    }
+  }
+
+  /**
+   * Advances to the next record, if there is one.
+   *
+   * @return {@code true} if a complete record with a valid checksum was read; {@code false} if
+   * the end of the segment (or an incomplete or corrupt record) has been reached.
+   */
+  public boolean next() {
+    if (!buffer.hasRemaining()) {
+      return false;
+    }
+    int start = buffer.position();
+    int length = JournalFormat.frameLength(buffer, crc);
+    if (length <= 0) {
+      buffer.position(buffer.limit());
+      truncated = true;
+      return false;
+    }
+    position = start;
+    payload.limit(start + length - JournalFormat.CHECKSUM_LENGTH).position(start);
+    JournalFormat.getVarLong(payload);
+    type = payload.get();
+    return true;
+  }
+
+  /**
+   * Returns the type of the current record: {@link JournalFormat#GAME_START},
+   * {@link JournalFormat#GAME_CONTINUED}, {@link JournalFormat#MOVE}, or
+   * {@link JournalFormat#GAME_END}.
+   *
+   * @return (See above.)
+   */
+  public byte getType() {
+    return type;
+  }
+
+  /**
+   * Returns a read-only view of the payload of the current record, positioned after the record
+   * type, and limited to the end of the payload. The same instance is returned (and repositioned)
+   * for every record; it must not be used after the next invocation of {@link #next()}.
+   *
+   * @return (See above.)
+   */
+  public ByteBuffer getPayload() {
+    return payload;
+  }
+
+  /**
+   * Returns the offset, from the start of the segment, of the current record.
+   *
+   * @return (See above.)
+   */
+  public long getPosition() {
+    return position;
+  }
+
+  /**
+   * Returns a flag indicating whether iteration has stopped at an incomplete or corrupt record,
+   * rather than at the end of the segment.
+   *
+   * @return (See above.)
+   */
+  public boolean isTruncated() {
+    return truncated;
+  }
+
+  /**
+   * Returns the size (in bytes) of the segment.
+   *
+   * @return (See above.)
+   */
+  public long getSize() {
+    return buffer.capacity();
+  }
+
+  /**
+   * Returns the path of the segment being read.
+   *
+   * @return (See above.)
+   */
+  public Path getSegment() {
+    return segment;
+  }
+
+}
@@ -0,0 +1,10 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+
+/**
+ * Append-only binary journal of every game and move, written to segmented files with group commit
+ * for audit and later analysis, along with the definition of its record format, a memory-mapped
+ * reader of its segments, and a summary of the games it records.
+ */
+package com.nickbenn.onehundred.journal;
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.learning;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.MoveSet;
+import com.nickbenn.onehundred.model.Rules;
+import com.nickbenn.onehundred.strategy.Strategy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * Implements a strategy that plays the policy learned by {@link Trainer}, as persisted in a
+ * {@link QTable} file. The file is memory-mapped (read-only) the first time a strategy is created
+ * for it, and the mapping is shared by all subsequent instances using the same file; selecting a
+ * move is then a single read of the best move for the remaining quantity from the mapped file, with
+ * no copying or deserialization of the table.
+ * <p>The file is taken from the {@value #FILE_PROPERTY} system property (or
+ * {@value #DEFAULT_FILE}, in the current directory), unless changed with
+ * {@link #setDefaultFile(Path)}, or specified explicitly in the constructor. For positions not
+ * covered by the file&mdash;i.e. where the file does not exist, was learned for a different
+ * {@link MoveSet}, or has a smaller bound than the quantity remaining&mdash;this strategy plays as
+ * {@link com.nickbenn.onehundred.strategy.RandomStrategy} does.</p>
+ */
+@SuppressWarnings("unused")
+public class LearnedStrategy extends Strategy {
+
+  /** System property specifying the default location of the learned table file. */
+  public static final String FILE_PROPERTY = "onehundred.learned.file";
+  /** Location of the learned table file, if not otherwise specified. */
+  public static final String DEFAULT_FILE = "learned.qtable";
+
+  private static final Map<Path, Optional<Policy>> POLICIES = new ConcurrentHashMap<>();
+
+  private static volatile Path defaultFile =
+      Path.of(System.getProperty(FILE_PROPERTY, DEFAULT_FILE));
+
+  private final Policy policy;
+
+  /**
+   * Initializes this strategy with the specified source of randomness, playing the policy in the
+   * file returned by {@link #getDefaultFile()}.
+   *
+   * @param rng Source of randomness for moves in positions not covered by the file.
+   * @throws StrategyInitializationException If the file exists, but cannot be read as a learned
+   *                                         table.
+   */
+  public LearnedStrategy(RandomGenerator rng) throws StrategyInitializationException {
+    this(rng, defaultFile);
+  }
+
+  /**
+   * Initializes this strategy with the specified source of randomness, playing the policy in the
+   * specified file.
+   *
+   * @param rng  Source of randomness for moves in positions not covered by the file.
+   * @param file Location of learned table file.
+   * @throws StrategyInitializationException If the file exists, but cannot be read as a learned
+   *                                         table.
+   */
+  public LearnedStrategy(RandomGenerator rng, Path file) throws StrategyInitializationException {
+    super(rng);
+    try {
+      policy = POLICIES
+          .computeIfAbsent(file.toAbsolutePath().normalize(), LearnedStrategy::map)
+          .orElse(null);
+    } catch (UncheckedIOException e) {
+      throw new StrategyInitializationException(e.getCause());
+    }
+  }
+
+  /**
+   * Returns the location of the learned table file used by instances created with
+   * {@link #LearnedStrategy(RandomGenerator)}.
+   *
+   * @return (See above.)
+   */
+  public static Path getDefaultFile() {
+    return defaultFile;
+  }
+
+  /**
+   * Sets the location of the learned table file used by instances created with
+   * {@link #LearnedStrategy(RandomGenerator)}.
+   *
+   * @param file (See above.)
+   */
+  public static void setDefaultFile(Path file) {
+    defaultFile = file;
+  }
+
+  /**
+   * Returns a flag indicating whether a learned table file was found for this instance.
+   *
+   * @return (See above.)
+   */
+  public boolean isTrained() {
+    return policy != null;
+  }
+
+  @Override
+  public int getNextMove(Game game) {
+    MoveSet moves = game.getMoves();
+    int remaining = game.getRemaining();
+    int move;
+    if (policy != null && policy.covers(moves, remaining)) {
+      move = policy.getMove(remaining);
+    } else if (moves.contains(remaining)) {
+      move = remaining;
+    } else {
+      move = moves.get(getRng().nextInt(moves.countAtMost(remaining)));
+    }
+    return move;
+  }
+
+  @Override
+  public void getMoveDistribution(Rules rules, int remaining, double[] distribution) {
+    MoveSet moves = rules.getMoves();
+    if (policy != null && policy.covers(moves, remaining)) {
+      distribution[policy.getMove(remaining)] = 1;
+    } else if (moves.contains(remaining)) {
+      distribution[remaining] = 1;
+    } else {
+      int legal = moves.countAtMost(remaining);
+      for (int i = 0; i < legal; i++) {
+        distribution[moves.get(i)] = 1.0 / legal;
+      }
+    }
+  }
+
+  private static Optional<Policy> map(Path file) throws UncheckedIOException {
+    if (!Files.exists(file)) {
+      return Optional.empty();
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+      return Optional.of(new Policy(buffer, QTable.Header.read(buffer, file)));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static final class Policy {
+
+    private final ByteBuffer buffer;
+    private final MoveSet moves;
+    private final int bound;
+    private final int offset;
+
+    Policy(ByteBuffer buffer, QTable.Header header) {
+      this.buffer = buffer;
+      moves = header.moves;
+      bound = header.bound;
+      offset = header.policyOffset;
+    }
+
+    boolean covers(MoveSet moves, int remaining) {
+      return remaining <= bound && this.moves.equals(moves);
+    }
+
+    int getMove(int remaining) {
+      return buffer.getInt(offset + Integer.BYTES * remaining);
+    }
+
+  }
+
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.learning;
+
+import com.nickbenn.onehundred.model.MoveSet;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Tabular action-value function (Q-function) for the games played with a given {@link MoveSet}.
+ * Since the outcome of a position depends only on the quantity remaining to the target (and not on
+ * the operation, or on how the position was reached), the table is keyed by the remaining quantity
+ * (from 0 to the bound of the table) and the index of a move in the {@link MoveSet}; it thus covers
+ * every game with the same moves and an upper bound no larger than that of the table. Each value is
+ * an estimate, from the perspective of the player making the move, of the outcome of that move: 1
+ * for a certain win, and -1 for a certain loss.
+ * <p>The values are held in a single {@code float[]}, indexed by
+ * {@code remaining * moves.size() + index}. Updates are not synchronized: when a table is updated
+ * concurrently by several threads, an occasional update may be lost, which slows convergence only
+ * negligibly, and is much cheaper than any form of locking.</p>
+ * <p>A table is persisted (with {@link #write(Path)}) in a compact binary form, consisting of a
+ * header (with the moves and bound of the table), followed by the best move for each remaining
+ * quantity (as an {@code int}), and then the values (as {@code float}s), all in big-endian byte
+ * order. The best moves allow {@link LearnedStrategy} to select a move with a single read from
+ * the memory-mapped file, while the values allow training to be resumed (after
+ * {@link #read(Path)}).</p>
+ */
+public final class QTable {
+
+  static final int MAGIC = 0x31303051;
+  static final int VERSION = 1;
+
+  private static final String INVALID_BOUND_FORMAT =
+      "Table bound (%1$d) must be at least the maximum move (%2$d).";
+  private static final String INVALID_FILE_FORMAT = "%s is not a valid Q-table file.";
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+  private final MoveSet moves;
+  private final int[] moveArray;
+  private final int bound;
+  private final float[] values;
+
+  /**
+   * Initializes this instance with the specified moves and bound, with all values set to zero.
+   *
+   * @param moves Quantities that may be added or subtracted in each move.
+   * @param bound Largest remaining quantity covered by the table.
+   * @throws IllegalArgumentException If {@code bound} is less than the largest of {@code moves}.
+   */
+  public QTable(MoveSet moves, int bound) throws IllegalArgumentException {
+    this(moves, bound, new float[Math.multiplyExact(bound + 1, moves.size())]);
+  }
+
+  private QTable(MoveSet moves, int bound, float[] values) {
+    if (bound < moves.getMax()) {
+      throw new IllegalArgumentException(
+          String.format(INVALID_BOUND_FORMAT, bound, moves.getMax()));
+    }
+    this.moves = moves;
+    moveArray = moves.toArray();
+    this.bound = bound;
+    this.values = values;
+  }
+
+  /**
+   * Reads a table previously written by {@link #write(Path)}.
+   *
+   * @param file Location of table file.
+   * @return Table read from {@code file}.
+   * @throws IOException If {@code file} cannot be read, or is not a valid table file.
+   */
+  public static QTable read(Path file) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+    Header header = Header.read(buffer, file);
+    float[] values = new float[(header.bound + 1) * header.moves.size()];
+    buffer.position(header.valuesOffset);
+    buffer.asFloatBuffer().get(values);
+    return new QTable(header.moves, header.bound, values);
+  }
+
+  /**
+   * Writes this table (including the best move for each remaining quantity) to the specified
+   * file. The table is first written to a temporary file in the same directory, which then replaces
+   * {@code file}; thus, a reader never sees a partially written table, even if a checkpoint is
+   * interrupted.
+   *
+   * @param file Location of table file.
+   * @throws IOException If the file cannot be written.
+   */
+  public void write(Path file) throws IOException {
+    Path absolute = file.toAbsolutePath();
+    int valuesOffset = Header.valuesOffset(moves.size(), bound);
+    ByteBuffer buffer = ByteBuffer.allocate(valuesOffset + Float.BYTES * values.length);
+    buffer.putInt(MAGIC)
+        .putInt(VERSION)
+        .putInt(bound)
+        .putInt(moveArray.length);
+    for (int move : moveArray) {
+      buffer.putInt(move);
+    }
+    buffer.putInt(0);
+    for (int remaining = 1; remaining <= bound; remaining++) {
+      buffer.putInt(getBestMove(remaining));
+    }
+    buffer.asFloatBuffer().put(values);
+    buffer.rewind();
+    Path temp = absolute.resolveSibling(absolute.getFileName() + TEMP_FILE_SUFFIX);
+    try {
+      try (
+          FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)
+      ) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(false);
+      }
+      try {
+        Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Returns the quantities that may be added or subtracted in each move.
+   *
+   * @return (See above.)
+   */
+  public MoveSet getMoves() {
+    return moves;
+  }
+
+  /**
+   * Returns the largest remaining quantity covered by this table.
+   *
+   * @return (See above.)
+   */
+  public int getBound() {
+    return bound;
+  }
+
+  /**
+   * Returns the estimated value of the move at the specified index in {@link #getMoves()}, when
+   * {@code remaining} remains to the target.
+   *
+   * @param remaining Quantity remaining to the target.
+   * @param index     Index of move.
+   * @return (See above.)
+   */
+  public float getValue(int remaining, int index) {
+    return values[remaining * moveArray.length + index];
+  }
+
+  /**
+   * Returns the legal move with the highest estimated value (the smallest such move, in case of a
+   * tie) when {@code remaining} remains to the target.
+   *
+   * @param remaining Quantity remaining to the target; must be positive.
+   * @return (See above.)
+   */
+  public int getBestMove(int remaining) {
+    return moveArray[getBestIndex(remaining)];
+  }
+
+  int getBestIndex(int remaining) {
+    int legal = moves.countAtMost(remaining);
+    int offset = remaining * moveArray.length;
+    int best = 0;
+    for (int i = 1; i < legal; i++) {
+      if (values[offset + i] > values[offset + best]) {
+        best = i;
+      }
+    }
+    return best;
+  }
+
+  int indexOf(int move) {
+    return Arrays.binarySearch(moveArray, move);
+  }
+
+  /*
+   * Moves the value of the move at index in the position with remaining toward the negamax
+   * target: 1 if the move wins immediately; otherwise, the negation of the best value available
+   * to the opponent in the resulting position.
+   */
+  void update(int remaining, int index, float learningRate) {
+    int next = remaining - moveArray[index];
+    float target = (next == 0) ? 1 : -values[next * moveArray.length + getBestIndex(next)];
+    int offset = remaining * moveArray.length + index;
+    values[offset] += learningRate * (target - values[offset]);
+  }
+
+  /**
+   * Describes the layout of a table file, as read from its header.
+   */
+  static final class Header {
+
+    private static final int FIXED_HEADER_INTS = 4;
+
+    final MoveSet moves;
+    final int bound;
+    final int policyOffset;
+    final int valuesOffset;
+
+    private Header(MoveSet moves, int bound) {
+      this.moves = moves;
+      this.bound = bound;
+      policyOffset = Integer.BYTES * (FIXED_HEADER_INTS + moves.size());
+      valuesOffset = valuesOffset(moves.size(), bound);
+    }
+
+    /**
+     * Reads and validates the header at the start of {@code buffer}, which must contain the
+     * entire file.
+     */
+    static Header read(ByteBuffer buffer, Path file) throws IOException {
+      try {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+          throw new IOException(String.format(INVALID_FILE_FORMAT, file));
+        }
+        int bound = buffer.getInt(2 * Integer.BYTES);
+        int moveCount = buffer.getInt(3 * Integer.BYTES);
+        if (moveCount <= 0 || moveCount > buffer.limit() / Integer.BYTES - FIXED_HEADER_INTS) {
+          throw new IOException(String.format(INVALID_FILE_FORMAT, file));
+        }
+        int[] moves = new int[moveCount];
+        for (int i = 0; i < moves.length; i++) {
+          moves[i] = buffer.getInt((FIXED_HEADER_INTS + i) * Integer.BYTES);
+        }
+        Header header = new Header(MoveSet.of(moves), bound);
+        long expected = header.valuesOffset + (long) Float.BYTES * (bound + 1) * moves.length;
+        if (bound < header.moves.getMax() || buffer.limit() != expected) {
+          throw new IOException(String.format(INVALID_FILE_FORMAT, file));
+        }
+        return header;
+      } catch (RuntimeException e) {
+        throw new IOException(String.format(INVALID_FILE_FORMAT, file), e);
+      }
+    }
+
+    static int valuesOffset(int moveCount, int bound) {
+      return Math.addExact(Integer.BYTES * (FIXED_HEADER_INTS + moveCount),
+          Math.multiplyExact(Integer.BYTES, bound + 1));
+    }
+
+  }
+
+}
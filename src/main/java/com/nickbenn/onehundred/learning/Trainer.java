@@ -0,0 +1,510 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.learning;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.model.MoveSet;
+import com.nickbenn.onehundred.model.Rules;
+import com.nickbenn.onehundred.strategy.RandomStreams;
+import com.nickbenn.onehundred.strategy.Strategy;
+import com.nickbenn.onehundred.strategy.Strategy.StrategyInitializationException;
+import com.nickbenn.onehundred.strategy.StrategyRegistry;
+import com.nickbenn.onehundred.strategy.WinLossTable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+/**
+ * Trains a {@link QTable} by playing many games (<em>episodes</em>) between the learner and a set
+ * of opponents: registered strategies (by default, {@code optimal} and {@code random}) and the
+ * learner itself ({@link #SELF}). Each episode is played through a {@link Game}, with the learner
+ * as player 1, and the opponents and starting players taking turns from one episode to the next.
+ * The learner selects moves from the table, &epsilon;-greedily; when the episode is complete, the
+ * value of every move played in it (by either player) is updated, from the last move to the first,
+ * toward its negamax target (see {@link QTable}).
+ * <p>The episodes are divided into rounds of (at most) the checkpoint interval; after each round,
+ * the table is written to the checkpoint file, if one is specified. Within a round, the episodes
+ * are divided into tasks of at most {@link #EPISODES_PER_TASK} episodes, which are run on a
+ * work-stealing {@link ForkJoinPool}, all updating the same table without synchronization. Each
+ * task uses sources of randomness split (before the round starts) from a {@link RandomStreams} with
+ * the training seed; however, since the tasks share the table as it is updated, training is only
+ * reproducible from its seed with a parallelism of 1.</p>
+ */
+public class Trainer {
+
+  /** Opponent key identifying the learner itself. */
+  public static final String SELF = "self";
+  /** Maximum number of episodes played in a single task. */
+  public static final int EPISODES_PER_TASK = 10_000;
+
+  private final Rules rules;
+  private final List<String> opponents;
+  private final QTable table;
+  private final long episodes;
+  private final float learningRate;
+  private final double exploration;
+  private final long seed;
+  private final int parallelism;
+  private final Path checkpointFile;
+  private final long checkpointInterval;
+
+  private Trainer(Builder builder) {
+    rules = builder.rules;
+    opponents = builder.opponents;
+    table = (builder.table != null)
+        ? builder.table
+        : new QTable(rules.getMoves(), rules.getUpperBound());
+    episodes = builder.episodes;
+    learningRate = builder.learningRate;
+    exploration = builder.exploration;
+    seed = builder.seed;
+    parallelism = builder.parallelism;
+    checkpointFile = builder.checkpointFile;
+    checkpointInterval = builder.checkpointInterval;
+  }
+
+  /**
+   * Plays all of the training episodes, blocking until all are complete, and writing checkpoints
+   * as specified.
+   *
+   * @return Summary of training, including the trained table.
+   * @throws StrategyInitializationException If any of the opponent strategies cannot be
+   *                                         instantiated.
+   * @throws IOException                     If a checkpoint cannot be written.
+   * @throws InterruptedException            If the current thread is interrupted while waiting
+   *                                         for the tasks to complete.
+   */
+  public Result run()
+      throws StrategyInitializationException, IOException, InterruptedException {
+    RandomStreams streams = new RandomStreams(seed);
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      long[][] outcomes = null;
+      int checkpoints = 0;
+      for (long completed = 0; completed < episodes; ) {
+        long round = Math.min(checkpointInterval, episodes - completed);
+        List<Callable<long[][]>> tasks = new ArrayList<>();
+        for (long start = 0; start < round; start += EPISODES_PER_TASK) {
+          tasks.add(new Task(completed + start, Math.min(EPISODES_PER_TASK, round - start),
+              streams.split(), streams.split()));
+        }
+        outcomes = new long[2][opponents.size()];
+        for (Future<long[][]> future : pool.invokeAll(tasks)) {
+          long[][] outcome = future.get();
+          for (int i = 0; i < opponents.size(); i++) {
+            outcomes[0][i] += outcome[0][i];
+            outcomes[1][i] += outcome[1][i];
+          }
+        }
+        completed += round;
+        if (checkpointFile != null) {
+          table.write(checkpointFile);
+          checkpoints++;
+        }
+      }
+      return new Result(table, opponents, outcomes, episodes, checkpoints, seed);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof StrategyInitializationException) {
+        throw (StrategyInitializationException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private class Task implements Callable<long[][]> {
+
+    private final long first;
+    private final long count;
+    private final RandomGenerator learnerRng;
+    private final RandomGenerator opponentRng;
+
+    Task(long first, long count, RandomGenerator learnerRng, RandomGenerator opponentRng) {
+      this.first = first;
+      this.count = count;
+      this.learnerRng = learnerRng;
+      this.opponentRng = opponentRng;
+    }
+
+    @Override
+    public long[][] call() throws StrategyInitializationException {
+      Strategy[] strategies = new Strategy[opponents.size()];
+      for (int i = 0; i < strategies.length; i++) {
+        String key = opponents.get(i);
+        strategies[i] = key.equals(SELF) ? null : Strategy.newInstance(key, opponentRng);
+      }
+      long[][] outcome = new long[2][strategies.length];
+      int[] positions = new int[rules.getUpperBound()];
+      int[] indices = new int[rules.getUpperBound()];
+      for (long episode = first; episode < first + count; episode++) {
+        int opponent = (int) (episode % strategies.length);
+        State initialState = ((episode / strategies.length) % 2 == 0)
+            ? State.PLAYER_ONE_MOVE
+            : State.PLAYER_TWO_MOVE;
+        Game game = new Game(rules, initialState);
+        int length = 0;
+        while (!game.getState().isTerminal()) {
+          int remaining = game.getRemaining();
+          int move = (game.getState() == State.PLAYER_ONE_MOVE || strategies[opponent] == null)
+              ? selectMove(remaining)
+              : strategies[opponent].getNextMove(game);
+          game.play(move);
+          positions[length] = remaining;
+          indices[length++] = table.indexOf(move);
+        }
+        while (length > 0) {
+          length--;
+          table.update(positions[length], indices[length], learningRate);
+        }
+        outcome[(game.getState() == State.PLAYER_ONE_WIN) ? 0 : 1][opponent]++;
+      }
+      return outcome;
+    }
+
+    private int selectMove(int remaining) {
+      MoveSet moves = rules.getMoves();
+      return (learnerRng.nextDouble() < exploration)
+          ? moves.get(learnerRng.nextInt(moves.countAtMost(remaining)))
+          : table.getBestMove(remaining);
+    }
+
+  }
+
+  /**
+   * Summarizes the outcome of training: the trained table, and the learner's results against each
+   * opponent in the final round.
+   */
+  public static final class Result {
+
+    private final QTable table;
+    private final List<String> opponents;
+    private final long[][] outcomes;
+    private final long episodes;
+    private final int checkpoints;
+    private final long seed;
+
+    Result(QTable table, List<String> opponents, long[][] outcomes, long episodes,
+        int checkpoints, long seed) {
+      this.table = table;
+      this.opponents = opponents;
+      this.outcomes = outcomes;
+      this.episodes = episodes;
+      this.checkpoints = checkpoints;
+      this.seed = seed;
+    }
+
+    /**
+     * Returns the trained table.
+     *
+     * @return (See above.)
+     */
+    public QTable getTable() {
+      return table;
+    }
+
+    /**
+     * Returns the keys of the opponents, in the order used to index {@link #getWinRate(int)}.
+     *
+     * @return (See above.)
+     */
+    public List<String> getOpponents() {
+      return opponents;
+    }
+
+    /**
+     * Returns the fraction of episodes in the final round of training (i.e. the last checkpoint
+     * interval) won by the learner against the opponent at the specified index. Since the learner
+     * explores during training, this understates the strength of the learned policy.
+     *
+     * @param index Index of opponent.
+     * @return (See above.)
+     */
+    public double getWinRate(int index) {
+      long games = outcomes[0][index] + outcomes[1][index];
+      return (games > 0) ? (double) outcomes[0][index] / games : Double.NaN;
+    }
+
+    /**
+     * Returns the fraction of winning positions (those from which the player to move can force a
+     * win) in which the best move in the trained table is a winning move.
+     *
+     * @return (See above.)
+     */
+    public double getOptimalFraction() {
+      WinLossTable solution = WinLossTable.forMoves(table.getMoves(), table.getBound());
+      long winning = 0;
+      long learned = 0;
+      for (int remaining = 1; remaining <= table.getBound(); remaining++) {
+        if (!solution.isLosing(remaining)) {
+          winning++;
+          if (solution.isLosing(remaining - table.getBestMove(remaining))) {
+            learned++;
+          }
+        }
+      }
+      return (winning > 0) ? (double) learned / winning : 1;
+    }
+
+    /**
+     * Returns the total number of episodes played.
+     *
+     * @return (See above.)
+     */
+    public long getEpisodes() {
+      return episodes;
+    }
+
+    /**
+     * Returns the number of checkpoints written.
+     *
+     * @return (See above.)
+     */
+    public int getCheckpoints() {
+      return checkpoints;
+    }
+
+    /**
+     * Returns the seed from which the sources of randomness used in training were derived.
+     *
+     * @return (See above.)
+     */
+    public long getSeed() {
+      return seed;
+    }
+
+  }
+
+  /**
+   * Implements the Builder pattern for constructing instances of {@link Trainer}.
+   */
+  @SuppressWarnings({"unused"})
+  public static class Builder {
+
+    /** Number of training episodes, if not otherwise specified. */
+    public static final long DEFAULT_EPISODES = 1_000_000;
+    /** Number of episodes between checkpoints, if not otherwise specified. */
+    public static final long DEFAULT_CHECKPOINT_INTERVAL = 100_000;
+    /** Step size of value updates, if not otherwise specified. */
+    public static final float DEFAULT_LEARNING_RATE = 0.1f;
+    /** Probability of a random (exploratory) learner move, if not otherwise specified. */
+    public static final double DEFAULT_EXPLORATION = 0.1;
+    /** Opponents of the learner, if not otherwise specified. */
+    public static final List<String> DEFAULT_OPPONENTS = List.of("optimal", "random", SELF);
+
+    private static final String UNKNOWN_STRATEGY_FORMAT =
+        "Strategy \"%s\" not found; available strategies are %s.";
+    private static final String NO_OPPONENTS_MESSAGE = "At least one opponent is required.";
+    private static final String INCOMPATIBLE_TABLE_FORMAT =
+        "Table (moves %1$s, bound %2$d) is incompatible with rules (%3$s).";
+    private static final String INVALID_EPISODES_FORMAT =
+        "Number of episodes (%d) must be positive.";
+    private static final String INVALID_LEARNING_RATE_FORMAT =
+        "Learning rate (%s) must be in the range (0, 1].";
+    private static final String INVALID_EXPLORATION_FORMAT =
+        "Exploration probability (%s) must be in the range [0, 1].";
+    private static final String INVALID_PARALLELISM_FORMAT =
+        "Parallelism (%d) must be positive.";
+    private static final String INVALID_CHECKPOINT_INTERVAL_FORMAT =
+        "Checkpoint interval (%d) must be positive.";
+
+    private final Rules rules;
+    private List<String> opponents = DEFAULT_OPPONENTS;
+    private QTable table;
+    private long episodes = DEFAULT_EPISODES;
+    private float learningRate = DEFAULT_LEARNING_RATE;
+    private double exploration = DEFAULT_EXPLORATION;
+    private long seed = new SplittableRandom().nextLong();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private Path checkpointFile;
+    private long checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+
+    /**
+     * Initializes this instance with the rules of the training episodes.
+     *
+     * @param rules Rules of the game.
+     */
+    public Builder(Rules rules) {
+      this.rules = rules;
+    }
+
+    /**
+     * Specifies the opponents of the learner, as keys of registered strategies or {@link #SELF};
+     * duplicates are ignored. If not set, {@link #DEFAULT_OPPONENTS} will be used.
+     *
+     * @param opponents (See above.)
+     * @return This {@link Builder} instance.
+     * @throws IllegalArgumentException If any key is neither {@link #SELF} nor found in
+     *                                  {@link StrategyRegistry}, or no keys are specified.
+     */
+    public Builder setOpponents(Collection<String> opponents) throws IllegalArgumentException {
+      StrategyRegistry registry = StrategyRegistry.getInstance();
+      List<String> distinct = new ArrayList<>();
+      for (String key : opponents) {
+        if (!key.equals(SELF) && !registry.contains(key)) {
+          throw new IllegalArgumentException(
+              String.format(UNKNOWN_STRATEGY_FORMAT, key, registry.getKeys()));
+        }
+        if (!distinct.contains(key)) {
+          distinct.add(key);
+        }
+      }
+      if (distinct.isEmpty()) {
+        throw new IllegalArgumentException(NO_OPPONENTS_MESSAGE);
+      }
+      this.opponents = Collections.unmodifiableList(distinct);
+      return this;
+    }
+
+    /**
+     * Specifies a previously trained table, from which training is resumed. If not set, training
+     * starts from a table with all values set to zero.
+     *
+     * @param table (See above.)
+     * @return This {@link Builder} instance.
+     * @throws IllegalArgumentException If the moves of {@code table} differ from those of the
+     *                                  rules, or its bound is smaller than the upper bound.
+     */
+    public Builder setTable(QTable table) throws IllegalArgumentException {
+      if (!table.getMoves().equals(rules.getMoves())
+          || table.getBound() < rules.getUpperBound()) {
+        throw new IllegalArgumentException(String.format(INCOMPATIBLE_TABLE_FORMAT,
+            table.getMoves(), table.getBound(), rules));
+      }
+      this.table = table;
+      return this;
+    }
+
+    /**
+     * Specifies the total number of training episodes. If not set, {@link #DEFAULT_EPISODES} will
+     * be used.
+     *
+     * @param episodes (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setEpisodes(long episodes) {
+      if (episodes <= 0) {
+        throw new IllegalArgumentException(String.format(INVALID_EPISODES_FORMAT, episodes));
+      }
+      this.episodes = episodes;
+      return this;
+    }
+
+    /**
+     * Specifies the step size of each value update. If not set, {@link #DEFAULT_LEARNING_RATE}
+     * will be used.
+     *
+     * @param learningRate (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setLearningRate(float learningRate) {
+      if (!(learningRate > 0 && learningRate <= 1)) {
+        throw new IllegalArgumentException(
+            String.format(INVALID_LEARNING_RATE_FORMAT, learningRate));
+      }
+      this.learningRate = learningRate;
+      return this;
+    }
+
+    /**
+     * Specifies the probability with which the learner selects a random legal move, rather than
+     * the best move in the table. If not set, {@link #DEFAULT_EXPLORATION} will be used.
+     *
+     * @param exploration (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setExploration(double exploration) {
+      if (!(exploration >= 0 && exploration <= 1)) {
+        throw new IllegalArgumentException(
+            String.format(INVALID_EXPLORATION_FORMAT, exploration));
+      }
+      this.exploration = exploration;
+      return this;
+    }
+
+    /**
+     * Specifies the seed from which all sources of randomness used in training are derived. If
+     * not set, a seed is selected at random (and reported by {@link Result#getSeed()}).
+     *
+     * @param seed (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setSeed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    /**
+     * Specifies the parallelism of the {@link ForkJoinPool} on which the episodes are played. If
+     * not set, the number of available processors will be used.
+     *
+     * @param parallelism (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setParallelism(int parallelism) {
+      if (parallelism <= 0) {
+        throw new IllegalArgumentException(
+            String.format(INVALID_PARALLELISM_FORMAT, parallelism));
+      }
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Specifies the file to which the table is written after every round of training episodes.
+     * If not set, no checkpoints are written.
+     *
+     * @param checkpointFile (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setCheckpointFile(Path checkpointFile) {
+      this.checkpointFile = checkpointFile;
+      return this;
+    }
+
+    /**
+     * Specifies the number of training episodes in each round, after which a checkpoint is
+     * written. If not set, {@link #DEFAULT_CHECKPOINT_INTERVAL} will be used.
+     *
+     * @param checkpointInterval (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setCheckpointInterval(long checkpointInterval) {
+      if (checkpointInterval <= 0) {
+        throw new IllegalArgumentException(
+            String.format(INVALID_CHECKPOINT_INTERVAL_FORMAT, checkpointInterval));
+      }
+      this.checkpointInterval = checkpointInterval;
+      return this;
+    }
+
+    /**
+     * Creates and returns a fully initialized {@link Trainer} instance.
+     *
+     * @return (See above.)
+     */
+    public Trainer build() {
+      return new Trainer(this);
+    }
+
+  }
+
+}
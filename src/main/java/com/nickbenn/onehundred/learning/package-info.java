@@ -0,0 +1,12 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+
+/**
+ * Classes for learning a playing policy from self-play, and from play against other computer
+ * strategies: a tabular action-value function ({@link com.nickbenn.onehundred.learning.QTable}),
+ * the parallel {@link com.nickbenn.onehundred.learning.Trainer} that updates it and checkpoints it
+ * to a compact binary file, and the {@link com.nickbenn.onehundred.learning.LearnedStrategy} that
+ * plays from that file.
+ */
+package com.nickbenn.onehundred.learning;
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.metrics;
+
+import com.nickbenn.onehundred.model.Game.State;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JDK Flight Recorder event spanning a complete game, emitted by
+ * {@link com.nickbenn.onehundred.controller.Referee} when the game ends. By default, only games
+ * lasting at least 10 ms are recorded.
+ * <p>Instances are obtained with {@link #start()}, which allocates (and {@link #begin() begins})
+ * an event only if this event type is enabled in a running recording, and are then completed
+ * with {@link #complete(State, int, String)}.</p>
+ */
+@Name(GameEndEvent.NAME)
+@Label("Game End")
+@Description("A game has been won.")
+@Category({"One Hundred", "Game"})
+@Threshold("10 ms")
+@StackTrace(false)
+public final class GameEndEvent extends Event {
+
+  /** Name of this event type. */
+  public static final String NAME = "com.nickbenn.onehundred.GameEnd";
+
+  private static final EventType TYPE = EventType.getEventType(GameEndEvent.class);
+
+  @Label("Result")
+  String result;
+
+  @Label("Moves")
+  @Description("Number of moves played.")
+  int moves;
+
+  @Label("Winner")
+  @Description("Key of the strategy (or name of the user) that won the game.")
+  String winner;
+
+  /**
+   * Creates and begins an instance of this event, if this event type is enabled in a running
+   * recording. Otherwise, no instance is allocated, and {@code null} is returned.
+   *
+   * @return Begun event, or {@code null} if this event type is not enabled.
+   */
+  public static GameEndEvent start() {
+    if (!TYPE.isEnabled()) {
+      return null;
+    }
+    GameEndEvent event = new GameEndEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends the timing of this event and, if it meets the recording threshold, sets its fields and
+   * commits it.
+   *
+   * @param result Terminal state of the game.
+   * @param moves  Number of moves played.
+   * @param winner Key of the strategy (or name of the user) that won the game.
+   */
+  public void complete(State result, int moves, String winner) {
+    end();
+    if (shouldCommit()) {
+      this.result = result.name();
+      this.moves = moves;
+      this.winner = winner;
+      commit();
+    }
+  }
+
+}
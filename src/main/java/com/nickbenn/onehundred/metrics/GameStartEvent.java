@@ -0,0 +1,70 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.metrics;
+
+import com.nickbenn.onehundred.model.Game;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event emitted by {@link com.nickbenn.onehundred.controller.Referee} when a
+ * game is created. Since a simulation may start hundreds of thousands of games per second, this
+ * event is disabled unless enabled in the recording settings (e.g. {@code onehundred.jfc}).
+ */
+@Name(GameStartEvent.NAME)
+@Label("Game Start")
+@Description("A game has been created by a referee.")
+@Category({"One Hundred", "Game"})
+@Enabled(false)
+@StackTrace(false)
+public final class GameStartEvent extends Event {
+
+  /** Name of this event type. */
+  public static final String NAME = "com.nickbenn.onehundred.GameStart";
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Target")
+  int target;
+
+  @Label("Moves")
+  @Description("Quantities that may be added or subtracted in a move.")
+  String moves;
+
+  @Label("First Player")
+  int firstPlayer;
+
+  @Label("Player 1 Strategy")
+  String playerOne;
+
+  @Label("Player 2 Strategy")
+  String playerTwo;
+
+  /**
+   * Emits an event for the start of the specified game, if this event type is enabled.
+   *
+   * @param game      Newly created {@link Game}.
+   * @param playerOne Key of the strategy (or name of the user) playing as player 1.
+   * @param playerTwo Key of the strategy (or name of the user) playing as player 2.
+   */
+  public static void emit(Game game, String playerOne, String playerTwo) {
+    GameStartEvent event = new GameStartEvent();
+    if (event.shouldCommit()) {
+      event.operation = game.getOperation().name();
+      event.target = game.getTarget();
+      event.moves = game.getMoves().toString();
+      event.firstPlayer = (game.getState() == Game.State.PLAYER_ONE_MOVE) ? 1 : 2;
+      event.playerOne = playerOne;
+      event.playerTwo = playerTwo;
+      event.commit();
+    }
+  }
+
+}
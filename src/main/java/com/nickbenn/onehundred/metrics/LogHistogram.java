@@ -0,0 +1,157 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative {@code long} values (e.g. latencies in nanoseconds), in
+ * buckets of exponentially increasing width: bucket 0 counts the value 0, and bucket <i>b</i>
+ * (for 1 &le; <i>b</i> &le; 63) counts the values from 2<sup><i>b</i>-1</sup> to
+ * 2<sup><i>b</i></sup>-1. Recording a value is a handful of atomic updates, with no locking or
+ * allocation; percentiles are therefore reported as the upper bound of the bucket containing them
+ * (i.e. to within a factor of 2), but never more than the maximum recorded value.
+ * <p>Values may be recorded concurrently with reads; a read is not an atomic snapshot, so the
+ * statistics returned by consecutive reads may reflect slightly different sets of values.</p>
+ */
+public final class LogHistogram {
+
+  /** Number of buckets. */
+  public static final int BUCKETS = Long.SIZE;
+
+  private static final String INVALID_QUANTILE_FORMAT = "Quantile (%s) must be in the range [0, 1].";
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Records the specified value; a negative value (e.g. the difference of two readings of a clock
+   * that is not monotonic) is recorded as 0.
+   *
+   * @param value Value to record.
+   */
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    counts.getAndIncrement(bucketOf(value));
+    sum.add(value);
+    max.accumulate(value);
+  }
+
+  /**
+   * Returns the number of values recorded.
+   *
+   * @return (See above.)
+   */
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of values recorded in the specified bucket.
+   *
+   * @param bucket Index of bucket (from 0 to {@link #BUCKETS} - 1).
+   * @return (See above.)
+   */
+  public long getCount(int bucket) {
+    return counts.get(bucket);
+  }
+
+  /**
+   * Returns the sum of the values recorded.
+   *
+   * @return (See above.)
+   */
+  public long getSum() {
+    return sum.sum();
+  }
+
+  /**
+   * Returns the maximum value recorded, or 0 if no values have been recorded.
+   *
+   * @return (See above.)
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Returns the mean of the values recorded, or 0 if no values have been recorded.
+   *
+   * @return (See above.)
+   */
+  public double getMean() {
+    long count = getCount();
+    return (count > 0) ? (double) getSum() / count : 0;
+  }
+
+  /**
+   * Returns an upper bound (to within a factor of 2) on the specified quantile of the values
+   * recorded, or 0 if no values have been recorded.
+   *
+   * @param quantile Quantile (e.g. 0.5 for the median, or 0.99 for the 99th percentile).
+   * @return (See above.)
+   * @throws IllegalArgumentException If {@code quantile} is not in the range [0, 1].
+   */
+  public long getQuantile(double quantile) throws IllegalArgumentException {
+    if (!(quantile >= 0 && quantile <= 1)) {
+      throw new IllegalArgumentException(String.format(INVALID_QUANTILE_FORMAT, quantile));
+    }
+    long[] snapshot = new long[BUCKETS];
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      count += (snapshot[i] = counts.get(i));
+    }
+    long rank = Math.max(1, (long) Math.ceil(quantile * count));
+    long cumulative = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      cumulative += snapshot[i];
+      if (cumulative >= rank) {
+        return Math.min(upperBound(i), getMax());
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Discards all recorded values. Values recorded concurrently with this method may or may not be
+   * discarded.
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    sum.reset();
+    max.reset();
+  }
+
+  /**
+   * Returns the index of the bucket counting the specified non-negative value.
+   *
+   * @param value Non-negative value.
+   * @return (See above.)
+   */
+  public static int bucketOf(long value) {
+    return Long.SIZE - Long.numberOfLeadingZeros(value);
+  }
+
+  /**
+   * Returns the largest value counted in the specified bucket.
+   *
+   * @param bucket Index of bucket (from 0 to {@link #BUCKETS} - 1).
+   * @return (See above.)
+   */
+  public static long upperBound(int bucket) {
+    return (bucket < BUCKETS - 1) ? (1L << bucket) - 1 : Long.MAX_VALUE;
+  }
+
+}
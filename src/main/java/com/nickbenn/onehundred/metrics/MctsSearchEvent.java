@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event spanning a single tree search by
+ * {@link com.nickbenn.onehundred.strategy.MctsStrategy}. Since each search runs for the full time
+ * budget (100 ms, by default), this event is recorded whenever it is enabled, at negligible cost.
+ */
+@Name(MctsSearchEvent.NAME)
+@Label("MCTS Search")
+@Description("A Monte Carlo tree search has selected a move.")
+@Category({"One Hundred", "Strategy"})
+@StackTrace(false)
+public final class MctsSearchEvent extends Event {
+
+  /** Name of this event type. */
+  public static final String NAME = "com.nickbenn.onehundred.MctsSearch";
+
+  @Label("Strategy")
+  String strategy;
+
+  @Label("Remaining")
+  @Description("Distance from the current count to the target.")
+  int remaining;
+
+  @Label("Move")
+  int move;
+
+  @Label("Threads")
+  int threads;
+
+  @Label("Iterations")
+  long iterations;
+
+  @Label("Nodes")
+  long nodes;
+
+  /**
+   * Ends the timing of this event and, if it meets the recording threshold, sets its fields and
+   * commits it.
+   *
+   * @param strategy   Key of the strategy performing the search.
+   * @param remaining  Distance from the current count to the target.
+   * @param move       Move selected.
+   * @param threads    Number of threads performing rollouts.
+   * @param iterations Number of search iterations performed.
+   * @param nodes      Number of tree nodes created.
+   */
+  public void complete(String strategy, int remaining, int move, int threads, long iterations,
+      long nodes) {
+    end();
+    if (shouldCommit()) {
+      this.strategy = strategy;
+      this.remaining = remaining;
+      this.move = move;
+      this.threads = threads;
+      this.iterations = iterations;
+      this.nodes = nodes;
+      commit();
+    }
+  }
+
+}
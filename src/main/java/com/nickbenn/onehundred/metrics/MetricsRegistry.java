@@ -0,0 +1,212 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.metrics;
+
+import com.nickbenn.onehundred.model.Game.State;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide registry of the metrics recorded by
+ * {@link com.nickbenn.onehundred.controller.Referee}: a {@link PlayerMetrics} instance for each
+ * player name, along with counts of game outcomes and histograms of game lengths and durations.
+ * The registry and each {@link PlayerMetrics} are registered as MXBeans with the platform MBean
+ * server (under the {@value #DOMAIN} domain), for inspection with JConsole, VisualVM, etc.
+ * <p>Metrics are recorded only if the {@value #ENABLED_PROPERTY} system property is
+ * {@code true} when this class is initialized. Otherwise, {@link #getPlayer(String)} returns a
+ * shared no-op instance, {@link #recordGame(State, int, long)} does nothing, and nothing is
+ * registered with the MBean server; since {@link #isEnabled()} is then a constant {@code false},
+ * the JIT compiler eliminates the instrumentation from the code paths that test it.</p>
+ */
+public final class MetricsRegistry implements MetricsRegistryMXBean {
+
+  /** System property enabling the recording of metrics. */
+  public static final String ENABLED_PROPERTY = "onehundred.metrics";
+  /** JMX domain of the MXBeans registered for metrics. */
+  public static final String DOMAIN = "com.nickbenn.onehundred";
+
+  private static final String REGISTRY_NAME = DOMAIN + ":type=Metrics";
+  private static final String PLAYER_NAME_FORMAT = DOMAIN + ":type=PlayerMetrics,name=%s";
+  private static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+  private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+  private final Map<String, PlayerMetrics> players = new ConcurrentHashMap<>();
+  private final LongAdder playerOneWins = new LongAdder();
+  private final LongAdder playerTwoWins = new LongAdder();
+  private final LogHistogram gameMoves = new LogHistogram();
+  private final LogHistogram gameNanos = new LogHistogram();
+
+  private volatile long start = System.nanoTime();
+
+  private MetricsRegistry() {
+    if (ENABLED) {
+      register(this, REGISTRY_NAME);
+    }
+  }
+
+  /**
+   * Returns a flag indicating whether metrics are recorded in this process.
+   *
+   * @return (See above.)
+   */
+  public static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  /**
+   * Returns the process-wide registry instance.
+   *
+   * @return (See above.)
+   */
+  public static MetricsRegistry getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the {@link PlayerMetrics} for the specified player, creating (and registering with the
+   * MBean server) a new instance, if necessary. If metrics are disabled, a shared no-op instance is
+   * returned.
+   *
+   * @param name Name (typically, the strategy key) identifying the player.
+   * @return (See above.)
+   */
+  public PlayerMetrics getPlayer(String name) {
+    if (!ENABLED) {
+      return PlayerMetrics.DISABLED;
+    }
+    PlayerMetrics metrics = players.get(name);
+    return (metrics != null) ? metrics : players.computeIfAbsent(name, (key) -> {
+      PlayerMetrics created = new PlayerMetrics(key);
+      register(created, String.format(PLAYER_NAME_FORMAT, ObjectName.quote(key)));
+      return created;
+    });
+  }
+
+  /**
+   * Returns the {@link PlayerMetrics} for all players for which metrics have been recorded.
+   *
+   * @return (See above.)
+   */
+  public Collection<PlayerMetrics> getPlayers() {
+    return Collections.unmodifiableCollection(players.values());
+  }
+
+  /**
+   * Records the outcome, length, and duration of a completed game.
+   *
+   * @param result Terminal {@link State} of the game.
+   * @param moves  Number of moves played.
+   * @param nanos  Duration (in nanoseconds) of the game.
+   */
+  public void recordGame(State result, int moves, long nanos) {
+    if (ENABLED) {
+      if (result == State.PLAYER_ONE_WIN) {
+        playerOneWins.increment();
+      } else {
+        playerTwoWins.increment();
+      }
+      gameMoves.record(moves);
+      gameNanos.record(nanos);
+    }
+  }
+
+  /**
+   * Returns the histogram of the number of moves in completed games.
+   *
+   * @return (See above.)
+   */
+  public LogHistogram getGameMoves() {
+    return gameMoves;
+  }
+
+  /**
+   * Returns the histogram of the durations (in nanoseconds) of completed games.
+   *
+   * @return (See above.)
+   */
+  public LogHistogram getGameNanos() {
+    return gameNanos;
+  }
+
+  @Override
+  public String[] getPlayerNames() {
+    return players.keySet().stream()
+        .sorted()
+        .toArray(String[]::new);
+  }
+
+  @Override
+  public long getGames() {
+    return gameMoves.getCount();
+  }
+
+  @Override
+  public double getGamesPerSecond() {
+    long elapsed = System.nanoTime() - start;
+    return (elapsed > 0) ? (double) getGames() * TimeUnit.SECONDS.toNanos(1) / elapsed : 0;
+  }
+
+  @Override
+  public long getPlayerOneWins() {
+    return playerOneWins.sum();
+  }
+
+  @Override
+  public long getPlayerTwoWins() {
+    return playerTwoWins.sum();
+  }
+
+  @Override
+  public double getMeanGameMoves() {
+    return gameMoves.getMean();
+  }
+
+  @Override
+  public long getMaxGameMoves() {
+    return gameMoves.getMax();
+  }
+
+  @Override
+  public double getMeanGameNanos() {
+    return gameNanos.getMean();
+  }
+
+  @Override
+  public long getMedianGameNanos() {
+    return gameNanos.getQuantile(0.5);
+  }
+
+  @Override
+  public long getP99GameNanos() {
+    return gameNanos.getQuantile(0.99);
+  }
+
+  @Override
+  public void reset() {
+    for (PlayerMetrics metrics : players.values()) {
+      metrics.reset();
+    }
+    playerOneWins.reset();
+    playerTwoWins.reset();
+    gameMoves.reset();
+    gameNanos.reset();
+    start = System.nanoTime();
+  }
+
+  private static void register(Object bean, String name) {
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(bean, new ObjectName(name));
+    } catch (JMException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.metrics;
+
+/**
+ * Management interface of {@link MetricsRegistry}, registered with the platform MBean server under
+ * the name {@code com.nickbenn.onehundred:type=Metrics}.
+ */
+public interface MetricsRegistryMXBean {
+
+  /**
+   * Returns the names of the players for which metrics have been recorded.
+   *
+   * @return (See above.)
+   */
+  String[] getPlayerNames();
+
+  /**
+   * Returns the number of games completed.
+   *
+   * @return (See above.)
+   */
+  long getGames();
+
+  /**
+   * Returns the number of games completed per second, since metrics were first enabled or last
+   * reset.
+   *
+   * @return (See above.)
+   */
+  double getGamesPerSecond();
+
+  /**
+   * Returns the number of games ending in
+   * {@link com.nickbenn.onehundred.model.Game.State#PLAYER_ONE_WIN}.
+   *
+   * @return (See above.)
+   */
+  long getPlayerOneWins();
+
+  /**
+   * Returns the number of games ending in
+   * {@link com.nickbenn.onehundred.model.Game.State#PLAYER_TWO_WIN}.
+   *
+   * @return (See above.)
+   */
+  long getPlayerTwoWins();
+
+  /**
+   * Returns the mean number of moves in a completed game.
+   *
+   * @return (See above.)
+   */
+  double getMeanGameMoves();
+
+  /**
+   * Returns the maximum number of moves in a completed game.
+   *
+   * @return (See above.)
+   */
+  long getMaxGameMoves();
+
+  /**
+   * Returns the mean duration, in nanoseconds, of a completed game.
+   *
+   * @return (See above.)
+   */
+  double getMeanGameNanos();
+
+  /**
+   * Returns an upper bound (to within a factor of 2) on the median duration, in nanoseconds, of a
+   * completed game.
+   *
+   * @return (See above.)
+   */
+  long getMedianGameNanos();
+
+  /**
+   * Returns an upper bound (to within a factor of 2) on the 99th percentile of the duration, in
+   * nanoseconds, of a completed game.
+   *
+   * @return (See above.)
+   */
+  long getP99GameNanos();
+
+  /**
+   * Discards all values recorded, for games and for all players.
+   */
+  void reset();
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JDK Flight Recorder event spanning the selection and application of a single move, emitted by
+ * {@link com.nickbenn.onehundred.controller.Referee}. The duration of the event is the time from
+ * the request for a move to its acceptance or rejection; by default, only moves taking at least 1
+ * ms are recorded, so that this event can be left enabled in a continuous recording.
+ * <p>Instances are obtained with {@link #start()}, which allocates (and {@link #begin() begins})
+ * an event only if this event type is enabled in a running recording, and are then completed
+ * with {@link #complete(int, String, int, int, int, boolean)}.</p>
+ */
+@Name(MoveEvent.NAME)
+@Label("Move")
+@Description("A move has been selected by a player and applied (or rejected) by a referee.")
+@Category({"One Hundred", "Game"})
+@Threshold("1 ms")
+@StackTrace(false)
+public final class MoveEvent extends Event {
+
+  /** Name of this event type. */
+  public static final String NAME = "com.nickbenn.onehundred.Move";
+
+  private static final EventType TYPE = EventType.getEventType(MoveEvent.class);
+  /** Name of the field holding the key of the strategy selecting the move. */
+  public static final String STRATEGY_FIELD = "strategy";
+  /** Name of the field holding the legality flag of the move. */
+  public static final String LEGAL_FIELD = "legal";
+
+  @Label("Player")
+  int player;
+
+  @Label("Strategy")
+  @Description("Key of the strategy (or name of the user) selecting the move.")
+  String strategy;
+
+  @Label("Move")
+  int move;
+
+  @Label("Count Before")
+  int countBefore;
+
+  @Label("Count After")
+  int countAfter;
+
+  @Label("Legal")
+  boolean legal;
+
+  /**
+   * Creates and begins an instance of this event, if this event type is enabled in a running
+   * recording. Otherwise, no instance is allocated, and {@code null} is returned.
+   *
+   * @return Begun event, or {@code null} if this event type is not enabled.
+   */
+  public static MoveEvent start() {
+    if (!TYPE.isEnabled()) {
+      return null;
+    }
+    MoveEvent event = new MoveEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends the timing of this event and, if it meets the recording threshold, sets its fields and
+   * commits it.
+   *
+   * @param player      Number (1 or 2) of the player selecting the move.
+   * @param strategy    Key of the strategy (or name of the user) selecting the move.
+   * @param move        Quantity selected.
+   * @param countBefore Current count before the move.
+   * @param countAfter  Current count after the move (the same as {@code countBefore}, if the move
+   *                    was rejected).
+   * @param legal       Flag indicating whether the move was accepted.
+   */
+  public void complete(int player, String strategy, int move, int countBefore, int countAfter,
+      boolean legal) {
+    end();
+    if (shouldCommit()) {
+      this.player = player;
+      this.strategy = strategy;
+      this.move = move;
+      this.countBefore = countBefore;
+      this.countAfter = countAfter;
+      this.legal = legal;
+      commit();
+    }
+  }
+
+}
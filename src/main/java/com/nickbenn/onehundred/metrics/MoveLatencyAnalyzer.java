@@ -0,0 +1,147 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.metrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Summarizes the {@link MoveEvent} instances in a JDK Flight Recorder recording (a {@code .jfr}
+ * file) by strategy: the number of legal and illegal moves recorded, and a {@link LogHistogram} of
+ * their durations. Note that, with the default settings, only moves taking at least 1 ms are
+ * recorded; to summarize all moves, the recording should be made with the settings in
+ * {@code onehundred.jfc}, which has no threshold for {@link MoveEvent}.
+ */
+public final class MoveLatencyAnalyzer {
+
+  private final Path recording;
+  private final List<Summary> summaries;
+  private final long games;
+
+  private MoveLatencyAnalyzer(Path recording, List<Summary> summaries, long games) {
+    this.recording = recording;
+    this.summaries = summaries;
+    this.games = games;
+  }
+
+  /**
+   * Reads the events in the specified recording, and returns the resulting summary.
+   *
+   * @param recording Location of {@code .jfr} file.
+   * @return Summary of the {@link MoveEvent} instances in {@code recording}.
+   * @throws IOException If the file cannot be read, or is not a valid recording.
+   */
+  public static MoveLatencyAnalyzer analyze(Path recording) throws IOException {
+    Map<String, Summary> summaries = new TreeMap<>();
+    long games = 0;
+    try (RecordingFile file = new RecordingFile(recording)) {
+      while (file.hasMoreEvents()) {
+        RecordedEvent event = file.readEvent();
+        String name = event.getEventType().getName();
+        if (name.equals(MoveEvent.NAME)) {
+          summaries
+              .computeIfAbsent(event.getString(MoveEvent.STRATEGY_FIELD), Summary::new)
+              .record(event.getBoolean(MoveEvent.LEGAL_FIELD), event.getDuration().toNanos());
+        } else if (name.equals(GameEndEvent.NAME)) {
+          games++;
+        }
+      }
+    }
+    return new MoveLatencyAnalyzer(recording, new ArrayList<>(summaries.values()), games);
+  }
+
+  /**
+   * Returns the location of the recording summarized.
+   *
+   * @return (See above.)
+   */
+  public Path getRecording() {
+    return recording;
+  }
+
+  /**
+   * Returns the summaries of the moves recorded for each strategy, in order of strategy key.
+   *
+   * @return (See above.)
+   */
+  public List<Summary> getSummaries() {
+    return Collections.unmodifiableList(summaries);
+  }
+
+  /**
+   * Returns the number of {@link GameEndEvent} instances in the recording.
+   *
+   * @return (See above.)
+   */
+  public long getGames() {
+    return games;
+  }
+
+  /**
+   * Move counts and latency histogram for a single strategy.
+   */
+  public static final class Summary {
+
+    private final String strategy;
+    private final LogHistogram latency = new LogHistogram();
+
+    private long illegalMoves;
+
+    private Summary(String strategy) {
+      this.strategy = strategy;
+    }
+
+    private void record(boolean legal, long nanos) {
+      if (!legal) {
+        illegalMoves++;
+      }
+      latency.record(nanos);
+    }
+
+    /**
+     * Returns the key of the strategy (or name of the user) selecting the moves.
+     *
+     * @return (See above.)
+     */
+    public String getStrategy() {
+      return strategy;
+    }
+
+    /**
+     * Returns the number of moves (legal and illegal) recorded.
+     *
+     * @return (See above.)
+     */
+    public long getMoves() {
+      return latency.getCount();
+    }
+
+    /**
+     * Returns the number of illegal moves recorded.
+     *
+     * @return (See above.)
+     */
+    public long getIllegalMoves() {
+      return illegalMoves;
+    }
+
+    /**
+     * Returns the histogram of the durations (in nanoseconds) of the moves recorded.
+     *
+     * @return (See above.)
+     */
+    public LogHistogram getLatency() {
+      return latency;
+    }
+
+  }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and move-latency histogram for a single player (typically identified by strategy key),
+ * updated by {@link com.nickbenn.onehundred.controller.Referee} from any number of threads. An
+ * instance is obtained from {@link MetricsRegistry#getPlayer(String)}; when metrics are disabled,
+ * that is a shared instance whose recording methods do nothing.
+ */
+public class PlayerMetrics implements PlayerMetricsMXBean {
+
+  static final PlayerMetrics DISABLED = new PlayerMetrics("") {
+
+    @Override
+    public void recordMove(long nanos) {
+      // Metrics are disabled.
+    }
+
+    @Override
+    public void recordIllegalMove(long nanos) {
+      // Metrics are disabled.
+    }
+
+    @Override
+    public void recordGame(boolean playerOne, boolean won) {
+      // Metrics are disabled.
+    }
+
+  };
+
+  private final String name;
+  private final LongAdder moves = new LongAdder();
+  private final LongAdder illegalMoves = new LongAdder();
+  private final LongAdder playerOneGames = new LongAdder();
+  private final LongAdder playerTwoGames = new LongAdder();
+  private final LongAdder playerOneWins = new LongAdder();
+  private final LongAdder playerTwoWins = new LongAdder();
+  private final LogHistogram moveNanos = new LogHistogram();
+
+  PlayerMetrics(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Records a legal move, selected by the player in the specified time.
+   *
+   * @param nanos Time (in nanoseconds) taken to select the move.
+   */
+  public void recordMove(long nanos) {
+    moves.increment();
+    moveNanos.record(nanos);
+  }
+
+  /**
+   * Records an illegal move, selected by the player in the specified time.
+   *
+   * @param nanos Time (in nanoseconds) taken to select the move.
+   */
+  public void recordIllegalMove(long nanos) {
+    illegalMoves.increment();
+    moveNanos.record(nanos);
+  }
+
+  /**
+   * Records the outcome of a completed game.
+   *
+   * @param playerOne Flag indicating whether the player was player 1.
+   * @param won       Flag indicating whether the player won.
+   */
+  public void recordGame(boolean playerOne, boolean won) {
+    if (playerOne) {
+      playerOneGames.increment();
+      if (won) {
+        playerOneWins.increment();
+      }
+    } else {
+      playerTwoGames.increment();
+      if (won) {
+        playerTwoWins.increment();
+      }
+    }
+  }
+
+  /**
+   * Returns the histogram of times (in nanoseconds) taken by the player to select moves.
+   *
+   * @return (See above.)
+   */
+  public LogHistogram getMoveNanos() {
+    return moveNanos;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public long getMoves() {
+    return moves.sum();
+  }
+
+  @Override
+  public long getIllegalMoves() {
+    return illegalMoves.sum();
+  }
+
+  @Override
+  public long getGamesAsPlayerOne() {
+    return playerOneGames.sum();
+  }
+
+  @Override
+  public long getGamesAsPlayerTwo() {
+    return playerTwoGames.sum();
+  }
+
+  @Override
+  public long getWinsAsPlayerOne() {
+    return playerOneWins.sum();
+  }
+
+  @Override
+  public long getWinsAsPlayerTwo() {
+    return playerTwoWins.sum();
+  }
+
+  @Override
+  public double getMeanMoveNanos() {
+    return moveNanos.getMean();
+  }
+
+  @Override
+  public long getMedianMoveNanos() {
+    return moveNanos.getQuantile(0.5);
+  }
+
+  @Override
+  public long getP99MoveNanos() {
+    return moveNanos.getQuantile(0.99);
+  }
+
+  @Override
+  public long getMaxMoveNanos() {
+    return moveNanos.getMax();
+  }
+
+  @Override
+  public void reset() {
+    moves.reset();
+    illegalMoves.reset();
+    playerOneGames.reset();
+    playerTwoGames.reset();
+    playerOneWins.reset();
+    playerTwoWins.reset();
+    moveNanos.reset();
+  }
+
+}
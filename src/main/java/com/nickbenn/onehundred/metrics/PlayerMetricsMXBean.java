@@ -0,0 +1,99 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.metrics;
+
+/**
+ * Management interface of {@link PlayerMetrics}, registered (for each player) with the platform
+ * MBean server under the name
+ * {@code com.nickbenn.onehundred:type=PlayerMetrics,name="<player>"}.
+ */
+public interface PlayerMetricsMXBean {
+
+  /**
+   * Returns the name (typically, the strategy key) identifying the player.
+   *
+   * @return (See above.)
+   */
+  String getName();
+
+  /**
+   * Returns the number of legal moves made by the player.
+   *
+   * @return (See above.)
+   */
+  long getMoves();
+
+  /**
+   * Returns the number of illegal moves attempted (and rejected) by the player.
+   *
+   * @return (See above.)
+   */
+  long getIllegalMoves();
+
+  /**
+   * Returns the number of completed games in which the player was player 1.
+   *
+   * @return (See above.)
+   */
+  long getGamesAsPlayerOne();
+
+  /**
+   * Returns the number of completed games in which the player was player 2.
+   *
+   * @return (See above.)
+   */
+  long getGamesAsPlayerTwo();
+
+  /**
+   * Returns the number of games won by the player as player 1 (i.e. ending in
+   * {@link com.nickbenn.onehundred.model.Game.State#PLAYER_ONE_WIN}).
+   *
+   * @return (See above.)
+   */
+  long getWinsAsPlayerOne();
+
+  /**
+   * Returns the number of games won by the player as player 2 (i.e. ending in
+   * {@link com.nickbenn.onehundred.model.Game.State#PLAYER_TWO_WIN}).
+   *
+   * @return (See above.)
+   */
+  long getWinsAsPlayerTwo();
+
+  /**
+   * Returns the mean time, in nanoseconds, taken by the player to select a move (legal or not).
+   *
+   * @return (See above.)
+   */
+  double getMeanMoveNanos();
+
+  /**
+   * Returns an upper bound (to within a factor of 2) on the median time, in nanoseconds, taken by
+   * the player to select a move.
+   *
+   * @return (See above.)
+   */
+  long getMedianMoveNanos();
+
+  /**
+   * Returns an upper bound (to within a factor of 2) on the 99th percentile of the time, in
+   * nanoseconds, taken by the player to select a move.
+   *
+   * @return (See above.)
+   */
+  long getP99MoveNanos();
+
+  /**
+   * Returns the maximum time, in nanoseconds, taken by the player to select a move.
+   *
+   * @return (See above.)
+   */
+  long getMaxMoveNanos();
+
+  /**
+   * Discards all values recorded for the player.
+   */
+  void reset();
+
+}
@@ -0,0 +1,13 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+
+/**
+ * Move-latency, move-count, and game-outcome metrics recorded by
+ * {@link com.nickbenn.onehundred.controller.Referee}, collected in a process-wide registry and
+ * exposed as JMX MXBeans. Recording is enabled with the {@code onehundred.metrics} system property;
+ * otherwise, no-op implementations are used, and the instrumentation is eliminated by the JIT
+ * compiler. Also included are the JDK Flight Recorder events emitted by the referee and the MCTS
+ * strategy, and an analyzer summarizing the move latency recorded in those events.
+ */
+package com.nickbenn.onehundred.metrics;
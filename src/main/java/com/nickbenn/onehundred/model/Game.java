@@ -6,9 +6,26 @@ package com.nickbenn.onehundred.model;
 import com.nickbenn.onehundred.model.exception.GameFinishedException;
 import com.nickbenn.onehundred.model.exception.IllegalConfigurationException;
 import com.nickbenn.onehundred.model.exception.IllegalMoveException;
+import com.nickbenn.onehundred.model.event.GameListener;
+import java.util.Arrays;
 
 /**
  * Encapsulates the configuration and current state of a single game of One Hundred.
+ * <p>For search-based strategies, which explore many positions from the current one, a game
+ * supports three cheap alternatives to constructing (and validating) a new instance for every
+ * position: {@link #fork()} creates an independent copy of the current position, in which every
+ * accepted move is recorded on an undo stack of primitive moves, so that {@link #undo()} returns to
+ * the preceding position; and {@link #snapshot()} captures the current position as a single
+ * {@code long} (see {@link Snapshot}), to which {@link #restore(long)} returns the game. A game
+ * created by a constructor records no moves (and so allocates nothing as moves are played) unless
+ * {@link #enableUndo()} is invoked; in either case, {@link #getMoveCount()} counts the moves
+ * played.</p>
+ * <p>Instances of {@link GameListener} registered with {@link #addListener(GameListener)} are
+ * notified of every move applied or rejected by {@link #tryPlay(int)} (or {@link #play(int)}), and
+ * of the end of the game. The listeners are held in a copy-on-write array, so that notification
+ * allocates nothing, and a game with no listeners pays only for a check of the array length. Moves
+ * reverted with {@link #undo()} or {@link #restore(long)}, and moves played in a fork (to which
+ * the listeners are not copied), are not notified.</p>
  */
 @SuppressWarnings({"unused"})
 public class Game {
@@ -26,23 +43,56 @@ public class Game {
    */
   public static final Operation DEFAULT_OPERATION = Operation.ADDITION;
 
-  private static final String INVALID_UPPER_BOUND_MOVE_FORMAT =
-      "Game upper bound (%1$d) and max move (%2$d) must both be positive, with upper bound > max move.";
+  /**
+   * Result code returned by {@link #tryPlay(int)} when the move is legal, and has been applied.
+   */
+  public static final int MOVE_ACCEPTED = 0;
+  /**
+   * Result code returned by {@link #tryPlay(int)} when the game is already completed.
+   */
+  public static final int MOVE_REJECTED_FINISHED = 1;
+  /**
+   * Result code returned by {@link #tryPlay(int)} when the move is non-positive, or exceeds the
+   * maximum move allowed.
+   */
+  public static final int MOVE_REJECTED_SIZE = 2;
+  /**
+   * Result code returned by {@link #tryPlay(int)} when the move would result in a total exceeding
+   * the target (for an addition game) or less than zero (for a subtraction game).
+   */
+  public static final int MOVE_REJECTED_OVERSHOOT = 3;
+
   private static final String INVALID_INITIAL_STATE_FORMAT =
       "%1$s is not a valid initial state.";
-
+  private static final String INVALID_SNAPSHOT_FORMAT =
+      "Snapshot (count = %1$d, state = %2$s) is not a valid position in this game.";
+  private static final String NOTHING_TO_UNDO_MESSAGE = "No moves to undo.";
+  private static final String UNDO_STACK_FULL_MESSAGE = "Undo stack is full.";
+  private static final int MAX_UNDO_CAPACITY = Integer.MAX_VALUE - 8;
+  private static final int INITIAL_UNDO_CAPACITY = 16;
+  private static final GameListener[] NO_LISTENERS = new GameListener[0];
+
+  private final Rules rules;
   private final Operation operation;
   private final int upperBound;
+  private final MoveSet moves;
   private final int maxMove;
   private final int target;
 
   private boolean firstMove;
   private int currentCount;
   private State state;
+  private boolean baseFirstMove;
+  private boolean undoEnabled;
+  private int[] undoMoves;
+  private int undoDepth;
+  private int moveCount;
+  private GameListener[] listeners = NO_LISTENERS;
 
   /**
    * Initializes this instance with the specified configuration parameters. Once initialized, the
-   * configuration of the game does not change.
+   * configuration of the game does not change. Invoking this constructor is equivalent to invoking
+   * {@link #Game(Rules, State) Game(new Rules(operation, upperBound, maxMove), initialState)}.
    *
    * @param operation    Direction of game (addition or subtraction), specified as one of the
    *                     enumerated values of {@link Operation}.
@@ -58,19 +108,34 @@ public class Game {
    */
   public Game(Operation operation, int upperBound, int maxMove, State initialState)
       throws IllegalConfigurationException {
-    if (maxMove <= 0 || maxMove >= upperBound) {
-      throw new IllegalConfigurationException(
-          String.format(INVALID_UPPER_BOUND_MOVE_FORMAT, upperBound, maxMove));
-    }
+    this(new Rules(operation, upperBound, maxMove), initialState);
+  }
+
+  /**
+   * Initializes this instance with the specified {@link Rules}, which may specify an arbitrary
+   * {@link MoveSet} of legal moves. Once initialized, the configuration of the game does not
+   * change.
+   *
+   * @param rules        Configuration of the game.
+   * @param initialState Player to make the first move, specified as {@link State#PLAYER_ONE_MOVE}
+   *                     or {@link State#PLAYER_TWO_MOVE}.
+   * @throws IllegalConfigurationException If {@code initialState} is neither
+   *                                       {@link State#PLAYER_ONE_MOVE} nor
+   *                                       {@link State#PLAYER_TWO_MOVE}.
+   */
+  public Game(Rules rules, State initialState) throws IllegalConfigurationException {
     if (!initialState.isInitial()) {
       throw new IllegalConfigurationException(
           String.format(INVALID_INITIAL_STATE_FORMAT, initialState));
     }
-    this.operation = operation;
-    this.upperBound = upperBound;
-    this.maxMove = maxMove;
+    this.rules = rules;
+    operation = rules.getOperation();
+    upperBound = rules.getUpperBound();
+    moves = rules.getMoves();
+    maxMove = moves.getMax();
     state = initialState;
     firstMove = true;
+    baseFirstMove = true;
     if (operation == Operation.ADDITION) {
       currentCount = 0;
       target = upperBound;
@@ -81,7 +146,42 @@ public class Game {
   }
 
   /**
-   * Updates the state of this instance by applying the specified move.
+   * Initializes this instance with the specified configuration and an in-progress (or completed)
+   * state, as captured by {@link GameBatch}. No validation is performed; the caller is responsible
+   * for ensuring that the configuration and state are consistent.
+   */
+  Game(Rules rules, int currentCount, State state) {
+    this.rules = rules;
+    operation = rules.getOperation();
+    upperBound = rules.getUpperBound();
+    moves = rules.getMoves();
+    maxMove = moves.getMax();
+    this.currentCount = currentCount;
+    this.state = state;
+    target = (operation == Operation.ADDITION) ? upperBound : 0;
+    firstMove = (currentCount == upperBound - target);
+    baseFirstMove = firstMove;
+  }
+
+  private Game(Game other) {
+    rules = other.rules;
+    operation = other.operation;
+    upperBound = other.upperBound;
+    moves = other.moves;
+    maxMove = other.maxMove;
+    target = other.target;
+    currentCount = other.currentCount;
+    state = other.state;
+    firstMove = other.firstMove;
+    baseFirstMove = firstMove;
+    moveCount = other.moveCount;
+    undoEnabled = true;
+  }
+
+  /**
+   * Updates the state of this instance by applying the specified move. This is a thin wrapper
+   * around {@link #tryPlay(int)}; the exception (and its message) is only constructed when the move
+   * is rejected.
    *
    * @param move Quantity to be added (for an addition game) or subtracted (for a subtraction
    *             game).
@@ -92,9 +192,184 @@ public class Game {
    *                               addition game) or less than zero (for a subtraction game).
    */
   public void play(int move) throws GameFinishedException, IllegalMoveException {
-    state = state.play(upperBound, maxMove, currentCount, move, operation);
-    currentCount += move * operation.sign();
-    firstMove = false;
+    int result = tryPlay(move);
+    if (result != MOVE_ACCEPTED) {
+      throw rejection(result, move);
+    }
+  }
+
+  /**
+   * Attempts to update the state of this instance by applying the specified move, returning a
+   * result code instead of throwing an exception if the move is not legal. If the move is
+   * rejected, the state of this instance is unchanged. If the undo stack is enabled (see
+   * {@link #enableUndo()}), an accepted move is pushed onto it; apart from the occasional growth of
+   * that stack, no objects are allocated by this method, whether the move is accepted or rejected.
+   *
+   * @param move Quantity to be added (for an addition game) or subtracted (for a subtraction
+   *             game).
+   * @return {@link #MOVE_ACCEPTED} if the move was applied; otherwise,
+   * {@link #MOVE_REJECTED_FINISHED}, {@link #MOVE_REJECTED_SIZE}, or
+   * {@link #MOVE_REJECTED_OVERSHOOT}, indicating the reason for rejection.
+   * @throws IllegalStateException If the undo stack is enabled, and already holds the maximum
+   *                               number of moves.
+   */
+  public int tryPlay(int move) throws IllegalStateException {
+    State mover = state;
+    int result = mover.validate(moves, currentCount, move, operation.sign(), upperBound);
+    if (result == MOVE_ACCEPTED) {
+      if (undoEnabled) {
+        pushUndo(move);
+      }
+      currentCount += move * operation.sign();
+      state = (currentCount == target) ? mover.nextWinState() : mover.nextMoveState();
+      firstMove = false;
+      moveCount++;
+      if (listeners.length > 0) {
+        notifyMoveApplied(mover, move);
+      }
+    } else if (listeners.length > 0) {
+      for (GameListener listener : listeners) {
+        listener.illegalMove(mover, move, result);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Registers the specified listener, to be notified of subsequent events in this game. A listener
+   * registered more than once is notified once for each registration.
+   *
+   * @param listener Listener to be notified.
+   */
+  public void addListener(GameListener listener) {
+    GameListener[] listeners = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+    listeners[listeners.length - 1] = listener;
+    this.listeners = listeners;
+  }
+
+  /**
+   * Removes (one registration of) the specified listener, if it is registered.
+   *
+   * @param listener Listener to be removed.
+   */
+  public void removeListener(GameListener listener) {
+    for (int i = 0; i < listeners.length; i++) {
+      if (listeners[i] == listener) {
+        GameListener[] listeners = new GameListener[this.listeners.length - 1];
+        System.arraycopy(this.listeners, 0, listeners, 0, i);
+        System.arraycopy(this.listeners, i + 1, listeners, i, listeners.length - i);
+        this.listeners = (listeners.length > 0) ? listeners : NO_LISTENERS;
+        break;
+      }
+    }
+  }
+
+  /**
+   * Enables the undo stack of this game, so that subsequently accepted moves may be reverted with
+   * {@link #undo()}. The undo stack of a game returned by {@link #fork()} is always enabled.
+   */
+  public void enableUndo() {
+    undoEnabled = true;
+  }
+
+  /**
+   * Reverts the most recent move on the undo stack, returning this game to the position before
+   * that move was played. The undo stack holds the moves accepted since this game was forked (see
+   * {@link #fork()}), restored (see {@link #restore(long)}), or its undo stack was enabled (see
+   * {@link #enableUndo()}).
+   *
+   * @return Move reverted.
+   * @throws IllegalStateException If the undo stack is empty.
+   */
+  public int undo() throws IllegalStateException {
+    if (undoDepth == 0) {
+      throw new IllegalStateException(NOTHING_TO_UNDO_MESSAGE);
+    }
+    int move = undoMoves[--undoDepth];
+    moveCount--;
+    currentCount -= move * operation.sign();
+    state = state.previousMoveState();
+    firstMove = (undoDepth == 0) && baseFirstMove;
+    return move;
+  }
+
+  /**
+   * Returns the number of moves on the undo stack&mdash;that is, the number of times
+   * {@link #undo()} may be invoked in succession.
+   *
+   * @return (See above.)
+   */
+  public int getUndoDepth() {
+    return undoDepth;
+  }
+
+  /**
+   * Returns the number of moves accepted by this game (including, for a fork, those accepted by
+   * the game from which it was forked), less those reverted with {@link #undo()}. This count is
+   * maintained whether or not the undo stack is enabled, and is not changed by
+   * {@link #restore(long)}.
+   *
+   * @return (See above.)
+   */
+  public int getMoveCount() {
+    return moveCount;
+  }
+
+  /**
+   * Creates and returns an independent copy of this game, in the current position. The copy
+   * shares the (immutable) configuration of this game, without repeating its validation; its undo
+   * stack is enabled, and initially empty.
+   *
+   * @return (See above.)
+   */
+  public Game fork() {
+    return new Game(this);
+  }
+
+  /**
+   * Captures the current position (count, state, and first-move flag) of this game as a single
+   * {@code long}, which may be decoded with the methods of {@link Snapshot}, and passed to
+   * {@link #restore(long)} on this game (or another game with the same {@link Rules}).
+   *
+   * @return (See above.)
+   */
+  public long snapshot() {
+    return Snapshot.of(currentCount, state, firstMove);
+  }
+
+  /**
+   * Returns this game to the position captured in {@code snapshot}, and clears the undo stack.
+   *
+   * @param snapshot Position, as returned by {@link #snapshot()}.
+   * @throws IllegalArgumentException If the count in {@code snapshot} is outside the range of this
+   *                                  game, or is inconsistent with the state (i.e. a terminal
+   *                                  state with a count other than the target, or vice versa).
+   */
+  public void restore(long snapshot) throws IllegalArgumentException {
+    int count = Snapshot.getCount(snapshot);
+    State state = Snapshot.getState(snapshot);
+    if (count < 0 || count > upperBound || state.isTerminal() != (count == target)) {
+      throw new IllegalArgumentException(String.format(INVALID_SNAPSHOT_FORMAT, count, state));
+    }
+    currentCount = count;
+    this.state = state;
+    firstMove = Snapshot.isFirstMove(snapshot);
+    baseFirstMove = firstMove;
+    undoDepth = 0;
+  }
+
+  /**
+   * Returns a flag indicating whether the specified move would be accepted by
+   * {@link #tryPlay(int)} (or {@link #play(int)}) in the current state of this instance. This
+   * method does not change the state of this instance, and allocates no objects.
+   *
+   * @param move Quantity to be added (for an addition game) or subtracted (for a subtraction
+   *             game).
+   * @return (See above.)
+   */
+  public boolean isLegal(int move) {
+    return state.validate(moves, currentCount, move, operation.sign(), upperBound)
+        == MOVE_ACCEPTED;
   }
 
   /**
@@ -119,7 +394,8 @@ public class Game {
 
   /**
    * Returns the maximum quantity that may be added or subtracted, as set in
-   * {@link Game#Game(Operation, int, int, State)}.
+   * {@link Game#Game(Operation, int, int, State)} (or the largest member of the {@link MoveSet} of
+   * the {@link Rules} passed to {@link Game#Game(Rules, State)}).
    *
    * @return (See above.)
    */
@@ -127,6 +403,24 @@ public class Game {
     return maxMove;
   }
 
+  /**
+   * Returns the {@link MoveSet} of quantities that may be added or subtracted in each move.
+   *
+   * @return (See above.)
+   */
+  public MoveSet getMoves() {
+    return moves;
+  }
+
+  /**
+   * Returns the {@link Rules} (operation, upper bound, and legal moves) of this game.
+   *
+   * @return (See above.)
+   */
+  public Rules getRules() {
+    return rules;
+  }
+
   /**
    * Returns the target value (for an addition game) or starting value (for a subtraction game), as
    * set in {@link Game#Game(Operation, int, int, State)}.
@@ -183,6 +477,45 @@ public class Game {
         : currentCount;
   }
 
+  private void pushUndo(int move) {
+    if (undoMoves == null) {
+      undoMoves = new int[INITIAL_UNDO_CAPACITY];
+    } else if (undoDepth == undoMoves.length) {
+      if (undoDepth == MAX_UNDO_CAPACITY) {
+        throw new IllegalStateException(UNDO_STACK_FULL_MESSAGE);
+      }
+      undoMoves = Arrays.copyOf(undoMoves,
+          (int) Math.min(2L * undoMoves.length, MAX_UNDO_CAPACITY));
+    }
+    undoMoves[undoDepth++] = move;
+  }
+
+  private void notifyMoveApplied(State mover, int move) {
+    for (GameListener listener : listeners) {
+      listener.moveApplied(mover, move, currentCount);
+    }
+    if (state.isTerminal()) {
+      for (GameListener listener : listeners) {
+        listener.gameFinished(state, moveCount);
+      }
+    }
+  }
+
+  private RuntimeException rejection(int result, int move) {
+    switch (result) {
+      case MOVE_REJECTED_FINISHED:
+        return new GameFinishedException(
+            String.format(State.NO_MOVES_ALLOWED_FORMAT, currentCount));
+      case MOVE_REJECTED_SIZE:
+        return new IllegalMoveException(moves.isContiguous()
+            ? String.format(State.MOVE_TOO_LARGE_FORMAT, maxMove, move)
+            : String.format(State.MOVE_NOT_ALLOWED_FORMAT, moves, move));
+      default:
+        return new IllegalMoveException(String.format(State.TARGET_OVERSHOOT_FORMAT,
+            upperBound, currentCount, move, (long) currentCount + move * operation.sign()));
+    }
+  }
+
   /**
    * Encapsulates the possible states of a single {@link Game}, as well as validation of all
    * state-changing operations.
@@ -208,6 +541,11 @@ public class Game {
         return PLAYER_TWO_MOVE;
       }
 
+      @Override
+      State previousMoveState() {
+        return PLAYER_TWO_MOVE;
+      }
+
       @Override
       State nextWinState() {
         return PLAYER_ONE_WIN;
@@ -232,6 +570,11 @@ public class Game {
         return PLAYER_ONE_MOVE;
       }
 
+      @Override
+      State previousMoveState() {
+        return PLAYER_ONE_MOVE;
+      }
+
       @Override
       State nextWinState() {
         return PLAYER_TWO_WIN;
@@ -246,12 +589,14 @@ public class Game {
      */
     PLAYER_TWO_WIN;
 
-    private static final String NO_MOVES_ALLOWED_FORMAT =
+    static final String NO_MOVES_ALLOWED_FORMAT =
         "Game is already in a terminal state (sum = %d); no further moves allowed.";
-    private static final String TARGET_OVERSHOOT_FORMAT =
+    static final String TARGET_OVERSHOOT_FORMAT =
         "A move of (%3$d) with a current count of (%2$d) would result in a count of %4$d, outside the allowed range (0-%1$d).";
-    private static final String MOVE_TOO_LARGE_FORMAT =
+    static final String MOVE_TOO_LARGE_FORMAT =
         "Attempted move (%2$d) exceeds the maximum allowed (%1$d).";
+    static final String MOVE_NOT_ALLOWED_FORMAT =
+        "Attempted move (%2$d) is not one of the allowed moves %1$s.";
 
     /**
      * Returns a flag indicating whether this state is one of the allowed initial states.
@@ -280,28 +625,103 @@ public class Game {
       return this;
     }
 
-    private State play(int upperBound, int maxMove, int count, int move, Operation operation)
-        throws GameFinishedException, IllegalMoveException {
-      State nextState;
+    /*
+     * Returns the state preceding the move that resulted in this state: the winner's move state,
+     * for a terminal state, or the other player's move state, for an in-progress state.
+     */
+    State previousMoveState() {
+      return (this == PLAYER_ONE_WIN) ? PLAYER_ONE_MOVE : PLAYER_TWO_MOVE;
+    }
+
+    private int validate(MoveSet moves, int count, int move, int sign, int upperBound) {
+      return validate(moves, (long) count, move, sign, upperBound);
+    }
+
+    /*
+     * Validates a move against the distance remaining to the relevant limit (the upper bound for
+     * addition, or zero for subtraction), rather than against the new count, so that no
+     * intermediate value can overflow, even for a count near Long.MAX_VALUE.
+     */
+    int validate(MoveSet moves, long count, int move, int sign, long upperBound) {
       if (isTerminal()) {
-        throw new GameFinishedException(String.format(NO_MOVES_ALLOWED_FORMAT, count));
+        return MOVE_REJECTED_FINISHED;
       }
-      if (move <= 0 || move > maxMove) {
-        throw new IllegalMoveException(
-            String.format(MOVE_TOO_LARGE_FORMAT, maxMove, move));
+      if (!moves.contains(move)) {
+        return MOVE_REJECTED_SIZE;
       }
-      int sign = operation.sign();
-      int newCount = count + move * sign;
-      if (newCount > upperBound || newCount < 0) {
-        throw new IllegalMoveException(
-            String.format(TARGET_OVERSHOOT_FORMAT, upperBound, count, move, newCount));
+      if (move > ((sign > 0) ? upperBound - count : count)) {
+        return MOVE_REJECTED_OVERSHOOT;
       }
-      if (newCount == upperBound * ((1 + sign) >> 1)) {
-        nextState = nextWinState();
-      } else {
-        nextState = nextMoveState();
+      return MOVE_ACCEPTED;
+    }
+
+  }
+
+  /**
+   * Packs and unpacks the position of a {@link Game} as a single {@code long} value, so that
+   * positions may be captured and compared (e.g. as keys in a transposition table) without
+   * allocating objects. The count occupies the low 32 bits, the ordinal of the {@link State} the
+   * next 8 bits, and the first-move flag the bit above those.
+   */
+  public static final class Snapshot {
+
+    private static final int STATE_SHIFT = Integer.SIZE;
+    private static final int FIRST_MOVE_SHIFT = STATE_SHIFT + Byte.SIZE;
+    private static final long COUNT_MASK = 0xffff_ffffL;
+    private static final int STATE_MASK = 0xff;
+    private static final State[] STATES = State.values();
+
+    private Snapshot() {
+      // Prevent instantiation.
+    }
+
+    /**
+     * Packs the specified position into a single {@code long} value.
+     *
+     * @param count     Current count.
+     * @param state     Current state.
+     * @param firstMove Flag indicating whether the next move is the first of the game.
+     * @return Packed position.
+     */
+    public static long of(int count, State state, boolean firstMove) {
+      return (count & COUNT_MASK)
+          | ((long) state.ordinal() << STATE_SHIFT)
+          | ((firstMove ? 1L : 0L) << FIRST_MOVE_SHIFT);
+    }
+
+    /**
+     * Returns the count of the position packed in {@code snapshot}.
+     *
+     * @param snapshot Packed position.
+     * @return (See above.)
+     */
+    public static int getCount(long snapshot) {
+      return (int) snapshot;
+    }
+
+    /**
+     * Returns the state of the position packed in {@code snapshot}.
+     *
+     * @param snapshot Packed position.
+     * @return (See above.)
+     * @throws IllegalArgumentException If {@code snapshot} does not contain a valid state.
+     */
+    public static State getState(long snapshot) throws IllegalArgumentException {
+      int ordinal = (int) (snapshot >>> STATE_SHIFT) & STATE_MASK;
+      if (ordinal >= STATES.length) {
+        throw new IllegalArgumentException(Long.toHexString(snapshot));
       }
-      return nextState;
+      return STATES[ordinal];
+    }
+
+    /**
+     * Returns the first-move flag of the position packed in {@code snapshot}.
+     *
+     * @param snapshot Packed position.
+     * @return (See above.)
+     */
+    public static boolean isFirstMove(long snapshot) {
+      return ((snapshot >>> FIRST_MOVE_SHIFT) & 1) != 0;
     }
 
   }
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.model;
+
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.model.exception.IllegalConfigurationException;
+import java.util.Arrays;
+
+/**
+ * Encapsulates the states of a fixed number of games of One Hundred, all with the same
+ * configuration, stored as primitive arrays rather than as individual {@link Game} instances. All
+ * of the games are advanced together by {@link #playAll(int[])}, which applies the same legality
+ * rules as {@link Game#tryPlay(int)}.
+ * <p>The {@link State} of each game is stored as its ordinal value; the ordering of the
+ * {@link State} values is such that a move by the player to move either toggles the lowest bit
+ * (passing the move to the other player) or adds 2 (making that player the winner).</p>
+ */
+@SuppressWarnings({"unused"})
+public class GameBatch {
+
+  private static final String INVALID_SIZE_FORMAT = "Batch size (%d) must be positive.";
+  private static final String INVALID_INITIAL_STATE_FORMAT = "%1$s is not a valid initial state.";
+  private static final String MOVES_LENGTH_FORMAT =
+      "Moves array length (%1$d) must be at least the batch size (%2$d).";
+  private static final State[] STATES = State.values();
+  private static final int TERMINAL_ORDINAL = State.PLAYER_ONE_WIN.ordinal();
+  private static final int WIN_OFFSET = State.PLAYER_ONE_WIN.ordinal();
+
+  private final Rules rules;
+  private final Operation operation;
+  private final int upperBound;
+  private final MoveSet moveSet;
+  private final int maxMove;
+  private final boolean contiguous;
+  private final int target;
+  private final int sign;
+  private final int[] counts;
+  private final byte[] states;
+
+  private int active;
+
+  /**
+   * Initializes this instance with {@code size} games, all in their initial state. Invoking this
+   * constructor is equivalent to invoking
+   * {@link #GameBatch(Rules, int, State) GameBatch(new Rules(operation, upperBound, maxMove), size,
+   * initialState)}.
+   *
+   * @param operation    Direction of all games (addition or subtraction).
+   * @param upperBound   Target value (for addition games) or starting value (for subtraction
+   *                     games).
+   * @param maxMove      Maximum quantity allowed to be added or subtracted in each move.
+   * @param size         Number of games in the batch.
+   * @param initialState Player to make the first move in every game, specified as
+   *                     {@link State#PLAYER_ONE_MOVE} or {@link State#PLAYER_TWO_MOVE}.
+   * @throws IllegalConfigurationException If the configuration would not be accepted by
+   *                                       {@link Game#Game(Operation, int, int, State)}, or
+   *                                       {@code size} is non-positive.
+   */
+  public GameBatch(Operation operation, int upperBound, int maxMove, int size, State initialState)
+      throws IllegalConfigurationException {
+    this(new Rules(operation, upperBound, maxMove), size, initialState);
+  }
+
+  /**
+   * Initializes this instance with {@code size} games, all played under the specified
+   * {@link Rules}, and all in their initial state.
+   *
+   * @param rules        Configuration of all games.
+   * @param size         Number of games in the batch.
+   * @param initialState Player to make the first move in every game, specified as
+   *                     {@link State#PLAYER_ONE_MOVE} or {@link State#PLAYER_TWO_MOVE}.
+   * @throws IllegalConfigurationException If {@code initialState} is not an initial state, or
+   *                                       {@code size} is non-positive.
+   */
+  public GameBatch(Rules rules, int size, State initialState)
+      throws IllegalConfigurationException {
+    if (size <= 0) {
+      throw new IllegalConfigurationException(String.format(INVALID_SIZE_FORMAT, size));
+    }
+    this.rules = rules;
+    operation = rules.getOperation();
+    upperBound = rules.getUpperBound();
+    moveSet = rules.getMoves();
+    maxMove = moveSet.getMax();
+    contiguous = moveSet.isContiguous();
+    sign = operation.sign();
+    target = (operation == Operation.ADDITION) ? upperBound : 0;
+    counts = new int[size];
+    states = new byte[size];
+    reset(initialState);
+  }
+
+  /**
+   * Returns all of the games in this batch to their initial state.
+   *
+   * @param initialState Player to make the first move in every game, specified as
+   *                     {@link State#PLAYER_ONE_MOVE} or {@link State#PLAYER_TWO_MOVE}.
+   * @throws IllegalConfigurationException If {@code initialState} is not an initial state.
+   */
+  public void reset(State initialState) throws IllegalConfigurationException {
+    if (!initialState.isInitial()) {
+      throw new IllegalConfigurationException(
+          String.format(INVALID_INITIAL_STATE_FORMAT, initialState));
+    }
+    Arrays.fill(counts, (operation == Operation.ADDITION) ? 0 : upperBound);
+    Arrays.fill(states, (byte) initialState.ordinal());
+    active = counts.length;
+  }
+
+  /**
+   * Applies one move to every game in this batch that is still in progress; {@code moves[i]} is
+   * the move for the game at index {@code i}, and is ignored if that game is already completed. A
+   * move that would be rejected by {@link Game#tryPlay(int)} leaves the corresponding game
+   * unchanged.
+   *
+   * @param moves Moves to apply, indexed by game.
+   * @return Number of moves rejected as illegal.
+   * @throws IllegalArgumentException If {@code moves} is shorter than {@link #size()}.
+   */
+  public int playAll(int[] moves) {
+    int[] counts = this.counts;
+    byte[] states = this.states;
+    if (moves.length < counts.length) {
+      throw new IllegalArgumentException(
+          String.format(MOVES_LENGTH_FORMAT, moves.length, counts.length));
+    }
+    int rejected = 0;
+    int finished = 0;
+    for (int i = 0; i < counts.length; i++) {
+      int state = states[i];
+      if (state >= TERMINAL_ORDINAL) {
+        continue;
+      }
+      int move = moves[i];
+      int newCount = counts[i] + move * sign;
+      if (move <= 0 || move > maxMove || newCount > upperBound || newCount < 0
+          || (!contiguous && !moveSet.contains(move))) {
+        rejected++;
+        continue;
+      }
+      counts[i] = newCount;
+      if (newCount == target) {
+        states[i] = (byte) (state + WIN_OFFSET);
+        finished++;
+      } else {
+        states[i] = (byte) (state ^ 1);
+      }
+    }
+    active -= finished;
+    return rejected;
+  }
+
+  /**
+   * Returns the number of games in this batch.
+   *
+   * @return (See above.)
+   */
+  public int size() {
+    return counts.length;
+  }
+
+  /**
+   * Returns the number of games in this batch that are still in progress.
+   *
+   * @return (See above.)
+   */
+  public int getActive() {
+    return active;
+  }
+
+  /**
+   * Returns the {@link Rules} used in all games of this batch.
+   *
+   * @return (See above.)
+   */
+  public Rules getRules() {
+    return rules;
+  }
+
+  /**
+   * Returns the {@link MoveSet} of legal moves used in all games of this batch.
+   *
+   * @return (See above.)
+   */
+  public MoveSet getMoves() {
+    return moveSet;
+  }
+
+  /**
+   * Returns the {@link Operation} used in all games of this batch.
+   *
+   * @return (See above.)
+   */
+  public Operation getOperation() {
+    return operation;
+  }
+
+  /**
+   * Returns the upper bound used in all games of this batch.
+   *
+   * @return (See above.)
+   */
+  public int getUpperBound() {
+    return upperBound;
+  }
+
+  /**
+   * Returns the maximum move used in all games of this batch.
+   *
+   * @return (See above.)
+   */
+  public int getMaxMove() {
+    return maxMove;
+  }
+
+  /**
+   * Returns the target value (the upper bound for addition, or zero for subtraction) used in all
+   * games of this batch.
+   *
+   * @return (See above.)
+   */
+  public int getTarget() {
+    return target;
+  }
+
+  /**
+   * Returns the current total of the game at {@code index}.
+   *
+   * @param index Position of the game in this batch.
+   * @return (See above.)
+   */
+  public int getCurrentCount(int index) {
+    return counts[index];
+  }
+
+  /**
+   * Returns the non-negative difference between the current and target values of the game at
+   * {@code index}, as in {@link Game#getRemaining()}.
+   *
+   * @param index Position of the game in this batch.
+   * @return (See above.)
+   */
+  public int getRemaining(int index) {
+    return (target - counts[index]) * sign;
+  }
+
+  /**
+   * Returns the current {@link State} of the game at {@code index}.
+   *
+   * @param index Position of the game in this batch.
+   * @return (See above.)
+   */
+  public State getState(int index) {
+    return STATES[states[index]];
+  }
+
+  /**
+   * Returns a flag indicating whether the game at {@code index} is completed.
+   *
+   * @param index Position of the game in this batch.
+   * @return (See above.)
+   */
+  public boolean isTerminal(int index) {
+    return states[index] >= TERMINAL_ORDINAL;
+  }
+
+  /**
+   * Creates and returns a {@link Game} with the same configuration and current state as the game
+   * at {@code index}. Subsequent changes to the returned {@link Game} are not reflected in this
+   * batch (or vice versa).
+   *
+   * @param index Position of the game in this batch.
+   * @return (See above.)
+   */
+  public Game toGame(int index) {
+    return new Game(rules, counts[index], getState(index));
+  }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.model;
+
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.model.exception.GameFinishedException;
+import com.nickbenn.onehundred.model.exception.IllegalConfigurationException;
+import com.nickbenn.onehundred.model.exception.IllegalMoveException;
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * Encapsulates the configuration and current state of a single game of One Hundred with a
+ * {@code long} upper bound, for configurations exceeding the range of {@link Game}. Moves are still
+ * {@code int} values (from a {@link MoveSet}), and the states, operations, and result codes of
+ * {@link #tryPlay(int)} are those of {@link Game}. Validation never computes a count outside the
+ * range {@code [0, upperBound]}, so an upper bound as large as {@link Long#MAX_VALUE} may be used.
+ */
+@SuppressWarnings({"unused"})
+public class LongGame {
+
+  private static final String INVALID_UPPER_BOUND_MOVE_FORMAT =
+      "Game upper bound (%1$d) and max move (%2$d) must both be positive, with upper bound > max move.";
+  private static final String INVALID_INITIAL_STATE_FORMAT =
+      "%1$s is not a valid initial state.";
+
+  private final Operation operation;
+  private final long upperBound;
+  private final MoveSet moves;
+  private final int maxMove;
+  private final long target;
+
+  private boolean firstMove;
+  private long currentCount;
+  private State state;
+
+  /**
+   * Initializes this instance with the specified configuration parameters. Once initialized, the
+   * configuration of the game does not change.
+   *
+   * @param operation    Direction of game (addition or subtraction).
+   * @param upperBound   Target value (for addition game) or starting value (for subtraction game).
+   * @param moves        Quantities that may be added or subtracted in each move.
+   * @param initialState Player to make the first move, specified as {@link State#PLAYER_ONE_MOVE}
+   *                     or {@link State#PLAYER_TWO_MOVE}.
+   * @throws IllegalConfigurationException If {@code upperBound} is not greater than the largest
+   *                                       move in {@code moves}, or if {@code initialState} is
+   *                                       neither {@link State#PLAYER_ONE_MOVE} nor
+   *                                       {@link State#PLAYER_TWO_MOVE}.
+   */
+  public LongGame(Operation operation, long upperBound, MoveSet moves, State initialState)
+      throws IllegalConfigurationException {
+    if (moves.getMax() >= upperBound) {
+      throw new IllegalConfigurationException(
+          String.format(INVALID_UPPER_BOUND_MOVE_FORMAT, upperBound, moves.getMax()));
+    }
+    if (!initialState.isInitial()) {
+      throw new IllegalConfigurationException(
+          String.format(INVALID_INITIAL_STATE_FORMAT, initialState));
+    }
+    this.operation = Objects.requireNonNull(operation);
+    this.upperBound = upperBound;
+    this.moves = moves;
+    maxMove = moves.getMax();
+    state = initialState;
+    firstMove = true;
+    if (operation == Operation.ADDITION) {
+      currentCount = 0;
+      target = upperBound;
+    } else {
+      currentCount = upperBound;
+      target = 0;
+    }
+  }
+
+  /**
+   * Initializes this instance with the configuration of the specified {@link Rules}.
+   *
+   * @param rules        Configuration of the game.
+   * @param initialState Player to make the first move.
+   * @throws IllegalConfigurationException If {@code initialState} is neither
+   *                                       {@link State#PLAYER_ONE_MOVE} nor
+   *                                       {@link State#PLAYER_TWO_MOVE}.
+   */
+  public LongGame(Rules rules, State initialState) throws IllegalConfigurationException {
+    this(rules.getOperation(), rules.getUpperBound(), rules.getMoves(), initialState);
+  }
+
+  /**
+   * Updates the state of this instance by applying the specified move; this is a thin wrapper
+   * around {@link #tryPlay(int)}.
+   *
+   * @param move Quantity to be added (for an addition game) or subtracted (for a subtraction
+   *             game).
+   * @throws GameFinishedException If the game is already completed.
+   * @throws IllegalMoveException  If {@code move} is not in the {@link MoveSet} of this game, or
+   *                               would result in a total exceeding the target (for an addition
+   *                               game) or less than zero (for a subtraction game).
+   */
+  public void play(int move) throws GameFinishedException, IllegalMoveException {
+    int result = tryPlay(move);
+    if (result != Game.MOVE_ACCEPTED) {
+      throw rejection(result, move);
+    }
+  }
+
+  /**
+   * Attempts to update the state of this instance by applying the specified move, returning one of
+   * the result codes defined in {@link Game} (e.g. {@link Game#MOVE_ACCEPTED}) instead of throwing
+   * an exception if the move is not legal. If the move is rejected, the state of this instance is
+   * unchanged.
+   *
+   * @param move Quantity to be added (for an addition game) or subtracted (for a subtraction
+   *             game).
+   * @return (See above.)
+   */
+  public int tryPlay(int move) {
+    int result = state.validate(moves, currentCount, move, operation.sign(), upperBound);
+    if (result == Game.MOVE_ACCEPTED) {
+      currentCount += move * operation.sign();
+      state = (currentCount == target) ? state.nextWinState() : state.nextMoveState();
+      firstMove = false;
+    }
+    return result;
+  }
+
+  /**
+   * Returns a flag indicating whether the specified move would be accepted by
+   * {@link #tryPlay(int)} in the current state of this instance.
+   *
+   * @param move Quantity to be added (for an addition game) or subtracted (for a subtraction
+   *             game).
+   * @return (See above.)
+   */
+  public boolean isLegal(int move) {
+    return state.validate(moves, currentCount, move, operation.sign(), upperBound)
+        == Game.MOVE_ACCEPTED;
+  }
+
+  /**
+   * Returns {@link Operation#ADDITION} or {@link Operation#SUBTRACTION}.
+   *
+   * @return (See above.)
+   */
+  public Operation getOperation() {
+    return operation;
+  }
+
+  /**
+   * Returns the target value (for addition) or initial value (for subtraction).
+   *
+   * @return (See above.)
+   */
+  public long getUpperBound() {
+    return upperBound;
+  }
+
+  /**
+   * Returns the largest quantity that may be added or subtracted in a single move.
+   *
+   * @return (See above.)
+   */
+  public int getMaxMove() {
+    return maxMove;
+  }
+
+  /**
+   * Returns the {@link MoveSet} of quantities that may be added or subtracted in each move.
+   *
+   * @return (See above.)
+   */
+  public MoveSet getMoves() {
+    return moves;
+  }
+
+  /**
+   * Returns the target value (for an addition game) or zero (for a subtraction game).
+   *
+   * @return (See above.)
+   */
+  public long getTarget() {
+    return target;
+  }
+
+  /**
+   * Returns the current total.
+   *
+   * @return (See above.)
+   */
+  public long getCurrentCount() {
+    return currentCount;
+  }
+
+  /**
+   * Returns the current {@link State}.
+   *
+   * @return (See above.)
+   */
+  public State getState() {
+    return state;
+  }
+
+  /**
+   * Returns a flag indicating whether the next move made will be the first so far in the game.
+   *
+   * @return (See above.)
+   */
+  public boolean isFirstMove() {
+    return firstMove;
+  }
+
+  /**
+   * Returns the non-negative difference between the current and target values.
+   *
+   * @return (See above.)
+   */
+  public long getRemaining() {
+    return (operation == Operation.ADDITION)
+        ? target - currentCount
+        : currentCount;
+  }
+
+  private RuntimeException rejection(int result, int move) {
+    switch (result) {
+      case Game.MOVE_REJECTED_FINISHED:
+        return new GameFinishedException(
+            String.format(State.NO_MOVES_ALLOWED_FORMAT, currentCount));
+      case Game.MOVE_REJECTED_SIZE:
+        return new IllegalMoveException(moves.isContiguous()
+            ? String.format(State.MOVE_TOO_LARGE_FORMAT, maxMove, move)
+            : String.format(State.MOVE_NOT_ALLOWED_FORMAT, moves, move));
+      default:
+        return new IllegalMoveException(String.format(State.TARGET_OVERSHOOT_FORMAT, upperBound,
+            currentCount, move, BigInteger.valueOf(currentCount)
+                .add(BigInteger.valueOf((long) move * operation.sign()))));
+    }
+  }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.model;
+
+import com.nickbenn.onehundred.model.exception.IllegalConfigurationException;
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * Encapsulates the (immutable) set of quantities that may be added or subtracted in a single move.
+ * In the standard form of the game, this is the contiguous range from 1 to the maximum move (see
+ * {@link #contiguous(int)}); other sets (e.g. {1, 3, 4}) may be specified with {@link #of(int...)}.
+ * Every set must include 1, so that the target can always be reached exactly, regardless of the
+ * current count. A contiguous set is represented by its maximum alone, so that even a very large
+ * maximum move requires no storage proportional to its size.
+ */
+public final class MoveSet {
+
+  private static final String EMPTY_SET_MESSAGE = "Move set must not be empty.";
+  private static final String NON_POSITIVE_MOVE_FORMAT = "Move (%d) must be positive.";
+  private static final String MISSING_UNIT_MOVE_FORMAT = "Move set %s must include 1.";
+  private static final String INVALID_MAX_MOVE_FORMAT = "Maximum move (%d) must be positive.";
+
+  private final int[] moves;
+  private final long[] members;
+  private final int max;
+  private final boolean contiguous;
+
+  private MoveSet(int[] moves) {
+    this.moves = moves;
+    max = moves[moves.length - 1];
+    contiguous = false;
+    members = new long[(max >> 6) + 1];
+    for (int move : moves) {
+      members[move >> 6] |= 1L << move;
+    }
+  }
+
+  private MoveSet(int maxMove) {
+    moves = null;
+    members = null;
+    max = maxMove;
+    contiguous = true;
+  }
+
+  /**
+   * Returns a {@code MoveSet} containing all of the integers from 1 to {@code maxMove}, inclusive.
+   *
+   * @param maxMove Largest quantity that may be added or subtracted in a single move.
+   * @return (See above.)
+   * @throws IllegalConfigurationException If {@code maxMove} is non-positive.
+   */
+  public static MoveSet contiguous(int maxMove) throws IllegalConfigurationException {
+    if (maxMove <= 0) {
+      throw new IllegalConfigurationException(String.format(INVALID_MAX_MOVE_FORMAT, maxMove));
+    }
+    return new MoveSet(maxMove);
+  }
+
+  /**
+   * Returns a {@code MoveSet} containing the specified moves. Duplicate values are ignored, and the
+   * order of the values is not significant.
+   *
+   * @param moves Quantities that may be added or subtracted in a single move.
+   * @return (See above.)
+   * @throws IllegalConfigurationException If {@code moves} is empty, includes a non-positive value,
+   *                                       or does not include 1.
+   */
+  public static MoveSet of(int... moves) throws IllegalConfigurationException {
+    if (moves.length == 0) {
+      throw new IllegalConfigurationException(EMPTY_SET_MESSAGE);
+    }
+    int[] sorted = Arrays.stream(moves).sorted().distinct().toArray();
+    if (sorted[0] <= 0) {
+      throw new IllegalConfigurationException(String.format(NON_POSITIVE_MOVE_FORMAT, sorted[0]));
+    }
+    if (sorted[0] != 1) {
+      throw new IllegalConfigurationException(
+          String.format(MISSING_UNIT_MOVE_FORMAT, Arrays.toString(sorted)));
+    }
+    return (sorted[sorted.length - 1] == sorted.length)
+        ? new MoveSet(sorted.length)
+        : new MoveSet(sorted);
+  }
+
+  /**
+   * Parses a comma-separated list of moves (e.g. {@code "1,3,4"}), as accepted by
+   * {@link #of(int...)}.
+   *
+   * @param moves Comma-separated list of moves.
+   * @return (See above.)
+   * @throws IllegalConfigurationException If the resulting set is not valid.
+   * @throws NumberFormatException         If any element of the list is not an integer.
+   */
+  public static MoveSet parse(String moves)
+      throws IllegalConfigurationException, NumberFormatException {
+    return of(Arrays.stream(moves.split(","))
+        .map(String::trim)
+        .filter((move) -> !move.isEmpty())
+        .mapToInt(Integer::parseInt)
+        .toArray());
+  }
+
+  /**
+   * Returns a flag indicating whether {@code move} is a member of this set.
+   *
+   * @param move Quantity to be added or subtracted.
+   * @return (See above.)
+   */
+  public boolean contains(int move) {
+    return move > 0
+        && move <= max
+        && (contiguous || (members[move >> 6] & (1L << move)) != 0);
+  }
+
+  /**
+   * Returns a flag indicating whether this set contains all of the integers from 1 to
+   * {@link #getMax()}.
+   *
+   * @return (See above.)
+   */
+  public boolean isContiguous() {
+    return contiguous;
+  }
+
+  /**
+   * Returns the largest move in this set.
+   *
+   * @return (See above.)
+   */
+  public int getMax() {
+    return max;
+  }
+
+  /**
+   * Returns the number of moves in this set.
+   *
+   * @return (See above.)
+   */
+  public int size() {
+    return contiguous ? max : moves.length;
+  }
+
+  /**
+   * Returns the move at the specified position in this set, where the moves are in ascending
+   * order.
+   *
+   * @param index Position of move, from 0 to {@code (size() - 1)}.
+   * @return (See above.)
+   */
+  public int get(int index) {
+    if (contiguous) {
+      if (index < 0 || index >= max) {
+        throw new IndexOutOfBoundsException(index);
+      }
+      return index + 1;
+    }
+    return moves[index];
+  }
+
+  /**
+   * Returns the number of moves in this set that do not exceed {@code limit}; these are the moves
+   * at positions 0 to {@code (countAtMost(limit) - 1)}.
+   *
+   * @param limit Largest move to be counted.
+   * @return (See above.)
+   */
+  public int countAtMost(int limit) {
+    if (contiguous) {
+      return Math.max(0, Math.min(limit, max));
+    }
+    int index = Arrays.binarySearch(moves, limit);
+    return (index >= 0) ? index + 1 : -index - 1;
+  }
+
+  /**
+   * Returns a copy of the moves in this set, in ascending order.
+   *
+   * @return (See above.)
+   */
+  public int[] toArray() {
+    if (contiguous) {
+      int[] moves = new int[max];
+      Arrays.setAll(moves, (i) -> i + 1);
+      return moves;
+    }
+    return moves.clone();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof MoveSet)) {
+      return false;
+    }
+    MoveSet other = (MoveSet) obj;
+    return max == other.max
+        && contiguous == other.contiguous
+        && (contiguous || Arrays.equals(moves, other.moves));
+  }
+
+  @Override
+  public int hashCode() {
+    return contiguous ? max : Arrays.hashCode(moves);
+  }
+
+  @Override
+  public String toString() {
+    if (contiguous) {
+      return String.format("{1..%d}", getMax());
+    }
+    StringJoiner joiner = new StringJoiner(", ", "{", "}");
+    for (int move : moves) {
+      joiner.add(String.valueOf(move));
+    }
+    return joiner.toString();
+  }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.model;
+
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.exception.IllegalConfigurationException;
+import java.util.Objects;
+
+/**
+ * Encapsulates the (immutable) configuration shared by any number of games: the {@link Operation},
+ * the upper bound, and the {@link MoveSet} of legal moves. Instances are value objects, suitable
+ * for use as keys in caches of precomputed data (e.g. solved positions) that depend only on the
+ * rules of the game.
+ */
+public final class Rules {
+
+  private static final String INVALID_UPPER_BOUND_MOVE_FORMAT =
+      "Game upper bound (%1$d) and max move (%2$d) must both be positive, with upper bound > max move.";
+
+  private final Operation operation;
+  private final int upperBound;
+  private final MoveSet moves;
+
+  /**
+   * Initializes this instance with the specified configuration parameters.
+   *
+   * @param operation  Direction of game (addition or subtraction).
+   * @param upperBound Target value (for addition game) or starting value (for subtraction game).
+   * @param moves      Quantities that may be added or subtracted in each move.
+   * @throws IllegalConfigurationException If {@code upperBound} is not greater than the largest
+   *                                       move in {@code moves}.
+   */
+  public Rules(Operation operation, int upperBound, MoveSet moves)
+      throws IllegalConfigurationException {
+    if (moves.getMax() >= upperBound) {
+      throw new IllegalConfigurationException(
+          String.format(INVALID_UPPER_BOUND_MOVE_FORMAT, upperBound, moves.getMax()));
+    }
+    this.operation = Objects.requireNonNull(operation);
+    this.upperBound = upperBound;
+    this.moves = moves;
+  }
+
+  /**
+   * Initializes this instance with the specified configuration parameters, and a contiguous
+   * {@link MoveSet} from 1 to {@code maxMove}.
+   *
+   * @param operation  Direction of game (addition or subtraction).
+   * @param upperBound Target value (for addition game) or starting value (for subtraction game).
+   * @param maxMove    Maximum quantity allowed to be added or subtracted in each move.
+   * @throws IllegalConfigurationException If {@code upperBound} or {@code maxMove} is non-positive,
+   *                                       or {@code (maxMove >= upperBound)}.
+   */
+  public Rules(Operation operation, int upperBound, int maxMove)
+      throws IllegalConfigurationException {
+    this(operation, upperBound, contiguousMoves(upperBound, maxMove));
+  }
+
+  /**
+   * Returns the {@link Operation} of games played under these rules.
+   *
+   * @return (See above.)
+   */
+  public Operation getOperation() {
+    return operation;
+  }
+
+  /**
+   * Returns the target value (for addition) or initial value (for subtraction).
+   *
+   * @return (See above.)
+   */
+  public int getUpperBound() {
+    return upperBound;
+  }
+
+  /**
+   * Returns the {@link MoveSet} of quantities that may be added or subtracted in each move.
+   *
+   * @return (See above.)
+   */
+  public MoveSet getMoves() {
+    return moves;
+  }
+
+  /**
+   * Returns the largest quantity that may be added or subtracted in a single move.
+   *
+   * @return (See above.)
+   */
+  public int getMaxMove() {
+    return moves.getMax();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof Rules)) {
+      return false;
+    }
+    Rules other = (Rules) obj;
+    return operation == other.operation
+        && upperBound == other.upperBound
+        && moves.equals(other.moves);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(operation, upperBound, moves);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s to %d, moves %s", operation, upperBound, moves);
+  }
+
+  private static MoveSet contiguousMoves(int upperBound, int maxMove) {
+    if (maxMove <= 0 || maxMove >= upperBound) {
+      throw new IllegalConfigurationException(
+          String.format(INVALID_UPPER_BOUND_MOVE_FORMAT, upperBound, maxMove));
+    }
+    return MoveSet.contiguous(maxMove);
+  }
+
+}
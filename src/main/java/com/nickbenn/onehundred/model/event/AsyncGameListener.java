@@ -0,0 +1,239 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.model.event;
+
+import com.nickbenn.onehundred.model.Game.State;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adapts a {@link GameListener} for asynchronous notification: events are recorded in a bounded
+ * ring buffer (of primitive arrays, so that queuing an event allocates nothing), and delivered to
+ * the delegate listener, in order, by a dedicated daemon thread. Events may be queued from any
+ * number of threads (e.g. when the same instance is registered with games played in parallel);
+ * when the buffer is full, the {@link Overflow} policy determines whether the notifying thread
+ * waits for space, or the event is discarded (and counted; see {@link #getDropped()}).
+ * <p>{@link #close()} delivers all queued events, and then stops the delivery thread. An
+ * exception thrown by the delegate does not stop delivery of subsequent events; the first such
+ * exception is rethrown by {@link #close()}.</p>
+ */
+public final class AsyncGameListener implements GameListener, AutoCloseable {
+
+  /** Capacity of the event buffer, if not otherwise specified. */
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private static final String INVALID_CAPACITY_FORMAT = "Capacity (%d) must be positive.";
+  private static final String CLOSED_MESSAGE = "Listener is closed.";
+  private static final String THREAD_NAME = "game-listener";
+  private static final int MOVE_APPLIED = 0;
+  private static final int ILLEGAL_MOVE = 1;
+  private static final int GAME_FINISHED = 2;
+
+  private final GameListener delegate;
+  private final Overflow overflow;
+  private final int[] types;
+  private final State[] states;
+  private final int[] moves;
+  private final int[] values;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+  private final Thread thread;
+
+  private int head;
+  private int size;
+  private boolean closed;
+  private long dropped;
+  private RuntimeException failure;
+
+  /**
+   * Initializes this instance with the specified delegate listener, a buffer of
+   * {@link #DEFAULT_CAPACITY} events, and the {@link Overflow#BLOCK} policy, and starts the
+   * delivery thread.
+   *
+   * @param delegate Listener to which events are delivered.
+   */
+  public AsyncGameListener(GameListener delegate) {
+    this(delegate, DEFAULT_CAPACITY, Overflow.BLOCK);
+  }
+
+  /**
+   * Initializes this instance with the specified delegate listener, buffer capacity, and overflow
+   * policy, and starts the delivery thread.
+   *
+   * @param delegate Listener to which events are delivered.
+   * @param capacity Maximum number of events queued for delivery.
+   * @param overflow Handling of events queued when the buffer is full.
+   * @throws IllegalArgumentException If {@code capacity} is not positive.
+   */
+  public AsyncGameListener(GameListener delegate, int capacity, Overflow overflow)
+      throws IllegalArgumentException {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException(String.format(INVALID_CAPACITY_FORMAT, capacity));
+    }
+    this.delegate = delegate;
+    this.overflow = overflow;
+    types = new int[capacity];
+    states = new State[capacity];
+    moves = new int[capacity];
+    values = new int[capacity];
+    thread = new Thread(this::deliver, THREAD_NAME);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @Override
+  public void moveApplied(State mover, int move, int count) {
+    enqueue(MOVE_APPLIED, mover, move, count);
+  }
+
+  @Override
+  public void illegalMove(State mover, int move, int reason) {
+    enqueue(ILLEGAL_MOVE, mover, move, reason);
+  }
+
+  @Override
+  public void gameFinished(State result, int moves) {
+    enqueue(GAME_FINISHED, result, moves, 0);
+  }
+
+  /**
+   * Returns the number of events discarded because the buffer was full (always zero with the
+   * {@link Overflow#BLOCK} policy).
+   *
+   * @return (See above.)
+   */
+  public long getDropped() {
+    lock.lock();
+    try {
+      return dropped;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Delivers all queued events to the delegate listener, and stops the delivery thread; no
+   * further events may be queued. If the current thread is interrupted while waiting for delivery
+   * to complete, it continues to wait, and its interrupt status is then restored.
+   *
+   * @throws RuntimeException If the delegate listener threw an exception while handling any event
+   *                          (the first such exception is rethrown).
+   */
+  @Override
+  public void close() throws RuntimeException {
+    lock.lock();
+    try {
+      closed = true;
+      notEmpty.signalAll();
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    boolean interrupted = false;
+    while (thread.isAlive()) {
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private void enqueue(int type, State state, int move, int value) {
+    lock.lock();
+    try {
+      while (size == types.length && !closed) {
+        if (overflow == Overflow.DROP) {
+          dropped++;
+          return;
+        }
+        notFull.awaitUninterruptibly();
+      }
+      if (closed) {
+        throw new IllegalStateException(CLOSED_MESSAGE);
+      }
+      int tail = (head + size) % types.length;
+      types[tail] = type;
+      states[tail] = state;
+      moves[tail] = move;
+      values[tail] = value;
+      size++;
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void deliver() {
+    int capacity = types.length;
+    int[] types = new int[capacity];
+    State[] states = new State[capacity];
+    int[] moves = new int[capacity];
+    int[] values = new int[capacity];
+    while (true) {
+      int count;
+      lock.lock();
+      try {
+        while (size == 0 && !closed) {
+          notEmpty.awaitUninterruptibly();
+        }
+        if (size == 0) {
+          break;
+        }
+        count = size;
+        for (int i = 0; i < count; i++) {
+          int index = (head + i) % capacity;
+          types[i] = this.types[index];
+          states[i] = this.states[index];
+          moves[i] = this.moves[index];
+          values[i] = this.values[index];
+        }
+        head = (head + count) % capacity;
+        size = 0;
+        notFull.signalAll();
+      } finally {
+        lock.unlock();
+      }
+      for (int i = 0; i < count; i++) {
+        try {
+          switch (types[i]) {
+            case MOVE_APPLIED:
+              delegate.moveApplied(states[i], moves[i], values[i]);
+              break;
+            case ILLEGAL_MOVE:
+              delegate.illegalMove(states[i], moves[i], values[i]);
+              break;
+            default:
+              delegate.gameFinished(states[i], moves[i]);
+              break;
+          }
+        } catch (RuntimeException e) {
+          if (failure == null) {
+            failure = e;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Enumerates the policies for handling an event queued when the buffer is full.
+   */
+  public enum Overflow {
+
+    /** The notifying thread waits until space is available in the buffer. */
+    BLOCK,
+    /** The event is discarded, and counted in {@link AsyncGameListener#getDropped()}. */
+    DROP
+
+  }
+
+}
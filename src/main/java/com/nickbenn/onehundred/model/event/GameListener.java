@@ -0,0 +1,56 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.model.event;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.State;
+
+/**
+ * Receives notification of the events in a {@link Game}, as registered with
+ * {@link Game#addListener(GameListener)} (or via a
+ * {@link com.nickbenn.onehundred.controller.Referee}). All of the event payloads are primitive
+ * values and {@code enum} constants, so that no objects are allocated to notify a listener, and a
+ * notification may be queued without capturing the (mutable) game itself.
+ * <p>Notifications are delivered synchronously, on the thread playing the game, in the order in
+ * which the events occur; a listener that performs blocking or expensive work should be wrapped in
+ * an {@link AsyncGameListener}. All methods have empty default implementations, so that a
+ * listener need only implement those for the events of interest.</p>
+ */
+public interface GameListener {
+
+  /**
+   * Notifies this listener that a move has been applied.
+   *
+   * @param mover State (i.e. {@link State#PLAYER_ONE_MOVE} or {@link State#PLAYER_TWO_MOVE})
+   *              identifying the player making the move.
+   * @param move  Quantity added or subtracted.
+   * @param count Count resulting from the move.
+   */
+  default void moveApplied(State mover, int move, int count) {
+  }
+
+  /**
+   * Notifies this listener that a move has been rejected, leaving the game unchanged.
+   *
+   * @param mover  State identifying the player attempting the move (or the terminal state, if the
+   *               game is already finished).
+   * @param move   Quantity attempted.
+   * @param reason Result code ({@link Game#MOVE_REJECTED_FINISHED},
+   *               {@link Game#MOVE_REJECTED_SIZE}, or {@link Game#MOVE_REJECTED_OVERSHOOT})
+   *               indicating the reason for rejection.
+   */
+  default void illegalMove(State mover, int move, int reason) {
+  }
+
+  /**
+   * Notifies this listener that the game has finished; this follows the notification of the
+   * winning move.
+   *
+   * @param result Terminal state ({@link State#PLAYER_ONE_WIN} or {@link State#PLAYER_TWO_WIN}).
+   * @param moves  Number of moves played (see {@link Game#getMoveCount()}).
+   */
+  default void gameFinished(State result, int moves) {
+  }
+
+}
@@ -0,0 +1,10 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+
+/**
+ * Observer interface for the events in a {@link com.nickbenn.onehundred.model.Game} (moves
+ * applied, illegal moves rejected, and games finished), along with an adapter that dispatches those
+ * events asynchronously, through a bounded queue.
+ */
+package com.nickbenn.onehundred.model.event;
@@ -0,0 +1,376 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.strategy;
+
+import com.nickbenn.onehundred.metrics.MctsSearchEvent;
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.MoveSet;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * Implements a Monte Carlo tree search (MCTS) strategy, which requires no knowledge of the game
+ * beyond its rules, and is thus applicable to any {@link MoveSet}. From the current position, the
+ * search repeatedly selects a path through a tree of positions (using the UCT formula to balance
+ * exploration and exploitation), expands the tree by one position, plays a random game (a
+ * <em>rollout</em>) from there to completion, and propagates the outcome back up the path. When
+ * the wall-clock budget is exhausted, the most-visited move from the current position is selected.
+ * <p>A position is fully described by the remaining quantity, so the state copied into each tree
+ * node and rollout is a single {@code int}. Rollouts run on multiple threads, all sharing one tree:
+ * child nodes are attached with a compare-and-set, and visit and win counts are updated with atomic
+ * increments (with each visit counted before its rollout, as a "virtual loss" that steers
+ * concurrent searches apart), so no locks are taken during the search. The thread invoking
+ * {@link #getNextMove(Game)} searches alongside helper tasks submitted to a single
+ * {@link ForkJoinPool}, shared by all instances and sized to the number of available processors;
+ * thus, however many searches run at once (e.g. in a tournament), the number of helper threads is
+ * bounded. A helper that does not start until after the deadline performs a single iteration.</p>
+ * <p>The budget (in milliseconds) and number of search threads default to the values of the
+ * {@value #BUDGET_PROPERTY} and {@value #THREADS_PROPERTY} system properties (or
+ * {@link #DEFAULT_BUDGET_MILLIS} and the number of available processors), and may be changed with
+ * {@link #setBudgetMillis(long)} and {@link #setThreads(int)}. Cumulative search statistics,
+ * including the number of nodes created per second, are available from {@link #getNodes()},
+ * {@link #getIterations()}, and {@link #getNodesPerSecond()}; when the
+ * {@link com.nickbenn.onehundred.metrics.MctsSearchEvent} JFR event is enabled, the statistics of
+ * each search are also recorded in that event.</p>
+ */
+@SuppressWarnings("unused")
+public class MctsStrategy extends Strategy {
+
+  /** System property specifying the default per-move search budget, in milliseconds. */
+  public static final String BUDGET_PROPERTY = "onehundred.mcts.budget";
+  /** System property specifying the default number of search threads. */
+  public static final String THREADS_PROPERTY = "onehundred.mcts.threads";
+  /** Per-move search budget, in milliseconds, if not otherwise specified. */
+  public static final long DEFAULT_BUDGET_MILLIS = 100;
+
+  private static final String INVALID_BUDGET_FORMAT = "Search budget (%d) must be positive.";
+  private static final String INVALID_THREADS_FORMAT = "Search threads (%d) must be positive.";
+  private static final String TO_STRING_FORMAT =
+      "%1$s[budget=%2$d ms, threads=%3$d, iterations=%4$d, nodes=%5$d, nodes/s=%6$.0f]";
+  private static final double EXPLORATION = Math.sqrt(2);
+
+  private final LongAdder iterations = new LongAdder();
+  private final LongAdder nodes = new LongAdder();
+  private final LongAdder searchNanos = new LongAdder();
+
+  private long budgetMillis = Long.getLong(BUDGET_PROPERTY, DEFAULT_BUDGET_MILLIS);
+  private int threads =
+      Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
+
+  /**
+   * Initializes this strategy with the specified source of randomness, from which the sources of
+   * randomness for the search threads are split.
+   *
+   * @param rng Source of randomness.
+   */
+  public MctsStrategy(RandomGenerator rng) {
+    super(rng);
+  }
+
+  @Override
+  public int getNextMove(Game game) {
+    MoveSet moves = game.getMoves();
+    int remaining = game.getRemaining();
+    int legal = moves.countAtMost(remaining);
+    if (moves.contains(remaining)) {
+      return remaining;
+    }
+    if (legal <= 1) {
+      return moves.get(0);
+    }
+    return search(moves, remaining);
+  }
+
+  /**
+   * Returns the wall-clock budget for each move selection, in milliseconds.
+   *
+   * @return (See above.)
+   */
+  public long getBudgetMillis() {
+    return budgetMillis;
+  }
+
+  /**
+   * Sets the wall-clock budget for each move selection, in milliseconds.
+   *
+   * @param budgetMillis (See above.)
+   * @throws IllegalArgumentException If {@code budgetMillis} is not positive.
+   */
+  public void setBudgetMillis(long budgetMillis) throws IllegalArgumentException {
+    if (budgetMillis <= 0) {
+      throw new IllegalArgumentException(String.format(INVALID_BUDGET_FORMAT, budgetMillis));
+    }
+    this.budgetMillis = budgetMillis;
+  }
+
+  /**
+   * Returns the number of threads performing rollouts in each search.
+   *
+   * @return (See above.)
+   */
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * Sets the number of threads performing rollouts in each search (including the thread invoking
+   * {@link #getNextMove(Game)}). Since the helper threads are drawn from a pool shared by all
+   * instances, and sized to the number of available processors, fewer threads may actually take
+   * part in a search.
+   *
+   * @param threads (See above.)
+   * @throws IllegalArgumentException If {@code threads} is not positive.
+   */
+  public void setThreads(int threads) throws IllegalArgumentException {
+    if (threads <= 0) {
+      throw new IllegalArgumentException(String.format(INVALID_THREADS_FORMAT, threads));
+    }
+    this.threads = threads;
+  }
+
+  /**
+   * Returns the total number of search iterations (each ending in a rollout) performed by this
+   * instance.
+   *
+   * @return (See above.)
+   */
+  public long getIterations() {
+    return iterations.sum();
+  }
+
+  /**
+   * Returns the total number of tree nodes created by this instance.
+   *
+   * @return (See above.)
+   */
+  public long getNodes() {
+    return nodes.sum();
+  }
+
+  /**
+   * Returns the number of tree nodes created per second of search (wall-clock) time, over all
+   * searches performed by this instance, or zero if no search has been performed.
+   *
+   * @return (See above.)
+   */
+  public double getNodesPerSecond() {
+    long nanos = searchNanos.sum();
+    return (nanos > 0) ? nodes.sum() * 1e9 / nanos : 0;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(TO_STRING_FORMAT, getClass().getSimpleName(), budgetMillis, threads,
+        getIterations(), getNodes(), getNodesPerSecond());
+  }
+
+  private int search(MoveSet moves, int remaining) {
+    MctsSearchEvent event = new MctsSearchEvent();
+    long startIterations = 0;
+    long startNodes = 0;
+    if (event.isEnabled()) {
+      startIterations = iterations.sum();
+      startNodes = nodes.sum();
+      event.begin();
+    }
+    long start = System.nanoTime();
+    long deadline = start + budgetMillis * 1_000_000;
+    Node root = new Node(remaining, moves.countAtMost(remaining));
+    nodes.increment();
+    int helpers = threads - 1;
+    List<Future<?>> futures = new ArrayList<>(helpers);
+    for (int i = 0; i < helpers; i++) {
+      RandomGenerator rng = splitRng();
+      futures.add(SearchPool.POOL.submit(() -> searchUntil(root, moves, deadline, rng)));
+    }
+    searchUntil(root, moves, deadline, splitRng());
+    try {
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+    searchNanos.add(System.nanoTime() - start);
+    int best = 0;
+    long bestVisits = -1;
+    for (int i = 0; i < root.children.length(); i++) {
+      Node child = root.children.get(i);
+      long visits = (child != null) ? child.getVisits() : 0;
+      if (visits > bestVisits) {
+        best = i;
+        bestVisits = visits;
+      }
+    }
+    int move = moves.get(best);
+    if (event.isEnabled()) {
+      event.complete(getKey(), remaining, move, threads, iterations.sum() - startIterations,
+          nodes.sum() - startNodes);
+    }
+    return move;
+  }
+
+  private RandomGenerator splitRng() {
+    RandomGenerator rng = getRng();
+    return (rng instanceof SplittableGenerator)
+        ? ((SplittableGenerator) rng).split()
+        : new SplittableRandom(rng.nextLong());
+  }
+
+  private void searchUntil(Node root, MoveSet moves, long deadline, RandomGenerator rng) {
+    List<Node> path = new ArrayList<>();
+    long count = 0;
+    do {
+      path.clear();
+      Node node = root;
+      node.addVisit();
+      path.add(node);
+      boolean moverWins;
+      while (true) {
+        if (node.remaining == 0) {
+          moverWins = true;
+          break;
+        }
+        Node child = expand(node, moves);
+        if (child != null) {
+          child.addVisit();
+          path.add(child);
+          moverWins = !rollout(child.remaining, moves, rng);
+          break;
+        }
+        node = select(node);
+        node.addVisit();
+        path.add(node);
+      }
+      for (int i = path.size() - 1; i > 0; i--) {
+        if (moverWins) {
+          path.get(i).addWin();
+        }
+        moverWins = !moverWins;
+      }
+      count++;
+    } while (System.nanoTime() < deadline);
+    iterations.add(count);
+  }
+
+  private Node expand(Node node, MoveSet moves) {
+    AtomicReferenceArray<Node> children = node.children;
+    for (int i = 0; i < children.length(); i++) {
+      if (children.get(i) == null) {
+        int next = node.remaining - moves.get(i);
+        Node child = new Node(next, moves.countAtMost(next));
+        if (children.compareAndSet(i, null, child)) {
+          nodes.increment();
+          return child;
+        }
+      }
+    }
+    return null;
+  }
+
+  private Node select(Node node) {
+    AtomicReferenceArray<Node> children = node.children;
+    double logVisits = Math.log(Math.max(1, node.getVisits()));
+    Node best = null;
+    double bestValue = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < children.length(); i++) {
+      Node child = children.get(i);
+      long visits = Math.max(1, child.getVisits());
+      double value = (double) child.getWins() / visits
+          + EXPLORATION * Math.sqrt(logVisits / visits);
+      if (value > bestValue) {
+        best = child;
+        bestValue = value;
+      }
+    }
+    return best;
+  }
+
+  /*
+   * Plays random legal moves (taking an immediate win when one is available) from the specified
+   * position until the target is reached, returning true if the player to move in that position
+   * makes the final move.
+   */
+  private static boolean rollout(int remaining, MoveSet moves, RandomGenerator rng) {
+    boolean toMove = true;
+    while (remaining > 0) {
+      int move = moves.contains(remaining)
+          ? remaining
+          : moves.get(rng.nextInt(Math.max(1, moves.countAtMost(remaining))));
+      remaining -= move;
+      toMove = !toMove;
+    }
+    return !toMove;
+  }
+
+  private static final class Node {
+
+    private static final VarHandle VISITS;
+    private static final VarHandle WINS;
+
+    static {
+      try {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        VISITS = lookup.findVarHandle(Node.class, "visits", long.class);
+        WINS = lookup.findVarHandle(Node.class, "wins", long.class);
+      } catch (ReflectiveOperationException e) {
+        throw new ExceptionInInitializerError(e);
+      }
+    }
+
+    private final int remaining;
+    private final AtomicReferenceArray<Node> children;
+
+    @SuppressWarnings("FieldMayBeFinal")
+    private volatile long visits;
+    @SuppressWarnings("FieldMayBeFinal")
+    private volatile long wins;
+
+    Node(int remaining, int legalMoves) {
+      this.remaining = remaining;
+      children = new AtomicReferenceArray<>(legalMoves);
+    }
+
+    long getVisits() {
+      return visits;
+    }
+
+    long getWins() {
+      return wins;
+    }
+
+    void addVisit() {
+      VISITS.getAndAdd(this, 1L);
+    }
+
+    void addWin() {
+      WINS.getAndAdd(this, 1L);
+    }
+
+  }
+
+  private static class SearchPool {
+
+    private static final ForkJoinPool POOL =
+        new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+  }
+
+}
@@ -4,28 +4,42 @@
 package com.nickbenn.onehundred.strategy;
 
 import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.GameBatch;
+import com.nickbenn.onehundred.model.LongGame;
+import com.nickbenn.onehundred.model.Rules;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Implements an optimal strategy for the normal (non-mis&#x00e8;re) form of the One Hundred game.
  * Note that a winning move is not always possible in all game states; a random move will be
  * selected by this strategy when this is the case.
+ * <p>The closed-form solution used here applies only to a contiguous {@link MoveSet}; for any other
+ * move set, the move selection is delegated to {@link TableStrategy} (or, for a {@link LongGame},
+ * to {@link PeriodicStrategy}).</p>
  */
 @SuppressWarnings("unused")
 public class OptimalStrategy extends Strategy {
 
+  private final TableStrategy tableStrategy;
+  private final PeriodicStrategy periodicStrategy;
+
   /**
    * Initializes this strategy with the specified source of randomness.
    *
    * @param rng Source of randomness for random moves.
    */
-  public OptimalStrategy(Random rng) {
+  public OptimalStrategy(RandomGenerator rng) {
     super(rng);
+    tableStrategy = new TableStrategy(rng);
+    periodicStrategy = new PeriodicStrategy(rng);
   }
 
   @Override
   public int getNextMove(Game game) {
+    if (!game.getMoves().isContiguous()) {
+      return tableStrategy.getNextMove(game);
+    }
     int maxMove = game.getMaxMove();
     int modulus = maxMove + 1;
     int gap = Math.abs(game.getUpperBound() * ((1 + game.getOperation().sign()) >> 1) - game.getCurrentCount());
@@ -33,4 +47,50 @@ public class OptimalStrategy extends Strategy {
     return (remainder > 0) ? remainder : Math.min(gap, getRng().nextInt(maxMove) + 1);
   }
 
+  @Override
+  public void getMoveDistribution(Rules rules, int remaining, double[] distribution) {
+    if (!rules.getMoves().isContiguous()) {
+      tableStrategy.getMoveDistribution(rules, remaining, distribution);
+      return;
+    }
+    int maxMove = rules.getMaxMove();
+    int remainder = remaining % (maxMove + 1);
+    if (remainder > 0) {
+      distribution[remainder] = 1;
+    } else {
+      for (int move = 1; move <= maxMove; move++) {
+        distribution[Math.min(remaining, move)] += 1.0 / maxMove;
+      }
+    }
+  }
+
+  @Override
+  public int getNextMove(LongGame game) {
+    if (!game.getMoves().isContiguous()) {
+      return periodicStrategy.getNextMove(game);
+    }
+    int maxMove = game.getMaxMove();
+    long gap = game.getRemaining();
+    int remainder = (int) (gap % (maxMove + 1));
+    return (remainder > 0) ? remainder : (int) Math.min(gap, getRng().nextInt(maxMove) + 1);
+  }
+
+  @Override
+  public void getNextMoves(GameBatch batch, int[] moves) {
+    if (!batch.getMoves().isContiguous()) {
+      super.getNextMoves(batch, moves);
+      return;
+    }
+    RandomGenerator rng = getRng();
+    int maxMove = batch.getMaxMove();
+    int modulus = maxMove + 1;
+    for (int i = 0; i < batch.size(); i++) {
+      int gap = batch.getRemaining(i);
+      int remainder = gap % modulus;
+      moves[i] = (remainder > 0 || gap == 0)
+          ? remainder
+          : Math.min(gap, rng.nextInt(maxMove) + 1);
+    }
+  }
+
 }
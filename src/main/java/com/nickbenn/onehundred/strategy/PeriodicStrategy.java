@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.strategy;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.LongGame;
+import com.nickbenn.onehundred.model.MoveSet;
+import com.nickbenn.onehundred.model.Rules;
+import java.util.random.RandomGenerator;
+
+/**
+ * Implements an optimal strategy for the normal (non-mis&#x00e8;re) form of the game with an
+ * arbitrary {@link MoveSet}, using a {@link PeriodicTable}. Unlike {@link TableStrategy}, the
+ * memory required by this strategy is independent of the upper bound of the game, so it is
+ * suitable for very large bounds. When a winning move is not possible, a legal move is selected at
+ * random. For move sets with a maximum move exceeding {@link PeriodicTable#MAX_SUPPORTED_MOVE},
+ * move selection is delegated to {@link TableStrategy}; since that is not possible for a
+ * {@link LongGame}, such move sets are not supported in that case.
+ */
+@SuppressWarnings("unused")
+public class PeriodicStrategy extends Strategy {
+
+  private final TableStrategy tableStrategy;
+
+  private PeriodicTable table;
+
+  /**
+   * Initializes this strategy with the specified source of randomness.
+   *
+   * @param rng Source of randomness for random moves.
+   */
+  public PeriodicStrategy(RandomGenerator rng) {
+    super(rng);
+    tableStrategy = new TableStrategy(rng);
+  }
+
+  @Override
+  public int getNextMove(Game game) {
+    MoveSet moves = game.getMoves();
+    if (moves.getMax() > PeriodicTable.MAX_SUPPORTED_MOVE) {
+      return tableStrategy.getNextMove(game);
+    }
+    int remaining = game.getRemaining();
+    int move = getTable(moves).getWinningMove(remaining);
+    return (move > 0) ? move : TableStrategy.randomMove(moves, remaining, getRng());
+  }
+
+  @Override
+  public void getMoveDistribution(Rules rules, int remaining, double[] distribution) {
+    MoveSet moves = rules.getMoves();
+    if (moves.getMax() > PeriodicTable.MAX_SUPPORTED_MOVE) {
+      tableStrategy.getMoveDistribution(rules, remaining, distribution);
+      return;
+    }
+    int move = getTable(moves).getWinningMove(remaining);
+    if (move > 0) {
+      distribution[move] = 1;
+    } else {
+      TableStrategy.randomMoveDistribution(moves, remaining, distribution);
+    }
+  }
+
+  @Override
+  public int getNextMove(LongGame game) throws UnsupportedOperationException {
+    MoveSet moves = game.getMoves();
+    if (moves.getMax() > PeriodicTable.MAX_SUPPORTED_MOVE) {
+      return super.getNextMove(game);
+    }
+    long remaining = game.getRemaining();
+    int move = getTable(moves).getWinningMove(remaining);
+    return (move > 0)
+        ? move
+        : TableStrategy.randomMove(moves, (int) Math.min(remaining, Integer.MAX_VALUE), getRng());
+  }
+
+  /**
+   * Returns the {@link PeriodicTable} most recently used by this strategy, or {@code null} if no
+   * move has yet been selected. The pre-period and period reported by the table are intended
+   * primarily for diagnostic purposes.
+   *
+   * @return (See above.)
+   */
+  public PeriodicTable getTable() {
+    return table;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s[%s]", getClass().getSimpleName(), table);
+  }
+
+  PeriodicTable getTable(MoveSet moves) {
+    PeriodicTable table = this.table;
+    if (table == null || !table.getMoves().equals(moves)) {
+      table = PeriodicTable.forMoves(moves);
+      this.table = table;
+    }
+    return table;
+  }
+
+}
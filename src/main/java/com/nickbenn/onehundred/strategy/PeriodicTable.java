@@ -0,0 +1,182 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.strategy;
+
+import com.nickbenn.onehundred.model.MoveSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records the losing positions (P-positions) of the game for a given {@link MoveSet}, for
+ * <em>any</em> remaining quantity, using storage proportional only to the pre-period and period of
+ * the win/loss sequence. For any finite move set, the outcome of each position is determined by the
+ * outcomes of the preceding {@code moves.getMax()} positions; since there are finitely many such
+ * windows, the sequence is eventually periodic.
+ * <p>The sequence is computed incrementally, one position at a time, and each window of
+ * {@code moves.getMax()} outcomes is recorded (as the bits of a {@code long}) along with the
+ * position at which it first occurred. As soon as a window recurs, the pre-period and period are
+ * known, and computation stops. Tables are cached and shared, by move set, via
+ * {@link #forMoves(MoveSet)}.</p>
+ */
+public final class PeriodicTable {
+
+  /** Largest maximum move for which periodicity detection is supported. */
+  public static final int MAX_SUPPORTED_MOVE = Long.SIZE - 1;
+
+  private static final String UNSUPPORTED_MOVES_FORMAT =
+      "Periodicity detection supports a maximum move of at most %1$d; move set %2$s exceeds this.";
+  private static final String NEGATIVE_REMAINING_FORMAT =
+      "Remaining quantity (%d) must not be negative.";
+  private static final String TO_STRING_FORMAT = "moves %1$s: pre-period %2$d, period %3$d";
+  private static final ConcurrentMap<MoveSet, PeriodicTable> CACHE = new ConcurrentHashMap<>();
+
+  private final MoveSet moves;
+  private final int preperiod;
+  private final int period;
+  private final long[] losing;
+
+  private PeriodicTable(MoveSet moves) {
+    this.moves = moves;
+    int maxMove = moves.getMax();
+    long windowMask = (maxMove == MAX_SUPPORTED_MOVE) ? Long.MAX_VALUE : (1L << maxMove) - 1;
+    long movesMask = 0;
+    for (int i = 0; i < moves.size(); i++) {
+      movesMask |= 1L << (moves.get(i) - 1);
+    }
+    Map<Long, Integer> firstOccurrence = new HashMap<>();
+    long[] outcomes = new long[1];
+    long window = 0;
+    int preperiod;
+    int period;
+    for (int position = 0; ; position++) {
+      boolean positionLosing = (window & movesMask) == 0;
+      if ((position >> 6) >= outcomes.length) {
+        outcomes = Arrays.copyOf(outcomes, outcomes.length * 2);
+      }
+      if (positionLosing) {
+        outcomes[position >> 6] |= 1L << position;
+      }
+      window = ((window << 1) | (positionLosing ? 1 : 0)) & windowMask;
+      if (position >= maxMove - 1) {
+        Integer previous = firstOccurrence.putIfAbsent(window, position);
+        if (previous != null) {
+          preperiod = previous - maxMove + 1;
+          period = position - previous;
+          break;
+        }
+      }
+    }
+    this.preperiod = preperiod;
+    this.period = period;
+    losing = Arrays.copyOf(outcomes, ((preperiod + period) >> 6) + 1);
+  }
+
+  /**
+   * Returns a (possibly cached) table for the specified {@link MoveSet}. A new table is computed
+   * without blocking lookups of other move sets; if several threads request a new table for the
+   * same move set at once, each may compute one, but only the first to be cached is retained.
+   *
+   * @param moves Quantities that may be added or subtracted in each move.
+   * @return (See above.)
+   * @throws IllegalArgumentException If the largest move in {@code moves} exceeds
+   *                                  {@link #MAX_SUPPORTED_MOVE}.
+   */
+  public static PeriodicTable forMoves(MoveSet moves) throws IllegalArgumentException {
+    if (moves.getMax() > MAX_SUPPORTED_MOVE) {
+      throw new IllegalArgumentException(
+          String.format(UNSUPPORTED_MOVES_FORMAT, MAX_SUPPORTED_MOVE, moves));
+    }
+    PeriodicTable table = CACHE.get(moves);
+    if (table == null) {
+      PeriodicTable computed = new PeriodicTable(moves);
+      table = CACHE.putIfAbsent(moves, computed);
+      if (table == null) {
+        table = computed;
+      }
+    }
+    return table;
+  }
+
+  /**
+   * Returns a flag indicating whether the player to move, with {@code remaining} left to reach the
+   * target, will lose against optimal play.
+   *
+   * @param remaining Distance from the current count to the target.
+   * @return (See above.)
+   * @throws IllegalArgumentException If {@code remaining} is negative.
+   */
+  public boolean isLosing(long remaining) throws IllegalArgumentException {
+    if (remaining < 0) {
+      throw new IllegalArgumentException(String.format(NEGATIVE_REMAINING_FORMAT, remaining));
+    }
+    int index = reduce(remaining);
+    return (losing[index >> 6] & (1L << index)) != 0;
+  }
+
+  /**
+   * Returns a move that leaves the opponent in a losing position, or 0 if there is no such
+   * move&mdash;that is, if {@code remaining} is itself a losing position.
+   *
+   * @param remaining Distance from the current count to the target.
+   * @return (See above.)
+   * @throws IllegalArgumentException If {@code remaining} is negative.
+   */
+  public int getWinningMove(long remaining) throws IllegalArgumentException {
+    if (isLosing(remaining)) {
+      return 0;
+    }
+    for (int i = 0, limit = moves.countAtMost((int) Math.min(remaining, Integer.MAX_VALUE));
+        i < limit; i++) {
+      int move = moves.get(i);
+      if (isLosing(remaining - move)) {
+        return move;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Returns the {@link MoveSet} for which this table was computed.
+   *
+   * @return (See above.)
+   */
+  public MoveSet getMoves() {
+    return moves;
+  }
+
+  /**
+   * Returns the length of the initial, non-repeating portion of the win/loss sequence. (This is an
+   * upper bound on the minimal pre-period, since periodicity is detected on windows of
+   * {@code moves.getMax()} positions.)
+   *
+   * @return (See above.)
+   */
+  public int getPreperiod() {
+    return preperiod;
+  }
+
+  /**
+   * Returns the period of the win/loss sequence, after the pre-period.
+   *
+   * @return (See above.)
+   */
+  public int getPeriod() {
+    return period;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(TO_STRING_FORMAT, moves, preperiod, period);
+  }
+
+  private int reduce(long remaining) {
+    return (remaining < preperiod + period)
+        ? (int) remaining
+        : (int) (preperiod + (remaining - preperiod) % period);
+  }
+
+}
@@ -4,8 +4,11 @@
 package com.nickbenn.onehundred.strategy;
 
 import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.LongGame;
+import com.nickbenn.onehundred.model.MoveSet;
+import com.nickbenn.onehundred.model.Rules;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Implements a random strategy for the normal (non-mis&#x00e8;re) form of the One Hundred game.
@@ -14,7 +17,8 @@ import java.util.Random;
  *   <li><p>If an available move results in an immediate win, this move will be selected.</p></li>
  *   <li><p>If no available move results in an immediate win, one of the available moves will be
  *   selected at random, with all such moves equally likely to be selected (assuming that the source
- *   of randomness is unbiased).</p></li>
+ *   of randomness is unbiased). Only legal moves&mdash;those in the {@link MoveSet} of the game,
+ *   and not overshooting the target&mdash;are considered available.</p></li>
  * </ul>
  */
 @SuppressWarnings("unused")
@@ -25,15 +29,32 @@ public class RandomStrategy extends Strategy {
    *
    * @param rng Source of randomness for random moves.
    */
-  public RandomStrategy(Random rng) {
+  public RandomStrategy(RandomGenerator rng) {
     super(rng);
   }
 
   @Override
   public int getNextMove(Game game) {
-    int winGap = game.getUpperBound() - game.getCurrentCount();
-    int maxMove = game.getMaxMove();
-    return (winGap <= maxMove) ? winGap : (getRng().nextInt(maxMove) + 1);
+    int winGap = game.getRemaining();
+    MoveSet moves = game.getMoves();
+    return moves.contains(winGap) ? winGap : TableStrategy.randomMove(moves, winGap, getRng());
+  }
+
+  @Override
+  public void getMoveDistribution(Rules rules, int remaining, double[] distribution) {
+    MoveSet moves = rules.getMoves();
+    if (moves.contains(remaining)) {
+      distribution[remaining] = 1;
+    } else {
+      TableStrategy.randomMoveDistribution(moves, remaining, distribution);
+    }
+  }
+
+  @Override
+  public int getNextMove(LongGame game) {
+    int winGap = (int) Math.min(game.getRemaining(), Integer.MAX_VALUE);
+    MoveSet moves = game.getMoves();
+    return moves.contains(winGap) ? winGap : TableStrategy.randomMove(moves, winGap, getRng());
   }
 
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.strategy;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Derives independent, thread-confined sources of randomness from a single master seed. Each
+ * invocation of {@link #split()} returns a new {@link SplittableRandom}, split from a master
+ * generator; the sequence of generators returned (and thus the values they produce) depends only on
+ * the seed and on the order of the {@link #split()} invocations. A parallel computation is therefore
+ * reproducible from the seed, as long as the streams are split (e.g. one or more per worker)
+ * before the work is distributed among threads.
+ */
+public final class RandomStreams {
+
+  private final long seed;
+  private final SplittableRandom master;
+
+  /**
+   * Initializes this instance with the specified master seed.
+   *
+   * @param seed Seed from which all streams are derived.
+   */
+  public RandomStreams(long seed) {
+    this.seed = seed;
+    master = new SplittableRandom(seed);
+  }
+
+  /**
+   * Initializes this instance with a master seed selected at random; the seed may be retrieved
+   * (e.g. for reporting, so that a run can be reproduced) with {@link #getSeed()}.
+   */
+  public RandomStreams() {
+    this(new SplittableRandom().nextLong());
+  }
+
+  /**
+   * Returns a new source of randomness, statistically independent of all others returned by this
+   * instance. The generator returned is not thread-safe, and should be confined to a single thread.
+   *
+   * @return (See above.)
+   */
+  public synchronized RandomGenerator split() {
+    return master.split();
+  }
+
+  /**
+   * Returns the master seed from which all streams are derived.
+   *
+   * @return (See above.)
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+}
@@ -4,36 +4,45 @@
 package com.nickbenn.onehundred.strategy;
 
 import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.GameBatch;
+import com.nickbenn.onehundred.model.LongGame;
+import com.nickbenn.onehundred.model.Rules;
 
-import java.io.InputStream;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.Properties;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Declares the {@code abstract} method {@link #getNextMove(Game)} (which must be implemented in a
- * concrete subclass), as well as the concrete method {@link #getRng()} (providing a source of
- * randomness to a concrete implementation), along with the overloaded {@link #newInstance(String)}
- * and {@link #newInstance(String, Random)} {@code static} factory methods.
+ * concrete subclass), its batch counterpart {@link #getNextMoves(GameBatch, int[])}, and its
+ * {@code long} counterpart {@link #getNextMove(LongGame)}, as well as
+ * the concrete method {@link #getRng()} (providing a source of randomness to a concrete
+ * implementation), along with the overloaded {@link #newInstance(String)} and
+ * {@link #newInstance(String, RandomGenerator)} {@code static} factory methods.
  */
 public abstract class Strategy {
 
   /** Contains keys and corresponding fully-qualified names of concrete subclasses of this class. */
   public static final String PROPERTIES_FILENAME = "strategies.properties";
 
-  private static final String EXCEPTION_MESSAGE_FORMAT = "Strategy \"%s\" not found";
+  private static final String LONG_GAME_UNSUPPORTED_FORMAT =
+      "%s does not support games with long bounds.";
+  private static final String DISTRIBUTION_UNSUPPORTED_FORMAT =
+      "%s does not expose its move distribution.";
 
-  private final Random rng;
+  private final RandomGenerator rng;
+
+  private String key;
 
   /**
    * Initializes the basic state of the strategy with the specified source of randomness. This is
    * intended for use by any concrete subclass that selects (at least under some conditions) a move
-   * at random from those available.
+   * at random from those available. The generator is used without synchronization; to avoid
+   * contention (and to keep parallel runs reproducible), each thread should use its own strategy
+   * instances, with a generator split from a common source (see {@link RandomStreams}).
    *
    * @param rng Source of randomness.
    */
-  protected Strategy(Random rng) {
+  protected Strategy(RandomGenerator rng) {
     this.rng = rng;
   }
 
@@ -42,7 +51,8 @@ public abstract class Strategy {
    * concrete subclass specified by the property value (found in {@link #PROPERTIES_FILENAME})
    * corresponding to {@code key}.
    * <p>Invoking {@code Strategy.newInstance(key)} equivalent to invoking
-   * {@link #newInstance(String, Random) Strategy.newInstance(key, new Random())}.</p>
+   * {@link #newInstance(String, RandomGenerator)
+   * Strategy.newInstance(key, new SplittableRandom())}.</p>
    *
    * @param key Lookup key for fully-qualified name of concrete subclass of {@code Strategy}.
    * @return Instance of {@code Strategy} subclass.
@@ -50,12 +60,14 @@ public abstract class Strategy {
    *                                         created or initialized.
    */
   public static Strategy newInstance(String key) throws StrategyInitializationException {
-    return newInstance(key, new Random());
+    return newInstance(key, new SplittableRandom());
   }
 
   /**
    * Creates, initializes, and returns an instance of the concrete subclass specified by the
-   * property value (found in {@link #PROPERTIES_FILENAME}) corresponding to {@code key}.
+   * property value (found in {@link #PROPERTIES_FILENAME}) corresponding to {@code key}, or by a
+   * {@link StrategyProvider} with that key. The lookup is delegated to {@link StrategyRegistry},
+   * which reads {@link #PROPERTIES_FILENAME} and resolves the constructors only once.
    *
    * @param key Property key used to look up (in {@link #PROPERTIES_FILENAME}) fully qualified
    *            class name of the concrete subclass of this class.
@@ -63,26 +75,9 @@ public abstract class Strategy {
    * @return Instance of specified concrete subclass of this class.
    * @throws StrategyInitializationException If {@code key} does not exist, the corresponding class does not exist or can't be instantiated.
    */
-  public static Strategy newInstance(String key, Random rng)
+  public static Strategy newInstance(String key, RandomGenerator rng)
       throws StrategyInitializationException {
-    try (
-        InputStream input = Strategy.class
-            .getClassLoader()
-            .getResourceAsStream(PROPERTIES_FILENAME)
-    ) {
-      Properties properties = new Properties();
-      properties.load(input);
-      String className = properties.getProperty(key);
-      @SuppressWarnings("unchecked")
-      Class<? extends Strategy> klass = (Class<? extends Strategy>) Class.forName(className);
-      Constructor<?> constructor = klass.getConstructor(Random.class);
-      return (Strategy) constructor.newInstance(rng);
-    } catch (InvocationTargetException e) {
-      throw new StrategyInitializationException(
-          String.format(EXCEPTION_MESSAGE_FORMAT, key), e.getCause());
-    } catch (Exception e) {
-      throw new StrategyInitializationException(String.format(EXCEPTION_MESSAGE_FORMAT, key), e);
-    }
+    return StrategyRegistry.getInstance().newInstance(key, rng);
   }
 
   /**
@@ -93,12 +88,81 @@ public abstract class Strategy {
    */
   public abstract int getNextMove(Game game);
 
+  /**
+   * Computes and returns the next move, according to this strategy, in a game with a {@code long}
+   * upper bound. The default implementation throws {@link UnsupportedOperationException}; a
+   * subclass whose move selection does not depend on a table sized by the upper bound should
+   * override this method.
+   *
+   * @param game Context of the strategy.
+   * @return {@code int} size of the move.
+   * @throws UnsupportedOperationException If this strategy does not support {@link LongGame}.
+   */
+  public int getNextMove(LongGame game) throws UnsupportedOperationException {
+    throw new UnsupportedOperationException(
+        String.format(LONG_GAME_UNSUPPORTED_FORMAT, getClass().getSimpleName()));
+  }
+
+  /**
+   * Computes the probability with which this strategy selects each move in a position with
+   * {@code remaining} left to reach the target, under the specified {@link Rules}, storing the
+   * probability of selecting move {@code m} in {@code distribution[m]}. On entry, all elements of
+   * {@code distribution} are zero; an implementation need only set the elements for moves that it
+   * may select. This is intended for exact analysis of a pair of strategies (e.g. by
+   * {@link com.nickbenn.onehundred.analysis.MarkovAnalysis}), and is meaningful only for a
+   * strategy whose move selection depends on nothing but the rules and the remaining quantity.
+   * The default implementation throws {@link UnsupportedOperationException}.
+   *
+   * @param rules        Configuration of the game.
+   * @param remaining    Distance from the current count to the target (positive).
+   * @param distribution Array (with a length of at least {@code rules.getMaxMove() + 1}) to
+   *                     receive the probability of each move.
+   * @throws UnsupportedOperationException If this strategy does not expose its move distribution.
+   */
+  public void getMoveDistribution(Rules rules, int remaining, double[] distribution)
+      throws UnsupportedOperationException {
+    throw new UnsupportedOperationException(
+        String.format(DISTRIBUTION_UNSUPPORTED_FORMAT, getClass().getSimpleName()));
+  }
+
+  /**
+   * Computes the next move, according to this strategy, for every in-progress game in
+   * {@code batch}, storing the move for the game at index {@code i} in {@code moves[i]}; the
+   * elements of {@code moves} corresponding to completed games are set to zero. The default
+   * implementation invokes {@link #getNextMove(Game)} for each in-progress game, using a
+   * {@link Game} created by {@link GameBatch#toGame(int)}; a subclass that can compute moves
+   * directly from the primitive state of the batch should override this method.
+   *
+   * @param batch Context of the strategy.
+   * @param moves Array (with a length of at least {@code batch.size()}) to receive the moves.
+   */
+  public void getNextMoves(GameBatch batch, int[] moves) {
+    for (int i = 0; i < batch.size(); i++) {
+      moves[i] = batch.isTerminal(i) ? 0 : getNextMove(batch.toGame(i));
+    }
+  }
+
+  /**
+   * Returns the key identifying this strategy: the key with which it was created by
+   * {@link #newInstance(String, RandomGenerator)}, or (for an instance created directly) the
+   * simple name of its class. This is used to identify the strategy in metrics and JFR events.
+   *
+   * @return (See above.)
+   */
+  public String getKey() {
+    return (key != null) ? key : getClass().getSimpleName();
+  }
+
+  void setKey(String key) {
+    this.key = key;
+  }
+
   /**
    * Returns the source of randomness, for use by a concrete subclass.
    *
    * @return Source of randomness.
    */
-  protected Random getRng() {
+  protected RandomGenerator getRng() {
     return rng;
   }
 
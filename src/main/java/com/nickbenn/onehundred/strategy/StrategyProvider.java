@@ -0,0 +1,36 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.strategy;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Service-provider interface for {@link Strategy} implementations that are not listed in
+ * {@link Strategy#PROPERTIES_FILENAME}. Implementations are discovered with
+ * {@link java.util.ServiceLoader}, and must therefore be listed in a
+ * {@code META-INF/services/com.nickbenn.onehundred.strategy.StrategyProvider} resource, and have a
+ * {@code public} no-argument constructor.
+ *
+ * @see StrategyRegistry
+ */
+public interface StrategyProvider {
+
+  /**
+   * Returns the key by which the {@link Strategy} created by this provider is selected. If the same
+   * key appears in {@link Strategy#PROPERTIES_FILENAME}, the properties file takes precedence.
+   *
+   * @return (See above.)
+   */
+  String getKey();
+
+  /**
+   * Creates and returns a new instance of the {@link Strategy} implementation supplied by this
+   * provider.
+   *
+   * @param rng Source of randomness.
+   * @return New {@link Strategy} instance.
+   */
+  Strategy newInstance(RandomGenerator rng);
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.strategy;
+
+import com.nickbenn.onehundred.strategy.Strategy.StrategyInitializationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Maintains the mapping from keys to factories for the available {@link Strategy} implementations.
+ * The mapping is built once, on first use, from the entries in {@link Strategy#PROPERTIES_FILENAME}
+ * (each resolved to a {@link MethodHandle} for the {@code public} constructor taking a single
+ * {@link RandomGenerator} parameter), along with any {@link StrategyProvider} implementations
+ * discovered with {@link ServiceLoader}. After that, creating a strategy instance requires only a
+ * map lookup and a constructor invocation.
+ */
+public final class StrategyRegistry {
+
+  private static final String NOT_FOUND_FORMAT = "Strategy \"%s\" not found";
+  private static final MethodType CONSTRUCTOR_TYPE =
+      MethodType.methodType(void.class, RandomGenerator.class);
+
+  private final Map<String, Function<RandomGenerator, Strategy>> factories;
+  private final Map<String, Throwable> failures;
+
+  private StrategyRegistry() {
+    Map<String, Function<RandomGenerator, Strategy>> factories = new TreeMap<>();
+    Map<String, Throwable> failures = new HashMap<>();
+    for (StrategyProvider provider : ServiceLoader.load(StrategyProvider.class)) {
+      factories.put(provider.getKey(), provider::newInstance);
+    }
+    Properties properties = loadProperties();
+    for (String key : properties.stringPropertyNames()) {
+      try {
+        factories.put(key, resolve(properties.getProperty(key)));
+      } catch (ReflectiveOperationException | ClassCastException e) {
+        factories.remove(key);
+        failures.put(key, e);
+      }
+    }
+    this.factories = Collections.unmodifiableMap(factories);
+    this.failures = Collections.unmodifiableMap(failures);
+  }
+
+  /**
+   * Returns the single instance of this class, building it on first invocation.
+   *
+   * @return (See above.)
+   */
+  public static StrategyRegistry getInstance() {
+    return InstanceHolder.INSTANCE;
+  }
+
+  /**
+   * Returns the keys of all of the strategies that can be created by {@link #newInstance(String,
+   * RandomGenerator)}, in ascending order. Keys listed in {@link Strategy#PROPERTIES_FILENAME} that
+   * could not be resolved to a suitable constructor are not included.
+   *
+   * @return Unmodifiable {@link Set} of strategy keys.
+   */
+  public Set<String> getKeys() {
+    return factories.keySet();
+  }
+
+  /**
+   * Returns a flag indicating whether {@code key} identifies an available strategy. This may be
+   * used to validate a key without creating a strategy instance.
+   *
+   * @param key Strategy key.
+   * @return (See above.)
+   */
+  public boolean contains(String key) {
+    return factories.containsKey(key);
+  }
+
+  /**
+   * Creates, initializes, and returns an instance of the strategy identified by {@code key}.
+   *
+   * @param key Strategy key.
+   * @param rng Source of randomness.
+   * @return Instance of the specified {@link Strategy} implementation.
+   * @throws StrategyInitializationException If {@code key} does not identify an available
+   *                                         strategy, or the strategy constructor fails.
+   */
+  public Strategy newInstance(String key, RandomGenerator rng)
+      throws StrategyInitializationException {
+    Function<RandomGenerator, Strategy> factory = factories.get(key);
+    if (factory == null) {
+      throw new StrategyInitializationException(
+          String.format(NOT_FOUND_FORMAT, key), failures.get(key));
+    }
+    try {
+      Strategy strategy = factory.apply(rng);
+      strategy.setKey(key);
+      return strategy;
+    } catch (StrategyInitializationException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      throw new StrategyInitializationException(String.format(NOT_FOUND_FORMAT, key), e);
+    }
+  }
+
+  private static Properties loadProperties() {
+    Properties properties = new Properties();
+    try (
+        InputStream input = Strategy.class
+            .getClassLoader()
+            .getResourceAsStream(Strategy.PROPERTIES_FILENAME)
+    ) {
+      if (input != null) {
+        properties.load(input);
+      }
+    } catch (IOException e) {
+      throw new StrategyInitializationException(e);
+    }
+    return properties;
+  }
+
+  private static Function<RandomGenerator, Strategy> resolve(String className)
+      throws ReflectiveOperationException {
+    Class<? extends Strategy> klass = Class.forName(className).asSubclass(Strategy.class);
+    MethodHandle constructor = MethodHandles.publicLookup()
+        .findConstructor(klass, CONSTRUCTOR_TYPE)
+        .asType(MethodType.methodType(Strategy.class, RandomGenerator.class));
+    return (rng) -> {
+      try {
+        return (Strategy) constructor.invokeExact(rng);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new StrategyInitializationException(e);
+      }
+    };
+  }
+
+  private static class InstanceHolder {
+
+    private static final StrategyRegistry INSTANCE = new StrategyRegistry();
+
+  }
+
+}
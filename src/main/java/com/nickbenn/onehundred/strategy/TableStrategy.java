@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.strategy;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.MoveSet;
+import com.nickbenn.onehundred.model.Rules;
+import java.util.random.RandomGenerator;
+
+/**
+ * Implements an optimal strategy for the normal (non-mis&#x00e8;re) form of the game with an
+ * arbitrary {@link MoveSet}, using a {@link WinLossTable} computed (once per move set, and shared
+ * with all other instances) by retrograde analysis. For an upper bound too large to be tabulated
+ * (that is, exceeding {@link WinLossTable#MAX_BOUND}), the {@link PeriodicTable} of the move set is
+ * used instead. When a winning move is not possible, a legal move is selected at random.
+ */
+@SuppressWarnings("unused")
+public class TableStrategy extends Strategy {
+
+  private WinLossTable table;
+
+  /**
+   * Initializes this strategy with the specified source of randomness.
+   *
+   * @param rng Source of randomness for random moves.
+   */
+  public TableStrategy(RandomGenerator rng) {
+    super(rng);
+  }
+
+  @Override
+  public int getNextMove(Game game) {
+    MoveSet moves = game.getMoves();
+    int remaining = game.getRemaining();
+    int move;
+    if (game.getUpperBound() > WinLossTable.MAX_BOUND) {
+      move = PeriodicTable.forMoves(moves).getWinningMove(remaining);
+    } else {
+      WinLossTable table = this.table;
+      if (table == null || !table.getMoves().equals(moves) || table.getBound() < remaining) {
+        table = WinLossTable.forMoves(moves, game.getUpperBound());
+        this.table = table;
+      }
+      move = table.getWinningMove(remaining);
+    }
+    return (move > 0) ? move : randomMove(moves, remaining, getRng());
+  }
+
+  @Override
+  public void getMoveDistribution(Rules rules, int remaining, double[] distribution) {
+    MoveSet moves = rules.getMoves();
+    int move = (rules.getUpperBound() > WinLossTable.MAX_BOUND)
+        ? PeriodicTable.forMoves(moves).getWinningMove(remaining)
+        : WinLossTable.forMoves(moves, rules.getUpperBound()).getWinningMove(remaining);
+    if (move > 0) {
+      distribution[move] = 1;
+    } else {
+      randomMoveDistribution(moves, remaining, distribution);
+    }
+  }
+
+  static int randomMove(MoveSet moves, int remaining, RandomGenerator rng) {
+    return moves.get(rng.nextInt(Math.max(1, moves.countAtMost(remaining))));
+  }
+
+  static void randomMoveDistribution(MoveSet moves, int remaining, double[] distribution) {
+    int count = Math.max(1, moves.countAtMost(remaining));
+    for (int i = 0; i < count; i++) {
+      distribution[moves.get(i)] = 1.0 / count;
+    }
+  }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.strategy;
+
+import com.nickbenn.onehundred.model.MoveSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records the outcome of every position of the game for a given {@link MoveSet}, for every
+ * remaining quantity (that is, the distance to the target) from zero up to some bound: for a
+ * winning position, the smallest move that leaves the opponent in a losing position (P-position);
+ * for a losing position, the absence of any such move. A position is losing for the player to move
+ * if every legal move leads to a winning position for the opponent; a remaining quantity of zero is
+ * losing, since the opponent has just reached the target.
+ * <p>The table is computed by retrograde analysis, working up from zero, in
+ * O({@code bound} &times; {@code moves.size()}) time; thereafter, {@link #isLosing(int)} and
+ * {@link #getWinningMove(int)} take constant time. The winning move for each position is recorded
+ * as its index in the move set, in a single byte per position (or an {@code int}, for move sets of
+ * more than 255 moves), so a table occupies roughly {@code bound} bytes, and {@code bound} may not
+ * exceed {@link #MAX_BOUND}. Since the result depends only on the move set (and not on the
+ * operation or player), tables are cached and shared: {@link #forMoves(MoveSet, int)} returns a
+ * cached table covering at least the requested bound, replacing the cached table when a larger
+ * bound is requested.</p>
+ */
+public final class WinLossTable {
+
+  /** Largest bound for which a table may be computed. */
+  public static final int MAX_BOUND = Integer.MAX_VALUE - 9;
+
+  private static final String BOUND_OUT_OF_RANGE_FORMAT =
+      "Bound (%1$d) must be non-negative, and may not exceed %2$d.";
+  private static final int MAX_BYTE_INDEX = 0xFF;
+  private static final ConcurrentMap<MoveSet, WinLossTable> CACHE = new ConcurrentHashMap<>();
+
+  private final MoveSet moves;
+  private final int bound;
+  private final int[] values;
+  private final byte[] byteIndices;
+  private final int[] intIndices;
+
+  private WinLossTable(MoveSet moves, int bound) {
+    this.moves = moves;
+    this.bound = bound;
+    values = moves.toArray();
+    boolean compact = values.length <= MAX_BYTE_INDEX;
+    byteIndices = compact ? new byte[bound + 1] : null;
+    intIndices = compact ? null : new int[bound + 1];
+    for (int remaining = 0; remaining <= bound; remaining++) {
+      int index = 0;
+      for (int i = 0; i < values.length && values[i] <= remaining; i++) {
+        if (winningIndex(remaining - values[i]) == 0) {
+          index = i + 1;
+          break;
+        }
+      }
+      if (compact) {
+        byteIndices[remaining] = (byte) index;
+      } else {
+        intIndices[remaining] = index;
+      }
+    }
+  }
+
+  /**
+   * Returns a (possibly cached) table for the specified {@link MoveSet}, covering all remaining
+   * quantities from zero to at least {@code bound}. A new table is computed without blocking
+   * lookups of other move sets; if several threads request a new table for the same move set at
+   * once, each may compute one, but the table with the largest bound is retained.
+   *
+   * @param moves Quantities that may be added or subtracted in each move.
+   * @param bound Largest remaining quantity to be covered by the table.
+   * @return (See above.)
+   * @throws IllegalArgumentException If {@code bound} is negative, or exceeds {@link #MAX_BOUND}.
+   */
+  public static WinLossTable forMoves(MoveSet moves, int bound) throws IllegalArgumentException {
+    if (bound < 0 || bound > MAX_BOUND) {
+      throw new IllegalArgumentException(
+          String.format(BOUND_OUT_OF_RANGE_FORMAT, bound, MAX_BOUND));
+    }
+    WinLossTable table = CACHE.get(moves);
+    if (table == null || table.bound < bound) {
+      table = CACHE.merge(moves, new WinLossTable(moves, bound),
+          (existing, computed) -> (existing.bound >= computed.bound) ? existing : computed);
+    }
+    return table;
+  }
+
+  /**
+   * Returns a flag indicating whether the player to move, with {@code remaining} left to reach the
+   * target, will lose against optimal play.
+   *
+   * @param remaining Distance from the current count to the target.
+   * @return (See above.)
+   * @throws IndexOutOfBoundsException If {@code remaining} is negative, or exceeds
+   *                                   {@link #getBound()}.
+   */
+  public boolean isLosing(int remaining) {
+    checkRange(remaining);
+    return winningIndex(remaining) == 0;
+  }
+
+  /**
+   * Returns the smallest move that leaves the opponent in a losing position, or 0 if there is no
+   * such move&mdash;that is, if {@code remaining} is itself a losing position. The move is read
+   * from the table, so the cost of this method is independent of both {@code remaining} and the
+   * size of the move set.
+   *
+   * @param remaining Distance from the current count to the target.
+   * @return (See above.)
+   * @throws IndexOutOfBoundsException If {@code remaining} is negative, or exceeds
+   *                                   {@link #getBound()}.
+   */
+  public int getWinningMove(int remaining) {
+    checkRange(remaining);
+    int index = winningIndex(remaining);
+    return (index > 0) ? values[index - 1] : 0;
+  }
+
+  /**
+   * Returns the {@link MoveSet} for which this table was computed.
+   *
+   * @return (See above.)
+   */
+  public MoveSet getMoves() {
+    return moves;
+  }
+
+  /**
+   * Returns the largest remaining quantity covered by this table.
+   *
+   * @return (See above.)
+   */
+  public int getBound() {
+    return bound;
+  }
+
+  private void checkRange(int remaining) {
+    if (remaining < 0 || remaining > bound) {
+      throw new IndexOutOfBoundsException(remaining);
+    }
+  }
+
+  private int winningIndex(int remaining) {
+    return (byteIndices != null) ? byteIndices[remaining] & MAX_BYTE_INDEX : intIndices[remaining];
+  }
+
+}
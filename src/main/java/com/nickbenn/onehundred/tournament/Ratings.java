@@ -0,0 +1,75 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.tournament;
+
+import java.util.Arrays;
+
+/**
+ * Computes Elo-scale ratings from a matrix of head-to-head results, by fitting a Bradley-Terry
+ * model (of which the Elo expected-score formula is a reparameterization) with the
+ * minorization-maximization algorithm. Unlike incremental Elo updates, the fitted ratings depend
+ * only on the aggregated results, and not on the order in which games were played.
+ * <p>To keep the ratings finite when one strategy wins every game against another, each pairing is
+ * credited with a single virtual drawn game.</p>
+ */
+final class Ratings {
+
+  /** Rating assigned to a strategy of average strength. */
+  static final double MEAN_RATING = 1500;
+
+  private static final double ELO_SCALE = 400 / Math.log(10);
+  private static final double PRIOR_WINS = 0.5;
+  private static final int MAX_ITERATIONS = 10_000;
+  private static final double TOLERANCE = 1e-10;
+
+  private Ratings() {
+  }
+
+  /**
+   * Returns the fitted ratings for the players whose head-to-head results are given in
+   * {@code wins}, where {@code wins[i][j]} is the number of games in which player {@code i} beat
+   * player {@code j}. The ratings are normalized to a mean of {@link #MEAN_RATING}.
+   *
+   * @param wins Square matrix of head-to-head wins.
+   * @return Ratings, indexed as the rows of {@code wins}.
+   */
+  static double[] compute(long[][] wins) {
+    int size = wins.length;
+    double[] strength = new double[size];
+    Arrays.fill(strength, 1);
+    for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+      double[] next = new double[size];
+      double logSum = 0;
+      for (int i = 0; i < size; i++) {
+        double won = 0;
+        double denominator = 0;
+        for (int j = 0; j < size; j++) {
+          if (i != j) {
+            double games = wins[i][j] + wins[j][i] + 2 * PRIOR_WINS;
+            won += wins[i][j] + PRIOR_WINS;
+            denominator += games / (strength[i] + strength[j]);
+          }
+        }
+        next[i] = (denominator > 0) ? won / denominator : 1;
+        logSum += Math.log(next[i]);
+      }
+      double scale = Math.exp(-logSum / size);
+      double change = 0;
+      for (int i = 0; i < size; i++) {
+        next[i] *= scale;
+        change = Math.max(change, Math.abs(Math.log(next[i] / strength[i])));
+      }
+      strength = next;
+      if (change < TOLERANCE) {
+        break;
+      }
+    }
+    double[] ratings = new double[size];
+    for (int i = 0; i < size; i++) {
+      ratings[i] = MEAN_RATING + ELO_SCALE * Math.log(strength[i]);
+    }
+    return ratings;
+  }
+
+}
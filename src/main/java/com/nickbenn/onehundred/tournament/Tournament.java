@@ -0,0 +1,412 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.tournament;
+
+import com.nickbenn.onehundred.controller.HeadlessReferee;
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.model.Rules;
+import com.nickbenn.onehundred.strategy.RandomStreams;
+import com.nickbenn.onehundred.strategy.Strategy;
+import com.nickbenn.onehundred.strategy.Strategy.StrategyInitializationException;
+import com.nickbenn.onehundred.strategy.StrategyRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays a round-robin tournament among a set of registered strategies (by default,
+ * {@link Builder#DEFAULT_KEYS}). Every ordered pair of distinct strategies&mdash;the first of the
+ * pair playing as player 1, and the second as player 2&mdash;plays a fixed number of games under
+ * each of the specified {@link Rules}, starting from each of the specified initial states.
+ * <p>The games are divided into tasks of at most {@link #GAMES_PER_TASK} games, which are run on a
+ * work-stealing {@link ForkJoinPool}. Each task creates its own {@link Strategy} instances, with
+ * sources of randomness split (before any task is started) from a {@link RandomStreams} with the
+ * tournament seed; since the outcome of each task depends only on its generators, and the task results
+ * are combined by summation, a tournament is reproducible from its seed, regardless of the
+ * parallelism or the order in which tasks complete.</p>
+ */
+public class Tournament {
+
+  /** Maximum number of games played in a single task. */
+  public static final int GAMES_PER_TASK = 1_000;
+
+  private final List<String> keys;
+  private final List<Rules> rules;
+  private final List<State> initialStates;
+  private final long games;
+  private final long seed;
+  private final int parallelism;
+
+  private Tournament(Builder builder) {
+    keys = List.copyOf(builder.keys);
+    rules = builder.rules.isEmpty()
+        ? List.of(new Rules(Game.DEFAULT_OPERATION, Game.DEFAULT_UPPER_BOUND,
+            Game.DEFAULT_MAX_MOVE))
+        : List.copyOf(builder.rules);
+    initialStates = List.copyOf(builder.initialStates);
+    games = builder.games;
+    seed = builder.seed;
+    parallelism = builder.parallelism;
+  }
+
+  /**
+   * Plays all of the games of the tournament, blocking until all are complete.
+   *
+   * @return Aggregated outcomes and ratings.
+   * @throws StrategyInitializationException If any of the strategies cannot be instantiated.
+   * @throws InterruptedException            If the current thread is interrupted while waiting for
+   *                                         the tasks to complete.
+   */
+  public Result run() throws StrategyInitializationException, InterruptedException {
+    RandomStreams streams = new RandomStreams(seed);
+    List<Callable<long[]>> tasks = new ArrayList<>();
+    for (int first = 0; first < keys.size(); first++) {
+      for (int second = 0; second < keys.size(); second++) {
+        if (first == second) {
+          continue;
+        }
+        for (Rules rules : this.rules) {
+          for (State initialState : initialStates) {
+            for (long start = 0; start < games; start += GAMES_PER_TASK) {
+              tasks.add(new Task(first, second, rules, initialState,
+                  Math.min(GAMES_PER_TASK, games - start), streams.split(), streams.split()));
+            }
+          }
+        }
+      }
+    }
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      long[][] wins = new long[keys.size()][keys.size()];
+      long illegalMoves = 0;
+      List<Future<long[]>> futures = pool.invokeAll(tasks);
+      for (int i = 0; i < futures.size(); i++) {
+        Task task = (Task) tasks.get(i);
+        long[] outcome = futures.get(i).get();
+        wins[task.first][task.second] += outcome[0];
+        wins[task.second][task.first] += outcome[1];
+        illegalMoves += outcome[2];
+      }
+      return new Result(keys, wins, illegalMoves, seed);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof StrategyInitializationException) {
+        throw (StrategyInitializationException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private class Task implements Callable<long[]> {
+
+    private final int first;
+    private final int second;
+    private final Rules rules;
+    private final State initialState;
+    private final long count;
+    private final RandomGenerator firstRng;
+    private final RandomGenerator secondRng;
+
+    Task(int first, int second, Rules rules, State initialState, long count,
+        RandomGenerator firstRng, RandomGenerator secondRng) {
+      this.first = first;
+      this.second = second;
+      this.rules = rules;
+      this.initialState = initialState;
+      this.count = count;
+      this.firstRng = firstRng;
+      this.secondRng = secondRng;
+    }
+
+    @Override
+    public long[] call() throws StrategyInitializationException {
+      Strategy playerOneStrategy = Strategy.newInstance(keys.get(first), firstRng);
+      Strategy playerTwoStrategy = Strategy.newInstance(keys.get(second), secondRng);
+      long[] outcome = new long[3];
+      for (long i = 0; i < count; i++) {
+        HeadlessReferee referee = new HeadlessReferee.Builder(playerOneStrategy, playerTwoStrategy)
+            .setOperation(rules.getOperation())
+            .setTarget(rules.getUpperBound())
+            .setMoves(rules.getMoves())
+            .setInitialState(initialState)
+            .setSeed(seed)
+            .build();
+        referee.play();
+        outcome[(referee.getResult() == State.PLAYER_ONE_WIN) ? 0 : 1]++;
+        outcome[2] += referee.getIllegalMoves();
+      }
+      return outcome;
+    }
+
+  }
+
+  /**
+   * Summarizes the outcome of a tournament as a matrix of head-to-head wins (combining both
+   * seatings of each pair of strategies, and all rules and initial states), along with Elo-scale
+   * ratings fitted to that matrix.
+   */
+  public static final class Result {
+
+    private final List<String> keys;
+    private final long[][] wins;
+    private final long illegalMoves;
+    private final long seed;
+    private final double[] ratings;
+
+    Result(List<String> keys, long[][] wins, long illegalMoves, long seed) {
+      this.keys = keys;
+      this.wins = wins;
+      this.illegalMoves = illegalMoves;
+      this.seed = seed;
+      ratings = Ratings.compute(wins);
+    }
+
+    /**
+     * Returns the keys of the participating strategies, in the order used to index the other
+     * methods of this class.
+     *
+     * @return (See above.)
+     */
+    public List<String> getKeys() {
+      return keys;
+    }
+
+    /**
+     * Returns the total number of games played in the tournament.
+     *
+     * @return (See above.)
+     */
+    public long getGames() {
+      return Arrays.stream(wins)
+          .flatMapToLong(Arrays::stream)
+          .sum();
+    }
+
+    /**
+     * Returns the number of games won by the strategy at index {@code row} against the strategy
+     * at index {@code column}.
+     *
+     * @param row    Index of winning strategy.
+     * @param column Index of losing strategy.
+     * @return (See above.)
+     */
+    public long getWins(int row, int column) {
+      return wins[row][column];
+    }
+
+    /**
+     * Returns the fraction of games between the strategies at indices {@code row} and
+     * {@code column} that were won by the former, or {@link Double#NaN} if no such games were
+     * played (e.g. if {@code row == column}).
+     *
+     * @param row    Index of strategy.
+     * @param column Index of opposing strategy.
+     * @return (See above.)
+     */
+    public double getWinRate(int row, int column) {
+      long games = wins[row][column] + wins[column][row];
+      return (games > 0) ? (double) wins[row][column] / games : Double.NaN;
+    }
+
+    /**
+     * Returns the Elo-scale rating of the strategy at the specified index. Ratings are normalized
+     * to a mean of 1500; a difference of 400 points corresponds to odds of 10 to 1.
+     *
+     * @param index Index of strategy.
+     * @return (See above.)
+     */
+    public double getRating(int index) {
+      return ratings[index];
+    }
+
+    /**
+     * Returns the total number of illegal moves attempted (and rejected) in all games.
+     *
+     * @return (See above.)
+     */
+    public long getIllegalMoves() {
+      return illegalMoves;
+    }
+
+    /**
+     * Returns the seed from which the tournament was played; playing another tournament with the
+     * same seed and configuration will reproduce this result.
+     *
+     * @return (See above.)
+     */
+    public long getSeed() {
+      return seed;
+    }
+
+  }
+
+  /**
+   * Implements the Builder pattern for constructing instances of {@link Tournament}.
+   */
+  @SuppressWarnings({"unused"})
+  public static class Builder {
+
+    /** Number of games played by each ordered pair, for each rules and initial state. */
+    public static final long DEFAULT_GAMES = 10_000;
+    /**
+     * Keys of the strategies taking part, if not specified. The {@code mcts} strategy (which
+     * searches for a fixed time on every move) and the {@code learned} strategy (which requires a
+     * trained policy) are excluded.
+     */
+    public static final List<String> DEFAULT_KEYS =
+        List.of("random", "optimal", "table", "periodic");
+
+    private static final String UNKNOWN_STRATEGY_FORMAT =
+        "Strategy \"%s\" not found; available strategies are %s.";
+    private static final String TOO_FEW_STRATEGIES_MESSAGE =
+        "At least two distinct strategies are required.";
+    private static final String INVALID_INITIAL_STATE_FORMAT =
+        "%1$s is not a valid initial state.";
+    private static final String INVALID_GAMES_FORMAT =
+        "Number of games (%d) must be positive.";
+    private static final String INVALID_PARALLELISM_FORMAT =
+        "Parallelism (%d) must be positive.";
+
+    private final List<String> keys;
+    private final List<Rules> rules = new ArrayList<>();
+    private List<State> initialStates = List.of(State.PLAYER_ONE_MOVE, State.PLAYER_TWO_MOVE);
+    private long games = DEFAULT_GAMES;
+    private long seed = new SplittableRandom().nextLong();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Initializes this instance with the strategy keys in {@link #DEFAULT_KEYS}.
+     */
+    public Builder() {
+      this(DEFAULT_KEYS);
+    }
+
+    /**
+     * Initializes this instance with the specified strategy keys; duplicates are ignored.
+     *
+     * @param keys Keys of participating strategies.
+     * @throws IllegalArgumentException If any key is not found in {@link StrategyRegistry}, or if
+     *                                  fewer than two distinct keys are specified.
+     */
+    public Builder(Collection<String> keys) throws IllegalArgumentException {
+      StrategyRegistry registry = StrategyRegistry.getInstance();
+      List<String> distinct = new ArrayList<>();
+      for (String key : keys) {
+        if (!registry.contains(key)) {
+          throw new IllegalArgumentException(
+              String.format(UNKNOWN_STRATEGY_FORMAT, key, registry.getKeys()));
+        }
+        if (!distinct.contains(key)) {
+          distinct.add(key);
+        }
+      }
+      if (distinct.size() < 2) {
+        throw new IllegalArgumentException(TOO_FEW_STRATEGIES_MESSAGE);
+      }
+      this.keys = Collections.unmodifiableList(distinct);
+    }
+
+    /**
+     * Adds a set of {@link Rules} under which every pairing is played. If none are added, the
+     * default configuration ({@link Game#DEFAULT_OPERATION}, {@link Game#DEFAULT_UPPER_BOUND}, and
+     * {@link Game#DEFAULT_MAX_MOVE}) will be used.
+     *
+     * @param rules (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder addRules(Rules rules) {
+      this.rules.add(rules);
+      return this;
+    }
+
+    /**
+     * Specifies the initial states from which every pairing is played, under each of the rules.
+     * If not set, both {@link State#PLAYER_ONE_MOVE} and {@link State#PLAYER_TWO_MOVE} are used.
+     *
+     * @param initialStates (See above.)
+     * @return This {@link Builder} instance.
+     * @throws IllegalArgumentException If any of {@code initialStates} is not an initial state.
+     */
+    public Builder setInitialStates(State... initialStates) throws IllegalArgumentException {
+      for (State state : initialStates) {
+        if (!state.isInitial()) {
+          throw new IllegalArgumentException(String.format(INVALID_INITIAL_STATE_FORMAT, state));
+        }
+      }
+      this.initialStates = List.of(initialStates);
+      return this;
+    }
+
+    /**
+     * Specifies the number of games played by each ordered pair of strategies, under each of the
+     * rules and from each of the initial states. If not set, {@link #DEFAULT_GAMES} will be used.
+     *
+     * @param games (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setGames(long games) {
+      if (games <= 0) {
+        throw new IllegalArgumentException(String.format(INVALID_GAMES_FORMAT, games));
+      }
+      this.games = games;
+      return this;
+    }
+
+    /**
+     * Specifies the seed from which the sources of randomness of all strategies are derived. If
+     * not set, a seed is selected at random (and reported by {@link Result#getSeed()}).
+     *
+     * @param seed (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setSeed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    /**
+     * Specifies the parallelism of the {@link ForkJoinPool} on which the games are played. If not
+     * set, the number of available processors will be used.
+     *
+     * @param parallelism (See above.)
+     * @return This {@link Builder} instance.
+     */
+    public Builder setParallelism(int parallelism) {
+      if (parallelism <= 0) {
+        throw new IllegalArgumentException(
+            String.format(INVALID_PARALLELISM_FORMAT, parallelism));
+      }
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Creates and returns a fully initialized {@link Tournament} instance.
+     *
+     * @return (See above.)
+     */
+    public Tournament build() {
+      return new Tournament(this);
+    }
+
+  }
+
+}
@@ -0,0 +1,11 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+
+/**
+ * Classes for evaluating computer strategies against each other: round-robin tournaments among the
+ * registered {@link com.nickbenn.onehundred.strategy.Strategy} implementations, played in parallel
+ * (but reproducibly) under one or more sets of {@link com.nickbenn.onehundred.model.Rules}, with
+ * the outcomes summarized as a win-rate matrix and Elo-scale ratings.
+ */
+package com.nickbenn.onehundred.tournament;
@@ -4,6 +4,8 @@
 package com.nickbenn.onehundred.view;
 
 import com.nickbenn.onehundred.model.Game;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 /**
  * Declares methods that will construct and return presentations of game status, move prompts, error
@@ -16,6 +18,12 @@ import com.nickbenn.onehundred.model.Game;
  *           is intended&mdash;e.g. {@link String} for a console-mode implementation,
  *           {@code javafx.scene.Node} for a JavaFX implementation, {@link javax.swing.JComponent}
  *           for Swing, etc.
+ * <p>Each method is overloaded with a form that appends the text of the view to a caller-supplied
+ * {@link Appendable} (e.g. a reused {@link StringBuilder}, or a buffer feeding a console or
+ * network connection). The default implementations of these append the {@link String}
+ * representation of the view object; an implementation that can render directly into the
+ * {@link Appendable} (e.g. {@link TextGamePresentation}) should override them, so that the view
+ * can be presented without creating intermediate objects.</p>
  */
 public interface GamePresentation<T> {
 
@@ -63,4 +71,73 @@ public interface GamePresentation<T> {
    */
   T illegalMoveNotification(Game game);
 
+  /**
+   * Appends the text of a view for presenting the current state of {@code game} to {@code out}.
+   *
+   * @param out Destination of view text.
+   * @param game Context instance of {@link Game}.
+   * @param playerOne Identifier for the first player (the user).
+   * @param playerTwo Identifier for the second player (the computer).
+   * @throws UncheckedIOException If {@code out} throws {@link IOException}.
+   */
+  default void stateRepresentation(Appendable out, Game game, String playerOne, String playerTwo)
+      throws UncheckedIOException {
+    append(out, stateRepresentation(game, playerOne, playerTwo));
+  }
+
+  /**
+   * Appends the text of a view presenting the next player to move to {@code out}.
+   *
+   * @param out Destination of view text.
+   * @param player Player to move next.
+   * @throws UncheckedIOException If {@code out} throws {@link IOException}.
+   */
+  default void nextMoveNotice(Appendable out, String player) throws UncheckedIOException {
+    append(out, nextMoveNotice(player));
+  }
+
+  /**
+   * Appends the text of a view presenting the most recent move to {@code out}.
+   *
+   * @param out Destination of view text.
+   * @param move Most recent move (number added or subtracted).
+   * @param player Player that made the most recent move.
+   * @throws UncheckedIOException If {@code out} throws {@link IOException}.
+   */
+  default void movePresentation(Appendable out, int move, String player)
+      throws UncheckedIOException {
+    append(out, movePresentation(move, player));
+  }
+
+  /**
+   * Appends the text of a view presenting a move prompt to the user to {@code out}.
+   *
+   * @param out Destination of view text.
+   * @param game Context instance of {@link Game}.
+   * @throws UncheckedIOException If {@code out} throws {@link IOException}.
+   */
+  default void movePrompt(Appendable out, Game game) throws UncheckedIOException {
+    append(out, movePrompt(game));
+  }
+
+  /**
+   * Appends the text of a view notifying the user that the most recently attempted move was
+   * illegal/invalid to {@code out}.
+   *
+   * @param out Destination of view text.
+   * @param game Context instance of {@link Game}.
+   * @throws UncheckedIOException If {@code out} throws {@link IOException}.
+   */
+  default void illegalMoveNotification(Appendable out, Game game) throws UncheckedIOException {
+    append(out, illegalMoveNotification(game));
+  }
+
+  private static void append(Appendable out, Object view) throws UncheckedIOException {
+    try {
+      out.append(String.valueOf(view));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
 }
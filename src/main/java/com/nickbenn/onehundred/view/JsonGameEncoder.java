@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.view;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.model.MoveSet;
+import java.util.Locale;
+
+/**
+ * Encodes the rules and current state of a {@link Game} as members of a JSON object, written with
+ * a {@link JsonWriter}. Each member is written explicitly (no reflection is used), so that the
+ * representation is stable regardless of changes to the fields of {@link Game}:
+ * <ul>
+ *   <li>{@code operation}: {@code "addition"} or {@code "subtraction"};</li>
+ *   <li>{@code upperBound}, {@code target}, and {@code maxMove}: as returned by the corresponding
+ *   {@link Game} methods;</li>
+ *   <li>{@code moves}: the array of permitted moves, if these are not the contiguous range from 1
+ *   to {@code maxMove} (in which case this member is omitted);</li>
+ *   <li>{@code count} and {@code remaining}: the current count, and the distance from it to the
+ *   target;</li>
+ *   <li>{@code state}: the name of the {@link State} constant (e.g.
+ *   {@code "PLAYER_ONE_MOVE"});</li>
+ *   <li>{@code finished}: {@code true} if the game is finished;</li>
+ *   <li>{@code winner}: 1 or 2, if the game is finished; {@code null} otherwise.</li>
+ * </ul>
+ */
+public final class JsonGameEncoder {
+
+  private JsonGameEncoder() {
+    // Prevent instantiation.
+  }
+
+  /**
+   * Writes the members representing {@code game} to {@code writer}, which must be positioned
+   * within an open object (i.e. after {@link JsonWriter#beginObject()}, and not immediately after
+   * {@link JsonWriter#name(CharSequence)}).
+   *
+   * @param writer Destination of JSON members.
+   * @param game   {@link Game} to be encoded.
+   * @return {@code writer}.
+   */
+  public static JsonWriter writeMembers(JsonWriter writer, Game game) {
+    State state = game.getState();
+    writer
+        .name("operation").value(game.getOperation().name().toLowerCase(Locale.ROOT))
+        .name("upperBound").value(game.getUpperBound())
+        .name("target").value(game.getTarget())
+        .name("maxMove").value(game.getMaxMove());
+    MoveSet moves = game.getMoves();
+    if (!moves.isContiguous()) {
+      writer.name("moves").beginArray();
+      for (int i = 0; i < moves.size(); i++) {
+        writer.value(moves.get(i));
+      }
+      writer.endArray();
+    }
+    writer
+        .name("count").value(game.getCurrentCount())
+        .name("remaining").value(game.getRemaining())
+        .name("state").value(state.name())
+        .name("finished").value(state.isTerminal())
+        .name("winner");
+    if (state.isTerminal()) {
+      writer.value((state == State.PLAYER_ONE_WIN) ? 1 : 2);
+    } else {
+      writer.nullValue();
+    }
+    return writer;
+  }
+
+}
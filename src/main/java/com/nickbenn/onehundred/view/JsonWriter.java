@@ -0,0 +1,252 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.view;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Minimal streaming encoder of JSON text, written directly to an {@link Appendable} (typically, a
+ * reused {@link StringBuilder}) as each value is supplied, with no intermediate object model and no
+ * reflection. Separators between members and elements are inserted automatically; apart from that,
+ * the caller is responsible for producing well-formed output (e.g. supplying a name before each
+ * member value, and closing every object and array it opens). Objects and arrays may be nested to
+ * a depth of {@value #MAX_DEPTH}.
+ * <p>Strings are escaped as required by RFC 8259; characters outside the ASCII range are written
+ * unescaped. {@link IOException} thrown by the destination is wrapped in
+ * {@link UncheckedIOException}.</p>
+ * <p>Instances of this class are not thread-safe.</p>
+ */
+public final class JsonWriter {
+
+  /** Maximum nesting depth of objects and arrays. */
+  public static final int MAX_DEPTH = 64;
+
+  private static final String DEPTH_EXCEEDED_MESSAGE =
+      "Objects and arrays may not be nested more than " + MAX_DEPTH + " levels deep.";
+  private static final String UNBALANCED_MESSAGE = "No object or array is open.";
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final Appendable out;
+
+  private long nonEmpty;
+  private int depth;
+  private boolean afterName;
+
+  /**
+   * Initializes this instance to write to the specified destination.
+   *
+   * @param out Destination of JSON text.
+   */
+  public JsonWriter(Appendable out) {
+    this.out = out;
+  }
+
+  /**
+   * Writes the start of an object.
+   *
+   * @return This {@link JsonWriter} instance.
+   * @throws IllegalStateException If {@value #MAX_DEPTH} objects and arrays are already open.
+   */
+  public JsonWriter beginObject() throws IllegalStateException {
+    return open('{');
+  }
+
+  /**
+   * Writes the end of the innermost open object.
+   *
+   * @return This {@link JsonWriter} instance.
+   * @throws IllegalStateException If no object or array is open.
+   */
+  public JsonWriter endObject() throws IllegalStateException {
+    return close('}');
+  }
+
+  /**
+   * Writes the start of an array.
+   *
+   * @return This {@link JsonWriter} instance.
+   * @throws IllegalStateException If {@value #MAX_DEPTH} objects and arrays are already open.
+   */
+  public JsonWriter beginArray() throws IllegalStateException {
+    return open('[');
+  }
+
+  /**
+   * Writes the end of the innermost open array.
+   *
+   * @return This {@link JsonWriter} instance.
+   * @throws IllegalStateException If no object or array is open.
+   */
+  public JsonWriter endArray() throws IllegalStateException {
+    return close(']');
+  }
+
+  /**
+   * Writes the name of an object member; the next value written is the value of that member.
+   *
+   * @param name Member name.
+   * @return This {@link JsonWriter} instance.
+   */
+  public JsonWriter name(CharSequence name) {
+    separate();
+    string(name);
+    append(':');
+    afterName = true;
+    return this;
+  }
+
+  /**
+   * Writes a number value.
+   *
+   * @param value Number to be written.
+   * @return This {@link JsonWriter} instance.
+   */
+  public JsonWriter value(long value) {
+    separate();
+    if (out instanceof StringBuilder) {
+      ((StringBuilder) out).append(value);
+    } else {
+      append(Long.toString(value));
+    }
+    return this;
+  }
+
+  /**
+   * Writes a boolean value.
+   *
+   * @param value Flag to be written.
+   * @return This {@link JsonWriter} instance.
+   */
+  public JsonWriter value(boolean value) {
+    separate();
+    append(value ? "true" : "false");
+    return this;
+  }
+
+  /**
+   * Writes a string value, or {@code null} if {@code value} is {@code null}.
+   *
+   * @param value Text to be written.
+   * @return This {@link JsonWriter} instance.
+   */
+  public JsonWriter value(CharSequence value) {
+    separate();
+    if (value == null) {
+      append("null");
+    } else {
+      string(value);
+    }
+    return this;
+  }
+
+  /**
+   * Writes a {@code null} value.
+   *
+   * @return This {@link JsonWriter} instance.
+   */
+  public JsonWriter nullValue() {
+    separate();
+    append("null");
+    return this;
+  }
+
+  private JsonWriter open(char c) {
+    if (depth == MAX_DEPTH) {
+      throw new IllegalStateException(DEPTH_EXCEEDED_MESSAGE);
+    }
+    separate();
+    append(c);
+    nonEmpty &= ~(1L << depth);
+    depth++;
+    return this;
+  }
+
+  private JsonWriter close(char c) {
+    if (depth == 0) {
+      throw new IllegalStateException(UNBALANCED_MESSAGE);
+    }
+    depth--;
+    append(c);
+    return this;
+  }
+
+  private void separate() {
+    if (afterName) {
+      afterName = false;
+    } else if (depth > 0) {
+      long bit = 1L << (depth - 1);
+      if ((nonEmpty & bit) != 0) {
+        append(',');
+      } else {
+        nonEmpty |= bit;
+      }
+    }
+  }
+
+  private void string(CharSequence text) {
+    append('"');
+    int length = text.length();
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+      if (c >= 0x20 && c != '"' && c != '\\') {
+        continue;
+      }
+      append(text, start, i);
+      start = i + 1;
+      switch (c) {
+        case '"':
+          append("\\\"");
+          break;
+        case '\\':
+          append("\\\\");
+          break;
+        case '\n':
+          append("\\n");
+          break;
+        case '\r':
+          append("\\r");
+          break;
+        case '\t':
+          append("\\t");
+          break;
+        default:
+          append("\\u00");
+          append(HEX_DIGITS[c >> 4]);
+          append(HEX_DIGITS[c & 0xf]);
+          break;
+      }
+    }
+    append(text, start, length);
+    append('"');
+  }
+
+  private void append(char c) {
+    try {
+      out.append(c);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void append(CharSequence text) {
+    try {
+      out.append(text);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void append(CharSequence text, int start, int end) {
+    if (start < end) {
+      try {
+        out.append(text, start, end);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+}
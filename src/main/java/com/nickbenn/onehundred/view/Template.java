@@ -0,0 +1,320 @@
+/*
+ * Copyright 2022 Nicholas Bennett. See LICENSE for software license terms.
+ */
+package com.nickbenn.onehundred.view;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precompiled form of a {@link java.util.Formatter}-style pattern, rendered directly into an
+ * {@link Appendable} (typically, a reused {@link StringBuilder}) without parsing the pattern or
+ * creating intermediate {@link String} instances. The supported subset of the format syntax is that
+ * used in the presentation resource bundles: the {@code %d} and {@code %s} conversions, with or
+ * without an explicit argument index (e.g. {@code %2$d}), along with {@code %n} and {@code %%}.
+ * Flags, widths, and precisions are not supported.
+ * <p>Each argument is either an {@code int} or a {@link CharSequence}; the {@code render} methods
+ * are overloaded for the combinations of arguments used by {@link TextGamePresentation}, so that
+ * {@code int} arguments are neither boxed nor converted to {@link String} instances (when
+ * rendering into a {@link StringBuilder}). A {@code %s} conversion may refer to an argument of
+ * either type; a {@code %d} conversion must refer to an {@code int} argument. As with
+ * {@link String#format(String, Object...)}, a {@code null} text argument is rendered as
+ * {@code "null"}.</p>
+ * <p>Instances of this class are immutable, and may be used concurrently by any number of
+ * threads.</p>
+ */
+public final class Template {
+
+  /** Maximum number of arguments referenced by a pattern. */
+  public static final int MAX_ARGUMENTS = 4;
+
+  private static final String UNSUPPORTED_FORMAT =
+      "Unsupported format specifier \"%%%s\" at index %d of pattern \"%s\".";
+  private static final String INCOMPLETE_FORMAT =
+      "Incomplete format specifier at end of pattern \"%s\".";
+  private static final String INVALID_INDEX_FORMAT =
+      "Argument index %d in pattern \"%s\" must be between 1 and %d.";
+  private static final String MISSING_ARGUMENT_FORMAT =
+      "Pattern \"%s\" references argument %d, but only %d supplied.";
+  private static final String TEXT_ARGUMENT_FORMAT =
+      "Pattern \"%s\" formats argument %d as an integer, but a text argument was supplied.";
+  private static final String NULL_TEXT = "null";
+
+  private final String pattern;
+  private final String[] literals;
+  private final int[] indices;
+  private final boolean[] numeric;
+  private final int arity;
+
+  private Template(String pattern, String[] literals, int[] indices, boolean[] numeric) {
+    this.pattern = pattern;
+    this.literals = literals;
+    this.indices = indices;
+    this.numeric = numeric;
+    int arity = 0;
+    for (int index : indices) {
+      arity = Math.max(arity, index);
+    }
+    this.arity = arity;
+  }
+
+  /**
+   * Parses and returns the compiled form of the specified pattern.
+   *
+   * @param pattern {@link java.util.Formatter}-style pattern.
+   * @return Compiled {@link Template}.
+   * @throws IllegalArgumentException If {@code pattern} contains an unsupported or incomplete
+   *                                  format specifier, or an argument index greater than
+   *                                  {@link #MAX_ARGUMENTS}.
+   */
+  public static Template compile(String pattern) throws IllegalArgumentException {
+    List<String> literals = new ArrayList<>();
+    List<Integer> indices = new ArrayList<>();
+    List<Boolean> numeric = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    int ordinary = 0;
+    int position = 0;
+    int length = pattern.length();
+    while (position < length) {
+      char c = pattern.charAt(position++);
+      if (c != '%') {
+        literal.append(c);
+        continue;
+      }
+      int start = position;
+      int index = 0;
+      while (position < length && Character.isDigit(pattern.charAt(position))) {
+        index = 10 * index + (pattern.charAt(position++) - '0');
+      }
+      if (position < length && pattern.charAt(position) == '$' && position > start) {
+        position++;
+      } else {
+        position = start;
+        index = 0;
+      }
+      if (position >= length) {
+        throw new IllegalArgumentException(String.format(INCOMPLETE_FORMAT, pattern));
+      }
+      char conversion = pattern.charAt(position++);
+      if ((conversion == 'n' || conversion == '%') && position == start + 1) {
+        literal.append((conversion == 'n') ? System.lineSeparator() : "%");
+      } else if (conversion == 'd' || conversion == 's') {
+        if (index == 0) {
+          index = ++ordinary;
+        }
+        if (index > MAX_ARGUMENTS) {
+          throw new IllegalArgumentException(
+              String.format(INVALID_INDEX_FORMAT, index, pattern, MAX_ARGUMENTS));
+        }
+        literals.add(literal.toString());
+        literal.setLength(0);
+        indices.add(index);
+        numeric.add(conversion == 'd');
+      } else {
+        throw new IllegalArgumentException(String.format(UNSUPPORTED_FORMAT,
+            pattern.substring(start, position), start - 1, pattern));
+      }
+    }
+    literals.add(literal.toString());
+    boolean[] numericArray = new boolean[numeric.size()];
+    for (int i = 0; i < numericArray.length; i++) {
+      numericArray[i] = numeric.get(i);
+    }
+    return new Template(pattern, literals.toArray(new String[0]),
+        indices.stream().mapToInt(Integer::intValue).toArray(), numericArray);
+  }
+
+  /**
+   * Returns the pattern from which this instance was compiled.
+   *
+   * @return (See above.)
+   */
+  public String getPattern() {
+    return pattern;
+  }
+
+  /**
+   * Returns the highest argument index referenced by the pattern.
+   *
+   * @return (See above.)
+   */
+  public int getArity() {
+    return arity;
+  }
+
+  /**
+   * Renders this template, with no arguments, to {@code out}.
+   *
+   * @param out Destination of rendered text.
+   * @param <A> Type of {@code out}.
+   * @return {@code out}.
+   * @throws IllegalArgumentException If the pattern references any arguments.
+   * @throws UncheckedIOException     If {@code out} throws {@link IOException}.
+   */
+  public <A extends Appendable> A render(A out)
+      throws IllegalArgumentException, UncheckedIOException {
+    return render(out, 0, 0, 0, 0, null, null, null, null);
+  }
+
+  /**
+   * Renders this template, with a single text argument, to {@code out}.
+   *
+   * @param out  Destination of rendered text.
+   * @param text Argument 1.
+   * @param <A>  Type of {@code out}.
+   * @return {@code out}.
+   * @throws IllegalArgumentException If the pattern references more than one argument, or formats
+   *                                  the argument as an integer.
+   * @throws UncheckedIOException     If {@code out} throws {@link IOException}.
+   */
+  public <A extends Appendable> A render(A out, CharSequence text)
+      throws IllegalArgumentException, UncheckedIOException {
+    return render(out, 1, 0, 0, 0, nonNull(text), null, null, null);
+  }
+
+  /**
+   * Renders this template, with a single {@code int} argument, to {@code out}.
+   *
+   * @param out   Destination of rendered text.
+   * @param value Argument 1.
+   * @param <A>   Type of {@code out}.
+   * @return {@code out}.
+   * @throws IllegalArgumentException If the pattern references more than one argument.
+   * @throws UncheckedIOException     If {@code out} throws {@link IOException}.
+   */
+  public <A extends Appendable> A render(A out, int value)
+      throws IllegalArgumentException, UncheckedIOException {
+    return render(out, 1, value, 0, 0, null, null, null, null);
+  }
+
+  /**
+   * Renders this template, with two {@code int} arguments, to {@code out}.
+   *
+   * @param out    Destination of rendered text.
+   * @param first  Argument 1.
+   * @param second Argument 2.
+   * @param <A>    Type of {@code out}.
+   * @return {@code out}.
+   * @throws IllegalArgumentException If the pattern references more than two arguments.
+   * @throws UncheckedIOException     If {@code out} throws {@link IOException}.
+   */
+  public <A extends Appendable> A render(A out, int first, int second)
+      throws IllegalArgumentException, UncheckedIOException {
+    return render(out, 2, first, second, 0, null, null, null, null);
+  }
+
+  /**
+   * Renders this template, with an {@code int} argument followed by a text argument, to
+   * {@code out}.
+   *
+   * @param out   Destination of rendered text.
+   * @param value Argument 1.
+   * @param text  Argument 2.
+   * @param <A>   Type of {@code out}.
+   * @return {@code out}.
+   * @throws IllegalArgumentException If the pattern references more than two arguments, or formats
+   *                                  argument 2 as an integer.
+   * @throws UncheckedIOException     If {@code out} throws {@link IOException}.
+   */
+  public <A extends Appendable> A render(A out, int value, CharSequence text)
+      throws IllegalArgumentException, UncheckedIOException {
+    return render(out, 2, value, 0, 0, null, nonNull(text), null, null);
+  }
+
+  /**
+   * Renders this template, with three {@code int} arguments followed by a text argument, to
+   * {@code out}.
+   *
+   * @param out    Destination of rendered text.
+   * @param first  Argument 1.
+   * @param second Argument 2.
+   * @param third  Argument 3.
+   * @param text   Argument 4.
+   * @param <A>    Type of {@code out}.
+   * @return {@code out}.
+   * @throws IllegalArgumentException If the pattern formats argument 4 as an integer.
+   * @throws UncheckedIOException     If {@code out} throws {@link IOException}.
+   */
+  public <A extends Appendable> A render(A out, int first, int second, int third,
+      CharSequence text) throws IllegalArgumentException, UncheckedIOException {
+    return render(out, 4, first, second, third, null, null, null, nonNull(text));
+  }
+
+  @Override
+  public String toString() {
+    return pattern;
+  }
+
+  private <A extends Appendable> A render(A out, int count, int first, int second, int third,
+      CharSequence firstText, CharSequence secondText, CharSequence thirdText,
+      CharSequence fourthText) throws IllegalArgumentException, UncheckedIOException {
+    if (arity > count) {
+      throw new IllegalArgumentException(
+          String.format(MISSING_ARGUMENT_FORMAT, pattern, arity, count));
+    }
+    try {
+      out.append(literals[0]);
+      for (int i = 0; i < indices.length; i++) {
+        int index = indices[i];
+        CharSequence text;
+        int value;
+        switch (index) {
+          case 1:
+            text = firstText;
+            value = first;
+            break;
+          case 2:
+            text = secondText;
+            value = second;
+            break;
+          case 3:
+            text = thirdText;
+            value = third;
+            break;
+          default:
+            text = fourthText;
+            value = 0;
+            break;
+        }
+        if (text == null) {
+          appendInt(out, value);
+        } else if (numeric[i]) {
+          throw new IllegalArgumentException(String.format(TEXT_ARGUMENT_FORMAT, pattern, index));
+        } else {
+          out.append(text);
+        }
+        out.append(literals[i + 1]);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out;
+  }
+
+  private static CharSequence nonNull(CharSequence text) {
+    return (text != null) ? text : NULL_TEXT;
+  }
+
+  private static void appendInt(Appendable out, int value) throws IOException {
+    if (out instanceof StringBuilder) {
+      ((StringBuilder) out).append(value);
+      return;
+    }
+    long remaining = value;
+    if (remaining < 0) {
+      out.append('-');
+      remaining = -remaining;
+    }
+    long divisor = 1;
+    while (divisor * 10 <= remaining) {
+      divisor *= 10;
+    }
+    for (; divisor > 0; divisor /= 10) {
+      out.append((char) ('0' + remaining / divisor));
+      remaining %= divisor;
+    }
+  }
+
+}
@@ -4,13 +4,18 @@
 package com.nickbenn.onehundred.view;
 
 import com.nickbenn.onehundred.model.Game;
-
 import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.Game.State;
 import java.util.ResourceBundle;
 
 /**
  * Implements the {@link GamePresentation GamePresentation&lt;T&gt;} for the {@link String} type.
  * This implementation is intended for use in a console-based game.
+ * <p>The patterns read from the resource bundle are compiled once, in the constructor, into
+ * {@link Template} instances; each view is then rendered directly into a {@link StringBuilder}
+ * (for the methods returning {@link String}) or the caller-supplied {@link Appendable} (for the
+ * overloads declared in {@link GamePresentation}), without parsing the pattern, boxing the numeric
+ * arguments, or (for a {@link StringBuilder} destination) creating any intermediate objects.</p>
  */
 public class TextGamePresentation implements GamePresentation<String> {
 
@@ -21,66 +26,103 @@ public class TextGamePresentation implements GamePresentation<String> {
   private static final String MOVE_REPORT = "move_report";
   private static final String MOVE_PROMPT = "move_prompt";
   private static final String ILLEGAL_MOVE = "illegal_move";
+  private static final ThreadLocal<StringBuilder> NEXT_STATE =
+      ThreadLocal.withInitial(StringBuilder::new);
 
-  private final String winStatePattern;
-  private final String playStatePattern;
-  private final String summaryPattern;
-  private final String nextMovePattern;
-  private final String moveReportPattern;
-  private final String movePromptPattern;
-  private final String illegalMovePattern;
+  private final Template winStateTemplate;
+  private final Template playStateTemplate;
+  private final Template summaryTemplate;
+  private final Template nextMoveTemplate;
+  private final Template moveReportTemplate;
+  private final Template movePromptTemplate;
+  private final Template illegalMoveTemplate;
 
   /**
    * Initializes this instance with {@link String} content read from a {@link ResourceBundle}
    * corresponding to {@code operation}. The base name of the bundle is the lowercase version of
-   * the value returned from {@code operation.name()}; most of the values in the bundle are used as
-   * format strings, passed to {@link String#format(String, Object...)} along with relevant
-   * arguments from the current game state.
+   * the value returned from {@code operation.name()}; most of the values in the bundle are
+   * {@link java.util.Formatter}-style patterns (compiled with {@link Template#compile(String)}),
+   * rendered with relevant arguments from the current game state.
    *
    * @param operation "Direction" of the game (addition or subtraction), specified as one of the
    *                  enumerated values of {@link Operation}.
    */
   public TextGamePresentation(Operation operation) {
     ResourceBundle bundle = ResourceBundle.getBundle(operation.name().toLowerCase());
-    winStatePattern = bundle.getString(WIN_STATE);
-    playStatePattern = bundle.getString(PLAY_STATE);
-    summaryPattern = bundle.getString(GAME_SUMMARY);
-    nextMovePattern = bundle.getString(NEXT_MOVE);
-    moveReportPattern = bundle.getString(MOVE_REPORT);
-    movePromptPattern = bundle.getString(MOVE_PROMPT);
-    illegalMovePattern = bundle.getString(ILLEGAL_MOVE);
+    winStateTemplate = Template.compile(bundle.getString(WIN_STATE));
+    playStateTemplate = Template.compile(bundle.getString(PLAY_STATE));
+    summaryTemplate = Template.compile(bundle.getString(GAME_SUMMARY));
+    nextMoveTemplate = Template.compile(bundle.getString(NEXT_MOVE));
+    moveReportTemplate = Template.compile(bundle.getString(MOVE_REPORT));
+    movePromptTemplate = Template.compile(bundle.getString(MOVE_PROMPT));
+    illegalMoveTemplate = Template.compile(bundle.getString(ILLEGAL_MOVE));
   }
 
   @Override
   public String stateRepresentation(Game game, String playerOne, String playerTwo) {
-    String player = game.getState().isTerminal()
-        ? ((game.getState() == Game.State.PLAYER_ONE_WIN) ? playerOne : playerTwo)
-        : ((game.getState() == Game.State.PLAYER_ONE_MOVE) ? playerOne : playerTwo);
-    String next = game.getState().isTerminal()
-        ? String.format(winStatePattern, player)
-        : String.format(playStatePattern, player);
-    return String.format(summaryPattern,
-        game.getUpperBound(), game.getCurrentCount(), game.getRemaining(), next);
+    StringBuilder builder = new StringBuilder();
+    stateRepresentation(builder, game, playerOne, playerTwo);
+    return builder.toString();
   }
 
   @Override
   public String nextMoveNotice(String player) {
-    return String.format(nextMovePattern, player);
+    return nextMoveTemplate.render(new StringBuilder(), player).toString();
   }
 
   @Override
   public String movePresentation(int move, String player) {
-    return String.format(moveReportPattern, move, player);
+    return moveReportTemplate.render(new StringBuilder(), move, player).toString();
   }
 
   @Override
   public String movePrompt(Game game) {
-    return String.format(movePromptPattern, Math.min(game.getMaxMove(), game.getRemaining()));
+    return movePromptTemplate.render(new StringBuilder(), maxPromptedMove(game)).toString();
   }
 
   @Override
   public String illegalMoveNotification(Game game) {
-    return String.format(illegalMovePattern, game.getUpperBound(), game.getMaxMove());
+    return illegalMoveTemplate
+        .render(new StringBuilder(), game.getUpperBound(), game.getMaxMove())
+        .toString();
+  }
+
+  @Override
+  public void stateRepresentation(Appendable out, Game game, String playerOne,
+      String playerTwo) {
+    State state = game.getState();
+    String player = state.isTerminal()
+        ? ((state == State.PLAYER_ONE_WIN) ? playerOne : playerTwo)
+        : ((state == State.PLAYER_ONE_MOVE) ? playerOne : playerTwo);
+    StringBuilder next = NEXT_STATE.get();
+    next.setLength(0);
+    (state.isTerminal() ? winStateTemplate : playStateTemplate).render(next, player);
+    summaryTemplate.render(out,
+        game.getUpperBound(), game.getCurrentCount(), game.getRemaining(), next);
+  }
+
+  @Override
+  public void nextMoveNotice(Appendable out, String player) {
+    nextMoveTemplate.render(out, player);
+  }
+
+  @Override
+  public void movePresentation(Appendable out, int move, String player) {
+    moveReportTemplate.render(out, move, player);
+  }
+
+  @Override
+  public void movePrompt(Appendable out, Game game) {
+    movePromptTemplate.render(out, maxPromptedMove(game));
+  }
+
+  @Override
+  public void illegalMoveNotification(Appendable out, Game game) {
+    illegalMoveTemplate.render(out, game.getUpperBound(), game.getMaxMove());
+  }
+
+  private static int maxPromptedMove(Game game) {
+    return Math.min(game.getMaxMove(), game.getRemaining());
   }
 
 }
@@ -4,6 +4,8 @@
 
 /**
  * Classes and interfaces responsible for constructing text-based (in the current implementation)
- * representations of the system state and key transitions.
+ * representations of the system state and key transitions, along with the compiler for the text
+ * templates from which those representations are rendered, and the streaming JSON encoder used to
+ * represent the state of a game in the HTTP API.
  */
 package com.nickbenn.onehundred.view;
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.nickbenn.onehundred.analysis;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.model.MoveSet;
+import com.nickbenn.onehundred.model.Rules;
+import com.nickbenn.onehundred.strategy.OptimalStrategy;
+import com.nickbenn.onehundred.strategy.RandomStrategy;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class MarkovAnalysisTest {
+
+  private static final double TOLERANCE = 1e-12;
+
+  @Test
+  void analyze_optimalSelfPlay() {
+    Rules rules = new Rules(Operation.ADDITION, 100, 10);
+    MarkovAnalysis analysis = MarkovAnalysis.analyze(rules,
+        new OptimalStrategy(new SplittableRandom(1)), new OptimalStrategy(new SplittableRandom(2)));
+    for (int remaining = 1; remaining <= 100; remaining++) {
+      double expected = (remaining % 11 == 0) ? 0 : 1;
+      assertEquals(expected,
+          analysis.getPlayerOneWinProbability(State.PLAYER_ONE_MOVE, remaining), TOLERANCE);
+      assertEquals(1 - expected,
+          analysis.getPlayerOneWinProbability(State.PLAYER_TWO_MOVE, remaining), TOLERANCE);
+    }
+  }
+
+  @Test
+  void analyze_randomSelfPlay() {
+    // With moves {1, 2}, a random player takes the win when it can; from 3 remaining, the player
+    // to move must leave 2 or 1, and the opponent then wins.
+    Rules rules = new Rules(Operation.SUBTRACTION, 4, MoveSet.of(1, 2));
+    MarkovAnalysis analysis = MarkovAnalysis.analyze(rules,
+        new RandomStrategy(new SplittableRandom(1)), new RandomStrategy(new SplittableRandom(2)));
+    assertEquals(1, analysis.getPlayerOneWinProbability(State.PLAYER_ONE_MOVE, 2), TOLERANCE);
+    assertEquals(0, analysis.getPlayerOneWinProbability(State.PLAYER_ONE_MOVE, 3), TOLERANCE);
+    assertEquals(0.5, analysis.getPlayerOneWinProbability(State.PLAYER_ONE_MOVE, 4), TOLERANCE);
+    assertEquals(2, analysis.getExpectedLength(State.PLAYER_ONE_MOVE, 3), TOLERANCE);
+    assertEquals(2.5, analysis.getExpectedLength(State.PLAYER_ONE_MOVE, 4), TOLERANCE);
+  }
+
+}
@@ -0,0 +1,31 @@
+package com.nickbenn.onehundred.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class BoundedLineReaderTest {
+
+  @Test
+  void readLine_terminators() throws IOException {
+    BoundedLineReader reader = new BoundedLineReader(
+        new ByteArrayInputStream("12\r\ny\n\nlast".getBytes(StandardCharsets.US_ASCII)), 3, 4);
+    assertEquals("12", reader.readLine());
+    assertEquals("y", reader.readLine());
+    assertEquals("", reader.readLine());
+    assertEquals("last", reader.readLine());
+    assertNull(reader.readLine());
+  }
+
+  @Test
+  void readLine_tooLong() throws IOException {
+    BoundedLineReader reader = new BoundedLineReader(
+        new ByteArrayInputStream("1234\r\n12345\n".getBytes(StandardCharsets.US_ASCII)), 8, 4);
+    assertEquals("1234", reader.readLine());
+    assertThrows(IOException.class, reader::readLine);
+  }
+
+}
@@ -0,0 +1,37 @@
+package com.nickbenn.onehundred.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class GameStoreTest {
+
+  @Test
+  void add_limited() {
+    GameStore<String> store = new GameStore<>(2, 1000);
+    String first = store.add("first");
+    String second = store.add("second");
+    assertNotNull(first);
+    assertNotNull(second);
+    assertNotEquals(first, second);
+    assertNull(store.add("third"));
+    assertTrue(store.remove(first));
+    assertFalse(store.remove(first));
+    assertNull(store.get(first));
+    assertEquals("second", store.get(second));
+    assertNotNull(store.add("third"));
+    assertEquals(2, store.size());
+  }
+
+  @Test
+  void evictIdle() {
+    GameStore<String> store = new GameStore<>(10, 1000);
+    String id = store.add("game");
+    long now = System.nanoTime();
+    assertEquals(0, store.evictIdle(now));
+    assertEquals(1, store.evictIdle(now + 2_000_000_000L));
+    assertNull(store.get(id));
+    assertEquals(0, store.size());
+  }
+
+}
@@ -0,0 +1,46 @@
+package com.nickbenn.onehundred.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class MoveTokenizerTest {
+
+  @Test
+  void next_tokensAndLines() throws IOException {
+    String script = "# header\n\n 10,1;+2\t-3 # trailing\r\nx 99999999999 7\n";
+    MoveTokenizer tokenizer = new MoveTokenizer(
+        new ByteArrayInputStream(script.getBytes(StandardCharsets.US_ASCII)), 3);
+    assertTrue(tokenizer.nextGame());
+    for (int expected : new int[]{10, 1, 2, -3}) {
+      assertEquals(MoveTokenizer.MOVE, tokenizer.next());
+      assertEquals(expected, tokenizer.getValue());
+    }
+    assertEquals(MoveTokenizer.END_OF_LINE, tokenizer.next());
+    assertTrue(tokenizer.nextGame());
+    assertEquals(MoveTokenizer.INVALID, tokenizer.next());
+    assertEquals(MoveTokenizer.INVALID, tokenizer.next());
+    assertEquals(MoveTokenizer.MOVE, tokenizer.next());
+    assertEquals(7, tokenizer.getValue());
+    assertEquals(MoveTokenizer.END_OF_LINE, tokenizer.next());
+    assertFalse(tokenizer.nextGame());
+    assertEquals(MoveTokenizer.END_OF_INPUT, tokenizer.next());
+  }
+
+  @Test
+  void skipLine() throws IOException {
+    MoveTokenizer tokenizer = new MoveTokenizer(
+        new ByteArrayInputStream("1 2 3\n4".getBytes(StandardCharsets.US_ASCII)));
+    assertTrue(tokenizer.nextGame());
+    assertEquals(MoveTokenizer.MOVE, tokenizer.next());
+    tokenizer.skipLine();
+    assertTrue(tokenizer.nextGame());
+    assertEquals(MoveTokenizer.MOVE, tokenizer.next());
+    assertEquals(4, tokenizer.getValue());
+    assertEquals(MoveTokenizer.END_OF_INPUT, tokenizer.next());
+  }
+
+}
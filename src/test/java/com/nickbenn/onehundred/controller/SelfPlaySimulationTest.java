@@ -0,0 +1,91 @@
+package com.nickbenn.onehundred.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.onehundred.controller.SelfPlaySimulation.Result;
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.strategy.Strategy.StrategyInitializationException;
+import org.junit.jupiter.api.Test;
+
+class SelfPlaySimulationTest {
+
+  private static final State[] INITIAL_STATES = {State.PLAYER_ONE_MOVE, State.PLAYER_TWO_MOVE};
+  private static final State[] RESULTS = {State.PLAYER_ONE_WIN, State.PLAYER_TWO_WIN};
+
+  @Test
+  void run_optimal() throws Exception {
+    // With a target of 100 and moves of 1-10, the first player can always force a win.
+    Result result = new SelfPlaySimulation.Builder("optimal", "optimal")
+        .setGames(1_001)
+        .setParallelism(3)
+        .setSeed(1)
+        .build()
+        .run();
+    assertEquals(1_001, result.getGames());
+    assertEquals(0, result.getWins(State.PLAYER_ONE_MOVE, State.PLAYER_TWO_WIN));
+    assertEquals(0, result.getWins(State.PLAYER_TWO_MOVE, State.PLAYER_ONE_WIN));
+    // The games are split 334/334/333 among the workers, each alternating the starting player.
+    assertEquals(501, result.getWins(State.PLAYER_ONE_MOVE, State.PLAYER_ONE_WIN));
+    assertEquals(500, result.getWins(State.PLAYER_TWO_MOVE, State.PLAYER_TWO_WIN));
+    assertEquals(0, result.getIllegalMoves());
+  }
+
+  @Test
+  void run_reproducible() throws Exception {
+    Result first = randomSimulation(7).run();
+    Result second = randomSimulation(7).run();
+    Result other = randomSimulation(8).run();
+    boolean different = false;
+    for (State initialState : INITIAL_STATES) {
+      for (State result : RESULTS) {
+        assertEquals(first.getWins(initialState, result), second.getWins(initialState, result));
+        different |= first.getWins(initialState, result) != other.getWins(initialState, result);
+      }
+    }
+    assertTrue(different);
+  }
+
+  @Test
+  void run_longTarget() throws Exception {
+    Result result = new SelfPlaySimulation.Builder("random", "optimal")
+        .setOperation(Operation.SUBTRACTION)
+        .setTarget(3L * Integer.MAX_VALUE)
+        .setMaxMove(1 << 30)
+        .setGames(20)
+        .setParallelism(2)
+        .setSeed(3)
+        .build()
+        .run();
+    assertEquals(20, result.getGames());
+    assertEquals(0, result.getIllegalMoves());
+  }
+
+  @Test
+  void run_unknownStrategy() {
+    SelfPlaySimulation simulation = new SelfPlaySimulation.Builder("optimal", "no-such-strategy")
+        .setGames(10)
+        .setParallelism(2)
+        .build();
+    assertThrows(StrategyInitializationException.class, simulation::run);
+  }
+
+  @Test
+  void builder_invalid() {
+    SelfPlaySimulation.Builder builder = new SelfPlaySimulation.Builder("random", "random");
+    assertThrows(IllegalArgumentException.class, () -> builder.setGames(0));
+    assertThrows(IllegalArgumentException.class, () -> builder.setParallelism(0));
+    assertThrows(NullPointerException.class, () -> new SelfPlaySimulation.Builder(null, "random"));
+  }
+
+  private static SelfPlaySimulation randomSimulation(long seed) {
+    return new SelfPlaySimulation.Builder("random", "random")
+        .setTarget(20)
+        .setMaxMove(4)
+        .setGames(2_000)
+        .setParallelism(2)
+        .setSeed(seed)
+        .build();
+  }
+
+}
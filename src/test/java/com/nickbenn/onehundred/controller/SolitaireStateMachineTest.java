@@ -0,0 +1,63 @@
+package com.nickbenn.onehundred.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.view.TextGamePresentation;
+import java.util.ResourceBundle;
+import org.junit.jupiter.api.Test;
+
+class SolitaireStateMachineTest {
+
+  private static final String BUNDLE_NAME = "session";
+
+  @Test
+  void accept_playsToCompletion() {
+    SolitaireStateMachine referee = newReferee();
+    StringBuilder out = new StringBuilder();
+    assertThrows(IllegalStateException.class, () -> referee.accept("1", out));
+    referee.start(out);
+    assertEquals(State.PLAYER_ONE_MOVE, referee.getState());
+    assertTrue(out.toString().endsWith("? "));
+    int lines = 0;
+    boolean finished = false;
+    while (!finished && lines++ < 100) {
+      out.setLength(0);
+      finished = referee.accept(" 1\r", out);
+      assertEquals(finished, referee.isFinished());
+    }
+    assertTrue(finished);
+    assertTrue(referee.getState().isTerminal());
+    assertThrows(IllegalStateException.class, () -> referee.accept("1", out));
+    assertThrows(IllegalStateException.class, () -> referee.start(out));
+  }
+
+  @Test
+  void accept_illegal() {
+    SolitaireStateMachine referee = newReferee();
+    StringBuilder out = new StringBuilder();
+    referee.start(out);
+    for (String line : new String[]{"", "abc", "0", "11", "-1", "1234567890"}) {
+      out.setLength(0);
+      assertFalse(referee.accept(line, out));
+      assertEquals(State.PLAYER_ONE_MOVE, referee.getState());
+      assertTrue(out.toString().endsWith("? "));
+    }
+  }
+
+  @Test
+  void play_requiresPushedMoves() {
+    SolitaireStateMachine referee = newReferee();
+    assertThrows(IllegalStateException.class, referee::play);
+    assertEquals(State.PLAYER_ONE_MOVE, referee.getState());
+  }
+
+  private static SolitaireStateMachine newReferee() {
+    return new SolitaireStateMachine.Builder(
+        new TextGamePresentation(Operation.ADDITION), ResourceBundle.getBundle(BUNDLE_NAME))
+        .setQuiet(true)
+        .build();
+  }
+
+}
@@ -0,0 +1,80 @@
+package com.nickbenn.onehundred.journal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.onehundred.controller.HeadlessReferee;
+import com.nickbenn.onehundred.journal.JournalAnalyzer.Category;
+import com.nickbenn.onehundred.journal.JournalAnalyzer.PlayerSummary;
+import com.nickbenn.onehundred.strategy.Strategy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournalAnalyzerTest {
+
+  private static final int GAMES = 100;
+  private static final int SEGMENT_SIZE = 2048;
+  private static final int OPTIMAL_LENGTH = 19;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void analyze() throws Exception {
+    record();
+    JournalAnalyzer analyzer = JournalAnalyzer.analyze(directory, 2);
+    assertTrue(analyzer.getSegments() > 1);
+    assertEquals(0, analyzer.getTruncatedSegments());
+    List<Category> categories = analyzer.getCategories();
+    assertEquals(2, categories.size());
+    Category optimal = categories.get(0);
+    assertEquals("optimal", optimal.getPlayerOneName());
+    assertEquals(GAMES, optimal.getStarted());
+    assertEquals(GAMES, optimal.getGames());
+    assertEquals(1, optimal.getPlayerOneWinRate());
+    assertEquals(OPTIMAL_LENGTH, optimal.getLengthQuantile(0.5));
+    assertEquals(OPTIMAL_LENGTH, optimal.getMaxLength());
+    assertEquals(GAMES, optimal.getGames(OPTIMAL_LENGTH, OPTIMAL_LENGTH));
+    assertEquals(2 * GAMES, analyzer.getTotal().getGames());
+    List<PlayerSummary> players = analyzer.getPlayers();
+    assertEquals(2, players.size());
+    assertEquals(3 * GAMES, players.get(0).getGames());
+    assertEquals(1, players.get(0).getOptimalRate());
+    assertTrue(players.get(1).getOptimalRate() < 1);
+    assertEquals(0, players.get(1).getWins());
+  }
+
+  @Test
+  void analyzeTruncated() throws Exception {
+    record();
+    List<Path> segments = JournalFormat.listSegments(directory);
+    Files.write(segments.get(segments.size() - 1), new byte[] {20, JournalFormat.MOVE},
+        StandardOpenOption.APPEND);
+    JournalAnalyzer analyzer = JournalAnalyzer.analyze(directory, 1);
+    assertEquals(1, analyzer.getTruncatedSegments());
+    assertEquals(2 * GAMES, analyzer.getTotal().getGames());
+  }
+
+  private void record() throws Exception {
+    Strategy optimal = Strategy.newInstance("optimal");
+    Strategy random = Strategy.newInstance("random");
+    try (Journal journal = new Journal.Builder(directory)
+        .setSegmentSize(SEGMENT_SIZE)
+        .build()) {
+      for (int i = 0; i < GAMES; i++) {
+        new HeadlessReferee.Builder(optimal, optimal)
+            .setJournal(journal)
+            .build()
+            .play();
+        new HeadlessReferee.Builder(random, optimal)
+            .setJournal(journal)
+            .build()
+            .play();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,87 @@
+package com.nickbenn.onehundred.journal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.onehundred.controller.HeadlessReferee;
+import com.nickbenn.onehundred.strategy.Strategy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32C;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournalTest {
+
+  private static final int GAMES = 200;
+  private static final int SEGMENT_SIZE = 1024;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void record() throws Exception {
+    playGames();
+    List<Path> segments = JournalFormat.listSegments(directory);
+    assertTrue(segments.size() > 1);
+    long[] counts = new long[JournalFormat.GAME_END + 1];
+    for (Path segment : segments) {
+      assertTrue(Files.size(segment) <= SEGMENT_SIZE);
+      readRecords(segment, counts);
+    }
+    assertEquals(GAMES, counts[JournalFormat.GAME_START]);
+    assertEquals(GAMES, counts[JournalFormat.GAME_END]);
+    assertTrue(counts[JournalFormat.GAME_CONTINUED] > 0);
+    assertTrue(counts[JournalFormat.MOVE] >= GAMES);
+  }
+
+  @Test
+  void recover() throws Exception {
+    playGames();
+    List<Path> segments = JournalFormat.listSegments(directory);
+    Path last = segments.get(segments.size() - 1);
+    long size = Files.size(last);
+    byte[] torn = {10, JournalFormat.MOVE, 1, 2};
+    Files.write(last, torn, StandardOpenOption.APPEND);
+    try (Journal journal = new Journal.Builder(directory).build()) {
+      assertEquals(torn.length, journal.getRecoveredBytes());
+    }
+    assertEquals(size, Files.size(last));
+    assertEquals(segments.size() + 1, JournalFormat.listSegments(directory).size());
+  }
+
+  private void playGames() throws Exception {
+    Strategy random = Strategy.newInstance("random");
+    Strategy optimal = Strategy.newInstance("optimal");
+    try (Journal journal = new Journal.Builder(directory)
+        .setSegmentSize(SEGMENT_SIZE)
+        .build()) {
+      for (int i = 0; i < GAMES; i++) {
+        new HeadlessReferee.Builder(random, optimal)
+            .setJournal(journal)
+            .setSeed(i)
+            .build()
+            .play();
+      }
+    }
+  }
+
+  private static void readRecords(Path segment, long[] counts) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+    assertEquals(JournalFormat.MAGIC, buffer.getInt());
+    CRC32C crc = new CRC32C();
+    while (buffer.hasRemaining()) {
+      int length = (int) JournalFormat.getVarLong(buffer);
+      ByteBuffer payload = buffer.slice(buffer.position(), length);
+      buffer.position(buffer.position() + length);
+      crc.reset();
+      crc.update(payload.duplicate());
+      assertEquals((int) crc.getValue(), buffer.getInt());
+      counts[payload.get()]++;
+    }
+  }
+
+}
@@ -0,0 +1,75 @@
+package com.nickbenn.onehundred.learning;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.MoveSet;
+import com.nickbenn.onehundred.model.Rules;
+import com.nickbenn.onehundred.strategy.Strategy.StrategyInitializationException;
+import com.nickbenn.onehundred.strategy.WinLossTable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TrainerTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void run_learnsOptimalPolicy() throws Exception {
+    Rules rules = new Rules(Operation.SUBTRACTION, 40, MoveSet.of(1, 3, 4));
+    Path file = directory.resolve("test.qtable");
+    Trainer.Result result = new Trainer.Builder(rules)
+        .setEpisodes(200_000)
+        .setSeed(1)
+        .setParallelism(1)
+        .setCheckpointFile(file)
+        .setCheckpointInterval(50_000)
+        .build()
+        .run();
+    assertEquals(1, result.getOptimalFraction());
+    assertEquals(4, result.getCheckpoints());
+    QTable table = QTable.read(file);
+    WinLossTable solution = WinLossTable.forMoves(rules.getMoves(), rules.getUpperBound());
+    LearnedStrategy strategy = new LearnedStrategy(new SplittableRandom(1), file);
+    assertTrue(strategy.isTrained());
+    for (int remaining = 1; remaining <= rules.getUpperBound(); remaining++) {
+      assertEquals(result.getTable().getBestMove(remaining), table.getBestMove(remaining));
+      double[] distribution = new double[rules.getMaxMove() + 1];
+      strategy.getMoveDistribution(rules, remaining, distribution);
+      assertEquals(1, distribution[table.getBestMove(remaining)]);
+      if (!solution.isLosing(remaining)) {
+        assertTrue(solution.isLosing(remaining - table.getBestMove(remaining)));
+      }
+    }
+  }
+
+  @Test
+  void run_opponentInitializationFailure() throws IOException {
+    Path file = Files.writeString(directory.resolve("opponent.qtable"), "Not a Q-table.");
+    Path defaultFile = LearnedStrategy.getDefaultFile();
+    LearnedStrategy.setDefaultFile(file);
+    try {
+      Trainer trainer = new Trainer.Builder(new Rules(Operation.ADDITION, 20, 4))
+          .setOpponents(List.of("learned"))
+          .setEpisodes(10)
+          .setParallelism(2)
+          .build();
+      assertThrows(StrategyInitializationException.class, trainer::run);
+    } finally {
+      LearnedStrategy.setDefaultFile(defaultFile);
+    }
+  }
+
+  @Test
+  void read_invalidFile() throws IOException {
+    Path file = Files.writeString(directory.resolve("invalid.qtable"), "Not a Q-table.");
+    assertThrows(IOException.class, () -> QTable.read(file));
+  }
+
+}
@@ -0,0 +1,64 @@
+package com.nickbenn.onehundred.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class LogHistogramTest {
+
+  @Test
+  void bucketOf() {
+    assertEquals(0, LogHistogram.bucketOf(0));
+    assertEquals(1, LogHistogram.bucketOf(1));
+    assertEquals(2, LogHistogram.bucketOf(2));
+    assertEquals(2, LogHistogram.bucketOf(3));
+    assertEquals(11, LogHistogram.bucketOf(1024));
+    assertEquals(LogHistogram.BUCKETS - 1, LogHistogram.bucketOf(Long.MAX_VALUE));
+    for (int bucket = 1; bucket < LogHistogram.BUCKETS; bucket++) {
+      assertEquals(bucket, LogHistogram.bucketOf(LogHistogram.upperBound(bucket)));
+      assertEquals(bucket, LogHistogram.bucketOf(LogHistogram.upperBound(bucket - 1) + 1));
+    }
+  }
+
+  @Test
+  void record_statistics() {
+    LogHistogram histogram = new LogHistogram();
+    assertEquals(0, histogram.getQuantile(0.5));
+    for (long value = 1; value <= 1000; value++) {
+      histogram.record(value);
+    }
+    histogram.record(-5);
+    assertEquals(1001, histogram.getCount());
+    assertEquals(500_500, histogram.getSum());
+    assertEquals(1000, histogram.getMax());
+    assertEquals(1, histogram.getCount(0));
+    assertEquals(489, histogram.getCount(10));
+    assertEquals(511, histogram.getQuantile(0.5));
+    assertEquals(1000, histogram.getQuantile(0.99));
+    assertThrows(IllegalArgumentException.class, () -> histogram.getQuantile(1.5));
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+  }
+
+  @Test
+  void record_concurrent() throws InterruptedException {
+    LogHistogram histogram = new LogHistogram();
+    ForkJoinPool pool = new ForkJoinPool(4);
+    for (int task = 0; task < 4; task++) {
+      pool.execute(() -> {
+        for (int value = 0; value < 100_000; value++) {
+          histogram.record(value);
+        }
+      });
+    }
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+    assertEquals(400_000, histogram.getCount());
+    assertEquals(4 * (100_000L * 99_999 / 2), histogram.getSum());
+    assertEquals(99_999, histogram.getMax());
+  }
+
+}
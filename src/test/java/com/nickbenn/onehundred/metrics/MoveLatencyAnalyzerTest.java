@@ -0,0 +1,63 @@
+package com.nickbenn.onehundred.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.onehundred.controller.HeadlessReferee;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.model.event.GameListener;
+import com.nickbenn.onehundred.strategy.Strategy;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MoveLatencyAnalyzerTest {
+
+  private static final int GAMES = 100;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void analyze() throws Exception {
+    Strategy random = Strategy.newInstance("random");
+    Strategy optimal = Strategy.newInstance("optimal");
+    MoveCounter counter = new MoveCounter();
+    Path file = directory.resolve("moves.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(MoveEvent.class).withThreshold(Duration.ZERO);
+      recording.enable(GameEndEvent.class).withThreshold(Duration.ZERO);
+      recording.start();
+      for (int i = 0; i < GAMES; i++) {
+        new HeadlessReferee.Builder(random, optimal)
+            .addListener(counter)
+            .build()
+            .play();
+      }
+      recording.stop();
+      recording.dump(file);
+    }
+    MoveLatencyAnalyzer analyzer = MoveLatencyAnalyzer.analyze(file);
+    assertEquals(GAMES, analyzer.getGames());
+    List<MoveLatencyAnalyzer.Summary> summaries = analyzer.getSummaries();
+    assertEquals(2, summaries.size());
+    assertEquals("optimal", summaries.get(0).getStrategy());
+    assertEquals("random", summaries.get(1).getStrategy());
+    assertEquals(counter.moves, summaries.get(0).getMoves() + summaries.get(1).getMoves());
+    assertEquals(0, summaries.get(0).getIllegalMoves());
+  }
+
+  private static class MoveCounter implements GameListener {
+
+    private long moves;
+
+    @Override
+    public void moveApplied(State mover, int move, int count) {
+      moves++;
+    }
+
+  }
+
+}
@@ -0,0 +1,98 @@
+package com.nickbenn.onehundred.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.Game.State;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class GameBatchTest {
+
+  private static final int SIZE = 64;
+  private static final int ROUNDS = 200;
+  private static final int[] EDGE_MOVES = {0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE};
+
+  @Test
+  void playAll_addition() {
+    assertSameAsGame(new Rules(Operation.ADDITION, 30, 5), State.PLAYER_ONE_MOVE, 1);
+  }
+
+  @Test
+  void playAll_subtraction() {
+    assertSameAsGame(new Rules(Operation.SUBTRACTION, 30, 5), State.PLAYER_TWO_MOVE, 2);
+  }
+
+  @Test
+  void playAll_moveSet() {
+    assertSameAsGame(new Rules(Operation.ADDITION, 40, MoveSet.of(1, 3, 4, 9)),
+        State.PLAYER_ONE_MOVE, 3);
+    assertSameAsGame(new Rules(Operation.SUBTRACTION, 40, MoveSet.of(1, 3, 4, 9)),
+        State.PLAYER_TWO_MOVE, 4);
+  }
+
+  @Test
+  void playAll_finished() {
+    GameBatch batch = new GameBatch(Operation.ADDITION, 4, 3, 2, State.PLAYER_ONE_MOVE);
+    assertEquals(0, batch.playAll(new int[]{3, 1}));
+    assertEquals(0, batch.playAll(new int[]{1, 2}));
+    assertEquals(State.PLAYER_TWO_WIN, batch.getState(0));
+    assertEquals(1, batch.getActive());
+    assertEquals(1, batch.playAll(new int[]{1, 3}));
+    assertEquals(4, batch.getCurrentCount(0));
+    assertEquals(State.PLAYER_TWO_WIN, batch.getState(0));
+    assertEquals(3, batch.getCurrentCount(1));
+    assertEquals(State.PLAYER_ONE_MOVE, batch.getState(1));
+    assertEquals(0, batch.playAll(new int[]{-1, 1}));
+    assertEquals(State.PLAYER_ONE_WIN, batch.getState(1));
+    assertEquals(0, batch.getActive());
+    assertThrows(IllegalArgumentException.class, () -> batch.playAll(new int[1]));
+  }
+
+  private static void assertSameAsGame(Rules rules, State initialState, long seed) {
+    Random rng = new Random(seed);
+    GameBatch batch = new GameBatch(rules, SIZE, initialState);
+    Game[] games = new Game[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      games[i] = new Game(rules, initialState);
+    }
+    int maxMove = rules.getMoves().getMax();
+    int[] moves = new int[SIZE];
+    for (int round = 0; round < ROUNDS && batch.getActive() > 0; round++) {
+      int expectedRejected = 0;
+      int expectedActive = 0;
+      for (int i = 0; i < SIZE; i++) {
+        int choice = rng.nextInt(10);
+        moves[i] = (choice == 0)
+            ? EDGE_MOVES[rng.nextInt(EDGE_MOVES.length)]
+            : (choice == 1) ? maxMove + 1 + rng.nextInt(3) : 1 + rng.nextInt(maxMove);
+        Game game = games[i];
+        if (!game.getState().isTerminal()) {
+          if (game.tryPlay(moves[i]) != Game.MOVE_ACCEPTED) {
+            expectedRejected++;
+          }
+          if (!game.getState().isTerminal()) {
+            expectedActive++;
+          }
+        } else {
+          assertEquals(Game.MOVE_REJECTED_FINISHED, game.tryPlay(moves[i]));
+        }
+      }
+      assertEquals(expectedRejected, batch.playAll(moves));
+      assertEquals(expectedActive, batch.getActive());
+      for (int i = 0; i < SIZE; i++) {
+        assertEquals(games[i].getCurrentCount(), batch.getCurrentCount(i));
+        assertEquals(games[i].getState(), batch.getState(i));
+        assertEquals(games[i].getRemaining(), batch.getRemaining(i));
+        assertEquals(games[i].getState().isTerminal(), batch.isTerminal(i));
+      }
+    }
+    assertEquals(0, batch.getActive());
+    for (int i = 0; i < SIZE; i++) {
+      Game copy = batch.toGame(i);
+      assertEquals(games[i].getCurrentCount(), copy.getCurrentCount());
+      assertEquals(games[i].getState(), copy.getState());
+    }
+  }
+
+}
@@ -2,6 +2,8 @@ package com.nickbenn.onehundred.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.nickbenn.onehundred.model.exception.GameFinishedException;
+import com.nickbenn.onehundred.model.exception.IllegalMoveException;
 import org.junit.jupiter.api.Test;
 
 // TODO: 2022-10-05 Replace test stubs.
@@ -53,4 +55,167 @@ class GameTest {
     fail("Test not implemented");
   }
 
-}
\ No newline at end of file
+  @Test
+  void tryPlay_accepted() {
+    Game game = new Game(Game.Operation.ADDITION, 12, 5, Game.State.PLAYER_ONE_MOVE);
+    assertEquals(Game.MOVE_ACCEPTED, game.tryPlay(5));
+    assertEquals(5, game.getCurrentCount());
+    assertEquals(Game.State.PLAYER_TWO_MOVE, game.getState());
+    assertFalse(game.isFirstMove());
+    assertEquals(Game.MOVE_ACCEPTED, game.tryPlay(2));
+    assertEquals(Game.MOVE_ACCEPTED, game.tryPlay(5));
+    assertEquals(Game.State.PLAYER_ONE_WIN, game.getState());
+    assertEquals(3, game.getMoveCount());
+  }
+
+  @Test
+  void tryPlay_rejected() {
+    Game game = new Game(Game.Operation.ADDITION, 12, 5, Game.State.PLAYER_ONE_MOVE);
+    game.play(4);
+    game.play(5);
+    long before = game.snapshot();
+    assertEquals(Game.MOVE_REJECTED_SIZE, game.tryPlay(0));
+    assertEquals(Game.MOVE_REJECTED_SIZE, game.tryPlay(-1));
+    assertEquals(Game.MOVE_REJECTED_SIZE, game.tryPlay(6));
+    assertEquals(Game.MOVE_REJECTED_OVERSHOOT, game.tryPlay(4));
+    assertEquals(before, game.snapshot());
+    assertEquals(2, game.getMoveCount());
+    game.play(3);
+    before = game.snapshot();
+    assertEquals(Game.MOVE_REJECTED_FINISHED, game.tryPlay(1));
+    assertEquals(before, game.snapshot());
+    assertEquals(Game.State.PLAYER_ONE_WIN, game.getState());
+  }
+
+  @Test
+  void tryPlay_subtraction() {
+    Game game = new Game(Game.Operation.SUBTRACTION, 7, 5, Game.State.PLAYER_TWO_MOVE);
+    assertEquals(Game.MOVE_ACCEPTED, game.tryPlay(5));
+    assertEquals(2, game.getCurrentCount());
+    assertEquals(Game.MOVE_REJECTED_OVERSHOOT, game.tryPlay(3));
+    assertEquals(2, game.getCurrentCount());
+    assertEquals(Game.MOVE_ACCEPTED, game.tryPlay(2));
+    assertEquals(Game.State.PLAYER_ONE_WIN, game.getState());
+  }
+
+  @Test
+  void isLegal() {
+    Game game = new Game(new Rules(Game.Operation.ADDITION, 10, MoveSet.of(1, 3, 4)),
+        Game.State.PLAYER_ONE_MOVE);
+    game.play(4);
+    game.play(4);
+    long before = game.snapshot();
+    assertTrue(game.isLegal(1));
+    assertFalse(game.isLegal(2));
+    assertFalse(game.isLegal(3));
+    assertFalse(game.isLegal(0));
+    assertEquals(before, game.snapshot());
+    game.play(1);
+    game.play(1);
+    assertFalse(game.isLegal(1));
+  }
+
+  @Test
+  void play_exceptions() {
+    Game game = new Game(Game.Operation.ADDITION, 12, 5, Game.State.PLAYER_ONE_MOVE);
+    game.play(4);
+    game.play(5);
+    IllegalMoveException tooLarge = assertThrows(IllegalMoveException.class, () -> game.play(6));
+    assertEquals("Attempted move (6) exceeds the maximum allowed (5).", tooLarge.getMessage());
+    IllegalMoveException overshoot =
+        assertThrows(IllegalMoveException.class, () -> game.play(4));
+    assertEquals("A move of (4) with a current count of (9) would result in a count of 13, "
+        + "outside the allowed range (0-12).", overshoot.getMessage());
+    assertEquals(9, game.getCurrentCount());
+    game.play(3);
+    GameFinishedException finished =
+        assertThrows(GameFinishedException.class, () -> game.play(1));
+    assertEquals("Game is already in a terminal state (sum = 12); no further moves allowed.",
+        finished.getMessage());
+    Game subset = new Game(new Rules(Game.Operation.ADDITION, 10, MoveSet.of(1, 3, 4)),
+        Game.State.PLAYER_ONE_MOVE);
+    IllegalMoveException notAllowed =
+        assertThrows(IllegalMoveException.class, () -> subset.play(2));
+    assertEquals("Attempted move (2) is not one of the allowed moves {1, 3, 4}.",
+        notAllowed.getMessage());
+  }
+
+  @Test
+  void undo() {
+    Game game = new Game(Game.Operation.SUBTRACTION, 20, 5, Game.State.PLAYER_TWO_MOVE);
+    game.enableUndo();
+    game.play(5);
+    game.play(3);
+    assertEquals(2, game.getUndoDepth());
+    assertEquals(3, game.undo());
+    assertEquals(15, game.getCurrentCount());
+    assertEquals(Game.State.PLAYER_ONE_MOVE, game.getState());
+    assertFalse(game.isFirstMove());
+    assertEquals(5, game.undo());
+    assertEquals(20, game.getCurrentCount());
+    assertEquals(Game.State.PLAYER_TWO_MOVE, game.getState());
+    assertTrue(game.isFirstMove());
+    assertThrows(IllegalStateException.class, game::undo);
+  }
+
+  @Test
+  void undo_win() {
+    Game game = new Game(Game.Operation.ADDITION, 6, 5, Game.State.PLAYER_ONE_MOVE);
+    game.enableUndo();
+    game.play(1);
+    game.play(5);
+    assertEquals(Game.State.PLAYER_TWO_WIN, game.getState());
+    game.undo();
+    assertEquals(Game.State.PLAYER_TWO_MOVE, game.getState());
+    assertEquals(5, game.getRemaining());
+  }
+
+  @Test
+  void snapshot_restore() {
+    Game game = new Game(Game.Operation.ADDITION, 100, 10, Game.State.PLAYER_ONE_MOVE);
+    long initial = game.snapshot();
+    assertEquals(0, Game.Snapshot.getCount(initial));
+    assertEquals(Game.State.PLAYER_ONE_MOVE, Game.Snapshot.getState(initial));
+    assertTrue(Game.Snapshot.isFirstMove(initial));
+    game.play(7);
+    long afterMove = game.snapshot();
+    assertEquals(Game.Snapshot.of(7, Game.State.PLAYER_TWO_MOVE, false), afterMove);
+    game.play(10);
+    game.restore(afterMove);
+    assertEquals(7, game.getCurrentCount());
+    assertEquals(Game.State.PLAYER_TWO_MOVE, game.getState());
+    assertEquals(0, game.getUndoDepth());
+    game.restore(initial);
+    assertTrue(game.isFirstMove());
+    assertThrows(IllegalArgumentException.class,
+        () -> game.restore(Game.Snapshot.of(100, Game.State.PLAYER_ONE_MOVE, false)));
+    assertThrows(IllegalArgumentException.class,
+        () -> game.restore(Game.Snapshot.of(101, Game.State.PLAYER_ONE_WIN, false)));
+  }
+
+  @Test
+  void fork() {
+    Game game = new Game(Game.Operation.ADDITION, 100, 10, Game.State.PLAYER_ONE_MOVE);
+    game.play(4);
+    Game fork = game.fork();
+    fork.play(6);
+    assertEquals(4, game.getCurrentCount());
+    assertEquals(10, fork.getCurrentCount());
+    assertEquals(game.getRules(), fork.getRules());
+    assertEquals(1, fork.getUndoDepth());
+    assertEquals(2, fork.getMoveCount());
+    assertEquals(0, game.getUndoDepth());
+    assertEquals(1, game.getMoveCount());
+  }
+
+  @Test
+  void undo_disabled() {
+    Game game = new Game(Game.Operation.ADDITION, 100, 10, Game.State.PLAYER_ONE_MOVE);
+    game.play(3);
+    game.play(4);
+    assertEquals(2, game.getMoveCount());
+    assertEquals(0, game.getUndoDepth());
+    assertThrows(IllegalStateException.class, game::undo);
+  }
+
+}
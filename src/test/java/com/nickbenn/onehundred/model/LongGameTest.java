@@ -0,0 +1,46 @@
+package com.nickbenn.onehundred.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.model.exception.GameFinishedException;
+import com.nickbenn.onehundred.model.exception.IllegalMoveException;
+import org.junit.jupiter.api.Test;
+
+class LongGameTest {
+
+  private static final MoveSet MOVES = MoveSet.contiguous(10);
+
+  @Test
+  void tryPlay_maxValueBound() {
+    LongGame game =
+        new LongGame(Operation.SUBTRACTION, Long.MAX_VALUE, MOVES, State.PLAYER_TWO_MOVE);
+    assertEquals(Game.MOVE_ACCEPTED, game.tryPlay(7));
+    assertEquals(Long.MAX_VALUE - 7, game.getCurrentCount());
+    assertEquals(Long.MAX_VALUE - 7, game.getRemaining());
+    assertEquals(State.PLAYER_ONE_MOVE, game.getState());
+    assertFalse(game.isFirstMove());
+  }
+
+  @Test
+  void tryPlay_rejections() {
+    LongGame game = new LongGame(Operation.ADDITION, 11, MOVES, State.PLAYER_ONE_MOVE);
+    assertEquals(Game.MOVE_REJECTED_SIZE, game.tryPlay(11));
+    assertEquals(Game.MOVE_ACCEPTED, game.tryPlay(10));
+    assertEquals(Game.MOVE_REJECTED_OVERSHOOT, game.tryPlay(2));
+    assertEquals(Game.MOVE_ACCEPTED, game.tryPlay(1));
+    assertEquals(State.PLAYER_TWO_WIN, game.getState());
+    assertEquals(Game.MOVE_REJECTED_FINISHED, game.tryPlay(1));
+  }
+
+  @Test
+  void play_exceptions() {
+    LongGame game = new LongGame(Operation.SUBTRACTION, 12, MOVES, State.PLAYER_ONE_MOVE);
+    game.play(10);
+    assertThrows(IllegalMoveException.class, () -> game.play(3));
+    game.play(2);
+    assertThrows(GameFinishedException.class, () -> game.play(1));
+  }
+
+}
@@ -0,0 +1,69 @@
+package com.nickbenn.onehundred.model.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.Game.State;
+import org.junit.jupiter.api.Test;
+
+class AsyncGameListenerTest {
+
+  @Test
+  void synchronousNotification() {
+    RecordingListener listener = new RecordingListener();
+    Game game = new Game(Operation.ADDITION, 12, 5, State.PLAYER_ONE_MOVE);
+    game.addListener(listener);
+    game.tryPlay(6);
+    game.play(5);
+    game.play(2);
+    game.play(5);
+    game.tryPlay(1);
+    assertEquals("illegal 6/2; PLAYER_ONE_MOVE 5>5; PLAYER_TWO_MOVE 2>7; PLAYER_ONE_MOVE 5>12; "
+        + "finished PLAYER_ONE_WIN/3; illegal 1/1; ", listener.toString());
+  }
+
+  @Test
+  void asynchronousNotification() {
+    RecordingListener listener = new RecordingListener();
+    AsyncGameListener async = new AsyncGameListener(listener, 2, AsyncGameListener.Overflow.BLOCK);
+    for (int i = 0; i < 10; i++) {
+      Game game = new Game(Operation.SUBTRACTION, 2, 1, State.PLAYER_TWO_MOVE);
+      game.addListener(async);
+      game.play(1);
+      game.play(1);
+    }
+    async.close();
+    assertEquals(("PLAYER_TWO_MOVE 1>1; PLAYER_ONE_MOVE 1>0; finished PLAYER_ONE_WIN/2; ")
+        .repeat(10), listener.toString());
+    assertEquals(0, async.getDropped());
+    assertThrows(IllegalStateException.class, () -> async.moveApplied(State.PLAYER_ONE_MOVE, 1, 1));
+  }
+
+  private static class RecordingListener implements GameListener {
+
+    private final StringBuilder events = new StringBuilder();
+
+    @Override
+    public void moveApplied(State mover, int move, int count) {
+      events.append(String.format("%s %d>%d; ", mover, move, count));
+    }
+
+    @Override
+    public void illegalMove(State mover, int move, int reason) {
+      events.append(String.format("illegal %d/%d; ", move, reason));
+    }
+
+    @Override
+    public void gameFinished(State result, int moves) {
+      events.append(String.format("finished %s/%d; ", result, moves));
+    }
+
+    @Override
+    public String toString() {
+      return events.toString();
+    }
+
+  }
+
+}
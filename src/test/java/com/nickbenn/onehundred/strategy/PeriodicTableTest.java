@@ -0,0 +1,40 @@
+package com.nickbenn.onehundred.strategy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.onehundred.model.MoveSet;
+import org.junit.jupiter.api.Test;
+
+class PeriodicTableTest {
+
+  private static final int LIMIT = 10_000;
+
+  @Test
+  void isLosing_matchesWinLossTable() {
+    int[][] sets = {{1, 3, 4}, {1, 2, 5}, {1, 4, 9, 16, 25}, {1, 7, 13, 40}};
+    for (int[] set : sets) {
+      MoveSet moves = MoveSet.of(set);
+      PeriodicTable periodic = PeriodicTable.forMoves(moves);
+      WinLossTable table = WinLossTable.forMoves(moves, LIMIT);
+      for (int remaining = 0; remaining <= LIMIT; remaining++) {
+        assertEquals(table.isLosing(remaining), periodic.isLosing(remaining));
+      }
+    }
+  }
+
+  @Test
+  void getPeriod() {
+    assertEquals(11, PeriodicTable.forMoves(MoveSet.contiguous(10)).getPeriod());
+    assertEquals(7, PeriodicTable.forMoves(MoveSet.of(1, 3, 4)).getPeriod());
+  }
+
+  @Test
+  void getWinningMove_largeRemaining() {
+    PeriodicTable table = PeriodicTable.forMoves(MoveSet.of(1, 3, 4));
+    long remaining = 7_000_000_000_003L;
+    int move = table.getWinningMove(remaining);
+    assertTrue(move > 0);
+    assertTrue(table.isLosing(remaining - move));
+  }
+
+}
@@ -0,0 +1,77 @@
+package com.nickbenn.onehundred.strategy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.Game.State;
+import com.nickbenn.onehundred.strategy.Strategy.StrategyInitializationException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class StrategyRegistryTest {
+
+  @Test
+  void getInstance() {
+    assertSame(StrategyRegistry.getInstance(), StrategyRegistry.getInstance());
+  }
+
+  @Test
+  void getKeys() throws Exception {
+    Properties properties = new Properties();
+    try (InputStream input =
+        getClass().getClassLoader().getResourceAsStream(Strategy.PROPERTIES_FILENAME)) {
+      properties.load(input);
+    }
+    Set<String> keys = StrategyRegistry.getInstance().getKeys();
+    assertTrue(keys.containsAll(properties.stringPropertyNames()));
+    List<String> sorted = new ArrayList<>(keys);
+    sorted.sort(null);
+    assertEquals(sorted, new ArrayList<>(keys));
+    assertThrows(UnsupportedOperationException.class, () -> keys.add("other"));
+  }
+
+  @Test
+  void contains() {
+    StrategyRegistry registry = StrategyRegistry.getInstance();
+    assertTrue(registry.contains("optimal"));
+    assertTrue(registry.contains("random"));
+    assertFalse(registry.contains("no-such-strategy"));
+  }
+
+  @Test
+  void newInstance() {
+    StrategyRegistry registry = StrategyRegistry.getInstance();
+    Strategy first = registry.newInstance("optimal", new SplittableRandom(1));
+    Strategy second = registry.newInstance("optimal", new SplittableRandom(1));
+    assertTrue(first instanceof OptimalStrategy);
+    assertEquals("optimal", first.getKey());
+    assertNotSame(first, second);
+    assertTrue(registry.newInstance("random", new SplittableRandom(1)) instanceof RandomStrategy);
+  }
+
+  @Test
+  void newInstance_usesRng() {
+    StrategyRegistry registry = StrategyRegistry.getInstance();
+    Strategy first = registry.newInstance("random", new SplittableRandom(5));
+    Strategy second = registry.newInstance("random", new SplittableRandom(5));
+    Game game = new Game(Operation.ADDITION, 100, 10, State.PLAYER_ONE_MOVE);
+    for (int i = 0; i < 20; i++) {
+      assertEquals(first.getNextMove(game), second.getNextMove(game));
+    }
+  }
+
+  @Test
+  void newInstance_unknown() {
+    StrategyInitializationException e = assertThrows(StrategyInitializationException.class,
+        () -> StrategyRegistry.getInstance().newInstance("no-such-strategy",
+            new SplittableRandom()));
+    assertEquals("Strategy \"no-such-strategy\" not found", e.getMessage());
+  }
+
+}
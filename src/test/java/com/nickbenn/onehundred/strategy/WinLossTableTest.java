@@ -0,0 +1,88 @@
+package com.nickbenn.onehundred.strategy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.onehundred.model.MoveSet;
+import org.junit.jupiter.api.Test;
+
+class WinLossTableTest {
+
+  @Test
+  void isLosing_contiguous() {
+    WinLossTable table = WinLossTable.forMoves(MoveSet.contiguous(10), 100);
+    for (int remaining = 0; remaining <= 100; remaining++) {
+      assertEquals(remaining % 11 == 0, table.isLosing(remaining));
+    }
+  }
+
+  @Test
+  void isLosing_subtractionSet() {
+    // For moves {1, 3, 4}, the losing positions are those congruent to 0 or 2 (mod 7).
+    WinLossTable table = WinLossTable.forMoves(MoveSet.of(1, 3, 4), 200);
+    for (int remaining = 0; remaining <= 200; remaining++) {
+      int residue = remaining % 7;
+      assertEquals(residue == 0 || residue == 2, table.isLosing(remaining));
+    }
+  }
+
+  @Test
+  void getWinningMove() {
+    WinLossTable table = WinLossTable.forMoves(MoveSet.of(1, 3, 4), 50);
+    for (int remaining = 0; remaining <= 50; remaining++) {
+      int move = table.getWinningMove(remaining);
+      if (table.isLosing(remaining)) {
+        assertEquals(0, move);
+      } else {
+        assertTrue(table.isLosing(remaining - move));
+      }
+    }
+  }
+
+  @Test
+  void getWinningMove_smallest() {
+    int[] values = new int[300];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 2 * i + 1;
+    }
+    for (MoveSet moves : new MoveSet[] {MoveSet.of(1, 3, 7), MoveSet.of(values)}) {
+      WinLossTable table = WinLossTable.forMoves(moves, 1000);
+      for (int remaining = 0; remaining <= 1000; remaining++) {
+        int expected = 0;
+        for (int i = 0; i < moves.countAtMost(remaining); i++) {
+          if (table.isLosing(remaining - moves.get(i))) {
+            expected = moves.get(i);
+            break;
+          }
+        }
+        assertEquals(expected, table.getWinningMove(remaining));
+        assertEquals(expected == 0, table.isLosing(remaining));
+      }
+    }
+  }
+
+  @Test
+  void forMoves_rejectsUnsupportedBound() {
+    MoveSet moves = MoveSet.of(1, 3, 4);
+    assertThrows(IllegalArgumentException.class,
+        () -> WinLossTable.forMoves(moves, Integer.MAX_VALUE));
+    assertThrows(IllegalArgumentException.class, () -> WinLossTable.forMoves(moves, -1));
+  }
+
+  @Test
+  void forMoves_replacesSmallerTable() {
+    MoveSet moves = MoveSet.of(1, 5, 6);
+    WinLossTable small = WinLossTable.forMoves(moves, 100);
+    WinLossTable large = WinLossTable.forMoves(moves, 200);
+    assertNotSame(small, large);
+    assertEquals(200, large.getBound());
+    assertSame(large, WinLossTable.forMoves(moves, 100));
+  }
+
+  @Test
+  void forMoves_sharesCachedTable() {
+    MoveSet moves = MoveSet.of(1, 2, 5);
+    WinLossTable large = WinLossTable.forMoves(moves, 1000);
+    assertSame(large, WinLossTable.forMoves(MoveSet.of(5, 2, 1), 500));
+  }
+
+}
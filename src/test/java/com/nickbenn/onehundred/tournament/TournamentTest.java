@@ -0,0 +1,60 @@
+package com.nickbenn.onehundred.tournament;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.Rules;
+import com.nickbenn.onehundred.tournament.Tournament.Result;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TournamentTest {
+
+  private static final List<String> KEYS = List.of("random", "optimal", "table");
+  private static final long GAMES = 2_500;
+  private static final long SEED = 42;
+
+  @Test
+  void run_reproducibleAcrossParallelism() throws Exception {
+    Result sequential = run(SEED, 1);
+    assertEquals(KEYS, sequential.getKeys());
+    assertEquals(2 * 2 * GAMES * KEYS.size() * (KEYS.size() - 1), sequential.getGames());
+    assertEquals(SEED, sequential.getSeed());
+    for (int parallelism : new int[]{2, 4}) {
+      Result parallel = run(SEED, parallelism);
+      assertEquals(sequential.getGames(), parallel.getGames());
+      assertEquals(sequential.getIllegalMoves(), parallel.getIllegalMoves());
+      for (int row = 0; row < KEYS.size(); row++) {
+        for (int column = 0; column < KEYS.size(); column++) {
+          assertEquals(sequential.getWins(row, column), parallel.getWins(row, column));
+        }
+        assertEquals(sequential.getRating(row), parallel.getRating(row));
+      }
+    }
+  }
+
+  @Test
+  void run_seedDependent() throws Exception {
+    Result first = run(SEED, 2);
+    Result second = run(SEED + 1, 2);
+    boolean different = false;
+    for (int row = 0; row < KEYS.size(); row++) {
+      for (int column = 0; column < KEYS.size(); column++) {
+        different |= first.getWins(row, column) != second.getWins(row, column);
+      }
+    }
+    assertTrue(different);
+  }
+
+  private static Result run(long seed, int parallelism) throws Exception {
+    return new Tournament.Builder(KEYS)
+        .addRules(new Rules(Operation.ADDITION, 13, 3))
+        .addRules(new Rules(Operation.SUBTRACTION, 10, 3))
+        .setGames(GAMES)
+        .setSeed(seed)
+        .setParallelism(parallelism)
+        .build()
+        .run();
+  }
+
+}
@@ -0,0 +1,34 @@
+package com.nickbenn.onehundred.view;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class JsonWriterTest {
+
+  @Test
+  void write_nested() {
+    StringBuilder out = new StringBuilder();
+    new JsonWriter(out)
+        .beginObject()
+        .name("a").value(1)
+        .name("b").beginArray().value(true).nullValue().beginObject().endObject().endArray()
+        .name("c").beginArray().endArray()
+        .name("d").value((CharSequence) null)
+        .endObject();
+    assertEquals("{\"a\":1,\"b\":[true,null,{}],\"c\":[],\"d\":null}", out.toString());
+  }
+
+  @Test
+  void write_escaped() {
+    StringBuilder out = new StringBuilder();
+    new JsonWriter(out).value("q\"b\\n\nt\t\u0001\u00e9");
+    assertEquals("\"q\\\"b\\\\n\\nt\\t\\u0001\u00e9\"", out.toString());
+  }
+
+  @Test
+  void write_unbalanced() {
+    assertThrows(IllegalStateException.class, () -> new JsonWriter(new StringBuilder()).endArray());
+  }
+
+}
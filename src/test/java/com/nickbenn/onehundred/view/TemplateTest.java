@@ -0,0 +1,71 @@
+package com.nickbenn.onehundred.view;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nickbenn.onehundred.model.Game;
+import com.nickbenn.onehundred.model.Game.Operation;
+import com.nickbenn.onehundred.model.Game.State;
+import java.io.StringWriter;
+import java.util.ResourceBundle;
+import org.junit.jupiter.api.Test;
+
+class TemplateTest {
+
+  @Test
+  void render_matchesFormat() {
+    String pattern = "%% %d %2$s %1$d %s%n";
+    Template template = Template.compile(pattern);
+    assertEquals(2, template.getArity());
+    assertEquals(String.format(pattern, 5, "q"),
+        template.render(new StringBuilder(), 5, "q").toString());
+    assertEquals(String.format(pattern, -1234567, null),
+        template.render(new StringWriter(), -1234567, null).toString());
+  }
+
+  @Test
+  void compile_unsupported() {
+    for (String pattern : new String[]{"%5d", "%x", "%", "%5$s", "%1$"}) {
+      assertThrows(IllegalArgumentException.class, () -> Template.compile(pattern));
+    }
+  }
+
+  @Test
+  void render_invalidArguments() {
+    assertThrows(IllegalArgumentException.class,
+        () -> Template.compile("%d %d").render(new StringBuilder(), 1));
+    assertThrows(IllegalArgumentException.class,
+        () -> Template.compile("%2$d").render(new StringBuilder(), 1, "x"));
+  }
+
+  @Test
+  void textGamePresentation_matchesFormat() {
+    for (Operation operation : Operation.values()) {
+      ResourceBundle bundle = ResourceBundle.getBundle(operation.name().toLowerCase());
+      TextGamePresentation presentation = new TextGamePresentation(operation);
+      Game game = new Game(operation, 20, 3, State.PLAYER_ONE_MOVE);
+      while (!game.getState().isTerminal()) {
+        String player = (game.getState() == State.PLAYER_ONE_MOVE) ? "One" : "Two";
+        String next = String.format(bundle.getString("play_state"), player);
+        assertEquals(String.format(bundle.getString("game_summary"), game.getUpperBound(),
+                game.getCurrentCount(), game.getRemaining(), next),
+            presentation.stateRepresentation(game, "One", "Two"));
+        int maxMove = Math.min(3, game.getRemaining());
+        assertEquals(String.format(bundle.getString("move_prompt"), maxMove),
+            presentation.movePrompt(game));
+        StringBuilder builder = new StringBuilder();
+        presentation.movePresentation(builder, 3, player);
+        assertEquals(String.format(bundle.getString("move_report"), 3, player),
+            builder.toString());
+        game.play(maxMove);
+      }
+      String winner = (game.getState() == State.PLAYER_ONE_WIN) ? "One" : "Two";
+      String next = String.format(bundle.getString("win_state"), winner);
+      assertEquals(String.format(bundle.getString("game_summary"), game.getUpperBound(),
+              game.getCurrentCount(), game.getRemaining(), next),
+          presentation.stateRepresentation(game, "One", "Two"));
+      assertEquals(String.format(bundle.getString("illegal_move"), 20, 3),
+          presentation.illegalMoveNotification(game));
+    }
+  }
+
+}